@@ -34,6 +34,12 @@ public class ApplicationConfiguration {
     private ErrorMessage sessionExpiredError;
     private int heartbeatInterval;
     private int maxMessageSuspendTimeout;
+    private int changeProcessingSliceDuration;
+    private int eventCoalescingWindow;
+    private String[] coalescedEvents = new String[0];
+    private int maxPipelinedRequests = 1;
+    private double performanceSampleRate;
+    private int performanceReportInterval;
 
     private boolean productionMode;
     private boolean requestTiming;
@@ -211,6 +217,151 @@ public class ApplicationConfiguration {
         this.maxMessageSuspendTimeout = maxMessageSuspendTimeout;
     }
 
+    /**
+     * Gets the duration of the slices in which the changes of a server
+     * response are applied.
+     *
+     * @return The time, in milliseconds, to apply changes before yielding to
+     *         the browser, or 0 to apply all the changes at once.
+     */
+    public int getChangeProcessingSliceDuration() {
+        return changeProcessingSliceDuration;
+    }
+
+    /**
+     * Sets the duration of the slices in which the changes of a server
+     * response are applied.
+     *
+     * @param changeProcessingSliceDuration
+     *            The time, in milliseconds, to apply changes before yielding
+     *            to the browser, or 0 to apply all the changes at once.
+     */
+    public void setChangeProcessingSliceDuration(
+            int changeProcessingSliceDuration) {
+        this.changeProcessingSliceDuration = changeProcessingSliceDuration;
+    }
+
+    /**
+     * Gets the time during which consecutive events of the same type for the
+     * same node are merged before being sent to the server.
+     *
+     * @return The time, in milliseconds, to wait for further events before
+     *         sending an event, or 0 to send every event.
+     */
+    public int getEventCoalescingWindow() {
+        return eventCoalescingWindow;
+    }
+
+    /**
+     * Sets the time during which consecutive events of the same type for the
+     * same node are merged before being sent to the server.
+     *
+     * @param eventCoalescingWindow
+     *            The time, in milliseconds, to wait for further events before
+     *            sending an event, or 0 to send every event.
+     */
+    public void setEventCoalescingWindow(int eventCoalescingWindow) {
+        this.eventCoalescingWindow = eventCoalescingWindow;
+    }
+
+    /**
+     * Checks whether consecutive events of the given type may be merged during
+     * the event coalescing window.
+     *
+     * @param eventType
+     *            the event type to check
+     * @return <code>true</code> if events of the given type may be merged,
+     *         <code>false</code> otherwise
+     */
+    public boolean isCoalescedEvent(String eventType) {
+        for (String coalescedEvent : coalescedEvents) {
+            if (coalescedEvent.equals(eventType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the types of the events which may be merged during the event
+     * coalescing window.
+     *
+     * @param coalescedEvents
+     *            the event types to merge, or <code>null</code> to merge no
+     *            events
+     */
+    public void setCoalescedEvents(String[] coalescedEvents) {
+        this.coalescedEvents = coalescedEvents == null ? new String[0]
+                : coalescedEvents;
+    }
+
+    /**
+     * Gets the maximum number of UIDL requests which may be in flight at the
+     * same time when communicating over XHR.
+     *
+     * @return The maximum number of requests sent without waiting for the
+     *         responses, 1 to wait for each response before sending the next
+     *         request.
+     */
+    public int getMaxPipelinedRequests() {
+        return maxPipelinedRequests;
+    }
+
+    /**
+     * Sets the maximum number of UIDL requests which may be in flight at the
+     * same time when communicating over XHR.
+     *
+     * @param maxPipelinedRequests
+     *            The maximum number of requests sent without waiting for the
+     *            responses, 1 to wait for each response before sending the
+     *            next request.
+     */
+    public void setMaxPipelinedRequests(int maxPipelinedRequests) {
+        this.maxPipelinedRequests = maxPipelinedRequests;
+    }
+
+    /**
+     * Gets the fraction of the performance measurements which are sampled and
+     * reported to the server.
+     *
+     * @return The sample rate between 0 and 1, 0 if nothing is measured.
+     */
+    public double getPerformanceSampleRate() {
+        return performanceSampleRate;
+    }
+
+    /**
+     * Sets the fraction of the performance measurements which are sampled and
+     * reported to the server.
+     *
+     * @param performanceSampleRate
+     *            The sample rate between 0 and 1, 0 if nothing is measured.
+     */
+    public void setPerformanceSampleRate(double performanceSampleRate) {
+        this.performanceSampleRate = performanceSampleRate;
+    }
+
+    /**
+     * Gets the minimum interval between the reports of the sampled performance
+     * measurements.
+     *
+     * @return The report interval in seconds.
+     */
+    public int getPerformanceReportInterval() {
+        return performanceReportInterval;
+    }
+
+    /**
+     * Sets the minimum interval between the reports of the sampled performance
+     * measurements.
+     *
+     * @param performanceReportInterval
+     *            The report interval in seconds.
+     */
+    public void setPerformanceReportInterval(int performanceReportInterval) {
+        this.performanceReportInterval = performanceReportInterval;
+    }
+
     /**
      * Gets the message used when a session expiration error occurs.
      *
@@ -124,5 +124,6 @@ public class DefaultRegistry extends Registry {
             }
         }
         set(Poller.class, new Poller(this));
+        set(PerformanceSampler.class, new PerformanceSampler(this));
     }
 }
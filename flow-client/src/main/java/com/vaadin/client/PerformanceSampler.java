@@ -0,0 +1,149 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client;
+
+import com.vaadin.flow.shared.ApplicationConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+/**
+ * Samples performance measurements of the client engine and collects them
+ * into aggregates which are periodically reported to the server.
+ * <p>
+ * Unlike {@link Profiler}, which is only available in special builds, the
+ * sampler is available in all builds and is enabled by configuring a sample
+ * rate through {@link ApplicationConfiguration#getPerformanceSampleRate()}.
+ * The measurements are aggregated per location (path) of the page, as the
+ * count, the total time and the maximum time of each measurement.
+ *
+ * @author Vaadin Ltd
+ * @since
+ * @see ApplicationConstants#CLIENT_PERFORMANCE
+ */
+public class PerformanceSampler {
+
+    private static final int COUNT = 0;
+    private static final int TOTAL = 1;
+    private static final int MAX = 2;
+
+    private final Registry registry;
+
+    private JsonObject measurements = Json.createObject();
+
+    private boolean hasMeasurements = false;
+
+    private double lastReportTime = -1;
+
+    /**
+     * Creates a new instance connected to the given registry.
+     *
+     * @param registry
+     *            the global registry
+     */
+    public PerformanceSampler(Registry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Checks whether performance measurements are sampled. If not, there is
+     * no need to take any measurements.
+     *
+     * @return <code>true</code> if measurements are sampled,
+     *         <code>false</code> otherwise
+     */
+    public boolean isEnabled() {
+        return getSampleRate() > 0;
+    }
+
+    /**
+     * Records a measurement if it is picked by the sampling.
+     *
+     * @param name
+     *            the name of the measurement, e.g.
+     *            {@link ApplicationConstants#CLIENT_PERFORMANCE_PARSE}
+     * @param time
+     *            the measured time in milliseconds
+     */
+    public void record(String name, double time) {
+        if (!isEnabled() || Math.random() >= getSampleRate()) {
+            return;
+        }
+        if (lastReportTime < 0) {
+            // The report interval starts from the first measurement
+            lastReportTime = getCurrentTime();
+        }
+
+        String location = getLocation();
+        if (!measurements.hasKey(location)) {
+            measurements.put(location, Json.createObject());
+        }
+        JsonObject locationMeasurements = measurements.getObject(location);
+        if (!locationMeasurements.hasKey(name)) {
+            JsonArray aggregate = Json.createArray();
+            aggregate.set(COUNT, 0);
+            aggregate.set(TOTAL, 0);
+            aggregate.set(MAX, 0);
+            locationMeasurements.put(name, aggregate);
+        }
+
+        JsonArray aggregate = locationMeasurements.getArray(name);
+        aggregate.set(COUNT, aggregate.getNumber(COUNT) + 1);
+        aggregate.set(TOTAL, aggregate.getNumber(TOTAL) + time);
+        aggregate.set(MAX, Math.max(aggregate.getNumber(MAX), time));
+        hasMeasurements = true;
+    }
+
+    /**
+     * Collects the measurements aggregated since the previous report, if the
+     * report interval has elapsed. The returned measurements are cleared.
+     *
+     * @return the aggregated measurements by location and measurement name,
+     *         each as an array of the count, the total time and the maximum
+     *         time, or <code>null</code> if no report is due
+     */
+    public JsonObject collectReport() {
+        if (!hasMeasurements) {
+            return null;
+        }
+        double now = getCurrentTime();
+        if (now - lastReportTime < registry.getApplicationConfiguration()
+                .getPerformanceReportInterval() * 1000.0) {
+            return null;
+        }
+
+        JsonObject report = measurements;
+        measurements = Json.createObject();
+        hasMeasurements = false;
+        lastReportTime = now;
+        return report;
+    }
+
+    private double getSampleRate() {
+        return registry.getApplicationConfiguration()
+                .getPerformanceSampleRate();
+    }
+
+    double getCurrentTime() {
+        return Profiler.getRelativeTimeMillis();
+    }
+
+    native String getLocation()
+    /*-{
+        return $wnd.location.pathname;
+    }-*/;
+}
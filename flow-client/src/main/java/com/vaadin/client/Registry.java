@@ -312,4 +312,13 @@ public class Registry {
     public Poller getPoller() {
         return get(Poller.class);
     }
+
+    /**
+     * Gets the {@link PerformanceSampler} singleton.
+     *
+     * @return the {@link PerformanceSampler} singleton
+     */
+    public PerformanceSampler getPerformanceSampler() {
+        return get(PerformanceSampler.class);
+    }
 }
@@ -153,6 +153,34 @@ public class Bootstrapper implements EntryPoint {
         conf.setMaxMessageSuspendTimeout(
                 jsoConfiguration.getConfigInteger("maxMessageSuspendTimeout"));
 
+        Integer sliceDuration = jsoConfiguration
+                .getConfigInteger("changeProcessingSliceDuration");
+        if (sliceDuration != null) {
+            conf.setChangeProcessingSliceDuration(sliceDuration.intValue());
+        }
+
+        Integer coalescingWindow = jsoConfiguration
+                .getConfigInteger("eventCoalescingWindow");
+        if (coalescingWindow != null) {
+            conf.setEventCoalescingWindow(coalescingWindow.intValue());
+            conf.setCoalescedEvents(
+                    jsoConfiguration.getConfigStringArray("coalescedEvents"));
+        }
+
+        Integer maxPipelinedRequests = jsoConfiguration
+                .getConfigInteger("maxPipelinedRequests");
+        if (maxPipelinedRequests != null) {
+            conf.setMaxPipelinedRequests(maxPipelinedRequests.intValue());
+        }
+
+        String sampleRate = jsoConfiguration
+                .getConfigString("clientPerformanceSampleRate");
+        if (sampleRate != null) {
+            conf.setPerformanceSampleRate(Double.parseDouble(sampleRate));
+            conf.setPerformanceReportInterval(jsoConfiguration
+                    .getConfigInteger("clientPerformanceReportInterval"));
+        }
+
         conf.setServletVersion(jsoConfiguration.getVaadinVersion());
         conf.setAtmosphereVersion(jsoConfiguration.getAtmosphereVersion());
         conf.setAtmosphereJSVersion(jsoConfiguration.getAtmosphereJSVersion());
@@ -28,6 +28,9 @@ import com.vaadin.client.UILifecycle;
 import com.vaadin.client.UILifecycle.UIState;
 import com.vaadin.client.WidgetUtil;
 import com.vaadin.client.communication.AtmospherePushConnection.AtmosphereResponse;
+import com.vaadin.client.flow.collection.JsArray;
+import com.vaadin.client.flow.collection.JsCollections;
+import com.vaadin.flow.shared.ApplicationConstants;
 
 import elemental.json.JsonObject;
 
@@ -36,7 +39,8 @@ import elemental.json.JsonObject;
  * <p>
  * Handles temporary errors by showing a reconnect dialog to the user while
  * trying to re-establish the connection to the server and re-send the pending
- * message.
+ * messages. When several requests are in flight, the messages of all the
+ * failed requests are re-sent together in the order they were originally sent.
  * <p>
  * Handles permanent errors by showing a critical system notification to the
  * user
@@ -52,6 +56,13 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
     private int reconnectAttempt = 0;
     private Type reconnectionCause = null;
 
+    /**
+     * The messages of the failed requests which are to be re-sent, ordered by
+     * their client-to-server id. The requests are kept active until the
+     * messages have been re-sent and answered.
+     */
+    private final JsArray<JsonObject> pendingPayloads = JsCollections.array();
+
     private Timer scheduledReconnect;
     private Timer dialogShowTimer = new Timer() {
 
@@ -101,10 +112,7 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
                 if (isReconnecting()) {
                     giveUp();
                 }
-                if (scheduledReconnect != null
-                        && scheduledReconnect.isRunning()) {
-                    scheduledReconnect.cancel();
-                }
+                cancelScheduledReconnect();
             }
         });
 
@@ -185,6 +193,10 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
             return;
         }
 
+        if (payload != null) {
+            addPendingPayload(payload);
+        }
+
         if (!isReconnecting()) {
             // First problem encounter
             reconnectionCause = type;
@@ -215,6 +227,12 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
             return;
         }
 
+        if (scheduledReconnect != null) {
+            // Another request failed before the scheduled attempt, its message
+            // is re-sent by that attempt
+            return;
+        }
+
         reconnectAttempt++;
         Console.log("Reconnect attempt " + reconnectAttempt + " for " + type);
 
@@ -231,7 +249,8 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
      * Called after a problem occurred.
      *
      * This method is responsible for re-sending the payload to the server (if
-     * not null) or re-send a heartbeat request at some point
+     * not null) or re-send a heartbeat request at some point. The payloads of
+     * any other failed requests are re-sent along with it.
      *
      * @param payload
      *            the payload that did not reach the server, null if the problem
@@ -241,8 +260,10 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
         // Here and not in timer to avoid TB for getting in between
 
         // The request is still open at this point to avoid interference, so we
-        // do not need to start a new one
-        if (reconnectAttempt == 1) {
+        // do not need to start a new one. If other requests are still in
+        // flight, the first attempt waits for them as well so that the
+        // messages are re-sent in order if they fail too.
+        if (reconnectAttempt == 1 && !hasRequestsInFlight()) {
             // Try once immediately
             doReconnect(payload);
         } else {
@@ -259,8 +280,9 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
     }
 
     /**
-     * Re-sends the payload to the server (if not null) or re-sends a heartbeat
-     * request immediately.
+     * Re-sends the payloads of the failed requests to the server in the order
+     * they were originally sent, or re-sends a heartbeat request immediately if
+     * there are none.
      *
      * @param payload
      *            the payload that did not reach the server, null if the problem
@@ -275,8 +297,10 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
             return;
         }
         if (payload != null) {
-            Console.log("Re-sending last message to the server...");
-            registry.getMessageSender().send(payload);
+            addPendingPayload(payload);
+        }
+        if (!pendingPayloads.isEmpty()) {
+            resendPendingPayloads();
         } else {
             // Use heartbeat
             Console.log("Trying to re-establish server connection...");
@@ -284,6 +308,53 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
         }
     }
 
+    private void addPendingPayload(JsonObject payload) {
+        int index = pendingPayloads.length();
+        while (index > 0 && getClientToServerId(
+                pendingPayloads.get(index - 1)) > getClientToServerId(payload)) {
+            index--;
+        }
+        if (index > 0 && pendingPayloads.get(index - 1) == payload) {
+            // Already waiting to be re-sent
+            return;
+        }
+        pendingPayloads.splice(index, 0, payload);
+    }
+
+    private static double getClientToServerId(JsonObject payload) {
+        if (payload.hasKey(ApplicationConstants.CLIENT_TO_SERVER_ID)) {
+            return payload
+                    .getNumber(ApplicationConstants.CLIENT_TO_SERVER_ID);
+        }
+        return Double.MAX_VALUE;
+    }
+
+    private void resendPendingPayloads() {
+        JsArray<JsonObject> payloads = pendingPayloads
+                .splice(0, pendingPayloads.length());
+        Console.log("Re-sending " + payloads.length()
+                + " message(s) to the server...");
+        for (int i = 0; i < payloads.length(); i++) {
+            registry.getMessageSender().send(payloads.get(i));
+        }
+    }
+
+    /**
+     * Checks whether some of the active requests have neither failed nor been
+     * answered yet.
+     */
+    private boolean hasRequestsInFlight() {
+        return registry.getRequestResponseTracker()
+                .getActiveRequestCount() > pendingPayloads.length();
+    }
+
+    private void cancelScheduledReconnect() {
+        if (scheduledReconnect != null) {
+            scheduledReconnect.cancel();
+            scheduledReconnect = null;
+        }
+    }
+
     /**
      * Called whenever a reconnect attempt fails to allow updating of dialog
      * contents.
@@ -298,10 +369,8 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
      */
     protected final void giveUp() {
         reconnectionCause = null;
-
-        if (registry.getRequestResponseTracker().hasActiveRequest()) {
-            endRequest();
-        }
+        cancelScheduledReconnect();
+        pendingPayloads.clear();
 
         stopDialogTimer();
         if (!isDialogVisible()) {
@@ -315,6 +384,9 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
 
         // Stopping the application stops heartbeats and push
         stopApplication();
+
+        // No more responses are handled, so none of the requests would end
+        endAllRequests();
     }
 
     /**
@@ -395,7 +467,6 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
     @Override
     public void xhrInvalidContent(XhrConnectionError xhrConnectionError) {
         debug("xhrInvalidContent");
-        endRequest();
 
         String responseText = xhrConnectionError.getXhr().getResponseText();
         /*
@@ -408,11 +479,13 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
                 .compile(UIDL_REFRESH_TOKEN + "(:\\s*(.*?))?(\\s|$)")
                 .exec(responseText);
         if (refreshToken != null) {
+            endRequest();
             WidgetUtil.redirect(refreshToken.getGroup(2));
         } else {
             handleUnrecoverableCommunicationError(
                     "Invalid JSON response from server: " + responseText,
                     xhrConnectionError);
+            endAllRequests();
         }
 
     }
@@ -444,8 +517,8 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
 
         if (statusCode == 401) {
             // Authentication/authorization failed, no need to re-try
-            endRequest();
             handleUnauthorized(xhrConnectionError);
+            endAllRequests();
             return;
         } else {
             // 404, 408 and other 4xx codes CAN be temporary when you have a
@@ -457,7 +530,23 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
     }
 
     private void endRequest() {
-        registry.getRequestResponseTracker().endRequest();
+        RequestResponseTracker tracker = registry.getRequestResponseTracker();
+        if (tracker.hasActiveRequest()) {
+            tracker.endRequest();
+        }
+    }
+
+    /**
+     * Ends all the active requests, including the ones whose messages are
+     * waiting to be re-sent. Should be called after the application has been
+     * stopped so that ending the requests does not send any new ones.
+     */
+    private void endAllRequests() {
+        pendingPayloads.clear();
+        RequestResponseTracker tracker = registry.getRequestResponseTracker();
+        while (tracker.hasActiveRequest()) {
+            tracker.endRequest();
+        }
     }
 
     protected void handleUnauthorized(XhrConnectionError xhrConnectionError) {
@@ -532,6 +621,12 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
         hideDialog();
 
         Console.log("Re-established connection to server");
+
+        if (!pendingPayloads.isEmpty() && scheduledReconnect == null) {
+            // Messages of requests which failed while recovering from another
+            // problem
+            resendPendingPayloads();
+        }
     }
 
     @Override
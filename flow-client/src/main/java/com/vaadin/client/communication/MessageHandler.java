@@ -41,6 +41,7 @@ import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.JsonConstants;
 import com.vaadin.flow.shared.ui.LoadMode;
 
+import elemental.client.Browser;
 import elemental.dom.Node;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
@@ -355,6 +356,20 @@ public class MessageHandler {
                 () -> processMessage(valueMap, lock, start));
     }
 
+    /**
+     * Removes the server-side pre-rendered initial view from the document
+     * since the actual view has now been rendered based on the initial UIDL.
+     */
+    private static void removePrerenderedView() {
+        JsArray<Node> prerendered = DomApi
+                .wrap(Browser.getDocument().getBody()).querySelectorAll(
+                        "[" + ApplicationConstants.PRERENDERED_ATTRIBUTE + "]");
+        for (int i = 0; i < prerendered.length(); i++) {
+            Node node = prerendered.get(i);
+            DomApi.wrap(node.getParentNode()).removeChild(node);
+        }
+    }
+
     private void handleDependencies(JsonObject inputJson) {
         Console.log("Handling dependencies");
         JsMap<LoadMode, JsonArray> dependencies = JsCollections.map();
@@ -384,9 +399,9 @@ public class MessageHandler {
         assert getServerId(valueMap) == -1
                 || getServerId(valueMap) == lastSeenServerSyncId;
 
+        double processUidlStart = Duration.currentTimeMillis();
+        TreeChangeProcessor.IncrementalUpdate update = null;
         try {
-            double processUidlStart = Duration.currentTimeMillis();
-
             JsonObject json = valueMap.cast();
 
             if (json.hasKey("constants")) {
@@ -395,9 +410,89 @@ public class MessageHandler {
                 constantPool.importFromJson(constants);
             }
 
-            if (json.hasKey("changes")) {
+            if (json.hasKey("changes") && sliceDuration() > 0) {
+                update = TreeChangeProcessor.createIncrementalUpdate(
+                        registry.getStateTree(), json.getArray("changes"));
+            } else if (json.hasKey("changes")) {
                 processChanges(json);
             }
+        } catch (RuntimeException e) {
+            endMessageProcessing(valueMap, lock);
+            throw e;
+        }
+
+        if (update != null) {
+            // The rest of the message is processed once all the changes have
+            // been applied, the response handling lock is kept until then
+            processChangesInSlices(update, sliceDuration(), 0,
+                    () -> completeMessageProcessing(valueMap, lock, start,
+                            processUidlStart),
+                    () -> endMessageProcessing(valueMap, lock));
+        } else {
+            completeMessageProcessing(valueMap, lock, start, processUidlStart);
+        }
+    }
+
+    /**
+     * Applies the changes in slices of the given duration. Between the slices,
+     * the changes applied so far are rendered and the browser may handle user
+     * input.
+     */
+    private void processChangesInSlices(
+            TreeChangeProcessor.IncrementalUpdate update, int sliceDuration,
+            double processingTime, Command onComplete, Command onFailure) {
+        double sliceStart = Duration.currentTimeMillis();
+        double sliceEnd = sliceStart + sliceDuration;
+        try {
+            boolean completed = update
+                    .process(() -> Duration.currentTimeMillis() >= sliceEnd);
+            double totalTime = processingTime
+                    + (Duration.currentTimeMillis() - sliceStart);
+            if (completed) {
+                recordPerformance(
+                        ApplicationConstants.CLIENT_PERFORMANCE_CHANGES,
+                        totalTime);
+                afterChangesApplied(update.getUpdatedNodes());
+            } else {
+                // Render the changes applied so far in the current frame
+                Reactive.flush();
+                requestAnimationFrame(() -> processChangesInSlices(update,
+                        sliceDuration, totalTime, onComplete, onFailure));
+                return;
+            }
+        } catch (RuntimeException e) {
+            onFailure.execute();
+            throw e;
+        }
+        onComplete.execute();
+    }
+
+    private int sliceDuration() {
+        return registry.getApplicationConfiguration()
+                .getChangeProcessingSliceDuration();
+    }
+
+    /**
+     * Runs the command once the browser is about to render the next frame, or
+     * as soon as possible if the document is hidden and no frames are
+     * rendered.
+     */
+    private static native void requestAnimationFrame(Command command)
+    /*-{
+        var callback = $entry(function() {
+            command.@com.vaadin.client.Command::execute(*)();
+        });
+        if ($doc.hidden || !$wnd.requestAnimationFrame) {
+            $wnd.setTimeout(callback, 0);
+        } else {
+            $wnd.requestAnimationFrame(callback);
+        }
+    }-*/;
+
+    private void completeMessageProcessing(ValueMap valueMap, Object lock,
+            double start, double processUidlStart) {
+        try {
+            JsonObject json = valueMap.cast();
 
             if (json.hasKey(JsonConstants.UIDL_KEY_EXECUTE)) {
                 // Invoke JS only after all tree changes have been
@@ -442,13 +537,19 @@ public class MessageHandler {
                 Profiler.leave("Error handling");
             }
             nextResponseSessionExpiredHandler = null;
+
+            double flushStart = Duration.currentTimeMillis();
             Reactive.flush();
+            recordPerformance(ApplicationConstants.CLIENT_PERFORMANCE_RENDER,
+                    Duration.currentTimeMillis() - flushStart);
 
             lastProcessingTime = (int) (Duration.currentTimeMillis() - start);
             totalProcessingTime += lastProcessingTime;
             if (!initialMessageHandled) {
                 initialMessageHandled = true;
 
+                removePrerenderedView();
+
                 double fetchStart = getFetchStartTime();
                 if (fetchStart != 0) {
                     int time = (int) (Duration.currentTimeMillis()
@@ -462,29 +563,47 @@ public class MessageHandler {
                     Profiler.logBootstrapTimings();
                 }
             }
-
         } finally {
-            Console.log(" Processing time was "
-                    + String.valueOf(lastProcessingTime) + "ms");
+            endMessageProcessing(valueMap, lock);
+        }
+    }
 
-            endRequestIfResponse(valueMap);
-            resumeResponseHandling(lock);
+    private void endMessageProcessing(ValueMap valueMap, Object lock) {
+        Console.log(" Processing time was "
+                + String.valueOf(lastProcessingTime) + "ms");
 
-            if (Profiler.isEnabled()) {
-                Scheduler.get().scheduleDeferred(() -> {
-                    Profiler.logTimings();
-                    Profiler.reset();
-                });
-            }
-        }
+        endRequestIfResponse(valueMap);
+        resumeResponseHandling(lock);
 
+        if (Profiler.isEnabled()) {
+            Scheduler.get().scheduleDeferred(() -> {
+                Profiler.logTimings();
+                Profiler.reset();
+            });
+        }
     }
 
     private void processChanges(JsonObject json) {
         StateTree tree = registry.getStateTree();
+        double processingStart = Duration.currentTimeMillis();
         JsSet<StateNode> updatedNodes = TreeChangeProcessor.processChanges(tree,
                 json.getArray("changes"));
+        recordPerformance(ApplicationConstants.CLIENT_PERFORMANCE_CHANGES,
+                Duration.currentTimeMillis() - processingStart);
+        afterChangesApplied(updatedNodes);
+    }
 
+    private void recordPerformance(String name, double time) {
+        // The sample rate is checked first as the sampler is not needed
+        // when sampling is disabled
+        if (registry.getApplicationConfiguration()
+                .getPerformanceSampleRate() > 0) {
+            registry.getPerformanceSampler().record(name, time);
+        }
+    }
+
+    private void afterChangesApplied(JsSet<StateNode> updatedNodes) {
+        StateTree tree = registry.getStateTree();
         if (!registry.getApplicationConfiguration().isProductionMode()) {
             try {
                 JsonObject debugJson = tree.getRootNode().getDebugJson();
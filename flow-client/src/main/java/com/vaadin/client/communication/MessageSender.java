@@ -61,7 +61,9 @@ public class MessageSender {
      * progress and the application is running.
      * <p>
      * If a request is in progress, this method does nothing and assumes that it
-     * is called again when the request completes.
+     * is called again when the request completes. When communicating over XHR
+     * and pipelined requests are allowed, the invocations are sent right away
+     * unless the maximum number of requests are already in progress.
      */
     public void sendInvocationsToServer() {
         if (!registry.getUILifecycle().isRunning()) {
@@ -70,8 +72,10 @@ public class MessageSender {
             return;
         }
 
-        if (registry.getRequestResponseTracker().hasActiveRequest()
-                || (push != null && !push.isActive())) {
+        RequestResponseTracker tracker = registry.getRequestResponseTracker();
+        boolean requestInProgress = tracker.hasActiveRequest()
+                && (push != null || !tracker.canStartPipelinedRequest());
+        if (requestInProgress || (push != null && !push.isActive())) {
             // There is an active request or push is enabled but not active
             // -> send when current request completes or push becomes active
         } else {
@@ -133,6 +137,16 @@ public class MessageSender {
         payload.put(ApplicationConstants.CLIENT_TO_SERVER_ID,
                 clientToServerMessageId++);
 
+        if (registry.getApplicationConfiguration()
+                .getPerformanceSampleRate() > 0) {
+            JsonObject performanceReport = registry.getPerformanceSampler()
+                    .collectReport();
+            if (performanceReport != null) {
+                payload.put(ApplicationConstants.CLIENT_PERFORMANCE,
+                        performanceReport);
+            }
+        }
+
         if (extraJson != null) {
             for (String key : extraJson.keys()) {
                 JsonValue value = extraJson.get(key);
@@ -19,6 +19,7 @@ import com.google.gwt.core.client.Scheduler;
 import com.google.web.bindery.event.shared.Event;
 import com.google.web.bindery.event.shared.EventBus;
 import com.google.web.bindery.event.shared.HandlerRegistration;
+import com.vaadin.client.ApplicationConfiguration;
 import com.vaadin.client.Registry;
 import com.vaadin.client.gwt.com.google.web.bindery.event.shared.SimpleEventBus;
 
@@ -26,7 +27,8 @@ import com.vaadin.client.gwt.com.google.web.bindery.event.shared.SimpleEventBus;
  * Tracks active server UIDL requests.
  * <p>
  * Ensures that there is only one outgoing server request active at a given
- * time.
+ * time, or at most {@link ApplicationConfiguration#getMaxPipelinedRequests()}
+ * requests if the requests are pipelined.
  * <p>
  * Fires events when a requests starts, response handling starts and when
  * response handling ends.
@@ -36,7 +38,7 @@ import com.vaadin.client.gwt.com.google.web.bindery.event.shared.SimpleEventBus;
  */
 public class RequestResponseTracker {
 
-    private boolean hasActiveRequest = false;
+    private int activeRequests = 0;
     private final Registry registry;
     private EventBus eventBus = new SimpleEventBus();
 
@@ -54,19 +56,33 @@ public class RequestResponseTracker {
      * Marks that a new request has started.
      * <p>
      * Should not be called when a request is in progress, i.e.
-     * {@link #startRequest()} has been called but not {@link #endRequest()}.
+     * {@link #startRequest()} has been called but not {@link #endRequest()},
+     * unless another request may be started as reported by
+     * {@link #canStartPipelinedRequest()}.
      * <p>
      * Fires a {@link RequestStartingEvent}.
      */
     public void startRequest() {
-        if (hasActiveRequest) {
+        if (hasActiveRequest() && !canStartPipelinedRequest()) {
             throw new IllegalStateException(
                     "Trying to start a new request while another is active");
         }
-        hasActiveRequest = true;
+        activeRequests++;
         fireEvent(new RequestStartingEvent());
     }
 
+    /**
+     * Checks if a new request may be started while there are active requests,
+     * i.e. if there are fewer active requests than the maximum number of
+     * pipelined requests.
+     *
+     * @return true if another request may be started, false otherwise
+     */
+    public boolean canStartPipelinedRequest() {
+        return activeRequests < registry.getApplicationConfiguration()
+                .getMaxPipelinedRequests();
+    }
+
     /**
      * Fires the given event using the event bus for this class.
      *
@@ -83,11 +99,23 @@ public class RequestResponseTracker {
      * @return true if there is an active request, false otherwise
      */
     public boolean hasActiveRequest() {
-        return hasActiveRequest;
+        return activeRequests > 0;
+    }
+
+    /**
+     * Gets the number of active UIDL requests, i.e. requests which have been
+     * started but not ended.
+     *
+     * @return the number of active requests
+     */
+    public int getActiveRequestCount() {
+        return activeRequests;
     }
 
     /**
-     * Marks that the current request has ended.
+     * Marks that the current request has ended. If several requests are
+     * active, the oldest one is considered to have ended as the responses are
+     * handled in the order the requests were sent.
      * <p>
      * Should not be called unless a request is in progress, i.e.
      * {@link #startRequest()} has been called but not {@link #endRequest()}.
@@ -97,14 +125,14 @@ public class RequestResponseTracker {
      * Fires a {@link ResponseHandlingEndedEvent}.
      */
     public void endRequest() {
-        if (!hasActiveRequest) {
+        if (!hasActiveRequest()) {
             throw new IllegalStateException(
                     "endRequest called when no request is active");
         }
         // After sendInvocationsToServer() there may be a new active
-        // request, so we must set hasActiveRequest to false before, not after,
-        // the call.
-        hasActiveRequest = false;
+        // request, so we must decrease the number of active requests before,
+        // not after, the call.
+        activeRequests--;
 
         if (registry.getUILifecycle().isRunning()
                 && registry.getServerRpcQueue().isFlushPending()) {
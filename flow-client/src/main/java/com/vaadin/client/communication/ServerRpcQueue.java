@@ -16,16 +16,27 @@
 package com.vaadin.client.communication;
 
 import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.user.client.Timer;
 import com.vaadin.client.Console;
 import com.vaadin.client.Registry;
+import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
 import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 
 /**
  * Manages the queue of server invocations (RPC) which are waiting to be sent to
  * the server.
+ * <p>
+ * A property sync invocation replaces a pending sync of the same property, as
+ * only the latest value matters. If an event coalescing window has been
+ * configured, an event of a type configured for coalescing also replaces a
+ * pending event of the same type for the same node, and the queue is flushed
+ * only after the window has elapsed so that bursts of events are sent as one.
+ * Other events, such as clicks or key presses, are never merged.
  *
  * @author Vaadin Ltd
  * @since 1.0
@@ -44,6 +55,8 @@ public class ServerRpcQueue {
 
     private Runnable doFlushStrategy = NO_OP;
 
+    private Timer delayedFlushTimer;
+
     /**
      * Creates a new instance connected to the given registry.
      *
@@ -66,7 +79,76 @@ public class ServerRpcQueue {
                     "Trying to invoke method on not yet started or stopped application");
             return;
         }
-        pendingInvocations.set(pendingInvocations.length(), invocation);
+        pendingInvocations.set(getInsertionIndex(invocation), invocation);
+    }
+
+    /**
+     * Gets the index at which to store the given invocation. Invocations
+     * superseded by the given one are overwritten, other invocations are
+     * appended to the queue.
+     */
+    private int getInsertionIndex(JsonValue invocation) {
+        int length = pendingInvocations.length();
+        if (isOfType(invocation, JsonConstants.RPC_TYPE_MAP_SYNC)) {
+            // Only look at the syncs after the latest other invocation, any
+            // invocation in between may depend on the superseded value
+            for (int i = length - 1; i >= 0; i--) {
+                JsonValue pending = pendingInvocations.get(i);
+                if (!isOfType(pending, JsonConstants.RPC_TYPE_MAP_SYNC)) {
+                    break;
+                }
+                if (isSameTarget((JsonObject) pending, (JsonObject) invocation,
+                        JsonConstants.RPC_FEATURE,
+                        JsonConstants.RPC_PROPERTY)) {
+                    return i;
+                }
+            }
+        } else if (length > 0 && isCoalescable(invocation)) {
+            JsonValue pending = pendingInvocations.get(length - 1);
+            if (isOfType(pending, JsonConstants.RPC_TYPE_EVENT)
+                    && isSameTarget((JsonObject) pending,
+                            (JsonObject) invocation,
+                            JsonConstants.RPC_EVENT_TYPE)) {
+                return length - 1;
+            }
+        }
+        return length;
+    }
+
+    private static boolean isOfType(JsonValue invocation, String type) {
+        if (invocation.getType() != JsonType.OBJECT) {
+            return false;
+        }
+        JsonObject object = (JsonObject) invocation;
+        return object.hasKey(JsonConstants.RPC_TYPE)
+                && type.equals(object.getString(JsonConstants.RPC_TYPE));
+    }
+
+    private static boolean isSameTarget(JsonObject invocation,
+            JsonObject other, String... keys) {
+        if (invocation.getNumber(JsonConstants.RPC_NODE) != other
+                .getNumber(JsonConstants.RPC_NODE)) {
+            return false;
+        }
+        for (String key : keys) {
+            if (!invocation.get(key).toJson().equals(other.get(key).toJson())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isCoalescable(JsonValue invocation) {
+        return getEventCoalescingWindow() > 0
+                && isOfType(invocation, JsonConstants.RPC_TYPE_EVENT)
+                && registry.getApplicationConfiguration()
+                        .isCoalescedEvent(((JsonObject) invocation)
+                                .getString(JsonConstants.RPC_EVENT_TYPE));
+    }
+
+    private int getEventCoalescingWindow() {
+        return registry.getApplicationConfiguration()
+                .getEventCoalescingWindow();
     }
 
     /**
@@ -75,6 +157,7 @@ public class ServerRpcQueue {
     public void clear() {
         pendingInvocations = Json.createArray();
         flushPending = false;
+        cancelDelayedFlush();
         doFlushStrategy = NO_OP;
     }
 
@@ -98,17 +181,46 @@ public class ServerRpcQueue {
 
     /**
      * Triggers a send of server RPC and legacy variable changes to the server.
+     * <p>
+     * If the latest invocation is an event of a type configured for coalescing,
+     * the send is delayed until the event coalescing window has
+     * elapsed.
      */
     public void flush() {
-        if (isFlushScheduled() || isEmpty()) {
+        if (isEmpty()) {
+            return;
+        }
+        int delay = isCoalescable(pendingInvocations.get(size() - 1))
+                ? getEventCoalescingWindow()
+                : 0;
+        if (isFlushScheduled() && (delay > 0 || delayedFlushTimer == null)) {
             return;
         }
         flushPending = true;
+        cancelDelayedFlush();
 
         doFlushStrategy = this::doFlush;
-        // Deferred so we can be sure that all event handlers have been invoked
-        // before flushing the queue
-        Scheduler.get().scheduleDeferred(() -> doFlushStrategy.run());
+        if (delay > 0) {
+            delayedFlushTimer = new Timer() {
+                @Override
+                public void run() {
+                    doFlushStrategy.run();
+                }
+            };
+            delayedFlushTimer.schedule(delay);
+        } else {
+            // Deferred so we can be sure that all event handlers have been
+            // invoked before flushing the queue. Also replaces a delayed
+            // flush if there is one, as something needs to be sent now.
+            Scheduler.get().scheduleDeferred(() -> doFlushStrategy.run());
+        }
+    }
+
+    private void cancelDelayedFlush() {
+        if (delayedFlushTimer != null) {
+            delayedFlushTimer.cancel();
+            delayedFlushTimer = null;
+        }
     }
 
     /**
@@ -146,6 +258,7 @@ public class ServerRpcQueue {
 
     private void doFlush() {
         doFlushStrategy = NO_OP;
+        cancelDelayedFlush();
         if (!isFlushPending()) {
             // Somebody else cleared the queue before we had the chance
             return;
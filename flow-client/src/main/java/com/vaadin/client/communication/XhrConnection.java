@@ -19,6 +19,7 @@ import com.google.gwt.user.client.Timer;
 import com.google.gwt.xhr.client.XMLHttpRequest;
 import com.vaadin.client.BrowserInfo;
 import com.vaadin.client.Console;
+import com.vaadin.client.PerformanceSampler;
 import com.vaadin.client.Profiler;
 import com.vaadin.client.Registry;
 import com.vaadin.client.ValueMap;
@@ -114,6 +115,7 @@ public class XhrConnection {
 
         @Override
         public void onSuccess(XMLHttpRequest xhr) {
+            double responseTime = Profiler.getRelativeTimeMillis();
             Console.log("Server visit took "
                     + Profiler.getRelativeTimeString(requestStartTime) + "ms");
 
@@ -121,6 +123,7 @@ public class XhrConnection {
             String responseText = xhr.getResponseText();
 
             ValueMap json = MessageHandler.parseWrappedJson(responseText);
+            recordPerformance(responseTime);
             if (json == null) {
                 // Invalid string (not wrapped as expected or can't parse)
                 registry.getConnectionStateHandler().xhrInvalidContent(
@@ -133,6 +136,18 @@ public class XhrConnection {
             registry.getMessageHandler().handleMessage(json);
         }
 
+        private void recordPerformance(double responseTime) {
+            if (registry.getApplicationConfiguration()
+                    .getPerformanceSampleRate() > 0) {
+                PerformanceSampler sampler = registry.getPerformanceSampler();
+                sampler.record(
+                        ApplicationConstants.CLIENT_PERFORMANCE_ROUND_TRIP,
+                        responseTime - requestStartTime);
+                sampler.record(ApplicationConstants.CLIENT_PERFORMANCE_PARSE,
+                        Profiler.getRelativeTimeMillis() - responseTime);
+            }
+        }
+
         /**
          * Sets the relative time (see {@link Profiler#getRelativeTimeMillis()})
          * when the request was sent.
@@ -77,6 +77,24 @@ public class StateTree {
         getRegistry().getInitialPropertiesHandler().flushPropertyUpdates();
     }
 
+    /**
+     * Suspends or resumes the current update of this tree. While suspended,
+     * the tree is not considered to be updated so that e.g. the bindings may be
+     * updated based on the changes applied so far, but the update is not
+     * completed yet.
+     *
+     * @param updateSuspended
+     *            <code>true</code> to suspend the update in progress,
+     *            <code>false</code> to resume the suspended update
+     * @see #setUpdateInProgress(boolean)
+     */
+    public void setUpdateSuspended(boolean updateSuspended) {
+        assert this.updateInProgress == updateSuspended : "Inconsistent state tree updating status, expected "
+                + (updateSuspended ? "" : "no ") + " updates in progress.";
+        // Unlike ending the update, initial property values are not flushed
+        this.updateInProgress = !updateSuspended;
+    }
+
     /**
      * Returns whether this tree is currently being updated by
      * {@link TreeChangeProcessor#processChanges(StateTree, JsonArray)}.
@@ -15,6 +15,8 @@
  */
 package com.vaadin.client.flow;
 
+import java.util.function.BooleanSupplier;
+
 import com.vaadin.client.WidgetUtil;
 import com.vaadin.client.flow.collection.JsArray;
 import com.vaadin.client.flow.collection.JsCollections;
@@ -23,6 +25,8 @@ import com.vaadin.client.flow.nodefeature.MapProperty;
 import com.vaadin.client.flow.nodefeature.NodeList;
 import com.vaadin.client.flow.nodefeature.NodeMap;
 import com.vaadin.client.flow.util.ClientJsonCodec;
+import com.vaadin.flow.internal.nodefeature.NodeFeatures;
+import com.vaadin.flow.internal.nodefeature.NodeProperties;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonArray;
@@ -51,25 +55,129 @@ public class TreeChangeProcessor {
      */
     public static JsSet<StateNode> processChanges(StateTree tree,
             JsonArray changes) {
-        assert !tree
-                .isUpdateInProgress() : "Previous tree change processing has not completed";
-        try {
-            tree.setUpdateInProgress(true);
+        IncrementalUpdate update = new IncrementalUpdate(tree, changes);
+        update.process(() -> false);
+        return update.getUpdatedNodes();
+    }
+
+    /**
+     * Creates an update of a state tree which applies the given JSON array of
+     * changes in several steps.
+     *
+     * @param tree
+     *            the tree to update
+     * @param changes
+     *            the JSON array of changes
+     * @return the update, not <code>null</code>
+     */
+    public static IncrementalUpdate createIncrementalUpdate(StateTree tree,
+            JsonArray changes) {
+        return new IncrementalUpdate(tree, changes);
+    }
+
+    /**
+     * Updates a state tree based on a JSON array of changes in several steps,
+     * so that the browser can render the changes applied so far and handle
+     * user input between the steps.
+     * <p>
+     * All the attach changes and the changes setting the tag of an element are
+     * applied in the first step, so that bindings run between the steps never
+     * see an element node without a tag. The other changes are applied in
+     * their original order. Between the steps, the update of the tree is
+     * suspended.
+     *
+     * @see StateTree#setUpdateSuspended(boolean)
+     */
+    public static final class IncrementalUpdate {
+        private final StateTree tree;
+        private final JsonArray changes;
+        private JsSet<StateNode> nodes;
+        private int nextChange;
+        private boolean done;
+
+        private IncrementalUpdate(StateTree tree, JsonArray changes) {
+            this.tree = tree;
+            this.changes = changes;
+        }
+
+        /**
+         * Applies the next changes until all the changes have been applied or
+         * the given condition tells to stop. At least one change is applied
+         * on each invocation.
+         *
+         * @param stop
+         *            checked after each applied change, returns
+         *            <code>true</code> to stop applying changes
+         * @return <code>true</code> if all the changes have been applied,
+         *         <code>false</code> if there are changes left
+         */
+        public boolean process(BooleanSupplier stop) {
+            assert !done : "All the changes have already been applied";
+            if (nodes == null) {
+                assert !tree
+                        .isUpdateInProgress() : "Previous tree change processing has not completed";
+                tree.setUpdateInProgress(true);
+            } else {
+                tree.setUpdateSuspended(false);
+            }
+            try {
+                if (nodes == null) {
+                    // Attach all nodes and set their tags before doing
+                    // anything else
+                    nodes = processAttachChanges(tree, changes);
+                    processTagChanges();
+                }
 
-            // Attach all nodes before doing anything else
-            JsSet<StateNode> nodes = processAttachChanges(tree, changes);
+                // Then process the remaining changes
+                boolean applied = false;
+                while (skipAppliedChanges() < changes.length()) {
+                    if (applied && stop.getAsBoolean()) {
+                        tree.setUpdateSuspended(true);
+                        return false;
+                    }
+                    nodes.add(processChange(tree,
+                            changes.getObject(nextChange++)));
+                    applied = true;
+                }
+                return true;
+            } finally {
+                if (tree.isUpdateInProgress()) {
+                    // All the changes have been applied or applying a change
+                    // has failed, in which case the update is not continued
+                    done = true;
+                    tree.setUpdateInProgress(false);
+                }
+            }
+        }
 
-            // Then process all non-attach changes
+        private void processTagChanges() {
             int length = changes.length();
             for (int i = 0; i < length; i++) {
                 JsonObject change = changes.getObject(i);
-                if (!isAttach(change)) {
+                if (isTag(change)) {
                     nodes.add(processChange(tree, change));
                 }
             }
+        }
+
+        private int skipAppliedChanges() {
+            while (nextChange < changes.length()) {
+                JsonObject change = changes.getObject(nextChange);
+                if (!isAttach(change) && !isTag(change)) {
+                    break;
+                }
+                nextChange++;
+            }
+            return nextChange;
+        }
+
+        /**
+         * Gets the nodes updated by the changes applied so far.
+         *
+         * @return a set of updated nodes addressed by the applied changes
+         */
+        public JsSet<StateNode> getUpdatedNodes() {
             return nodes;
-        } finally {
-            tree.setUpdateInProgress(false);
         }
     }
 
@@ -97,6 +205,15 @@ public class TreeChangeProcessor {
                 .equals(change.getString(JsonConstants.CHANGE_TYPE));
     }
 
+    private static boolean isTag(JsonObject change) {
+        return JsonConstants.CHANGE_TYPE_PUT
+                .equals(change.getString(JsonConstants.CHANGE_TYPE))
+                && (int) change.getNumber(
+                        JsonConstants.CHANGE_FEATURE) == NodeFeatures.ELEMENT_DATA
+                && NodeProperties.TAG.equals(
+                        change.getString(JsonConstants.CHANGE_MAP_KEY));
+    }
+
     /**
      * Update a state tree based on a JSON change. This method is public for
      * testing purposes.
@@ -59,6 +59,58 @@ const assertResponseIsOk = async(response: Response): Promise<void> => {
   }
 };
 
+/**
+ * Keeps the undefined values in the object after JSON.stringify.
+ * @param obj The object to update.
+ * @ignore
+ */
+const nullForUndefined = (obj: any): any => {
+  for (const property in obj) {
+    if (obj[property] === undefined) {
+      obj[property] = null;
+    }
+  }
+  return obj;
+};
+
+/**
+ * Reads a newline delimited JSON response and passes each parsed line to the
+ * callback as soon as the line has been received.
+ * @param response The response to read.
+ * @param onItem The callback for the parsed lines.
+ * @ignore
+ */
+const readJsonLines = async(
+  response: Response,
+  onItem: (item: any) => void
+): Promise<void> => {
+  // parses the complete lines and returns the incomplete remainder
+  const parseLines = (text: string): string => {
+    const lines = text.split('\n');
+    const remainder = lines.pop() as string;
+    lines.filter(line => line.length > 0)
+      .forEach(line => onItem(JSON.parse(line)));
+    return remainder;
+  };
+
+  if (!response.body) {
+    // the browser can not stream the response body
+    parseLines(await response.text() + '\n');
+    return;
+  }
+
+  const reader = response.body.getReader();
+  const decoder = new TextDecoder();
+  let remainder = '';
+  let chunk = await reader.read();
+  while (!chunk.done) {
+    remainder = parseLines(
+      remainder + decoder.decode(chunk.value, {stream: true}));
+    chunk = await reader.read();
+  }
+  parseLines(remainder + decoder.decode() + '\n');
+};
+
 /**
  * An exception that gets thrown for unexpected HTTP response.
  */
@@ -171,6 +223,32 @@ export interface ConnectClientOptions {
    * The `middlewares` property value.
    */
   middlewares?: Middleware[];
+
+  /**
+   * The `batch` property value.
+   */
+  batch?: boolean;
+}
+
+/**
+ * A call waiting in the batch queue of a client.
+ * @ignore
+ */
+interface BatchedCall {
+  endpoint: string;
+  method: string;
+  params?: any;
+  resolve: (value: any) => void;
+  reject: (reason: any) => void;
+}
+
+/**
+ * The result of a call in a batch response.
+ * @ignore
+ */
+interface BatchedCallResult {
+  status: number;
+  body: any;
 }
 
 /**
@@ -253,6 +331,20 @@ export type Middleware = MiddlewareClass | MiddlewareFunction;
  *
  * The default prefix is '/connect'.
  *
+ * ### Batching
+ *
+ * The client supports a `batch` constructor option:
+ * ```js
+ * const client = new ConnectClient({batch: true});
+ * ```
+ *
+ * When enabled, the calls made in the same microtask, for example the calls
+ * issued one after another when a view is loaded, are sent to the
+ * `${prefix}/batch` URL in a single request. Each call still resolves or
+ * rejects on its own. The middlewares are invoked once for the whole batch
+ * request, with `batch` as the endpoint name and the array of calls as the
+ * params. Batching is disabled by default.
+ *
  */
 export class ConnectClient {
   /**
@@ -265,6 +357,13 @@ export class ConnectClient {
    */
   middlewares: Middleware[] = [];
 
+  /**
+   * Whether the calls made in the same microtask are sent in a single request.
+   */
+  batch: boolean = false;
+
+  private batchQueue: BatchedCall[] = [];
+
   /**
    * @param options Constructor options.
    */
@@ -276,6 +375,10 @@ export class ConnectClient {
     if (options.middlewares) {
       this.middlewares = options.middlewares;
     }
+
+    if (options.batch) {
+      this.batch = options.batch;
+    }
   }
 
   /**
@@ -300,24 +403,107 @@ export class ConnectClient {
       );
     }
 
+    if (this.batch) {
+      return new Promise((resolve, reject) => {
+        if (this.batchQueue.push({endpoint, method, params, resolve, reject}) === 1) {
+          // the calls made until the end of the current microtask are sent
+          // together
+          Promise.resolve().then(() => this.sendBatch());
+        }
+      });
+    }
+
+    return this.request(endpoint, method, params,
+      `${this.prefix}/${endpoint}/${method}`, 'application/json',
+      (response: Response) => response.json());
+  }
+
+  /**
+   * Makes a JSON HTTP request to the `${prefix}/${endpoint}/${method}/stream`
+   * URL, optionally supplying the provided params as a JSON request body.
+   * The response is read as newline delimited JSON, each item returned by the
+   * endpoint method is decoded and passed to the callback as soon as it has
+   * been received, without waiting for the whole response.
+   *
+   * @param endpoint Endpoint name.
+   * @param method Method name to call in the endpoint class.
+   * @param params Object to be send in JSON request body, or `undefined`.
+   * @param onItem Callback which receives the decoded items in order.
+   * @returns {} Resolved once all the items have been received.
+   */
+  async stream(
+    endpoint: string,
+    method: string,
+    params: any,
+    onItem: (item: any) => void
+  ): Promise<void> {
+    if (typeof onItem !== 'function') {
+      throw new TypeError('The item callback must be a function');
+    }
+
+    return this.request(endpoint, method, params,
+      `${this.prefix}/${endpoint}/${method}/stream`,
+      'application/x-ndjson, application/json',
+      (response: Response) => readJsonLines(response, onItem));
+  }
+
+  private async sendBatch(): Promise<void> {
+    const calls = this.batchQueue;
+    this.batchQueue = [];
+
+    if (calls.length === 1) {
+      const {endpoint, method, params, resolve, reject} = calls[0];
+      return this.request(endpoint, method, params,
+        `${this.prefix}/${endpoint}/${method}`, 'application/json',
+        (response: Response) => response.json()
+      ).then(resolve, reject);
+    }
+
+    const batchParams = calls.map(({endpoint, method, params}) => ({
+      endpoint,
+      method,
+      params: params !== undefined ? nullForUndefined(params) : undefined
+    }));
+    let results: BatchedCallResult[];
+    try {
+      results = await this.request('batch', '', batchParams,
+        `${this.prefix}/batch`, 'application/json',
+        (response: Response) => response.json());
+    } catch (error) {
+      calls.forEach(call => call.reject(error));
+      return;
+    }
+
+    calls.forEach((call, index) => {
+      const {status, body} = results[index];
+      // the single call response is recreated to handle it the same way
+      // as a response of a separate request
+      const response = new Response(
+        status === 200 || body !== null ? JSON.stringify(body) : '',
+        {status}
+      );
+      assertResponseIsOk(response)
+        .then(() => response.json())
+        .then(call.resolve, call.reject);
+    });
+  }
+
+  private async request(
+    endpoint: string,
+    method: string,
+    params: any,
+    url: string,
+    accept: string,
+    readResponse: (response: Response) => Promise<any>
+  ): Promise<any> {
     const headers: Record<string, string> = {
-      'Accept': 'application/json',
+      'Accept': accept,
       'Content-Type': 'application/json',
       'X-CSRF-Token': $wnd.Vaadin.TypeScript && $wnd.Vaadin.TypeScript.csrfToken || ''
     };
 
-    // helper to keep the undefined value in object after JSON.stringify
-    const nullForUndefined = (obj: any): any => {
-      for (const property in obj) {
-        if (obj[property] === undefined) {
-          obj[property] = null;
-        }
-      }
-      return obj;
-    }
-
     const request = new Request(
-       `${this.prefix}/${endpoint}/${method}`, {
+       url, {
          method: 'POST',
          headers,
          body: params !== undefined ? JSON.stringify(nullForUndefined(params)) : undefined
@@ -343,7 +529,7 @@ export class ConnectClient {
       ): Promise<Response> => {
         const response = await next(context);
         await assertResponseIsOk(response);
-        return response.json();
+        return readResponse(response);
       };
 
     // The actual fetch call itself is expressed as a middleware
@@ -6,7 +6,10 @@ import junit.framework.TestSuite;
 import com.google.gwt.junit.tools.GWTTestSuite;
 
 import com.vaadin.client.communication.GwtAtmoshperePushConnectionTest;
+import com.vaadin.client.communication.GwtDefaultConnectionStateHandlerTest;
 import com.vaadin.client.communication.GwtDefaultReconnectDialogTest;
+import com.vaadin.client.communication.GwtMessageSenderTest;
+import com.vaadin.client.communication.GwtRequestResponseTrackerTest;
 import com.vaadin.client.flow.GwtBasicElementBinderTest;
 import com.vaadin.client.flow.GwtEventHandlerTest;
 import com.vaadin.client.flow.GwtMultipleBindingTest;
@@ -53,6 +56,9 @@ public class GwtSuite extends GWTTestSuite {
         suite.addTestSuite(GwtDependencyLoaderTest.class);
         suite.addTestSuite(GwtMessageHandlerTest.class);
         suite.addTestSuite(GwtMultipleBindingTest.class);
+        suite.addTestSuite(GwtRequestResponseTrackerTest.class);
+        suite.addTestSuite(GwtMessageSenderTest.class);
+        suite.addTestSuite(GwtDefaultConnectionStateHandlerTest.class);
         return suite;
     }
 }
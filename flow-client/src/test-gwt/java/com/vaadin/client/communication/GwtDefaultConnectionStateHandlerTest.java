@@ -0,0 +1,221 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client.communication;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.user.client.Timer;
+import com.google.gwt.xhr.client.XMLHttpRequest;
+
+import com.vaadin.client.ApplicationConfiguration;
+import com.vaadin.client.ClientEngineTestBase;
+import com.vaadin.client.LoadingIndicator;
+import com.vaadin.client.Registry;
+import com.vaadin.client.UILifecycle;
+import com.vaadin.client.UILifecycle.UIState;
+import com.vaadin.flow.shared.ApplicationConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+public class GwtDefaultConnectionStateHandlerTest extends ClientEngineTestBase {
+
+    private Registry registry;
+    private TestReconnectDialogConfiguration reconnectConfiguration;
+    private TestConnectionStateHandler handler;
+
+    private static class TestReconnectDialogConfiguration
+            extends ReconnectDialogConfiguration {
+
+        private int reconnectAttempts = 5;
+
+        public TestReconnectDialogConfiguration(Registry registry) {
+            super(registry);
+        }
+
+        @Override
+        public boolean isDialogModal() {
+            return false;
+        }
+
+        @Override
+        public String getDialogText() {
+            return "Reconnecting {0}";
+        }
+
+        @Override
+        public String getDialogTextGaveUp() {
+            return "Gave up {0}";
+        }
+
+        @Override
+        public int getReconnectAttempts() {
+            return reconnectAttempts;
+        }
+
+        @Override
+        public int getReconnectInterval() {
+            return 20;
+        }
+
+        @Override
+        public int getDialogGracePeriod() {
+            return 1000;
+        }
+    }
+
+    private static class TestMessageSender extends MessageSender {
+
+        private List<JsonObject> payloads = new ArrayList<>();
+
+        public TestMessageSender(Registry registry) {
+            super(registry);
+        }
+
+        @Override
+        public void send(JsonObject payload) {
+            payloads.add(payload);
+        }
+    }
+
+    private static class TestConnectionStateHandler
+            extends DefaultConnectionStateHandler {
+
+        private List<Integer> reconnectAttempts = new ArrayList<>();
+
+        public TestConnectionStateHandler(Registry registry) {
+            super(registry);
+        }
+
+        @Override
+        protected String getDialogText(int reconnectAttempt) {
+            reconnectAttempts.add(reconnectAttempt);
+            return super.getDialogText(reconnectAttempt);
+        }
+
+        @Override
+        protected void handleCommunicationError(String details,
+                int statusCode) {
+            // No system error handler in the test
+        }
+    }
+
+    @Override
+    protected void gwtSetUp() throws Exception {
+        super.gwtSetUp();
+        registry = new Registry() {
+            {
+                UILifecycle lifecycle = new UILifecycle();
+                lifecycle.setState(UIState.RUNNING);
+                set(UILifecycle.class, lifecycle);
+                ApplicationConfiguration configuration = new ApplicationConfiguration();
+                configuration.setMaxPipelinedRequests(2);
+                set(ApplicationConfiguration.class, configuration);
+                set(RequestResponseTracker.class,
+                        new RequestResponseTracker(this));
+                set(ServerRpcQueue.class, new ServerRpcQueue(this));
+                set(LoadingIndicator.class, new LoadingIndicator());
+                set(MessageSender.class, new TestMessageSender(this));
+                reconnectConfiguration = new TestReconnectDialogConfiguration(
+                        this);
+                set(ReconnectDialogConfiguration.class,
+                        reconnectConfiguration);
+            }
+        };
+        handler = new TestConnectionStateHandler(registry);
+    }
+
+    public void testXhrException_singleRequest_payloadResentImmediately() {
+        registry.getRequestResponseTracker().startRequest();
+
+        handler.xhrException(createError(0));
+
+        assertEquals(1, getSentPayloads().size());
+        assertEquals(1, registry.getRequestResponseTracker()
+                .getActiveRequestCount());
+    }
+
+    public void testXhrException_pipelinedRequestsFail_payloadsResentInOrderInOneAttempt() {
+        registry.getRequestResponseTracker().startRequest();
+        registry.getRequestResponseTracker().startRequest();
+
+        handler.xhrException(createError(1));
+        // waits for the other request which is still in flight
+        assertEquals(0, getSentPayloads().size());
+        handler.xhrException(createError(0));
+        assertEquals(0, getSentPayloads().size());
+
+        delayTestFinish(1000);
+        new Timer() {
+            @Override
+            public void run() {
+                List<JsonObject> payloads = getSentPayloads();
+                assertEquals(2, payloads.size());
+                assertEquals(0, getClientToServerId(payloads.get(0)));
+                assertEquals(1, getClientToServerId(payloads.get(1)));
+                assertEquals(1, handler.reconnectAttempts.size());
+                assertEquals(2, registry.getRequestResponseTracker()
+                        .getActiveRequestCount());
+                finishTest();
+            }
+        }.schedule(200);
+    }
+
+    public void testGiveUp_pipelinedRequestsActive_allRequestsEnded() {
+        reconnectConfiguration.reconnectAttempts = 1;
+        registry.getRequestResponseTracker().startRequest();
+        registry.getRequestResponseTracker().startRequest();
+
+        handler.xhrException(createError(0));
+
+        assertFalse(registry.getRequestResponseTracker().hasActiveRequest());
+        assertTrue(registry.getUILifecycle().isTerminated());
+        assertEquals(0, getSentPayloads().size());
+    }
+
+    public void testXhrInvalidContent_pipelinedRequestsActive_allRequestsEnded() {
+        registry.getRequestResponseTracker().startRequest();
+        registry.getRequestResponseTracker().startRequest();
+
+        handler.xhrInvalidContent(new XhrConnectionError(
+                XMLHttpRequest.create(), createPayload(0), null));
+
+        assertFalse(registry.getRequestResponseTracker().hasActiveRequest());
+        assertTrue(registry.getUILifecycle().isTerminated());
+    }
+
+    private List<JsonObject> getSentPayloads() {
+        return ((TestMessageSender) registry.getMessageSender()).payloads;
+    }
+
+    private static XhrConnectionError createError(int clientToServerId) {
+        return new XhrConnectionError(null, createPayload(clientToServerId),
+                new Exception("Connection failed"));
+    }
+
+    private static JsonObject createPayload(int clientToServerId) {
+        JsonObject payload = Json.createObject();
+        payload.put(ApplicationConstants.CLIENT_TO_SERVER_ID,
+                clientToServerId);
+        return payload;
+    }
+
+    private static int getClientToServerId(JsonObject payload) {
+        return (int) payload
+                .getNumber(ApplicationConstants.CLIENT_TO_SERVER_ID);
+    }
+}
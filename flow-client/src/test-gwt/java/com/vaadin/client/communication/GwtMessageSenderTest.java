@@ -0,0 +1,126 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client.communication;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.vaadin.client.ApplicationConfiguration;
+import com.vaadin.client.ClientEngineTestBase;
+import com.vaadin.client.LoadingIndicator;
+import com.vaadin.client.Registry;
+import com.vaadin.client.UILifecycle;
+import com.vaadin.client.UILifecycle.UIState;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+public class GwtMessageSenderTest extends ClientEngineTestBase {
+
+    private ApplicationConfiguration configuration;
+    private Registry registry;
+    private MessageSender sender;
+
+    private static class TestXhrConnection extends XhrConnection {
+
+        private List<JsonObject> payloads = new ArrayList<>();
+
+        public TestXhrConnection(Registry registry) {
+            super(registry);
+        }
+
+        @Override
+        public void send(JsonObject payload) {
+            payloads.add(payload);
+        }
+    }
+
+    @Override
+    protected void gwtSetUp() throws Exception {
+        super.gwtSetUp();
+        configuration = new ApplicationConfiguration();
+        registry = new Registry() {
+            {
+                UILifecycle lifecycle = new UILifecycle();
+                lifecycle.setState(UIState.RUNNING);
+                set(UILifecycle.class, lifecycle);
+                set(ApplicationConfiguration.class, configuration);
+                set(RequestResponseTracker.class,
+                        new RequestResponseTracker(this));
+                set(ServerRpcQueue.class, new ServerRpcQueue(this));
+                set(LoadingIndicator.class, new LoadingIndicator());
+                set(MessageHandler.class, new MessageHandler(this));
+                set(XhrConnection.class, new TestXhrConnection(this));
+                set(MessageSender.class, new MessageSender(this));
+            }
+        };
+        sender = registry.getMessageSender();
+    }
+
+    public void testSendInvocationsToServer_noPipelining_waitsForResponse() {
+        sendInvocation();
+        sendInvocation();
+
+        assertEquals(1, getSentPayloads().size());
+
+        registry.getRequestResponseTracker().endRequest();
+        sender.sendInvocationsToServer();
+
+        assertEquals(2, getSentPayloads().size());
+        assertClientToServerIds(0, 1);
+    }
+
+    public void testSendInvocationsToServer_pipeliningAllowed_sentWithoutWaitingForResponse() {
+        configuration.setMaxPipelinedRequests(2);
+
+        sendInvocation();
+        sendInvocation();
+        sendInvocation();
+
+        assertEquals(2, getSentPayloads().size());
+        assertEquals(2, registry.getRequestResponseTracker()
+                .getActiveRequestCount());
+
+        registry.getRequestResponseTracker().endRequest();
+        sender.sendInvocationsToServer();
+
+        assertEquals(3, getSentPayloads().size());
+        assertClientToServerIds(0, 1, 2);
+    }
+
+    private void sendInvocation() {
+        JsonObject invocation = Json.createObject();
+        invocation.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
+        invocation.put(JsonConstants.RPC_NODE, 1);
+        invocation.put(JsonConstants.RPC_EVENT_TYPE, "click");
+        registry.getServerRpcQueue().add(invocation);
+        sender.sendInvocationsToServer();
+    }
+
+    private List<JsonObject> getSentPayloads() {
+        return ((TestXhrConnection) registry.getXhrConnection()).payloads;
+    }
+
+    private void assertClientToServerIds(int... ids) {
+        List<JsonObject> payloads = getSentPayloads();
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], (int) payloads.get(i)
+                    .getNumber(ApplicationConstants.CLIENT_TO_SERVER_ID));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client.communication;
+
+import com.vaadin.client.ApplicationConfiguration;
+import com.vaadin.client.ClientEngineTestBase;
+import com.vaadin.client.LoadingIndicator;
+import com.vaadin.client.Registry;
+import com.vaadin.client.UILifecycle;
+import com.vaadin.client.UILifecycle.UIState;
+
+public class GwtRequestResponseTrackerTest extends ClientEngineTestBase {
+
+    private ApplicationConfiguration configuration;
+    private RequestResponseTracker tracker;
+
+    @Override
+    protected void gwtSetUp() throws Exception {
+        super.gwtSetUp();
+        configuration = new ApplicationConfiguration();
+        Registry registry = new Registry() {
+            {
+                UILifecycle lifecycle = new UILifecycle();
+                lifecycle.setState(UIState.RUNNING);
+                set(UILifecycle.class, lifecycle);
+                set(ApplicationConfiguration.class, configuration);
+                set(ServerRpcQueue.class, new ServerRpcQueue(this));
+                set(LoadingIndicator.class, new LoadingIndicator());
+            }
+        };
+        tracker = new RequestResponseTracker(registry);
+    }
+
+    public void testStartRequest_noPipelining_secondRequestThrows() {
+        tracker.startRequest();
+        assertFalse(tracker.canStartPipelinedRequest());
+
+        try {
+            tracker.startRequest();
+            fail("Second request should not be allowed without pipelining");
+        } catch (IllegalStateException expected) {
+            assertEquals(1, tracker.getActiveRequestCount());
+        }
+    }
+
+    public void testStartRequest_pipeliningAllowed_startsUpToMaximum() {
+        configuration.setMaxPipelinedRequests(2);
+
+        tracker.startRequest();
+        assertTrue(tracker.canStartPipelinedRequest());
+        tracker.startRequest();
+        assertEquals(2, tracker.getActiveRequestCount());
+        assertFalse(tracker.canStartPipelinedRequest());
+
+        try {
+            tracker.startRequest();
+            fail("Third request should not be allowed");
+        } catch (IllegalStateException expected) {
+            assertEquals(2, tracker.getActiveRequestCount());
+        }
+    }
+
+    public void testEndRequest_pipelinedRequests_activeUntilAllEnded() {
+        configuration.setMaxPipelinedRequests(2);
+        tracker.startRequest();
+        tracker.startRequest();
+
+        tracker.endRequest();
+        assertTrue(tracker.hasActiveRequest());
+        assertTrue(tracker.canStartPipelinedRequest());
+
+        tracker.endRequest();
+        assertFalse(tracker.hasActiveRequest());
+        assertEquals(0, tracker.getActiveRequestCount());
+    }
+
+    public void testEndRequest_noActiveRequest_throws() {
+        try {
+            tracker.endRequest();
+            fail("Ending a request should fail when none is active");
+        } catch (IllegalStateException expected) {
+            assertEquals(0, tracker.getActiveRequestCount());
+        }
+    }
+}
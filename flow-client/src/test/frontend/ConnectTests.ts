@@ -435,4 +435,134 @@ describe('ConnectClient', () => {
       });
     });
   });
+
+  describe('stream method', () => {
+    beforeEach(() => fetchMock
+      .post(base + '/connect/FooEndpoint/fooMethod/stream', {
+        body: '{"item":1}\n{"item":2}\n',
+        headers: {'content-type': 'application/x-ndjson'}
+      })
+    );
+
+    afterEach(() => fetchMock.restore());
+
+    let client: ConnectClient;
+
+    beforeEach(() => {
+      client = new ConnectClient();
+    });
+
+    it('should require an item callback', async() => {
+      try {
+        // @ts-ignore
+        await client.stream('FooEndpoint', 'fooMethod');
+        throw new Error('should have thrown');
+      } catch (err) {
+        expect(err).to.be.instanceOf(TypeError)
+          .and.have.property('message').that.has.string('callback');
+      }
+    });
+
+    it('should fetch the stream url of the method', async() => {
+      await client.stream('FooEndpoint', 'fooMethod', undefined, () => {});
+
+      expect(fetchMock.calls()).to.have.lengthOf(1);
+      expect(fetchMock.lastUrl()).to.equal(base + '/connect/FooEndpoint/fooMethod/stream');
+      expect(fetchMock.lastOptions().headers).to.deep.include({
+        'accept': 'application/x-ndjson, application/json'
+      });
+    });
+
+    it('should pass each line to the callback in order', async() => {
+      const items: any[] = [];
+      await client.stream('FooEndpoint', 'fooMethod', undefined, item => items.push(item));
+
+      expect(items).to.deep.equal([{item: 1}, {item: 2}]);
+    });
+
+    it('should reject if response is not ok', async() => {
+      fetchMock.post(base + '/connect/FooEndpoint/notFound/stream', 404);
+      try {
+        await client.stream('FooEndpoint', 'notFound', undefined, () => {});
+        throw new Error('should have thrown');
+      } catch (err) {
+        expect(err).to.be.instanceOf(EndpointError)
+          .and.have.property('message').that.has.string('404 Not Found');
+      }
+    });
+  });
+
+  describe('batch option', () => {
+    afterEach(() => fetchMock.restore());
+
+    let client: ConnectClient;
+
+    beforeEach(() => {
+      client = new ConnectClient({batch: true});
+    });
+
+    it('should be disabled by default', () => {
+      expect(new ConnectClient()).to.have.property('batch', false);
+    });
+
+    it('should send the calls of the same microtask in one request', async() => {
+      fetchMock.post(base + '/connect/batch', [
+        {status: 200, body: {fooData: 'foo'}},
+        {status: 200, body: null}
+      ]);
+
+      const results = await Promise.all([
+        client.call('FooEndpoint', 'fooMethod', {fooParam: undefined}),
+        client.call('BarEndpoint', 'barMethod')
+      ]);
+
+      expect(results).to.deep.equal([{fooData: 'foo'}, null]);
+      expect(fetchMock.calls()).to.have.lengthOf(1);
+      expect(await fetchMock.lastCall().request.json()).to.deep.equal([
+        {endpoint: 'FooEndpoint', method: 'fooMethod', params: {fooParam: null}},
+        {endpoint: 'BarEndpoint', method: 'barMethod'}
+      ]);
+    });
+
+    it('should send a single call as a separate request', async() => {
+      fetchMock.post(base + '/connect/FooEndpoint/fooMethod', {fooData: 'foo'});
+
+      const data = await client.call('FooEndpoint', 'fooMethod');
+
+      expect(data).to.deep.equal({fooData: 'foo'});
+      expect(fetchMock.lastUrl()).to.equal(base + '/connect/FooEndpoint/fooMethod');
+    });
+
+    it('should reject only the failed calls', async() => {
+      fetchMock.post(base + '/connect/batch', [
+        {status: 200, body: 'ok'},
+        {status: 400, body: {message: 'Something bad happened'}},
+        {status: 404, body: null}
+      ]);
+
+      const results = await Promise.all([
+        client.call('FooEndpoint', 'fooMethod'),
+        client.call('FooEndpoint', 'badMethod').catch(err => err),
+        client.call('FooEndpoint', 'missingMethod').catch(err => err)
+      ]);
+
+      expect(results[0]).to.equal('ok');
+      expect(results[1]).to.be.instanceOf(EndpointError)
+        .and.have.property('message', 'Something bad happened');
+      expect(results[2]).to.be.instanceOf(EndpointError)
+        .and.have.property('message').that.has.string('404');
+    });
+
+    it('should reject all the calls if the batch request fails', async() => {
+      fetchMock.post(base + '/connect/batch', 500);
+
+      const results = await Promise.all([
+        client.call('FooEndpoint', 'fooMethod').catch(err => err),
+        client.call('BarEndpoint', 'barMethod').catch(err => err)
+      ]);
+
+      expect(results[0]).to.be.instanceOf(EndpointError);
+      expect(results[1]).to.equal(results[0]);
+    });
+  });
 });
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.shared.ApplicationConstants;
+
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+public class PerformanceSamplerTest {
+
+    private ApplicationConfiguration configuration = new ApplicationConfiguration();
+
+    private Registry registry = new Registry() {
+        {
+            set(ApplicationConfiguration.class, configuration);
+        }
+    };
+
+    private double time = 0;
+    private String location = "/foo";
+
+    private PerformanceSampler sampler = new PerformanceSampler(registry) {
+        @Override
+        double getCurrentTime() {
+            return time;
+        }
+
+        @Override
+        String getLocation() {
+            return location;
+        }
+    };
+
+    @Test
+    public void noSampleRate_notEnabled_nothingRecorded() {
+        Assert.assertFalse(sampler.isEnabled());
+
+        sampler.record(ApplicationConstants.CLIENT_PERFORMANCE_PARSE, 10);
+
+        Assert.assertNull(sampler.collectReport());
+    }
+
+    @Test
+    public void record_measurementsAggregatedByLocation() {
+        configuration.setPerformanceSampleRate(1);
+
+        sampler.record(ApplicationConstants.CLIENT_PERFORMANCE_PARSE, 10);
+        sampler.record(ApplicationConstants.CLIENT_PERFORMANCE_PARSE, 30);
+        sampler.record(ApplicationConstants.CLIENT_PERFORMANCE_RENDER, 5);
+        location = "/bar";
+        sampler.record(ApplicationConstants.CLIENT_PERFORMANCE_PARSE, 1);
+
+        JsonObject report = sampler.collectReport();
+
+        JsonArray parse = report.getObject("/foo")
+                .getArray(ApplicationConstants.CLIENT_PERFORMANCE_PARSE);
+        Assert.assertEquals(2, parse.getNumber(0), 0);
+        Assert.assertEquals(40, parse.getNumber(1), 0);
+        Assert.assertEquals(30, parse.getNumber(2), 0);
+
+        JsonArray render = report.getObject("/foo")
+                .getArray(ApplicationConstants.CLIENT_PERFORMANCE_RENDER);
+        Assert.assertEquals(1, render.getNumber(0), 0);
+
+        JsonArray otherParse = report.getObject("/bar")
+                .getArray(ApplicationConstants.CLIENT_PERFORMANCE_PARSE);
+        Assert.assertEquals(1, otherParse.getNumber(1), 0);
+    }
+
+    @Test
+    public void collectReport_reportIntervalNotElapsed_noReport() {
+        configuration.setPerformanceSampleRate(1);
+        configuration.setPerformanceReportInterval(60);
+
+        sampler.record(ApplicationConstants.CLIENT_PERFORMANCE_PARSE, 10);
+        time = 59000;
+        Assert.assertNull(sampler.collectReport());
+
+        time = 60000;
+        Assert.assertNotNull(sampler.collectReport());
+
+        // Measurements are cleared once reported
+        time = 200000;
+        Assert.assertNull(sampler.collectReport());
+    }
+}
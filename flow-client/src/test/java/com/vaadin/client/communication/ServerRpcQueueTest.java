@@ -0,0 +1,152 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client.communication;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.client.ApplicationConfiguration;
+import com.vaadin.client.Registry;
+import com.vaadin.client.UILifecycle;
+import com.vaadin.client.UILifecycle.UIState;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+public class ServerRpcQueueTest {
+
+    private ApplicationConfiguration configuration = new ApplicationConfiguration();
+
+    private Registry registry = new Registry() {
+        {
+            UILifecycle lifecycle = new UILifecycle();
+            lifecycle.setState(UIState.RUNNING);
+            set(UILifecycle.class, lifecycle);
+            set(ApplicationConfiguration.class, configuration);
+        }
+    };
+
+    private ServerRpcQueue queue = new ServerRpcQueue(registry);
+
+    @Test
+    public void add_syncOfSameProperty_previousSyncReplaced() {
+        queue.add(syncMessage(1, "value", "foo"));
+        queue.add(syncMessage(1, "other", "bar"));
+        queue.add(syncMessage(1, "value", "baz"));
+
+        JsonArray invocations = queue.toJson();
+        Assert.assertEquals(2, invocations.length());
+        Assert.assertEquals("baz", invocations.getObject(0)
+                .getString(JsonConstants.RPC_PROPERTY_VALUE));
+        Assert.assertEquals("bar", invocations.getObject(1)
+                .getString(JsonConstants.RPC_PROPERTY_VALUE));
+    }
+
+    @Test
+    public void add_syncOfOtherNode_bothSent() {
+        queue.add(syncMessage(1, "value", "foo"));
+        queue.add(syncMessage(2, "value", "bar"));
+
+        Assert.assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void add_syncAfterOtherInvocation_previousSyncKept() {
+        queue.add(syncMessage(1, "value", "foo"));
+        queue.add(eventMessage(1, "change"));
+        queue.add(syncMessage(1, "value", "bar"));
+
+        Assert.assertEquals(3, queue.size());
+    }
+
+    @Test
+    public void add_sameEventsWithoutCoalescingWindow_allEventsSent() {
+        queue.add(eventMessage(1, "resize"));
+        queue.add(eventMessage(1, "resize"));
+
+        Assert.assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void add_sameEventsWithCoalescingWindow_latestEventSent() {
+        configuration.setEventCoalescingWindow(50);
+        configuration.setCoalescedEvents(new String[] { "resize" });
+
+        queue.add(eventMessage(1, "resize"));
+        JsonObject latest = eventMessage(1, "resize");
+        queue.add(latest);
+
+        Assert.assertEquals(1, queue.size());
+        Assert.assertSame(latest, queue.toJson().getObject(0));
+    }
+
+    @Test
+    public void add_sameEventsNotConfiguredForCoalescing_allEventsSent() {
+        configuration.setEventCoalescingWindow(50);
+        configuration.setCoalescedEvents(new String[] { "resize" });
+
+        queue.add(eventMessage(1, "click"));
+        queue.add(eventMessage(1, "click"));
+        queue.add(eventMessage(1, "keydown"));
+        queue.add(eventMessage(1, "keydown"));
+
+        Assert.assertEquals(4, queue.size());
+    }
+
+    @Test
+    public void add_coalescedEventsWithoutCoalescingWindow_allEventsSent() {
+        configuration.setCoalescedEvents(new String[] { "resize" });
+
+        queue.add(eventMessage(1, "resize"));
+        queue.add(eventMessage(1, "resize"));
+
+        Assert.assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void add_differentEventsWithCoalescingWindow_allEventsSent() {
+        configuration.setEventCoalescingWindow(50);
+        configuration.setCoalescedEvents(new String[] { "resize", "scroll" });
+
+        queue.add(eventMessage(1, "resize"));
+        queue.add(eventMessage(1, "scroll"));
+        queue.add(eventMessage(2, "scroll"));
+        queue.add(eventMessage(1, "resize"));
+
+        Assert.assertEquals(4, queue.size());
+    }
+
+    private static JsonObject syncMessage(int node, String property,
+            String value) {
+        JsonObject message = Json.createObject();
+        message.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_MAP_SYNC);
+        message.put(JsonConstants.RPC_NODE, node);
+        message.put(JsonConstants.RPC_FEATURE, 1);
+        message.put(JsonConstants.RPC_PROPERTY, property);
+        message.put(JsonConstants.RPC_PROPERTY_VALUE, value);
+        return message;
+    }
+
+    private static JsonObject eventMessage(int node, String eventType) {
+        JsonObject message = Json.createObject();
+        message.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
+        message.put(JsonConstants.RPC_NODE, node);
+        message.put(JsonConstants.RPC_EVENT_TYPE, eventType);
+        return message;
+    }
+}
@@ -28,6 +28,7 @@ import com.vaadin.client.flow.nodefeature.MapProperty;
 import com.vaadin.client.flow.nodefeature.NodeList;
 import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.nodefeature.NodeFeatures;
+import com.vaadin.flow.internal.nodefeature.NodeProperties;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
@@ -210,6 +211,90 @@ public class TreeChangeProcessorTest {
         Assert.assertTrue(updatedNodes.has(childNode));
     }
 
+    @Test
+    public void incrementalUpdate_stopRequested_changesAppliedInSlices() {
+        int nodeId = 2;
+        JsonArray changes = toArray(
+                putChange(nodeId, ns, myKey, Json.create(myValue)),
+                putChange(rootId, ns, myKey, Json.create(myValue)),
+                attachChange(nodeId));
+
+        TreeChangeProcessor.IncrementalUpdate update = TreeChangeProcessor
+                .createIncrementalUpdate(tree, changes);
+
+        Assert.assertFalse(update.process(() -> true));
+
+        // Attach changes are applied up front, followed by the first change
+        Assert.assertEquals(myValue, tree.getNode(nodeId).getMap(ns)
+                .getProperty(myKey).getValue());
+        Assert.assertFalse(
+                tree.getRootNode().getMap(ns).getProperty(myKey).hasValue());
+        Assert.assertFalse(tree.isUpdateInProgress());
+
+        Assert.assertTrue(update.process(() -> true));
+
+        Assert.assertEquals(myValue,
+                tree.getRootNode().getMap(ns).getProperty(myKey).getValue());
+        Assert.assertFalse(tree.isUpdateInProgress());
+
+        JsSet<StateNode> updatedNodes = update.getUpdatedNodes();
+        Assert.assertEquals(2, updatedNodes.size());
+        Assert.assertTrue(updatedNodes.has(tree.getNode(nodeId)));
+        Assert.assertTrue(updatedNodes.has(tree.getRootNode()));
+    }
+
+    @Test
+    public void incrementalUpdate_spliceAndTagInDifferentSlices_tagAppliedInFirstSlice() {
+        int childId = 2;
+        JsonArray changes = toArray(
+                nodeSpliceChange(rootId, NodeFeatures.ELEMENT_CHILDREN, 0, 0,
+                        childId),
+                putChange(rootId, ns, myKey, Json.create(myValue)),
+                putChange(childId, NodeFeatures.ELEMENT_DATA,
+                        NodeProperties.TAG, Json.create("div")),
+                attachChange(childId));
+
+        TreeChangeProcessor.IncrementalUpdate update = TreeChangeProcessor
+                .createIncrementalUpdate(tree, changes);
+
+        Assert.assertFalse(update.process(() -> true));
+
+        // The child is in the tree after the first slice, so it must already
+        // have its tag when the bindings run between the slices
+        StateNode child = tree.getNode(childId);
+        Assert.assertSame(child, tree.getRootNode()
+                .getList(NodeFeatures.ELEMENT_CHILDREN).get(0));
+        Assert.assertEquals("div", child.getMap(NodeFeatures.ELEMENT_DATA)
+                .getProperty(NodeProperties.TAG).getValue());
+        Assert.assertFalse(
+                tree.getRootNode().getMap(ns).getProperty(myKey).hasValue());
+
+        Assert.assertTrue(update.process(() -> true));
+
+        Assert.assertEquals(myValue,
+                tree.getRootNode().getMap(ns).getProperty(myKey).getValue());
+        JsSet<StateNode> updatedNodes = update.getUpdatedNodes();
+        Assert.assertEquals(2, updatedNodes.size());
+        Assert.assertTrue(updatedNodes.has(child));
+        Assert.assertTrue(updatedNodes.has(tree.getRootNode()));
+    }
+
+    @Test
+    public void incrementalUpdate_noStopRequested_allChangesApplied() {
+        JsonArray changes = toArray(
+                putChange(rootId, ns, myKey, Json.create(myValue)),
+                putChange(rootId, ns, "other", Json.create(myValue)));
+
+        TreeChangeProcessor.IncrementalUpdate update = TreeChangeProcessor
+                .createIncrementalUpdate(tree, changes);
+
+        Assert.assertTrue(update.process(() -> false));
+
+        Assert.assertEquals(myValue,
+                tree.getRootNode().getMap(ns).getProperty("other").getValue());
+        Assert.assertFalse(tree.isUpdateInProgress());
+    }
+
     @Test
     public void poulateMapFeature() {
         StateNode node = new StateNode(2, tree);
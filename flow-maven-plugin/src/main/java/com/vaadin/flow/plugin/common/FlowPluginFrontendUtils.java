@@ -17,14 +17,20 @@
 package com.vaadin.flow.plugin.common;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.maven.artifact.DependencyResolutionRequiredException;
 import org.apache.maven.project.MavenProject;
 
 import com.vaadin.flow.server.frontend.scanner.ClassFinder;
-import com.vaadin.flow.server.scanner.ReflectionsClassFinder;
+import com.vaadin.flow.server.frontend.scanner.ClassIndex;
+import com.vaadin.flow.server.frontend.scanner.IndexedClassFinder;
 import com.vaadin.flow.utils.FlowFileUtils;
 
 /**
@@ -45,6 +51,11 @@ public class FlowPluginFrontendUtils {
 
     /**
      * Gets a <code>ClassFinder</code> for the maven project.
+     * <p>
+     * Lookups are answered from a {@link ClassIndex} of the project class
+     * path, so that only the classes matching a lookup are loaded. Jar files
+     * containing a prebuilt {@link ClassIndex#RESOURCE} are not read class by
+     * class.
      *
      * @param project
      *            a maven project instance used as source for the
@@ -63,10 +74,22 @@ public class FlowPluginFrontendUtils {
                     "Failed to retrieve runtime classpath elements from project '%s'",
                     project), e);
         }
-        URL[] urls = classpathElements.distinct().map(File::new)
-                .map(FlowFileUtils::convertToUrl).toArray(URL[]::new);
+        List<File> files = classpathElements.distinct().map(File::new)
+                .collect(Collectors.toList());
+        URL[] urls = files.stream().map(FlowFileUtils::convertToUrl)
+                .toArray(URL[]::new);
 
-        return new ReflectionsClassFinder(urls);
+        ClassIndex index = new ClassIndex();
+        for (File file : files) {
+            try {
+                index.addClassPathElement(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(String.format(
+                        "Failed to index the classes of '%s'", file), e);
+            }
+        }
+        return new IndexedClassFinder(new URLClassLoader(urls, null), // NOSONAR
+                index);
     }
 
 }
@@ -46,6 +46,9 @@ import com.vaadin.flow.server.ExecutionFailedException;
 import com.vaadin.flow.server.frontend.FrontendTools;
 import com.vaadin.flow.server.frontend.FrontendUtils;
 import com.vaadin.flow.server.frontend.NodeTasks;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+import com.vaadin.flow.server.frontend.scanner.ClassIndex;
+import com.vaadin.flow.server.startup.StartupSnapshot;
 import com.vaadin.flow.theme.Theme;
 
 import elemental.json.JsonObject;
@@ -122,14 +125,42 @@ public class BuildFrontendMojo extends FlowModeAbstractMojo {
     @Parameter(defaultValue = "true")
     private boolean optimizeBundle;
 
+    /**
+     * Whether to put the frontend modules used by a single route target into
+     * separate chunks, which are loaded only when the route is used. Requires
+     * <code>optimizeBundle</code>.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean routeChunks;
+
+    /**
+     * A folder used as the npm cache or the pnpm store when installing the
+     * frontend dependencies. Packages already in the folder are not downloaded
+     * again, so that a populated folder allows building without network
+     * access.
+     */
+    @Parameter(property = "vaadin.packageCacheFolder")
+    private File packageCacheFolder;
+
+    /**
+     * Whether to store an index of the project classes in the jar, so that the
+     * builds of projects depending on it find its annotated classes and sub
+     * types without reading every class file. Meant for add-ons, which are
+     * used by other projects; an application jar has no use for the index.
+     */
+    @Parameter(property = "vaadin.writeClassIndex", defaultValue = "false")
+    private boolean writeClassIndex;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
         updateBuildFile();
+        writeClassIndex();
 
         long start = System.nanoTime();
 
+        ClassFinder classFinder = getClassFinder(project);
         try {
-            runNodeUpdater();
+            runNodeUpdater(classFinder);
         } catch (ExecutionFailedException exception) {
             throw new MojoFailureException(
                     "Could not execute build-frontend goal", exception);
@@ -144,11 +175,65 @@ public class BuildFrontendMojo extends FlowModeAbstractMojo {
             }
         }
 
+        writeStartupSnapshot(classFinder);
+
         long ms = (System.nanoTime() - start) / 1000000;
         getLog().info("update-frontend took " + ms + "ms.");
     }
 
-    private void runNodeUpdater() throws ExecutionFailedException, MojoExecutionException {
+    /**
+     * Stores the classes handled by the servlet container initializers next to
+     * the build info file. They are used in production mode when the container
+     * does not scan the classes.
+     */
+    private void writeStartupSnapshot(ClassFinder classFinder) {
+        if (!getTokenFile().exists()) {
+            getLog().warn(
+                    "Couldn't write the startup snapshot due to missing token file.");
+            return;
+        }
+        File snapshot = new File(webpackOutputDirectory,
+                StartupSnapshot.SNAPSHOT_FILE);
+        try {
+            StartupSnapshot.write(classFinder, snapshot);
+        } catch (ReflectiveOperationException | IOException
+                | RuntimeException e) {
+            // the snapshot is an optimization, the application starts without
+            // it as well
+            getLog().warn("Failed to write the startup snapshot to "
+                    + snapshot, e);
+        }
+    }
+
+    /**
+     * Stores an index of the project classes in the output directory of a jar
+     * project if enabled with <code>writeClassIndex</code>, so that the
+     * builds of projects depending on the jar can look up its annotated
+     * classes and sub types without reading every class file.
+     * <p>
+     * The index has to be in the output directory to be packaged, since this
+     * goal runs after the resources have been processed. It records the
+     * checksums of the class files, so an index left there by an earlier
+     * build is not used for a jar whose classes have changed since.
+     */
+    private void writeClassIndex() throws MojoExecutionException {
+        if (!writeClassIndex || !"jar".equals(project.getPackaging())) {
+            return;
+        }
+        File outputDirectory = new File(project.getBuild().getOutputDirectory());
+        try {
+            ClassIndex index = new ClassIndex();
+            index.addClassPathElement(outputDirectory);
+            index.write(new File(outputDirectory, ClassIndex.RESOURCE));
+        } catch (IOException e) {
+            throw new MojoExecutionException(
+                    "Failed to write the class index to " + outputDirectory,
+                    e);
+        }
+    }
+
+    private void runNodeUpdater(ClassFinder classFinder)
+            throws ExecutionFailedException, MojoExecutionException {
         Set<File> jarFiles = project.getArtifacts().stream()
                 .filter(artifact -> "jar".equals(artifact.getType()))
                 .map(Artifact::getFile).collect(Collectors.toSet());
@@ -162,12 +247,13 @@ public class BuildFrontendMojo extends FlowModeAbstractMojo {
             throw new MojoExecutionException("Failed to parse " + nodeDownloadRoot, e);
         }
         // @formatter:off
-        new NodeTasks.Builder(getClassFinder(project),
+        new NodeTasks.Builder(classFinder,
                 npmFolder, generatedFolder, frontendDirectory)
                         .runNpmInstall(runNpmInstall)
                         .useV14Bootstrap(useDeprecatedV14Bootstrapping())
                         .enablePackagesUpdate(true)
                         .useByteCodeScanner(optimizeBundle)
+                        .useRouteChunks(routeChunks)
                         .withFlowResourcesFolder(flowResourcesFolder)
                         .copyResources(jarFiles)
                         .copyLocalResources(frontendResourcesDirectory)
@@ -183,6 +269,7 @@ public class BuildFrontendMojo extends FlowModeAbstractMojo {
                         .withHomeNodeExecRequired(requireHomeNodeExec)
                         .withNodeVersion(nodeVersion)
                         .withNodeDownloadRoot(nodeDownloadRootURI)
+                        .withPackageCacheFolder(packageCacheFolder)
                         .build()
                         .execute();
     }
@@ -33,7 +33,11 @@ import com.vaadin.flow.server.frontend.scanner.ClassFinder;
  * A class finder using org.reflections.
  *
  * @since 2.0
+ * @deprecated The Maven plugin no longer uses this class finder, use
+ *             {@link com.vaadin.flow.server.frontend.scanner.IndexedClassFinder}
+ *             instead
  */
+@Deprecated
 public class ReflectionsClassFinder implements ClassFinder {
     private final transient ClassLoader classLoader;
 
@@ -52,6 +52,7 @@ import org.mockito.Mockito;
 
 import com.vaadin.flow.plugin.TestUtils;
 import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.frontend.scanner.ClassIndex;
 
 import elemental.json.Json;
 import elemental.json.JsonObject;
@@ -439,6 +440,40 @@ public class BuildFrontendMojoTest {
         Assert.assertTrue(endpointClientApi.exists());
     }
 
+    @Test
+    public void jarProject_classIndexNotEnabled_noClassIndexWritten()
+            throws Exception {
+        File outputDirectory = setJarOutputDirectory();
+
+        mojo.execute();
+
+        Assert.assertFalse(
+                new File(outputDirectory, ClassIndex.RESOURCE).exists());
+    }
+
+    @Test
+    public void jarProject_classIndexEnabled_classIndexWritten()
+            throws Exception {
+        File outputDirectory = setJarOutputDirectory();
+        ReflectionUtils.setVariableValueInObject(mojo, "writeClassIndex",
+                true);
+
+        mojo.execute();
+
+        Assert.assertTrue(
+                new File(outputDirectory, ClassIndex.RESOURCE).exists());
+    }
+
+    private File setJarOutputDirectory() throws Exception {
+        File outputDirectory = temporaryFolder.newFolder("classes");
+        MavenProject project = (MavenProject) ReflectionUtils
+                .getValueIncludingSuperclasses("project", mojo);
+        when(project.getPackaging()).thenReturn("jar");
+        when(project.getBuild().getOutputDirectory())
+                .thenReturn(outputDirectory.getAbsolutePath());
+        return outputDirectory;
+    }
+
     static void assertContainsPackage(JsonObject dependencies,
             String... packages) {
         Arrays.asList(packages).forEach(dep -> Assert
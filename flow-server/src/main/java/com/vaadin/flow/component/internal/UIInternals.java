@@ -24,6 +24,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -73,6 +75,7 @@ import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.PushConnection;
 import com.vaadin.flow.server.frontend.FallbackChunk;
 import com.vaadin.flow.server.frontend.FallbackChunk.CssImportData;
+import com.vaadin.flow.server.frontend.RouteChunks;
 import com.vaadin.flow.shared.Registration;
 import com.vaadin.flow.shared.communication.PushMode;
 
@@ -191,6 +194,8 @@ public class UIInternals implements Serializable {
 
     private byte[] lastProcessedMessageHash = null;
 
+    private transient Condition clientToServerMessageProcessed;
+
     private String contextRootRelativePath;
 
     private String appId;
@@ -201,6 +206,8 @@ public class UIInternals implements Serializable {
 
     private boolean isFallbackChunkLoaded;
 
+    private final Set<String> loadedRouteChunks = new HashSet<>();
+
     /**
      * Creates a new instance for the given UI.
      *
@@ -277,6 +284,48 @@ public class UIInternals implements Serializable {
             byte[] lastProcessedMessageHash) {
         this.lastProcessedClientToServerId = lastProcessedClientToServerId;
         this.lastProcessedMessageHash = lastProcessedMessageHash;
+
+        if (clientToServerMessageProcessed != null) {
+            clientToServerMessageProcessed.signalAll();
+        }
+    }
+
+    /**
+     * Waits until all the messages from the client preceding the message with
+     * the given id have been processed, or until the given timeout elapses.
+     * The session lock, which must be held by the current thread, is released
+     * while waiting so that the preceding messages can be processed.
+     * <p>
+     * Used internally for communication tracking when the client may send
+     * several messages without waiting for the responses, as the messages may
+     * then arrive in a different order than they were sent.
+     *
+     * @param clientToServerId
+     *            the id of the message which is about to be processed
+     * @param timeout
+     *            the maximum time to wait, in milliseconds
+     * @return <code>true</code> if the preceding messages have been
+     *         processed, <code>false</code> if the timeout elapsed
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting
+     */
+    public boolean awaitPrecedingClientToServerMessages(int clientToServerId,
+            long timeout) throws InterruptedException {
+        VaadinSession session = getSession();
+        session.checkHasLock();
+        if (clientToServerMessageProcessed == null) {
+            clientToServerMessageProcessed = session.getLockInstance()
+                    .newCondition();
+        }
+
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeout);
+        while (lastProcessedClientToServerId + 1 < clientToServerId) {
+            if (remaining <= 0) {
+                return false;
+            }
+            remaining = clientToServerMessageProcessed.awaitNanos(remaining);
+        }
+        return true;
     }
 
     /**
@@ -816,6 +865,7 @@ public class UIInternals implements Serializable {
         // In npm mode, add external JavaScripts directly to the page.
         addExternalDependencies(dependencies);
         addFallbackDependencies(dependencies);
+        addRouteChunkDependencies(dependencies);
 
         dependencies.getStyleSheets().forEach(styleSheet -> page
                 .addStyleSheet(styleSheet.value(), styleSheet.loadMode()));
@@ -866,6 +916,27 @@ public class UIInternals implements Serializable {
         }
     }
 
+    private void addRouteChunkDependencies(DependencyInfo dependency) {
+        VaadinContext context = ui.getSession().getService().getContext();
+        RouteChunks chunks = context.getAttribute(RouteChunks.class);
+        if (chunks == null) {
+            return;
+        }
+        Stream.concat(dependency.getJsModules().stream().map(JsModule::value),
+                dependency.getJavaScripts().stream().map(JavaScript::value))
+                .map(chunks::getChunk).filter(Optional::isPresent)
+                .map(Optional::get).filter(loadedRouteChunks::add)
+                .forEach(this::loadRouteChunk);
+    }
+
+    private void loadRouteChunk(String chunk) {
+        ui.getPage().addDynamicImport(
+                "var fallbacks = window.Vaadin.Flow.fallbacks; "
+                        + "var chunks = fallbacks && fallbacks['" + getAppId()
+                        + "']; if (chunks && chunks.loadOnDemand) { return chunks.loadOnDemand('"
+                        + chunk + "'); } else { return Promise.resolve(0); }");
+    }
+
     private CssImportData buildData(CssImport imprt) {
         Function<String, String> converter = str -> str.isEmpty() ? null : str;
         return new CssImportData(converter.apply(imprt.value()),
@@ -18,8 +18,10 @@ package com.vaadin.flow.dom;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
+import org.jsoup.nodes.Attribute;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Node;
 import org.jsoup.nodes.TextNode;
@@ -211,17 +213,54 @@ public class ElementUtil {
      * @return A JSoup node containing the converted element
      */
     public static Node toJsoup(Document document, Element element) {
+        return toJsoup(document, element, child -> true, name -> true).get();
+    }
+
+    /**
+     * Converts the given element and its children to a JSoup node with
+     * children, leaving out the elements and attributes rejected by the given
+     * filters.
+     * <p>
+     * Text nodes are always converted. An element rejected by the element
+     * filter is left out with all its descendants. The attribute filter also
+     * applies to the elements parsed from the {@code innerHTML} property.
+     *
+     * @param document
+     *            A JSoup document
+     * @param element
+     *            The element to convert
+     * @param elementFilter
+     *            the filter telling whether an element is converted, not
+     *            <code>null</code>
+     * @param attributeFilter
+     *            the filter telling whether an attribute with the given name
+     *            is converted, not <code>null</code>
+     * @return A JSoup node containing the converted element, or an empty
+     *         optional if the element is rejected by the element filter
+     */
+    public static Optional<Node> toJsoup(Document document, Element element,
+            Predicate<Element> elementFilter,
+            Predicate<String> attributeFilter) {
         if (element.isTextNode()) {
-            return new TextNode(element.getText(), document.baseUri());
+            return Optional
+                    .of(new TextNode(element.getText(), document.baseUri()));
+        }
+        if (!elementFilter.test(element)) {
+            return Optional.empty();
         }
 
         org.jsoup.nodes.Element target = document
                 .createElement(element.getTag());
         if (element.hasProperty("innerHTML")) {
             target.html((String) element.getPropertyRaw("innerHTML"));
+            target.getAllElements()
+                    .forEach(child -> child.attributes().asList().stream()
+                            .map(Attribute::getKey)
+                            .filter(attributeFilter.negate())
+                            .forEach(child::removeAttr));
         }
 
-        element.getAttributeNames().forEach(name -> {
+        element.getAttributeNames().filter(attributeFilter).forEach(name -> {
             String attributeValue = element.getAttribute(name);
             if ("".equals(attributeValue)) {
                 target.attr(name, true);
@@ -230,10 +269,10 @@ public class ElementUtil {
             }
         });
 
-        element.getChildren()
-                .forEach(child -> target.appendChild(toJsoup(document, child)));
+        element.getChildren().forEach(child -> toJsoup(document, child,
+                elementFilter, attributeFilter).ifPresent(target::appendChild));
 
-        return target;
+        return Optional.of(target);
     }
 
     /**
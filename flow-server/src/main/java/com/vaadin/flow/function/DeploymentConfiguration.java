@@ -330,6 +330,20 @@ public interface DeploymentConfiguration extends Serializable {
                 true);
     }
 
+    /**
+     * Get if the dev server should be kept running after the JVM exits, so
+     * that it can be reused by the next JVM started for the same project. Only
+     * effective when {@link #reuseDevServer()} is enabled. Default is
+     * <code>false</code>.
+     *
+     * @return true if the dev server should be run as a daemon
+     */
+    default boolean isDevServerDaemon() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_DEVMODE_DEV_SERVER_DAEMON,
+                false);
+    }
+
     /**
      * Get if the stats.json file should be retrieved from an external service
      * or through the classpath.
@@ -374,6 +388,157 @@ public interface DeploymentConfiguration extends Serializable {
                 false);
     }
 
+    /**
+     * Checks whether stream resources created from an
+     * {@link com.vaadin.flow.server.InputStreamFactory} should be written using
+     * the Servlet 3.1 non-blocking I/O API instead of blocking a container
+     * thread until the whole resource has been sent.
+     * <p>
+     * The asynchronous path is only used if the servlet has async support
+     * enabled. By default it is <code>false</code>.
+     *
+     * @return {@code true} if stream resources should be written
+     *         asynchronously, {@code false} otherwise
+     */
+    default boolean isAsyncStreamResources() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_ASYNC_STREAM_RESOURCES, false);
+    }
+
+    /**
+     * Checks whether the element tree of the initial view should be rendered
+     * to static HTML and included in the bootstrap page. This only makes sense
+     * for the server-side bootstrapping.
+     * <p>
+     * The pre-rendered markup gives a meaningful first paint before the client
+     * engine has been loaded and executed. It is removed by the client once the
+     * initial UIDL has been applied. By default it is <code>false</code>.
+     *
+     * @return {@code true} if the initial view should be pre-rendered,
+     *         {@code false} otherwise
+     */
+    default boolean isPrerenderInitialView() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_PRERENDER_INITIAL_VIEW, false);
+    }
+
+    /**
+     * Returns the duration, in milliseconds, of the slices in which the client
+     * applies the changes of a server response. Between the slices, the
+     * changes applied so far are rendered and the browser may handle user
+     * input, so that large responses do not block the browser for their whole
+     * processing time. By default it is <code>0</code>, which means the changes
+     * are applied all at once.
+     *
+     * @return the slice duration in milliseconds, or <code>0</code> to apply
+     *         the changes all at once
+     */
+    default int getChangeProcessingSliceDuration() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_CHANGE_PROCESSING_SLICE_DURATION,
+                0, Integer::parseInt);
+    }
+
+    /**
+     * Returns the time, in milliseconds, during which the client merges
+     * consecutive events of the same type for the same node, sending only the
+     * latest one to the server. Only the event types returned by
+     * {@link #getCoalescedEvents()} are merged. By default it is
+     * <code>0</code>, which means every event is sent.
+     *
+     * @return the event coalescing window in milliseconds, or <code>0</code>
+     *         to send every event
+     */
+    default int getEventCoalescingWindow() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_EVENT_COALESCING_WINDOW, 0,
+                Integer::parseInt);
+    }
+
+    /**
+     * Returns the types of the client events which may be merged during the
+     * event coalescing window. This is useful for high-frequency events like
+     * resize or scroll events for which only the last one matters. Events
+     * such as clicks or key presses should not be listed, as every one of them
+     * matters.
+     * <p>
+     * The default value is empty, but it can be changed by setting the
+     * {@link InitParameters#SERVLET_PARAMETER_COALESCED_EVENTS} as a comma
+     * separated list of event types.
+     *
+     * @return the event types to coalesce, not <code>null</code>
+     * @see #getEventCoalescingWindow()
+     */
+    default List<String> getCoalescedEvents() {
+        return Arrays
+                .asList(getStringProperty(
+                        InitParameters.SERVLET_PARAMETER_COALESCED_EVENTS, "")
+                                .split("[, ]+"))
+                .stream().filter(eventType -> !eventType.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the maximum number of UIDL requests the client may have in
+     * flight at the same time when communicating over XHR. With a value
+     * greater than <code>1</code>, the client sends new invocations without
+     * waiting for the response to the previous request, which reduces the
+     * perceived latency on high-latency connections. The server processes the
+     * requests in the order they were sent, waiting for at most
+     * {@link #getMaxMessageSuspendTimeout()} for any preceding request that
+     * has not yet arrived. By default it is <code>1</code>, which means a new
+     * request is sent only once the previous response has been handled.
+     *
+     * @return the maximum number of requests in flight
+     */
+    default int getMaxPipelinedRequests() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_MAX_PIPELINED_REQUESTS, 1,
+                Integer::parseInt);
+    }
+
+    /**
+     * Returns the fraction of the client side performance measurements which
+     * are sampled and reported to the server, where they are available to the
+     * client performance listeners of the {@code VaadinService}. The client
+     * measures the time it takes to parse messages from the server, to apply
+     * their changes and to render them, as well as the request round trip
+     * time. By default it is <code>0</code>, which means that nothing is
+     * measured and the reports sent by clients are ignored.
+     *
+     * @return the sample rate between <code>0</code> and <code>1</code>
+     */
+    default double getClientPerformanceSampleRate() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_CLIENT_PERFORMANCE_SAMPLE_RATE,
+                0.0, Double::parseDouble);
+    }
+
+    /**
+     * Returns the minimum interval, in seconds, between the reports of the
+     * sampled client side performance measurements. The measurements are sent
+     * along with the next request to the server once the interval has elapsed.
+     * By default it is 60 seconds.
+     *
+     * @return the report interval in seconds
+     */
+    default int getClientPerformanceReportInterval() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_CLIENT_PERFORMANCE_REPORT_INTERVAL,
+                60, Integer::parseInt);
+    }
+
+    /**
+     * Returns whether the server side request handling metrics are exposed as
+     * JMX MBeans. By default they are not.
+     *
+     * @return {@code true} if the metrics are enabled, {@code false} if not
+     */
+    default boolean isMetricsEnabled() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_METRICS_ENABLED, false);
+    }
+
     /**
      * Checks if dev mode live reload is enabled or not.
      *
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for parsing HTTP {@code Range} headers and writing
+ * {@code multipart/byteranges} responses.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class ByteRangeUtil {
+
+    private static final String RANGE_UNIT_PREFIX = "bytes=";
+
+    private static final Pattern BYTE_RANGE_PATTERN = Pattern
+            .compile("([0-9]{0,18})-([0-9]{0,18})");
+
+    private ByteRangeUtil() {
+        // Static helpers only
+    }
+
+    /**
+     * Parses the byte ranges of a {@code Range} header value.
+     * <p>
+     * Each range is returned as a pair of its first and last byte position.
+     * The first position is <code>null</code> for a suffix range, in which
+     * case the last position is the suffix length. The last position is
+     * <code>null</code> if it has been omitted. The ranges are not clamped to
+     * the length of the resource.
+     *
+     * @param rangeHeader
+     *            the value of the {@code Range} header, not <code>null</code>
+     * @return the requested ranges in the order they were given, or
+     *         <code>null</code> if the header is not a valid byte range request
+     */
+    public static List<Pair<Long, Long>> parseByteRanges(String rangeHeader) {
+        if (!rangeHeader.startsWith(RANGE_UNIT_PREFIX)) {
+            return null;
+        }
+        List<Pair<Long, Long>> ranges = new ArrayList<>();
+        for (String spec : rangeHeader.substring(RANGE_UNIT_PREFIX.length())
+                .split(",")) {
+            Matcher matcher = BYTE_RANGE_PATTERN.matcher(spec.trim());
+            if (!matcher.matches()) {
+                return null;
+            }
+            String startGroup = matcher.group(1);
+            String endGroup = matcher.group(2);
+            if (startGroup.isEmpty() && endGroup.isEmpty()) {
+                return null;
+            }
+            Long start = startGroup.isEmpty() ? null
+                    : Long.parseLong(startGroup);
+            Long end = endGroup.isEmpty() ? null : Long.parseLong(endGroup);
+            if (start != null && end != null && end < start) {
+                return null;
+            }
+            ranges.add(new Pair<>(start, end));
+        }
+        return ranges.isEmpty() ? null : ranges;
+    }
+
+    /**
+     * Creates the value of a {@code Content-Range} header.
+     *
+     * @param start
+     *            the first byte position of the range
+     * @param end
+     *            the last byte position of the range
+     * @param length
+     *            the length of the resource, or a negative value if it is not
+     *            known
+     * @return the header value
+     */
+    public static String createContentRangeHeader(long start, long end,
+            long length) {
+        String lengthString = length >= 0 ? Long.toString(length) : "*";
+        return String.format("bytes %d-%d/%s", start, end, lengthString);
+    }
+
+    /**
+     * Creates the content type of a {@code multipart/byteranges} response.
+     *
+     * @param boundary
+     *            the boundary separating the parts
+     * @return the content type
+     */
+    public static String createMultipartContentType(String boundary) {
+        return "multipart/byteranges; boundary=" + boundary;
+    }
+
+    /**
+     * Writes the boundary and the headers preceding the data of one part of a
+     * {@code multipart/byteranges} response.
+     *
+     * @param outputStream
+     *            the stream to write to
+     * @param boundary
+     *            the boundary separating the parts
+     * @param contentType
+     *            the content type of the resource, or <code>null</code> to
+     *            omit the header
+     * @param contentRange
+     *            the {@code Content-Range} header value of the part
+     * @throws IOException
+     *             if writing fails
+     * @see #createContentRangeHeader(long, long, long)
+     */
+    public static void writePartHeader(OutputStream outputStream,
+            String boundary, String contentType, String contentRange)
+            throws IOException {
+        StringBuilder header = new StringBuilder("\r\n--").append(boundary)
+                .append("\r\n");
+        if (contentType != null) {
+            header.append("Content-Type: ").append(contentType).append("\r\n");
+        }
+        header.append("Content-Range: ").append(contentRange)
+                .append("\r\n\r\n");
+        outputStream.write(header.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the closing boundary of a {@code multipart/byteranges} response.
+     *
+     * @param outputStream
+     *            the stream to write to
+     * @param boundary
+     *            the boundary separating the parts
+     * @throws IOException
+     *             if writing fails
+     */
+    public static void writeClosingBoundary(OutputStream outputStream,
+            String boundary) throws IOException {
+        outputStream.write(("\r\n--" + boundary + "--\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.vaadin.flow.server.InputStreamFactory;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Utility class for reading the data of an {@link InputStreamFactory} while
+ * holding the session lock as the factory requires.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class InputStreamFactoryUtil {
+
+    /**
+     * The size of the buffer to use when copying the data of an input stream.
+     */
+    public static final int BUFFER_SIZE = 1024;
+
+    private InputStreamFactoryUtil() {
+        // Static helpers only
+    }
+
+    /**
+     * Creates the input stream of the given factory while holding the session
+     * lock.
+     *
+     * @param session
+     *            the session to lock
+     * @param factory
+     *            the factory to create the stream with
+     * @return the input stream created by the factory
+     */
+    public static InputStream createInputStream(VaadinSession session,
+            InputStreamFactory factory) {
+        session.lock();
+        try {
+            return factory.createInputStream();
+        } finally {
+            session.unlock();
+        }
+    }
+
+    /**
+     * Reads data from an input stream created by the given factory into the
+     * buffer. The session is locked during the read if the factory
+     * {@link InputStreamFactory#requiresLock() requires it}.
+     *
+     * @param session
+     *            the session to lock
+     * @param factory
+     *            the factory which created the stream
+     * @param source
+     *            the stream to read from
+     * @param buffer
+     *            the buffer to read into
+     * @return the number of bytes read, or <code>-1</code> if the end of the
+     *         stream has been reached
+     * @throws IOException
+     *             if reading fails
+     * @see InputStream#read(byte[])
+     */
+    public static int read(VaadinSession session, InputStreamFactory factory,
+            InputStream source, byte[] buffer) throws IOException {
+        if (factory.requiresLock()) {
+            session.lock();
+            try {
+                return source.read(buffer);
+            } finally {
+                session.unlock();
+            }
+        } else {
+            return source.read(buffer);
+        }
+    }
+}
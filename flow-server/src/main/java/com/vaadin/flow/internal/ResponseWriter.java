@@ -32,8 +32,6 @@ import java.net.URLConnection;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,9 +49,6 @@ import static com.vaadin.flow.server.Constants.VAADIN_BUILD_FILES_PATH;
 public class ResponseWriter implements Serializable {
     private static final int DEFAULT_BUFFER_SIZE = 32 * 1024;
 
-    private static final Pattern RANGE_HEADER_PATTERN = Pattern.compile("^bytes=(([0-9]*-[0-9]*,?\\s*)+)$");
-    private static final Pattern BYTE_RANGE_PATTERN = Pattern.compile("([0-9]*)-([0-9]*)");
-
     private final int bufferSize;
     private final boolean brotliEnabled;
 
@@ -185,29 +180,22 @@ public class ResponseWriter implements Serializable {
 
         URLConnection connection = resourceURL.openConnection();
 
-        Matcher headerMatcher = RANGE_HEADER_PATTERN.matcher(range);
-        if (!headerMatcher.matches()) {
+        List<Pair<Long, Long>> requestedRanges = ByteRangeUtil
+                .parseByteRanges(range);
+        if (requestedRanges == null) {
             response.setContentLengthLong(0L);
             response.setStatus(416); // Range Not Satisfiable
             return;
         }
-        String byteRanges = headerMatcher.group(1);
 
         long resourceLength = connection.getContentLengthLong();
-        Matcher rangeMatcher = BYTE_RANGE_PATTERN.matcher(byteRanges);
 
         List<Pair<Long, Long>> ranges = new ArrayList<>();
-        while (rangeMatcher.find()) {
-            String startGroup = rangeMatcher.group(1);
-            String endGroup = rangeMatcher.group(2);
-            if (startGroup.isEmpty() && endGroup.isEmpty()) {
-                response.setContentLengthLong(0L);
-                response.setStatus(416); // Range Not Satisfiable
-                return;
-            }
-            long start = startGroup.isEmpty() ? 0L : Long.parseLong(startGroup);
-            long end = endGroup.isEmpty() ? Long.MAX_VALUE
-                    : Long.parseLong(endGroup);
+        for (Pair<Long, Long> requestedRange : requestedRanges) {
+            long start = requestedRange.getFirst() == null ? 0L
+                    : requestedRange.getFirst();
+            long end = requestedRange.getSecond() == null ? Long.MAX_VALUE
+                    : requestedRange.getSecond();
             if (end < start
                     || (resourceLength >= 0 && start >= resourceLength)) {
                 // illegal range -> 416
@@ -230,8 +218,8 @@ public class ResponseWriter implements Serializable {
                 end = Math.min(end, resourceLength - 1);
             }
             setContentLength(response, end - start + 1);
-            response.setHeader("Content-Range",
-                    createContentRangeHeader(start, end, resourceLength));
+            response.setHeader("Content-Range", ByteRangeUtil
+                    .createContentRangeHeader(start, end, resourceLength));
 
             final InputStream dataStream = connection.getInputStream();
             try {
@@ -256,8 +244,8 @@ public class ResponseWriter implements Serializable {
             URLConnection connection, HttpServletResponse response,
             URL resourceURL) throws IOException {
         String partBoundary = UUID.randomUUID().toString();
-        response.setContentType(String
-                .format("multipart/byteranges; boundary=%s", partBoundary));
+        response.setContentType(
+                ByteRangeUtil.createMultipartContentType(partBoundary));
         response.setHeader("Transfer-Encoding", "chunked");
 
         long position = 0L;
@@ -266,20 +254,11 @@ public class ResponseWriter implements Serializable {
         ServletOutputStream outputStream = response.getOutputStream();
         try {
             for (Pair<Long, Long> rangePair : ranges) {
-                outputStream.write(
-                        String.format("\r\n--%s\r\n", partBoundary).getBytes());
                 long start = rangePair.getFirst();
                 long end = rangePair.getSecond();
-                if (mimeType != null) {
-                    outputStream.write(
-                            String.format("Content-Type: %s\r\n", mimeType)
-                                    .getBytes());
-                }
-                outputStream.write(String
-                        .format("Content-Range: %s\r\n\r\n",
-                                createContentRangeHeader(start, end,
-                                        connection.getContentLengthLong()))
-                        .getBytes());
+                ByteRangeUtil.writePartHeader(outputStream, partBoundary,
+                        mimeType, ByteRangeUtil.createContentRangeHeader(start,
+                                end, connection.getContentLengthLong()));
 
                 if (position > start) {
                     // out-of-sequence range -> open new stream to the file
@@ -297,12 +276,7 @@ public class ResponseWriter implements Serializable {
         } finally {
             closeStream(dataStream);
         }
-        outputStream.write(String.format("\r\n--%s", partBoundary).getBytes());
-    }
-    
-    private String createContentRangeHeader(long start, long end, long size) {
-        String lengthString = size >= 0 ? Long.toString(size) : "*";
-        return String.format("bytes %d-%d/%s", start, end, lengthString);
+        ByteRangeUtil.writeClosingBoundary(outputStream, partBoundary);
     }
     
     private void setContentLength(HttpServletResponse response,
@@ -36,6 +36,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -59,11 +60,13 @@ import com.vaadin.flow.component.page.Push;
 import com.vaadin.flow.component.page.Viewport;
 import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.di.ResourceProvider;
+import com.vaadin.flow.dom.ElementUtil;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.BootstrapHandlerHelper;
 import com.vaadin.flow.internal.BrowserLiveReload;
 import com.vaadin.flow.internal.BrowserLiveReloadAccess;
+import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.ReflectTools;
 import com.vaadin.flow.internal.UsageStatisticsExporter;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
@@ -473,6 +476,27 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
     protected static class BootstrapPageBuilder
             implements PageBuilder, Serializable {
 
+        /**
+         * Bootstrap templates by UI class and navigation target, only used in
+         * production mode with a bundled stats file, where the resources they
+         * are read from cannot change.
+         */
+        private transient volatile Map<List<Class<?>>, BootstrapTemplate> templates;
+
+        /**
+         * The parts of the bootstrap page which only depend on the UI class
+         * and the navigation target. They are copied into the page of each
+         * request and complemented with the parts depending on the request.
+         */
+        private static final class BootstrapTemplate {
+            private final List<Element> metaElements = new ArrayList<>();
+            private final Element styles = new Element(Tag.valueOf("style"),
+                    "").attr("type", CSS_TYPE_ATTRIBUTE_VALUE);
+            private final List<Element> polyfills = new ArrayList<>();
+            private final List<Element> bundles = new ArrayList<>();
+            private String clientEngineUri;
+        }
+
         /**
          * Returns the bootstrap page for the given context.
          *
@@ -499,6 +523,9 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             dependenciesToInlineInBody.forEach(
                     dependency -> document.body().appendChild(dependency));
             setupDocumentBody(document);
+            if (config.isPrerenderInitialView()) {
+                setupPrerenderedView(document, context);
+            }
 
             document.outputSettings().prettyPrint(false);
 
@@ -613,13 +640,14 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
 
         private List<Element> setupDocumentHead(Element head,
                 BootstrapContext context) {
-            setupMetaAndTitle(head, context);
-            setupCss(head, context);
+            BootstrapTemplate template = getTemplate(context);
+            setupMetaAndTitle(head, context, template);
+            head.appendChild(template.styles.clone());
 
             JsonObject initialUIDL = getInitialUidl(context.getUI());
             Map<LoadMode, JsonArray> dependenciesToProcessOnServer = popDependenciesToProcessOnServer(
                     initialUIDL);
-            setupFrameworkLibraries(head, initialUIDL, context);
+            setupFrameworkLibraries(head, initialUIDL, context, template);
             return applyUserDependencies(head, context,
                     dependenciesToProcessOnServer);
         }
@@ -718,33 +746,87 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
         }
 
         private void setupFrameworkLibraries(Element head,
-                JsonObject initialUIDL, BootstrapContext context) {
+                JsonObject initialUIDL, BootstrapContext context,
+                BootstrapTemplate template) {
+            template.polyfills
+                    .forEach(polyfill -> head.appendChild(polyfill.clone()));
+            String appId = context.getUI().getInternals().getAppId();
+            template.bundles.forEach(bundle -> head
+                    .appendChild(bundle.clone().attr("data-app-id", appId)));
 
-            VaadinService service = context.getSession().getService();
-            DeploymentConfiguration conf = service.getDeploymentConfiguration();
+            if (context.getPushMode().isEnabled()) {
+                head.appendChild(
+                        createJavaScriptElement(getPushScript(context)));
+            }
+
+            head.appendChild(getBootstrapScript(initialUIDL, context));
+            head.appendChild(createJavaScriptElement(context.getUriResolver()
+                    .resolveVaadinUri(template.clientEngineUri)));
+        }
 
-            conf.getPolyfills().forEach(
-                    polyfill -> head.appendChild(createJavaScriptElement(
-                            "./" + VAADIN_MAPPING + polyfill, false)));
+        private BootstrapTemplate getTemplate(BootstrapContext context) {
+            DeploymentConfiguration config = context.getSession()
+                    .getConfiguration();
+            if (!config.isProductionMode() || config.isStatsExternal()) {
+                // The bundle and the client engine may change at any time
+                return createTemplate(context);
+            }
+            List<Class<?>> key = Arrays.asList(context.getUI().getClass(),
+                    context.pageConfigurationHolder);
+            return getTemplates().computeIfAbsent(key,
+                    ignore -> createTemplate(context));
+        }
+
+        private Map<List<Class<?>>, BootstrapTemplate> getTemplates() {
+            if (templates == null) {
+                synchronized (this) {
+                    if (templates == null) {
+                        templates = new ConcurrentHashMap<>();
+                    }
+                }
+            }
+            return templates;
+        }
+
+        private BootstrapTemplate createTemplate(BootstrapContext context) {
+            BootstrapTemplate template = new BootstrapTemplate();
+
+            template.metaElements.add(new Element(Tag.valueOf(META_TAG), "")
+                    .attr("name", VIEWPORT).attr(CONTENT_ATTRIBUTE,
+                            BootstrapUtils.getViewportContent(context)
+                                    .orElse(Viewport.DEFAULT)));
+            BootstrapUtils.getMetaTargets(context)
+                    .forEach((name, content) -> template.metaElements
+                            .add(new Element(Tag.valueOf(META_TAG), "")
+                                    .attr("name", name)
+                                    .attr(CONTENT_ATTRIBUTE, content)));
+
+            // Add any body style that is defined for the application using
+            // @BodySize
+            template.styles
+                    .appendText(BootstrapUtils.getBodySizeContent(context));
+            // Basic reconnect and system error dialog styles just to make them
+            // visible and outside of normal flow
+            setupErrorDialogs(template.styles);
+
+            VaadinService service = context.getSession().getService();
+            service.getDeploymentConfiguration().getPolyfills()
+                    .forEach(polyfill -> template.polyfills
+                            .add(createJavaScriptElement(
+                                    "./" + VAADIN_MAPPING + polyfill, false)));
             try {
-                appendNpmBundle(head, service, context);
+                appendNpmBundle(template.bundles, service);
             } catch (IOException e) {
                 throw new BootstrapException(
                         "Unable to read webpack stats file.", e);
             }
 
-            if (context.getPushMode().isEnabled()) {
-                head.appendChild(
-                        createJavaScriptElement(getPushScript(context)));
-            }
-
-            head.appendChild(getBootstrapScript(initialUIDL, context));
-            head.appendChild(
-                    createJavaScriptElement(getClientEngineUrl(context)));
+            template.clientEngineUri = getClientEngineUri(context);
+            return template;
         }
 
-        private void appendNpmBundle(Element head, VaadinService service,
-                BootstrapContext context) throws IOException {
+        private void appendNpmBundle(List<Element> bundles,
+                VaadinService service) throws IOException {
             String content = FrontendUtils.getStatsAssetsByChunkName(service);
             if (content == null) {
                 StringBuilder message = new StringBuilder(
@@ -782,9 +864,7 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
                 }
                 Element script = createJavaScriptElement(
                         "./" + VAADIN_MAPPING + chunkName, false);
-                head.appendChild(script.attr("type", "module")
-                        .attr("data-app-id",
-                                context.getUI().getInternals().getAppId())
+                bundles.add(script.attr("type", "module")
                         // Fixes basic auth in Safari #6560
                         .attr("crossorigin", true));
             }
@@ -818,7 +898,7 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             return "";
         }
 
-        private String getClientEngineUrl(BootstrapContext context) {
+        private String getClientEngineUri(BootstrapContext context) {
             // use nocache version of client engine if it
             // has been compiled by SDM or eclipse
             // In production mode, this should really be loaded by the static
@@ -833,16 +913,14 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             if (resolveNow
                     && resourceProvider.getClientResource("/META-INF/resources/"
                             + CLIENT_ENGINE_NOCACHE_FILE) != null) {
-                return context.getUriResolver().resolveVaadinUri(
-                        "context://" + CLIENT_ENGINE_NOCACHE_FILE);
+                return "context://" + CLIENT_ENGINE_NOCACHE_FILE;
             }
 
             if (clientEngine == null) {
                 throw new BootstrapException(
                         "Client engine file name has not been resolved during initialization");
             }
-            return context.getUriResolver()
-                    .resolveVaadinUri("context://" + clientEngine);
+            return "context://" + clientEngine;
         }
 
         private ResourceProvider getResourceProvider(BootstrapContext context) {
@@ -875,20 +953,8 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             return null;
         }
 
-        private void setupCss(Element head, BootstrapContext context) {
-            Element styles = head.appendElement("style").attr("type",
-                    CSS_TYPE_ATTRIBUTE_VALUE);
-            // Add any body style that is defined for the application using
-            // @BodySize
-            String bodySizeContent = BootstrapUtils.getBodySizeContent(context);
-            styles.appendText(bodySizeContent);
-
-            // Basic reconnect and system error dialog styles just to make them
-            // visible and outside of normal flow
-            setupErrorDialogs(styles);
-        }
-
-        private void setupMetaAndTitle(Element head, BootstrapContext context) {
+        private void setupMetaAndTitle(Element head, BootstrapContext context,
+                BootstrapTemplate template) {
             head.appendElement(META_TAG).attr("http-equiv", "Content-Type")
                     .attr(CONTENT_ATTRIBUTE,
                             ApplicationConstants.CONTENT_TYPE_TEXT_HTML_UTF_8);
@@ -899,15 +965,8 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             head.appendElement("base").attr("href",
                     BootstrapHandlerHelper.getServiceUrl(context.getRequest()));
 
-            head.appendElement(META_TAG).attr("name", VIEWPORT).attr(
-                    CONTENT_ATTRIBUTE,
-                    BootstrapUtils.getViewportContent(context)
-                            .orElse(Viewport.DEFAULT));
-
-            BootstrapUtils.getMetaTargets(context)
-                    .forEach((name, content) -> head.appendElement(META_TAG)
-                            .attr("name", name)
-                            .attr(CONTENT_ATTRIBUTE, content));
+            template.metaElements
+                    .forEach(element -> head.appendChild(element.clone()));
 
             resolvePageTitle(context).ifPresent(title -> {
                 if (!title.isEmpty()) {
@@ -1003,6 +1062,25 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
                     "You have to enable javascript in your browser to use this web site.");
         }
 
+        /**
+         * Renders the children of the UI to static markup. Invisible elements
+         * are skipped at any depth since their contents are never sent to the
+         * client. The {@code id} attributes are left out, since the rendered
+         * elements coexist with the ones created by the client until the
+         * initial UIDL has been applied.
+         */
+        private void setupPrerenderedView(Document document,
+                BootstrapContext context) {
+            Element container = document.body().prependElement("div")
+                    .attr(ApplicationConstants.PRERENDERED_ATTRIBUTE, true);
+            context.getUI().getElement().getChildren()
+                    .forEach(child -> ElementUtil
+                            .toJsoup(document, child,
+                                    com.vaadin.flow.dom.Element::isVisible,
+                                    name -> !"id".equals(name))
+                            .ifPresent(container::appendChild));
+        }
+
         private Element getBootstrapScript(JsonValue initialUIDL,
                 BootstrapContext context) {
             return createInlineJavaScriptElement("//<![CDATA[\n"
@@ -1159,6 +1237,38 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             appConfig.put("maxMessageSuspendTimeout",
                     deploymentConfiguration.getMaxMessageSuspendTimeout());
 
+            int sliceDuration = deploymentConfiguration
+                    .getChangeProcessingSliceDuration();
+            if (sliceDuration > 0) {
+                appConfig.put("changeProcessingSliceDuration", sliceDuration);
+            }
+
+            int coalescingWindow = deploymentConfiguration
+                    .getEventCoalescingWindow();
+            List<String> coalescedEvents = deploymentConfiguration
+                    .getCoalescedEvents();
+            if (coalescingWindow > 0 && !coalescedEvents.isEmpty()) {
+                appConfig.put("eventCoalescingWindow", coalescingWindow);
+                appConfig.put("coalescedEvents",
+                        coalescedEvents.stream().map(Json::create)
+                                .collect(JsonUtils.asArray()));
+            }
+
+            int maxPipelinedRequests = deploymentConfiguration
+                    .getMaxPipelinedRequests();
+            if (maxPipelinedRequests > 1) {
+                appConfig.put("maxPipelinedRequests", maxPipelinedRequests);
+            }
+
+            double sampleRate = deploymentConfiguration
+                    .getClientPerformanceSampleRate();
+            if (sampleRate > 0) {
+                appConfig.put("clientPerformanceSampleRate", sampleRate);
+                appConfig.put("clientPerformanceReportInterval",
+                        deploymentConfiguration
+                                .getClientPerformanceReportInterval());
+            }
+
             boolean sendUrlsAsParameters = deploymentConfiguration
                     .isSendUrlsAsParameters();
             if (!sendUrlsAsParameters) {
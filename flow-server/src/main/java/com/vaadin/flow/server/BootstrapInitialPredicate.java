@@ -19,6 +19,8 @@ package com.vaadin.flow.server;
 import java.io.Serializable;
 import java.util.EventListener;
 
+import com.vaadin.flow.router.internal.NavigationRouteTarget;
+
 /**
  * The callback used by bootstrap handlers in order to know when a request needs
  * to pre-render the UI and include the initial UIDL in the page.
@@ -38,4 +40,32 @@ public interface BootstrapInitialPredicate extends EventListener, Serializable {
      */
     boolean includeInitialUidl(VaadinRequest request);
 
+    /**
+     * Creates a predicate which includes the initial UIDL in the page only if
+     * eager server load is enabled and the requested path is a server-side
+     * route.
+     * <p>
+     * With this predicate the UI for a server-side view is created while
+     * serving the bootstrap page, which saves the extra round-trip to fetch the
+     * initial UIDL, while requests for client-side views don't create a UI on
+     * the server until it is actually needed.
+     *
+     * @return a predicate which only eagerly loads server-side routes
+     * @see com.vaadin.flow.function.DeploymentConfiguration#isEagerServerLoad()
+     */
+    static BootstrapInitialPredicate serverRoutesOnly() {
+        return request -> {
+            VaadinService service = request.getService();
+            if (!service.getDeploymentConfiguration().isEagerServerLoad()) {
+                return false;
+            }
+            String pathInfo = request.getPathInfo();
+            String path = pathInfo == null || pathInfo.isEmpty() ? ""
+                    : pathInfo.substring(1);
+            NavigationRouteTarget target = service.getRouter().getRegistry()
+                    .getNavigationRouteTarget(path);
+            return target != null && target.hasTarget();
+        };
+    }
+
 }
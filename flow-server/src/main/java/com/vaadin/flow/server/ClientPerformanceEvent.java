@@ -0,0 +1,159 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.Map;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.shared.ApplicationConstants;
+
+/**
+ * Event fired to {@link ClientPerformanceListener} when a client has reported
+ * the performance measurements it has sampled for a location since its
+ * previous report.
+ * <p>
+ * The measurements are identified by name, e.g.
+ * {@link ApplicationConstants#CLIENT_PERFORMANCE_PARSE},
+ * {@link ApplicationConstants#CLIENT_PERFORMANCE_CHANGES},
+ * {@link ApplicationConstants#CLIENT_PERFORMANCE_RENDER} and
+ * {@link ApplicationConstants#CLIENT_PERFORMANCE_ROUND_TRIP}.
+ *
+ * @since
+ */
+public class ClientPerformanceEvent extends EventObject {
+
+    /**
+     * Aggregate of the sampled times of a measurement.
+     */
+    public static class Measurement implements Serializable {
+        private final int count;
+        private final double total;
+        private final double max;
+
+        /**
+         * Creates a new measurement aggregate.
+         *
+         * @param count
+         *            the number of samples
+         * @param total
+         *            the total time of the samples in milliseconds
+         * @param max
+         *            the maximum time of the samples in milliseconds
+         */
+        public Measurement(int count, double total, double max) {
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        /**
+         * Gets the number of samples.
+         *
+         * @return the number of samples
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the total time of the samples.
+         *
+         * @return the total time in milliseconds
+         */
+        public double getTotal() {
+            return total;
+        }
+
+        /**
+         * Gets the maximum time of the samples.
+         *
+         * @return the maximum time in milliseconds
+         */
+        public double getMax() {
+            return max;
+        }
+
+        /**
+         * Gets the average time of the samples.
+         *
+         * @return the average time in milliseconds
+         */
+        public double getAverage() {
+            return count == 0 ? 0 : total / count;
+        }
+    }
+
+    private final UI ui;
+    private final String location;
+    private final Map<String, Measurement> measurements;
+
+    /**
+     * Creates a new event.
+     *
+     * @param service
+     *            the service from which the event originates
+     * @param ui
+     *            the UI of the client which reported the measurements
+     * @param location
+     *            the path of the page in the browser when the measurements
+     *            were taken
+     * @param measurements
+     *            the measurements by name
+     */
+    public ClientPerformanceEvent(VaadinService service, UI ui,
+            String location, Map<String, Measurement> measurements) {
+        super(service);
+        this.ui = ui;
+        this.location = location;
+        this.measurements = Collections.unmodifiableMap(measurements);
+    }
+
+    @Override
+    public VaadinService getSource() {
+        return (VaadinService) super.getSource();
+    }
+
+    /**
+     * Gets the UI of the client which reported the measurements.
+     *
+     * @return the UI
+     */
+    public UI getUI() {
+        return ui;
+    }
+
+    /**
+     * Gets the path of the page in the browser when the measurements were
+     * taken, which identifies the view being measured.
+     *
+     * @return the location path
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Gets the reported measurements by name.
+     *
+     * @return an unmodifiable map of the measurements
+     */
+    public Map<String, Measurement> getMeasurements() {
+        return measurements;
+    }
+}
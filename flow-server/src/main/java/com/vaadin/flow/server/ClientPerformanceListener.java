@@ -0,0 +1,37 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+
+/**
+ * Event listener that can be registered for receiving the performance
+ * measurements sampled by the clients.
+ *
+ * @see VaadinService#addClientPerformanceListener(ClientPerformanceListener)
+ * @since
+ */
+@FunctionalInterface
+public interface ClientPerformanceListener extends Serializable {
+
+    /**
+     * Notifies when a client has reported performance measurements.
+     *
+     * @param event
+     *            event with the reported measurements
+     */
+    void clientPerformanceReported(ClientPerformanceEvent event);
+}
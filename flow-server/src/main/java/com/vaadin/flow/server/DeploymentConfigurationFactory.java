@@ -43,6 +43,7 @@ import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.server.frontend.FallbackChunk;
 import com.vaadin.flow.server.frontend.FrontendUtils;
+import com.vaadin.flow.server.frontend.RouteChunks;
 
 import elemental.json.JsonObject;
 import elemental.json.impl.JsonUtil;
@@ -79,6 +80,9 @@ public final class DeploymentConfigurationFactory implements Serializable {
     public static final Object FALLBACK_CHUNK = new Serializable() {
     };
 
+    public static final Object ROUTE_CHUNKS = new Serializable() {
+    };
+
     public static final String ERROR_DEV_MODE_NO_FILES = "There are neither 'flow-build-info.json' nor 'webpack.config.js' file available in "
             + "the project/working directory. Ensure 'webpack.config.js' is present or trigger creation of "
             + "'flow-build-info.json' via running 'prepare-frontend' Maven goal.";
@@ -186,6 +190,11 @@ public final class DeploymentConfigurationFactory implements Serializable {
             if (fallbackChunk != null) {
                 initParameters.put(FALLBACK_CHUNK, fallbackChunk);
             }
+
+            RouteChunks routeChunks = FrontendUtils.readRouteChunks(buildInfo);
+            if (routeChunks != null) {
+                initParameters.put(ROUTE_CHUNKS, routeChunks);
+            }
         }
     }
 
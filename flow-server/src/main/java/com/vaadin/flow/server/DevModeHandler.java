@@ -40,7 +40,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -54,6 +57,8 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.Tailer;
+import org.apache.commons.io.input.TailerListenerAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -103,6 +108,14 @@ public final class DevModeHandler implements RequestHandler {
     private static final int DEFAULT_BUFFER_SIZE = 32 * 1024;
     private static final int DEFAULT_TIMEOUT = 120 * 1000;
     private static final String WEBPACK_HOST = "http://localhost";
+    private static final int TAILER_DELAY = 200;
+
+    // headers which only apply to a single connection and must not be
+    // forwarded by the proxy, see RFC 7230 section 6.1
+    private static final Set<String> HOP_BY_HOP_HEADERS = new HashSet<>(
+            Arrays.asList("connection", "keep-alive", "proxy-authenticate",
+                    "proxy-authorization", "te", "trailer",
+                    "transfer-encoding", "upgrade"));
 
     private boolean notified = false;
 
@@ -125,7 +138,9 @@ public final class DevModeHandler implements RequestHandler {
     private volatile int port;
     private final AtomicReference<Process> webpackProcess = new AtomicReference<>();
     private final boolean reuseDevServer;
+    private final boolean devServerDaemon;
     private final AtomicReference<DevServerWatchDog> watchDog = new AtomicReference<>();
+    private final AtomicReference<Tailer> logTailer = new AtomicReference<>();
     private final File devServerPortFile;
 
     private StringBuilder cumulativeOutput = new StringBuilder();
@@ -140,7 +155,10 @@ public final class DevModeHandler implements RequestHandler {
         this.npmFolder = npmFolder;
         port = runningPort;
         reuseDevServer = config.reuseDevServer();
-        devServerPortFile = getDevServerPortFile(npmFolder);
+        devServerDaemon = reuseDevServer && config.isDevServerDaemon();
+        devServerPortFile = devServerDaemon
+                ? getDaemonPortFile(npmFolder)
+                : getDevServerPortFile(npmFolder);
 
         devServerStartFuture = waitFor.whenCompleteAsync((value, exception) -> {
             // this will throw an exception if an exception has been thrown by
@@ -315,14 +333,17 @@ public final class DevModeHandler implements RequestHandler {
         HttpURLConnection connection = prepareConnection(requestFilename,
                 request.getMethod());
 
-        // Copies all the headers from the original request
+        // Copies all the headers from the original request, except the ones
+        // related to the browser connection: the connection to webpack is
+        // kept alive and reused by the JDK as long as its response is read
+        // to the end
         Enumeration<String> headerNames = request.getHeaderNames();
         while (headerNames.hasMoreElements()) {
             String header = headerNames.nextElement();
-            connection.setRequestProperty(header,
-                    // Exclude keep-alive
-                    "Connect".equals(header) ? "close"
-                            : request.getHeader(header));
+            if (!isHopByHopHeader(header)) {
+                connection.setRequestProperty(header,
+                        request.getHeader(header));
+            }
         }
 
         // Send the request
@@ -332,6 +353,7 @@ public final class DevModeHandler implements RequestHandler {
         if (responseCode == HTTP_NOT_FOUND) {
             getLogger().debug("Resource not served by webpack {}",
                     requestFilename);
+            releaseConnection(connection, responseCode);
             // webpack cannot access the resource, return false so as flow can
             // handle it
             return false;
@@ -341,20 +363,23 @@ public final class DevModeHandler implements RequestHandler {
 
         // Copies response headers
         connection.getHeaderFields().forEach((header, values) -> {
-            if (header != null) {
-                response.addHeader(header, values.get(0));
+            if (header != null && !isHopByHopHeader(header)) {
+                values.forEach(value -> response.addHeader(header, value));
             }
         });
 
         if (responseCode == HTTP_OK) {
             // Copies response payload
-            writeStream(response.getOutputStream(),
-                    connection.getInputStream());
+            try (InputStream inputStream = connection.getInputStream()) {
+                writeStream(response.getOutputStream(), inputStream);
+            }
         } else if (responseCode < 400) {
             response.setStatus(responseCode);
+            releaseConnection(connection, responseCode);
         } else {
             // Copies response code
             response.sendError(responseCode);
+            releaseConnection(connection, responseCode);
         }
 
         // Close request to avoid issues in CI and Chrome
@@ -363,9 +388,31 @@ public final class DevModeHandler implements RequestHandler {
         return true;
     }
 
+    private static boolean isHopByHopHeader(String header) {
+        return HOP_BY_HOP_HEADERS.contains(header.toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Reads the unused response body to the end, so that the JDK can return
+     * the underlying connection to its keep-alive cache instead of closing it.
+     */
+    private static void releaseConnection(HttpURLConnection connection,
+            int responseCode) {
+        try (InputStream stream = responseCode >= 400
+                ? connection.getErrorStream()
+                : connection.getInputStream()) {
+            if (stream != null) {
+                IOUtils.skip(stream, Long.MAX_VALUE);
+            }
+        } catch (IOException e) {
+            getLogger().debug("Error reading webpack response", e);
+        }
+    }
+
     private boolean checkWebpackConnection() {
         try {
-            prepareConnection("/", "GET").getResponseCode();
+            HttpURLConnection connection = prepareConnection("/", "GET");
+            releaseConnection(connection, connection.getResponseCode());
             return true;
         } catch (IOException e) {
             getLogger().debug("Error checking webpack dev server connection",
@@ -558,10 +605,15 @@ public final class DevModeHandler implements RequestHandler {
             reuseExistingPort(port);
             return;
         }
-        port = getRunningDevServerPort(npmFolder);
+        port = readPortFile(devServerPortFile);
         if (port > 0) {
             if (checkWebpackConnection()) {
                 reuseExistingPort(port);
+                if (devServerDaemon) {
+                    // keep reporting the recompilations of the daemon
+                    tailDaemonLog(getSuccessPattern(config),
+                            getFailurePattern(config), true);
+                }
                 return;
             } else {
                 getLogger().warn(
@@ -576,7 +628,10 @@ public final class DevModeHandler implements RequestHandler {
         long start = System.nanoTime();
         getLogger().info("Starting webpack-dev-server");
 
-        watchDog.set(new DevServerWatchDog());
+        // a daemon is not bound to the lifecycle of this JVM
+        if (!devServerDaemon) {
+            watchDog.set(new DevServerWatchDog());
+        }
 
         // Look for a free port
         port = getFreePort();
@@ -624,32 +679,38 @@ public final class DevModeHandler implements RequestHandler {
         processBuilder.command(command);
 
         try {
-            webpackProcess.set(
-                    processBuilder.redirectError(ProcessBuilder.Redirect.PIPE)
-                            .redirectErrorStream(true).start());
-
-            // We only can save the webpackProcess reference the first time that
-            // the DevModeHandler is created. There is no way to store
-            // it in the servlet container, and we do not want to save it in the
-            // global JVM.
-            // We instruct the JVM to stop the webpack-dev-server daemon when
-            // the JVM stops, to avoid leaving daemons running in the system.
-            // NOTE: that in the corner case that the JVM crashes or it is
-            // killed
-            // the daemon will be kept running. But anyways it will also happens
-            // if the system was configured to be stop the daemon when the
-            // servlet context is destroyed.
-            Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
-
-            Pattern succeed = Pattern.compile(config.getStringProperty(
-                    SERVLET_PARAMETER_DEVMODE_WEBPACK_SUCCESS_PATTERN,
-                    DEFAULT_OUTPUT_PATTERN));
-
-            Pattern failure = Pattern.compile(config.getStringProperty(
-                    SERVLET_PARAMETER_DEVMODE_WEBPACK_ERROR_PATTERN,
-                    DEFAULT_ERROR_PATTERN));
-
-            logStream(webpackProcess.get().getInputStream(), succeed, failure);
+            if (devServerDaemon) {
+                // the output goes to a file, since a pipe would break when
+                // this JVM exits and the daemon keeps running
+                webpackProcess.set(processBuilder.redirectErrorStream(true)
+                        .redirectOutput(getDaemonLogFile()).start());
+            } else {
+                webpackProcess.set(processBuilder
+                        .redirectError(ProcessBuilder.Redirect.PIPE)
+                        .redirectErrorStream(true).start());
+                // We only can save the webpackProcess reference the first
+                // time that the DevModeHandler is created. There is no way to
+                // store it in the servlet container, and we do not want to
+                // save it in the global JVM.
+                // We instruct the JVM to stop the webpack-dev-server daemon
+                // when the JVM stops, to avoid leaving daemons running in the
+                // system.
+                // NOTE: that in the corner case that the JVM crashes or it is
+                // killed the daemon will be kept running. But anyways it will
+                // also happens if the system was configured to be stop the
+                // daemon when the servlet context is destroyed.
+                Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
+            }
+
+            Pattern succeed = getSuccessPattern(config);
+            Pattern failure = getFailurePattern(config);
+
+            if (devServerDaemon) {
+                tailDaemonLog(succeed, failure, false);
+            } else {
+                logStream(webpackProcess.get().getInputStream(), succeed,
+                        failure);
+            }
 
             getLogger().info(LOG_START);
             synchronized (this) {
@@ -671,6 +732,48 @@ public final class DevModeHandler implements RequestHandler {
         return false;
     }
 
+    private static Pattern getSuccessPattern(DeploymentConfiguration config) {
+        return Pattern.compile(config.getStringProperty(
+                SERVLET_PARAMETER_DEVMODE_WEBPACK_SUCCESS_PATTERN,
+                DEFAULT_OUTPUT_PATTERN));
+    }
+
+    private static Pattern getFailurePattern(DeploymentConfiguration config) {
+        return Pattern.compile(config.getStringProperty(
+                SERVLET_PARAMETER_DEVMODE_WEBPACK_ERROR_PATTERN,
+                DEFAULT_ERROR_PATTERN));
+    }
+
+    // follows the output file of a daemon dev server, and checks whether a
+    // success or error pattern is found in the output.
+    private void tailDaemonLog(Pattern success, Pattern failure,
+            boolean fromEnd) {
+        File logFile = getDaemonLogFile();
+        if (!logFile.exists()) {
+            return;
+        }
+        Tailer tailer = new Tailer(logFile, StandardCharsets.UTF_8,
+                new TailerListenerAdapter() {
+                    @Override
+                    public void handle(String line) {
+                        console("%s%n", line);
+                        processLine(line + "\n", success, failure);
+                    }
+                }, TAILER_DELAY, fromEnd, false, DEFAULT_BUFFER_SIZE);
+        Tailer previous = logTailer.getAndSet(tailer);
+        if (previous != null) {
+            previous.stop();
+        }
+        Thread thread = new Thread(tailer);
+        thread.setDaemon(true);
+        thread.setName("webpack");
+        thread.start();
+    }
+
+    private File getDaemonLogFile() {
+        return new File(devServerPortFile.getPath() + ".log");
+    }
+
     private void reuseExistingPort(int port) {
         getLogger().info("Reusing webpack-dev-server running at {}:{}",
                 WEBPACK_HOST, port);
@@ -689,7 +792,10 @@ public final class DevModeHandler implements RequestHandler {
         command.add(webpackConfig.getAbsolutePath());
         command.add("--port");
         command.add(String.valueOf(port));
-        command.add("--watchDogPort=" + watchDog.get().getWatchDogPort());
+        if (watchDog.get() != null) {
+            command.add(
+                    "--watchDogPort=" + watchDog.get().getWatchDogPort());
+        }
         command.addAll(Arrays.asList(config
                 .getStringProperty(SERVLET_PARAMETER_DEVMODE_WEBPACK_OPTIONS,
                         "-d --inline=false")
@@ -734,9 +840,8 @@ public final class DevModeHandler implements RequestHandler {
         return new Pair<>(webpack, webpackConfig);
     }
 
-    private static int getRunningDevServerPort(File npmFolder) {
+    private static int readPortFile(File portFile) {
         int port = 0;
-        File portFile = getDevServerPortFile(npmFolder);
         if (portFile.canRead()) {
             try {
                 String portString = FileUtils
@@ -810,6 +915,11 @@ public final class DevModeHandler implements RequestHandler {
             watchDogInstance.stop();
         }
 
+        Tailer tailer = logTailer.getAndSet(null);
+        if (tailer != null) {
+            tailer.stop();
+        }
+
         Process process = webpackProcess.get();
         if (process != null && process.isAlive()) {
             process.destroy();
@@ -831,6 +941,16 @@ public final class DevModeHandler implements RequestHandler {
         devServerStartFuture.join();
     }
 
+    private static File getDaemonPortFile(File npmFolder) {
+        // Unlike for a regular dev server, the name does not depend on the
+        // JVM, so that the next JVM started for the project finds the daemon
+        String uniqueUid = UUID.nameUUIDFromBytes(
+                ("daemon" + npmFolder.getAbsolutePath())
+                        .getBytes(StandardCharsets.UTF_8))
+                .toString();
+        return new File(System.getProperty("java.io.tmpdir"), uniqueUid);
+    }
+
     private static File getDevServerPortFile(File npmFolder) {
         // UUID changes between JVM restarts
         String jvmUuid = System.getProperty(WEBPACK_PORTFILE_UUID_PROPERTY);
@@ -109,6 +109,14 @@ public class InitParameters implements Serializable {
      */
     public static final String SERVLET_PARAMETER_DEVMODE_WEBPACK_OPTIONS = "devmode.webpack.options";
 
+    /**
+     * Configuration name for keeping the webpack-dev-server running as a
+     * daemon after the JVM exits, so that the next JVM start for the same
+     * project reuses the already compiled dev server. Only used when
+     * {@link #SERVLET_PARAMETER_REUSE_DEV_SERVER} is enabled.
+     */
+    public static final String SERVLET_PARAMETER_DEVMODE_DEV_SERVER_DAEMON = "devmode.devServerDaemon";
+
     /**
      * Boolean parameter for enabling/disabling bytecode scanning in dev mode.
      * If enabled, entry points are scanned for reachable frontend resources. If
@@ -130,6 +138,69 @@ public class InitParameters implements Serializable {
      */
     public static final String SERVLET_PARAMETER_DEVMODE_ENABLE_LIVE_RELOAD = "devmode.liveReload.enabled";
 
+    /**
+     * Configuration name for the parameter that determines whether stream
+     * resources backed by an {@link InputStreamFactory} should be written to
+     * the client using asynchronous non-blocking I/O when the servlet supports
+     * it.
+     */
+    public static final String SERVLET_PARAMETER_ASYNC_STREAM_RESOURCES = "asyncStreamResources";
+
+    /**
+     * Configuration name for the parameter that determines whether the
+     * initial view should be rendered to static HTML and included in the
+     * bootstrap page, so that it is shown before the client engine has been
+     * loaded.
+     */
+    public static final String SERVLET_PARAMETER_PRERENDER_INITIAL_VIEW = "prerenderInitialView";
+
+    /**
+     * Configuration name for the parameter that determines the duration, in
+     * milliseconds, of the slices in which the client applies the changes of
+     * a server response, yielding to the browser between the slices.
+     */
+    public static final String SERVLET_PARAMETER_CHANGE_PROCESSING_SLICE_DURATION = "changeProcessingSliceDuration";
+
+    /**
+     * Configuration name for the parameter that determines the time, in
+     * milliseconds, during which consecutive client events of the same type
+     * for the same node are merged before being sent to the server.
+     */
+    public static final String SERVLET_PARAMETER_EVENT_COALESCING_WINDOW = "eventCoalescingWindow";
+
+    /**
+     * Configuration name for the parameter that determines the comma
+     * separated types of the client events which are merged during the event
+     * coalescing window.
+     */
+    public static final String SERVLET_PARAMETER_COALESCED_EVENTS = "coalescedEvents";
+
+    /**
+     * Configuration name for the parameter that determines the maximum number
+     * of UIDL requests the client may have in flight at the same time when
+     * communicating over XHR.
+     */
+    public static final String SERVLET_PARAMETER_MAX_PIPELINED_REQUESTS = "maxPipelinedRequests";
+
+    /**
+     * Configuration name for the parameter that determines the fraction,
+     * between 0 and 1, of the client side performance measurements which are
+     * sampled and reported to the server.
+     */
+    public static final String SERVLET_PARAMETER_CLIENT_PERFORMANCE_SAMPLE_RATE = "clientPerformanceSampleRate";
+
+    /**
+     * Configuration name for the parameter that determines the minimum
+     * interval, in seconds, between the client side performance reports.
+     */
+    public static final String SERVLET_PARAMETER_CLIENT_PERFORMANCE_REPORT_INTERVAL = "clientPerformanceReportInterval";
+
+    /**
+     * Configuration name for the parameter that determines whether the server
+     * side request handling metrics are exposed as JMX MBeans.
+     */
+    public static final String SERVLET_PARAMETER_METRICS_ENABLED = "metricsEnabled";
+
     /**
      * I18N provider property.
      */
@@ -24,6 +24,7 @@ import java.util.Optional;
 
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.function.ContentTypeResolver;
+import com.vaadin.flow.internal.InputStreamFactoryUtil;
 
 /**
  * Represents dynamically generated data.
@@ -50,6 +51,12 @@ public class StreamResource extends AbstractStreamResource {
 
     private ContentTypeResolver resolver = DEFAULT_RESOLVER;
 
+    private StreamResourceRangeWriter rangeWriter;
+
+    private long length = -1;
+
+    private String eTag;
+
     private static class DefaultResolver implements ContentTypeResolver {
 
         @Override
@@ -62,8 +69,6 @@ public class StreamResource extends AbstractStreamResource {
 
     private static class Pipe implements StreamResourceWriter {
 
-        private static final int BUFFER_SIZE = 1024;
-
         private InputStreamFactory factory;
 
         private Pipe(InputStreamFactory factory) {
@@ -73,42 +78,21 @@ public class StreamResource extends AbstractStreamResource {
         @Override
         public void accept(OutputStream stream, VaadinSession session)
                 throws IOException {
-            try (InputStream input = createInputStream(session)) {
+            try (InputStream input = InputStreamFactoryUtil
+                    .createInputStream(session, factory)) {
                 copy(session, input, stream);
             }
         }
 
-        private InputStream createInputStream(VaadinSession session) {
-            session.lock();
-            try {
-                return factory.createInputStream();
-            } finally {
-                session.unlock();
-            }
-        }
-
         private void copy(VaadinSession session, InputStream source,
                 OutputStream out) throws IOException {
-            byte[] buf = new byte[BUFFER_SIZE];
+            byte[] buf = new byte[InputStreamFactoryUtil.BUFFER_SIZE];
             int n;
-            while ((n = read(session, source, buf)) >= 0) {
+            while ((n = InputStreamFactoryUtil.read(session, factory, source,
+                    buf)) >= 0) {
                 out.write(buf, 0, n);
             }
         }
-
-        private int read(VaadinSession session, InputStream source,
-                byte[] buffer) throws IOException {
-            if (factory.requiresLock()) {
-                session.lock();
-                try {
-                    return source.read(buffer);
-                } finally {
-                    session.unlock();
-                }
-            } else {
-                return source.read(buffer);
-            }
-        }
     }
 
     /**
@@ -170,6 +154,96 @@ public class StreamResource extends AbstractStreamResource {
         return writer;
     }
 
+    /**
+     * Gets the factory which produces the data of this resource, if the
+     * resource has been created using an {@link InputStreamFactory}.
+     *
+     * @return the input stream factory of the resource, or an empty optional
+     *         if the resource uses a custom {@link StreamResourceWriter}
+     */
+    public Optional<InputStreamFactory> getInputStreamFactory() {
+        if (writer instanceof Pipe) {
+            return Optional.of(((Pipe) writer).factory);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Makes the resource seekable by providing the total length of its data
+     * and a writer which is able to write any byte range of it.
+     * <p>
+     * A seekable resource honors HTTP {@code Range} requests, which allows
+     * browsers and download managers to resume interrupted downloads or to
+     * fetch the data in parallel chunks. The {@link #getWriter() writer} of
+     * the resource is still used when the whole data is requested.
+     *
+     * @param length
+     *            the length of the resource data in bytes, not negative
+     * @param rangeWriter
+     *            the writer for byte ranges of the data, not <code>null</code>
+     * @return this resource
+     */
+    public StreamResource setRangeWriter(long length,
+            StreamResourceRangeWriter rangeWriter) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length cannot be negative");
+        }
+        if (rangeWriter == null) {
+            throw new IllegalArgumentException("Range writer cannot be null");
+        }
+        this.length = length;
+        this.rangeWriter = rangeWriter;
+        return this;
+    }
+
+    /**
+     * Gets the writer which is used to write byte ranges of the resource data.
+     *
+     * @return the range writer, or an empty optional if the resource is not
+     *         seekable
+     * @see #setRangeWriter(long, StreamResourceRangeWriter)
+     */
+    public Optional<StreamResourceRangeWriter> getRangeWriter() {
+        return Optional.ofNullable(rangeWriter);
+    }
+
+    /**
+     * Gets the length of the resource data in bytes.
+     *
+     * @return the length of the data, or {@code -1} if the resource is not
+     *         seekable
+     * @see #setRangeWriter(long, StreamResourceRangeWriter)
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Sets the entity tag which identifies the current version of the
+     * resource data. It is sent in the {@code ETag} header and used to
+     * validate {@code If-Range} requests, so that a resumed download is not
+     * mixed up with data of a changed resource.
+     *
+     * @param eTag
+     *            the entity tag including the quotes, or <code>null</code> to
+     *            not use an entity tag
+     * @return this resource
+     */
+    public StreamResource setETag(String eTag) {
+        this.eTag = eTag;
+        return this;
+    }
+
+    /**
+     * Gets the entity tag which identifies the current version of the resource
+     * data.
+     *
+     * @return the entity tag, or an empty optional if not set
+     */
+    public Optional<String> getETag() {
+        return Optional.ofNullable(eTag);
+    }
+
     /**
      * Sets the resolver which is used to lookup the content type of the
      * resource.
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+
+/**
+ * Output stream consumer which writes a part of the resource data. It allows
+ * serving HTTP range requests for a {@link StreamResource} so that downloads
+ * can be resumed or fetched in parallel chunks.
+ *
+ * @author Vaadin Ltd
+ * @since
+ * @see StreamResource#setRangeWriter(long, StreamResourceRangeWriter)
+ */
+@FunctionalInterface
+public interface StreamResourceRangeWriter extends Serializable {
+
+    /**
+     * Writes the bytes from {@code start} to {@code end} (both inclusive) of
+     * the resource data to the {@code stream} using {@code session} as a
+     * context.
+     * <p>
+     * Note that the method is not called under the session lock. It means that
+     * if implementation requires access to the application/session data then
+     * the session has to be locked explicitly.
+     *
+     * @param stream
+     *            data output stream
+     * @param session
+     *            vaadin session
+     * @param start
+     *            the index of the first byte to write
+     * @param end
+     *            the index of the last byte to write
+     * @throws IOException
+     *             if an IO error occurred
+     */
+    void accept(OutputStream stream, VaadinSession session, long start,
+            long end) throws IOException;
+}
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -47,6 +48,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.slf4j.Logger;
@@ -76,6 +78,8 @@ import com.vaadin.flow.server.communication.StreamRequestHandler;
 import com.vaadin.flow.server.communication.UidlRequestHandler;
 import com.vaadin.flow.server.communication.WebComponentBootstrapHandler;
 import com.vaadin.flow.server.communication.WebComponentProvider;
+import com.vaadin.flow.server.metrics.JmxMetricsRegistry;
+import com.vaadin.flow.server.metrics.MetricsRegistry;
 import com.vaadin.flow.server.webcomponent.WebComponentConfigurationRegistry;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.JsonConstants;
@@ -83,8 +87,11 @@ import com.vaadin.flow.shared.Registration;
 import com.vaadin.flow.shared.communication.PushMode;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonException;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
 import elemental.json.impl.JsonUtil;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -137,6 +144,14 @@ public abstract class VaadinService implements Serializable {
 
     private static final String REQUEST_START_TIME_ATTRIBUTE = "requestStartTime";
 
+    /*
+     * Limits for the client performance reports, which are sent by the client
+     * and must not be trusted. The client reports a handful of locations with
+     * a few measurements each.
+     */
+    private static final int MAX_CLIENT_PERFORMANCE_ENTRIES = 20;
+    private static final int MAX_CLIENT_PERFORMANCE_KEY_LENGTH = 200;
+
     /**
      * Should never be used directly, always use
      * {@link #getDeploymentConfiguration()}.
@@ -154,6 +169,7 @@ public abstract class VaadinService implements Serializable {
 
     private final List<SessionInitListener> sessionInitListeners = new CopyOnWriteArrayList<>();
     private final List<UIInitListener> uiInitListeners = new CopyOnWriteArrayList<>();
+    private final List<ClientPerformanceListener> clientPerformanceListeners = new CopyOnWriteArrayList<>();
     private final List<SessionDestroyListener> sessionDestroyListeners = new CopyOnWriteArrayList<>();
 
     private SystemMessagesProvider systemMessagesProvider = DefaultSystemMessagesProvider
@@ -190,6 +206,8 @@ public abstract class VaadinService implements Serializable {
 
     private Instantiator instantiator;
 
+    private MetricsRegistry metricsRegistry = MetricsRegistry.NO_OP;
+
     private VaadinContext vaadinContext;
 
     /**
@@ -246,6 +264,7 @@ public abstract class VaadinService implements Serializable {
      */
     public void init() throws ServiceException {
         instantiator = createInstantiator();
+        metricsRegistry = createMetricsRegistry();
 
         // init the router now so that registry will be available for
         // modifications
@@ -460,6 +479,49 @@ public abstract class VaadinService implements Serializable {
         return instantiator;
     }
 
+    /**
+     * Creates the metrics registry which receives the measurements of the
+     * request handling of this service.
+     * <p>
+     * The default implementation uses a registry found using
+     * {@link ServiceLoader}. If there is none, a {@link JmxMetricsRegistry} is
+     * used if metrics are enabled in the deployment configuration, and
+     * {@link MetricsRegistry#NO_OP} otherwise. The MBeans of the JMX registry
+     * are named after the context path and the name of this service.
+     *
+     * @return the metrics registry to use, not <code>null</code>
+     * @see DeploymentConfiguration#isMetricsEnabled()
+     */
+    protected MetricsRegistry createMetricsRegistry() {
+        Iterator<MetricsRegistry> registries = ServiceLoader
+                .load(MetricsRegistry.class, getClassLoader()).iterator();
+        if (registries.hasNext()) {
+            return registries.next();
+        }
+        if (getDeploymentConfiguration().isMetricsEnabled()) {
+            String contextPath = null;
+            if (getContext() instanceof VaadinServletContext) {
+                contextPath = ((VaadinServletContext) getContext())
+                        .getContext().getContextPath();
+            }
+            JmxMetricsRegistry registry = new JmxMetricsRegistry(
+                    contextPath == null ? "" : contextPath, getServiceName());
+            addServiceDestroyListener(event -> registry.unregister());
+            return registry;
+        }
+        return MetricsRegistry.NO_OP;
+    }
+
+    /**
+     * Gets the metrics registry used by this service.
+     *
+     * @return the metrics registry, not <code>null</code>
+     * @see #createMetricsRegistry()
+     */
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
     /**
      * Gets the class loader to use for loading classes loaded by name, e.g.
      * custom UI classes. This is by default the class loader that was used to
@@ -598,6 +660,22 @@ public abstract class VaadinService implements Serializable {
         return Registration.addAndRemove(uiInitListeners, listener);
     }
 
+    /**
+     * Adds a listener that gets notified when a client reports the performance
+     * measurements it has sampled. The clients only take measurements if a
+     * sample rate has been configured, see
+     * {@link DeploymentConfiguration#getClientPerformanceSampleRate()}.
+     *
+     * @param listener
+     *            the client performance listener
+     * @return a handle that can be used for removing the listener
+     * @see ClientPerformanceListener
+     */
+    public Registration addClientPerformanceListener(
+            ClientPerformanceListener listener) {
+        return Registration.addAndRemove(clientPerformanceListeners, listener);
+    }
+
     /**
      * Adds a listener that gets notified when a Vaadin service session that has
      * been initialized for this service is destroyed.
@@ -2042,10 +2120,12 @@ public abstract class VaadinService implements Serializable {
         Map<Class<?>, CurrentInstance> oldInstances = CurrentInstance
                 .getInstances();
         CurrentInstance.setCurrent(session);
+        int tasks = 0;
         try {
             while ((pendingAccess = session.getPendingAccessQueue()
                     .poll()) != null) {
                 if (!pendingAccess.isCancelled()) {
+                    tasks++;
                     pendingAccess.run();
 
                     try {
@@ -2059,6 +2139,8 @@ public abstract class VaadinService implements Serializable {
         } finally {
             CurrentInstance.clearAll();
             CurrentInstance.restoreInstances(oldInstances);
+            getMetricsRegistry().recordValue(
+                    MetricsRegistry.SESSION_PENDING_ACCESS_TASKS, tasks);
         }
     }
 
@@ -2238,6 +2320,88 @@ public abstract class VaadinService implements Serializable {
         uiInitListeners.forEach(listener -> listener.uiInit(initEvent));
     }
 
+    /**
+     * Fires a client performance event for each location in the given report
+     * to all registered {@link ClientPerformanceListener}s.
+     * <p>
+     * The report is ignored if client performance sampling is not enabled.
+     * Only a limited number of locations and measurements with names of
+     * limited length are taken into account, and measurements with negative
+     * or non-finite values are ignored.
+     *
+     * @param ui
+     *            the UI of the client which sent the report
+     * @param report
+     *            the performance measurements reported by the client, by
+     *            location and measurement name, each as an array of the count,
+     *            the total time and the maximum time
+     */
+    public void fireClientPerformanceListeners(UI ui, JsonObject report) {
+        if (clientPerformanceListeners.isEmpty() || getDeploymentConfiguration()
+                .getClientPerformanceSampleRate() <= 0) {
+            return;
+        }
+        for (String location : getValidKeys(report)) {
+            if (report.get(location).getType() != JsonType.OBJECT) {
+                continue;
+            }
+            JsonObject locationReport = report.getObject(location);
+            Map<String, ClientPerformanceEvent.Measurement> measurements = new HashMap<>();
+            for (String name : getValidKeys(locationReport)) {
+                ClientPerformanceEvent.Measurement measurement = readMeasurement(
+                        locationReport.get(name));
+                if (measurement != null) {
+                    measurements.put(name, measurement);
+                }
+            }
+            if (measurements.isEmpty()) {
+                continue;
+            }
+            ClientPerformanceEvent event = new ClientPerformanceEvent(this, ui,
+                    location, measurements);
+            clientPerformanceListeners.forEach(
+                    listener -> listener.clientPerformanceReported(event));
+        }
+    }
+
+    private static List<String> getValidKeys(JsonObject object) {
+        String[] keys = object.keys();
+        if (keys.length > MAX_CLIENT_PERFORMANCE_ENTRIES) {
+            getLogger().debug(
+                    "Ignoring {} entries exceeding the limit of {} in a client performance report",
+                    keys.length - MAX_CLIENT_PERFORMANCE_ENTRIES,
+                    MAX_CLIENT_PERFORMANCE_ENTRIES);
+        }
+        return Stream.of(keys).limit(MAX_CLIENT_PERFORMANCE_ENTRIES)
+                .filter(key -> key.length() <= MAX_CLIENT_PERFORMANCE_KEY_LENGTH)
+                .collect(Collectors.toList());
+    }
+
+    private static ClientPerformanceEvent.Measurement readMeasurement(
+            JsonValue value) {
+        if (value.getType() != JsonType.ARRAY
+                || ((JsonArray) value).length() != 3) {
+            return null;
+        }
+        JsonArray aggregate = (JsonArray) value;
+        double[] numbers = new double[3];
+        for (int i = 0; i < numbers.length; i++) {
+            if (aggregate.get(i).getType() != JsonType.NUMBER) {
+                return null;
+            }
+            numbers[i] = aggregate.getNumber(i);
+            if (numbers[i] < 0 || Double.isNaN(numbers[i])
+                    || Double.isInfinite(numbers[i])) {
+                return null;
+            }
+        }
+        if (numbers[0] > Integer.MAX_VALUE) {
+            return null;
+        }
+        return new ClientPerformanceEvent.Measurement((int) numbers[0],
+                numbers[1], numbers[2]);
+    }
+
     /**
      * Returns a URL to the static resource at the given URI or null if no file
      * found.
@@ -37,6 +37,7 @@ import com.vaadin.flow.server.communication.FaviconHandler;
 import com.vaadin.flow.server.communication.IndexHtmlRequestHandler;
 import com.vaadin.flow.server.communication.PushRequestHandler;
 import com.vaadin.flow.server.frontend.FallbackChunk;
+import com.vaadin.flow.server.frontend.RouteChunks;
 import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
 import com.vaadin.flow.shared.ApplicationConstants;
 
@@ -158,6 +159,11 @@ public class VaadinServletService extends VaadinService {
             VaadinContext context = getContext();
             context.setAttribute(object);
         }
+        object = initParameters
+                .get(DeploymentConfigurationFactory.ROUTE_CHUNKS);
+        if (object instanceof RouteChunks) {
+            getContext().setAttribute(object);
+        }
         super.init();
     }
 
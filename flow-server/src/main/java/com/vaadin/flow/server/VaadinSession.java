@@ -47,6 +47,7 @@ import com.vaadin.flow.component.UI;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.i18n.I18NProvider;
 import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.metrics.MetricsRegistry;
 import com.vaadin.flow.shared.communication.PushMode;
 
 /**
@@ -112,6 +113,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
 
     private transient Lock lock;
 
+    /**
+     * The time, in nanoseconds, when the lock was acquired through
+     * {@link #lock()}, or 0 if it is not known.
+     */
+    private transient long lockAcquireTime;
+
     /*
      * Pending tasks can't be serialized and the queue should be empty when the
      * session is serialized as long as it doesn't happen while some other
@@ -650,7 +657,17 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #hasLock()
      */
     public void lock() {
+        MetricsRegistry metrics = MetricsRegistry.get(getService());
+        if (metrics == MetricsRegistry.NO_OP || hasLock()) {
+            getLockInstance().lock();
+            return;
+        }
+
+        long start = System.nanoTime();
         getLockInstance().lock();
+        lockAcquireTime = System.nanoTime();
+        metrics.recordTime(MetricsRegistry.SESSION_LOCK_WAIT_TIME,
+                lockAcquireTime - start);
     }
 
     /**
@@ -690,6 +707,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
                 }
             }
         } finally {
+            if (ultimateRelease && lockAcquireTime != 0) {
+                MetricsRegistry.get(getService()).recordTime(
+                        MetricsRegistry.SESSION_LOCK_HOLD_TIME,
+                        System.nanoTime() - lockAcquireTime);
+                lockAcquireTime = 0;
+            }
             getLockInstance().unlock();
         }
 
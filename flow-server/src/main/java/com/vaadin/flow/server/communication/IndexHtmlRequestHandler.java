@@ -89,7 +89,11 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
 
         addInitialFlow(initialJson, indexDocument, session);
 
-        configureErrorDialogStyles(indexDocument);
+        if (!config.isProductionMode()) {
+            // the cached production mode document already contains the
+            // request independent parts
+            configureErrorDialogStyles(indexDocument);
+        }
 
         showWebpackErrors(indexDocument);
 
@@ -102,8 +106,10 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
             UsageStatisticsExporter.exportUsageStatisticsToDocument(indexDocument);
         }
 
-        // modify the page based on the @PWA annotation
-        setupPwa(indexDocument, session.getService());
+        if (!config.isProductionMode()) {
+            // modify the page based on the @PWA annotation
+            setupPwa(indexDocument, session.getService());
+        }
 
         // modify the page based on the @Meta, @ViewPort, @BodySize and @Inline annotations
         // and on the AppShellConfigurator
@@ -198,7 +204,7 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         }
     }
 
-    private void configureErrorDialogStyles(Document document) {
+    private static void configureErrorDialogStyles(Document document) {
         Element styles = document.createElement("style");
         document.head().appendChild(styles);
         setupErrorDialogs(styles);
@@ -243,7 +249,10 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
     }
 
 
-    // Holds parsed index.html to avoid re-parsing on every request in production mode
+    // Holds parsed index.html to avoid re-parsing on every request in production mode.
+    // The request independent modifications (error dialog styles and @PWA tags) are
+    // applied once here, so that every request only needs to clone the document and
+    // add the request specific parts.
     //
     // This holder is supposed to be stored as a VaadinContext attribute
     //
@@ -257,6 +266,8 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
             try {
                 this.indexHtmlDocument = getIndexHtmlDocument(service);
                 this.indexHtmlDocument.outputSettings().prettyPrint(false);
+                configureErrorDialogStyles(this.indexHtmlDocument);
+                setupPwa(this.indexHtmlDocument, service);
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             }
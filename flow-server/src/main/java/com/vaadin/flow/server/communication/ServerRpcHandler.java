@@ -34,6 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.MessageDigestUtil;
 import com.vaadin.flow.server.ErrorEvent;
 import com.vaadin.flow.server.VaadinRequest;
@@ -45,11 +46,13 @@ import com.vaadin.flow.server.communication.rpc.MapSyncRpcHandler;
 import com.vaadin.flow.server.communication.rpc.NavigationRpcHandler;
 import com.vaadin.flow.server.communication.rpc.PublishedServerEventHandlerRpcHandler;
 import com.vaadin.flow.server.communication.rpc.RpcInvocationHandler;
+import com.vaadin.flow.server.metrics.MetricsRegistry;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 import elemental.json.impl.JsonUtil;
 
@@ -172,6 +175,21 @@ public class ServerRpcHandler implements Serializable {
             return clientToServerMessageId;
         }
 
+        /**
+         * Gets the performance measurements reported by the client along with
+         * this request.
+         *
+         * @return the performance report, or <code>null</code> if there is no
+         *         report in this request
+         */
+        public JsonObject getClientPerformanceReport() {
+            JsonValue report = json.get(ApplicationConstants.CLIENT_PERFORMANCE);
+            if (report == null || report.getType() != JsonType.OBJECT) {
+                return null;
+            }
+            return (JsonObject) report;
+        }
+
         /**
          * Gets the entire request in JSON format, as it was received from the
          * client.
@@ -263,9 +281,11 @@ public class ServerRpcHandler implements Serializable {
         }
         byte[] messageHash = MessageDigestUtil.sha256(hashMessage);
 
+        int requestId = rpcRequest.getClientToServerId();
+        awaitPrecedingMessages(ui, requestId);
+
         int expectedId = ui.getInternals().getLastProcessedClientToServerId()
                 + 1;
-        int requestId = rpcRequest.getClientToServerId();
 
         if (requestId != -1 && requestId != expectedId) {
             // Invalid message id, skip RPC processing but force a full
@@ -314,7 +334,13 @@ public class ServerRpcHandler implements Serializable {
             // Message id ok, process RPCs
             ui.getInternals().setLastProcessedClientToServerId(expectedId,
                     messageHash);
+            long start = System.nanoTime();
             handleInvocations(ui, rpcRequest.getRpcInvocationsData());
+            handleClientPerformanceReport(ui,
+                    rpcRequest.getClientPerformanceReport());
+            MetricsRegistry.get(ui.getSession().getService()).recordTime(
+                    MetricsRegistry.RPC_HANDLING_TIME,
+                    System.nanoTime() - start);
         }
 
         if (rpcRequest.isResynchronize()) {
@@ -339,6 +365,50 @@ public class ServerRpcHandler implements Serializable {
         }
     }
 
+    private static void handleClientPerformanceReport(UI ui,
+            JsonObject report) {
+        if (report == null) {
+            return;
+        }
+        try {
+            ui.getSession().getService().fireClientPerformanceListeners(ui,
+                    report);
+        } catch (RuntimeException e) {
+            // A broken report must not prevent handling the request
+            getLogger().warn("Unable to handle client performance report", e);
+        }
+    }
+
+    /**
+     * Waits for the messages sent by the client before the message with the
+     * given id if the client may have several requests in flight, in which
+     * case the requests may reach the server in a different order than they
+     * were sent.
+     */
+    private static void awaitPrecedingMessages(UI ui, int requestId) {
+        int expectedId = ui.getInternals().getLastProcessedClientToServerId()
+                + 1;
+        if (requestId <= expectedId) {
+            return;
+        }
+        DeploymentConfiguration configuration = ui.getSession().getService()
+                .getDeploymentConfiguration();
+        if (requestId - expectedId >= configuration.getMaxPipelinedRequests()) {
+            // Not a pipelined request, the preceding messages are missing
+            return;
+        }
+        try {
+            if (!ui.getInternals().awaitPrecedingClientToServerMessages(
+                    requestId, configuration.getMaxMessageSuspendTimeout())) {
+                getLogger().warn(
+                        "Gave up waiting for the client message {} preceding message {}",
+                        expectedId, requestId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Gets {@link RpcInvocationHandler}s map where the key is the type of the
      * handler gotten via {@link RpcInvocationHandler#getRpcType()}.
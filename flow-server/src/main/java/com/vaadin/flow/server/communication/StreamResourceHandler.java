@@ -15,14 +15,30 @@
  */
 package com.vaadin.flow.server.communication;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.internal.ByteRangeUtil;
+import com.vaadin.flow.internal.InputStreamFactoryUtil;
+import com.vaadin.flow.internal.Pair;
+import com.vaadin.flow.server.InputStreamFactory;
 import com.vaadin.flow.server.StreamResource;
+import com.vaadin.flow.server.StreamResourceRangeWriter;
 import com.vaadin.flow.server.StreamResourceWriter;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
@@ -38,8 +54,67 @@ import com.vaadin.flow.server.VaadinSession;
  */
 public class StreamResourceHandler implements Serializable {
 
+    /**
+     * Writes the data of an {@link InputStreamFactory} to the response
+     * whenever the container reports that the output stream is ready, so that
+     * no thread is blocked while waiting for a slow client.
+     */
+    private static class NonBlockingPipe implements WriteListener {
+
+        private final VaadinSession session;
+        private final InputStreamFactory factory;
+        private final InputStream input;
+        private final AsyncContext asyncContext;
+        private final ServletOutputStream output;
+        private final byte[] buffer = new byte[InputStreamFactoryUtil.BUFFER_SIZE];
+
+        private NonBlockingPipe(VaadinSession session,
+                InputStreamFactory factory, InputStream input,
+                AsyncContext asyncContext, ServletOutputStream output) {
+            this.session = session;
+            this.factory = factory;
+            this.input = input;
+            this.asyncContext = asyncContext;
+            this.output = output;
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            while (output.isReady()) {
+                int n = InputStreamFactoryUtil.read(session, factory, input,
+                        buffer);
+                if (n < 0) {
+                    complete();
+                    return;
+                }
+                output.write(buffer, 0, n);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            getLogger().debug("Failed to write stream resource asynchronously",
+                    throwable);
+            complete();
+        }
+
+        private void complete() {
+            try {
+                input.close();
+            } catch (IOException exception) {
+                getLogger().debug("Failed to close stream resource input",
+                        exception);
+            }
+            asyncContext.complete();
+        }
+    }
+
     /**
      * Handle sending for a stream resource request.
+     * <p>
+     * If the resource is seekable, see
+     * {@link StreamResource#setRangeWriter(long, StreamResourceRangeWriter)},
+     * single and multipart HTTP range requests are honored.
      *
      * @param session
      *            session for the request
@@ -58,18 +133,25 @@ public class StreamResourceHandler implements Serializable {
             throws IOException {
 
         StreamResourceWriter writer;
+        String contentType;
+        boolean useAsyncWrite;
         session.lock();
         try {
             ServletContext context = ((VaadinServletRequest) request)
                     .getServletContext();
-            response.setContentType(streamResource.getContentTypeResolver()
-                    .apply(streamResource, context));
+            contentType = streamResource.getContentTypeResolver()
+                    .apply(streamResource, context);
+            response.setContentType(contentType);
             response.setCacheTime(streamResource.getCacheTime());
             writer = streamResource.getWriter();
             if (writer == null) {
                 throw new IOException(
                         "Stream resource produces null input stream");
             }
+            useAsyncWrite = session.getService().getDeploymentConfiguration()
+                    .isAsyncStreamResources()
+                    && request instanceof VaadinServletRequest
+                    && ((VaadinServletRequest) request).isAsyncSupported();
         } catch (Exception exception) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             throw exception;
@@ -77,6 +159,29 @@ public class StreamResourceHandler implements Serializable {
         } finally {
             session.unlock();
         }
+        Optional<StreamResourceRangeWriter> rangeWriter = streamResource
+                .getRangeWriter();
+        if (rangeWriter.isPresent()) {
+            long length = streamResource.getLength();
+            response.setHeader("Accept-Ranges", "bytes");
+            streamResource.getETag()
+                    .ifPresent(eTag -> response.setHeader("ETag", eTag));
+            List<Pair<Long, Long>> ranges = getRequestedRanges(request,
+                    streamResource);
+            if (ranges != null) {
+                writeRanges(session, response, rangeWriter.get(), ranges,
+                        length, contentType);
+                return;
+            }
+            response.setHeader("Content-Length", Long.toString(length));
+        }
+        Optional<InputStreamFactory> factory = streamResource
+                .getInputStreamFactory();
+        if (useAsyncWrite && factory.isPresent()) {
+            writeAsync(session, (VaadinServletRequest) request, response,
+                    factory.get());
+            return;
+        }
         // don't use here "try resource" syntax sugar because in case there is
         // an exception the {@code outputStream} will be closed before "catch"
         // block which sets the status code and this code will not have any
@@ -95,4 +200,136 @@ public class StreamResourceHandler implements Serializable {
         }
     }
 
+    /**
+     * Writes the requested byte ranges: a single range is sent as a regular
+     * partial response, several ranges are sent as a
+     * {@code multipart/byteranges} response. If none of the ranges is
+     * satisfiable the response status is 416.
+     */
+    private void writeRanges(VaadinSession session, VaadinResponse response,
+            StreamResourceRangeWriter rangeWriter,
+            List<Pair<Long, Long>> ranges, long length, String contentType)
+            throws IOException {
+        if (ranges.isEmpty()) {
+            response.setHeader("Content-Range", "bytes */" + length);
+            response.setContentLength(0);
+            response.setStatus(
+                    HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+
+        OutputStream outputStream = null;
+        try {
+            if (ranges.size() == 1) {
+                long start = ranges.get(0).getFirst();
+                long end = ranges.get(0).getSecond();
+                response.setHeader("Content-Range", ByteRangeUtil
+                        .createContentRangeHeader(start, end, length));
+                response.setHeader("Content-Length",
+                        Long.toString(end - start + 1));
+                outputStream = response.getOutputStream();
+                rangeWriter.accept(outputStream, session, start, end);
+            } else {
+                String boundary = UUID.randomUUID().toString();
+                response.setContentType(
+                        ByteRangeUtil.createMultipartContentType(boundary));
+                outputStream = response.getOutputStream();
+                for (Pair<Long, Long> range : ranges) {
+                    long start = range.getFirst();
+                    long end = range.getSecond();
+                    ByteRangeUtil.writePartHeader(outputStream, boundary,
+                            contentType, ByteRangeUtil
+                                    .createContentRangeHeader(start, end,
+                                            length));
+                    rangeWriter.accept(outputStream, session, start, end);
+                }
+                ByteRangeUtil.writeClosingBoundary(outputStream, boundary);
+            }
+        } catch (Exception exception) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            throw exception;
+        } finally {
+            if (outputStream != null) {
+                outputStream.close();
+            }
+        }
+    }
+
+    /**
+     * Gets the byte ranges requested by the {@code Range} header, clamped to
+     * the resource length.
+     *
+     * @return the satisfiable ranges, or {@code null} if the whole resource
+     *         should be sent because there is no valid range request or the
+     *         {@code If-Range} validator does not match
+     */
+    private static List<Pair<Long, Long>> getRequestedRanges(
+            VaadinRequest request, StreamResource streamResource) {
+        String range = request.getHeader("Range");
+        if (range == null) {
+            return null;
+        }
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange != null) {
+            // Only strong entity tags may be used for range requests
+            String eTag = streamResource.getETag().orElse(null);
+            if (eTag == null || eTag.startsWith("W/")
+                    || !eTag.equals(ifRange.trim())) {
+                return null;
+            }
+        }
+
+        List<Pair<Long, Long>> requestedRanges = ByteRangeUtil
+                .parseByteRanges(range);
+        if (requestedRanges == null) {
+            return null;
+        }
+        long length = streamResource.getLength();
+        List<Pair<Long, Long>> ranges = new ArrayList<>();
+        for (Pair<Long, Long> requestedRange : requestedRanges) {
+            Long start = requestedRange.getFirst();
+            Long end = requestedRange.getSecond();
+            if (start == null) {
+                // suffix range: the last N bytes
+                if (end > 0 && length > 0) {
+                    ranges.add(new Pair<>(Math.max(0L, length - end),
+                            length - 1));
+                }
+            } else if (start < length) {
+                ranges.add(new Pair<>(start,
+                        end == null ? length - 1 : Math.min(end, length - 1)));
+            }
+        }
+        return ranges;
+    }
+
+    private void writeAsync(VaadinSession session, VaadinServletRequest request,
+            VaadinResponse response, InputStreamFactory factory)
+            throws IOException {
+        InputStream input;
+        try {
+            input = InputStreamFactoryUtil.createInputStream(session, factory);
+        } catch (Exception exception) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            throw exception;
+        }
+        if (input == null) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            throw new IOException("Stream resource produces null input stream");
+        }
+
+        AsyncContext asyncContext = request.startAsync();
+        // Downloads may take arbitrarily long for slow clients, the write
+        // listener completes the context once all data has been sent
+        asyncContext.setTimeout(0);
+        ServletOutputStream output = asyncContext.getResponse()
+                .getOutputStream();
+        output.setWriteListener(new NonBlockingPipe(session, factory, input,
+                asyncContext, output));
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(StreamResourceHandler.class.getName());
+    }
 }
@@ -38,6 +38,7 @@ import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
 import com.vaadin.flow.server.communication.ServerRpcHandler.ResynchronizationRequiredException;
+import com.vaadin.flow.server.metrics.MetricsRegistry;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
@@ -108,6 +109,7 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             return true;
         }
 
+        long start = System.nanoTime();
         StringWriter stringWriter = new StringWriter();
 
         try {
@@ -131,7 +133,13 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             stringWriter.close();
         }
 
-        commitJsonResponse(response, stringWriter.toString());
+        String json = stringWriter.toString();
+        MetricsRegistry metrics = MetricsRegistry.get(session.getService());
+        metrics.recordValue(MetricsRegistry.UIDL_SIZE, json.length());
+        metrics.recordTime(MetricsRegistry.UIDL_REQUEST_TIME,
+                System.nanoTime() - start);
+
+        commitJsonResponse(response, json);
         return true;
     }
 
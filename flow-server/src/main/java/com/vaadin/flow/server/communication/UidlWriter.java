@@ -57,6 +57,7 @@ import com.vaadin.flow.server.SystemMessages;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.WebBrowser;
+import com.vaadin.flow.server.metrics.MetricsRegistry;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.JsonConstants;
 import com.vaadin.flow.shared.ui.Dependency;
@@ -137,6 +138,8 @@ public class UidlWriter implements Serializable {
 
         VaadinSession session = ui.getSession();
         VaadinService service = session.getService();
+        MetricsRegistry metrics = MetricsRegistry.get(service);
+        long start = System.nanoTime();
 
         // Purge pending access calls as they might produce additional changes
         // to write out
@@ -169,7 +172,9 @@ public class UidlWriter implements Serializable {
 
         JsonArray stateChanges = Json.createArray();
 
-        encodeChanges(ui, stateChanges);
+        encodeChanges(ui, stateChanges, metrics);
+        metrics.recordValue(MetricsRegistry.UIDL_CHANGES,
+                stateChanges.length());
 
         populateDependencies(response, uiInternals.getDependencyList(),
                 new ResolveContext(service, session.getBrowser()));
@@ -193,6 +198,8 @@ public class UidlWriter implements Serializable {
             response.put("timings", createPerformanceData(ui));
         }
         uiInternals.incrementServerId();
+        metrics.recordTime(MetricsRegistry.UIDL_CREATION_TIME,
+                System.nanoTime() - start);
         return response;
     }
 
@@ -380,13 +387,20 @@ public class UidlWriter implements Serializable {
      *            the UI
      * @param stateChanges
      *            a JSON array to put state changes into
+     * @param metrics
+     *            the metrics registry to record the time of each phase to
      * @see StateTree#runExecutionsBeforeClientResponse()
      */
-    private void encodeChanges(UI ui, JsonArray stateChanges) {
+    private void encodeChanges(UI ui, JsonArray stateChanges,
+            MetricsRegistry metrics) {
         UIInternals uiInternals = ui.getInternals();
         StateTree stateTree = uiInternals.getStateTree();
 
+        long start = System.nanoTime();
         stateTree.runExecutionsBeforeClientResponse();
+        long collectStart = System.nanoTime();
+        metrics.recordTime(MetricsRegistry.BEFORE_CLIENT_RESPONSE_TIME,
+                collectStart - start);
 
         Set<Class<? extends Component>> componentsWithDependencies = new LinkedHashSet<>();
         stateTree.collectChanges(change -> {
@@ -400,6 +414,8 @@ public class UidlWriter implements Serializable {
             stateChanges.set(stateChanges.length(),
                     change.toJson(uiInternals.getConstantPool()));
         });
+        metrics.recordTime(MetricsRegistry.COLLECT_CHANGES_TIME,
+                System.nanoTime() - collectStart);
 
         componentsWithDependencies
                 .forEach(uiInternals::addComponentDependencies);
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.connect;
+
+import javax.servlet.http.HttpServletRequest;
+
+import java.util.Map;
+
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.vaadin.flow.internal.CurrentInstance;
+
+/**
+ * The thread bound state of a request invoking endpoint methods, captured so
+ * that work for the request can be done in another thread: the Vaadin current
+ * instances, the Spring request attributes, the Spring Security context if
+ * Spring Security is available and the context class loader.
+ *
+ * @since
+ */
+final class EndpointCallContext {
+
+    private static final boolean SPRING_SECURITY_PRESENT = ClassUtils.isPresent(
+            "org.springframework.security.core.context.SecurityContextHolder",
+            EndpointCallContext.class.getClassLoader());
+
+    /**
+     * An action run with the captured state.
+     *
+     * @param <T>
+     *            the result type
+     * @param <E>
+     *            the exception type
+     */
+    @FunctionalInterface
+    interface Action<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    private final HttpServletRequest request;
+    private final Map<Class<?>, CurrentInstance> instances;
+    private final Object securityContext;
+    private final ClassLoader contextClassLoader;
+
+    private EndpointCallContext(HttpServletRequest request) {
+        this.request = request;
+        instances = CurrentInstance.getInstances();
+        securityContext = SPRING_SECURITY_PRESENT ? SecurityContextAccess.get()
+                : null;
+        contextClassLoader = Thread.currentThread().getContextClassLoader();
+    }
+
+    /**
+     * Captures the state of the current thread.
+     *
+     * @param request
+     *            the request being handled
+     * @return the captured state
+     */
+    static EndpointCallContext capture(HttpServletRequest request) {
+        return new EndpointCallContext(request);
+    }
+
+    /**
+     * Runs the action with the captured state and restores the state of the
+     * current thread afterwards.
+     *
+     * @param action
+     *            the action to run
+     * @return the result of the action
+     * @throws E
+     *             if the action fails
+     */
+    <T, E extends Exception> T run(Action<T, E> action) throws E {
+        Thread thread = Thread.currentThread();
+        Map<Class<?>, CurrentInstance> previousInstances = CurrentInstance
+                .getInstances();
+        RequestAttributes previousAttributes = RequestContextHolder
+                .getRequestAttributes();
+        Object previousSecurityContext = SPRING_SECURITY_PRESENT
+                ? SecurityContextAccess.get()
+                : null;
+        ClassLoader previousClassLoader = thread.getContextClassLoader();
+
+        // the attributes of the request thread are no longer usable once the
+        // request thread has been released, so they are created for each
+        // thread the same way as Spring MVC does for asynchronous requests
+        ServletRequestAttributes attributes = new ServletRequestAttributes(
+                request);
+        CurrentInstance.clearAll();
+        CurrentInstance.restoreInstances(instances);
+        RequestContextHolder.setRequestAttributes(attributes);
+        if (SPRING_SECURITY_PRESENT) {
+            SecurityContextAccess.set(securityContext);
+        }
+        thread.setContextClassLoader(contextClassLoader);
+        try {
+            return action.run();
+        } finally {
+            attributes.requestCompleted();
+            thread.setContextClassLoader(previousClassLoader);
+            if (SPRING_SECURITY_PRESENT) {
+                SecurityContextAccess.set(previousSecurityContext);
+            }
+            RequestContextHolder.setRequestAttributes(previousAttributes);
+            CurrentInstance.clearAll();
+            CurrentInstance.restoreInstances(previousInstances);
+        }
+    }
+
+    /**
+     * Only loaded when Spring Security is available.
+     */
+    private static final class SecurityContextAccess {
+
+        private static Object get() {
+            return SecurityContextHolder.getContext();
+        }
+
+        private static void set(Object context) {
+            SecurityContextHolder.setContext((SecurityContext) context);
+        }
+    }
+}
@@ -19,18 +19,61 @@ package com.vaadin.flow.server.connect;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
 
 import javax.annotation.Nullable;
 
+import com.googlecode.gentyref.GenericTypeReflector;
+
 /**
  * A checker for TypeScript null compatibility in Vaadin Connect endpoint methods
  * parameter and return types.
  */
 public class ExplicitNullableTypeChecker {
 
+    private final double productionSampleRate;
+    private volatile boolean productionMode;
+
+    /**
+     * Creates a checker which checks all the values.
+     */
+    public ExplicitNullableTypeChecker() {
+        this(1);
+    }
+
+    /**
+     * Creates a checker which checks only the given share of the values in
+     * production mode.
+     *
+     * @param productionSampleRate
+     *            the share of the values to check in production mode, between
+     *            {@code 0} and {@code 1}
+     */
+    public ExplicitNullableTypeChecker(double productionSampleRate) {
+        if (productionSampleRate < 0 || productionSampleRate > 1) {
+            throw new IllegalArgumentException(String.format(
+                    "The sample rate must be between 0 and 1, got %s",
+                    productionSampleRate));
+        }
+        this.productionSampleRate = productionSampleRate;
+    }
+
+    /**
+     * Sets whether the application runs in production mode, where only the
+     * configured share of the values is checked.
+     *
+     * @param productionMode
+     *            {@code true} in production mode
+     */
+    public void setProductionMode(boolean productionMode) {
+        this.productionMode = productionMode;
+    }
+
     /**
      * Validates the given value for the given expected method return value
-     * type.
+     * type. For methods returning a {@link CompletionStage}, the value is the
+     * result of the stage and is validated for the type of the result.
      *
      * @param value
      *            the value to validate
@@ -41,15 +84,33 @@ public class ExplicitNullableTypeChecker {
      */
     public String checkValueForAnnotatedElement(Object value,
             AnnotatedElement annotatedElement) {
-        if (annotatedElement.isAnnotationPresent(Nullable.class)) {
+        if (annotatedElement.isAnnotationPresent(Nullable.class)
+                || !isSampled()) {
             return null;
         }
         if (annotatedElement instanceof Method) {
-            return checkValueForType(value, ((Method) annotatedElement).getGenericReturnType());
+            return checkValueForType(value, getReturnValueType(
+                    ((Method) annotatedElement).getGenericReturnType()));
         }
         return null;
     }
 
+    private static Type getReturnValueType(Type returnType) {
+        if (!CompletionStage.class
+                .isAssignableFrom(GenericTypeReflector.erase(returnType))) {
+            return returnType;
+        }
+        Type resultType = GenericTypeReflector.getTypeParameter(returnType,
+                CompletionStage.class.getTypeParameters()[0]);
+        return resultType != null ? resultType : Object.class;
+    }
+
+    private boolean isSampled() {
+        return !productionMode || productionSampleRate >= 1
+                || ThreadLocalRandom.current()
+                        .nextDouble() < productionSampleRate;
+    }
+
     String checkValueForType(Object value, Type expectedType) {
         return new ExplicitNullableTypeCheckerHelper().checkValueForType(value, expectedType);
     }
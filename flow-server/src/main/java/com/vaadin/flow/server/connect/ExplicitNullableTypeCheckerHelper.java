@@ -28,12 +28,15 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.slf4j.Logger;
@@ -44,9 +47,30 @@ import org.slf4j.LoggerFactory;
  */
 class ExplicitNullableTypeCheckerHelper {
 
-    // A map for tracking already visited Beans. 
+    // The properties to check are resolved once per bean class
+    private static final ClassValue<BeanProperties> BEAN_PROPERTIES = new ClassValue<BeanProperties>() {
+        @Override
+        protected BeanProperties computeValue(Class<?> type) {
+            return findBeanProperties(type);
+        }
+    };
+
+    // A map for tracking already visited Beans. The beans are compared by
+    // identity, their equals and hashCode may be expensive or traverse the
+    // graph themselves.
     private Map<Type, Set<Object>> visitedBeans;
 
+    private static final class BeanProperties {
+        private final List<PropertyDescriptor> properties;
+        private final IntrospectionException error;
+
+        private BeanProperties(List<PropertyDescriptor> properties,
+                IntrospectionException error) {
+            this.properties = properties;
+            this.error = error;
+        }
+    }
+
     private static Logger getLogger() {
         return LoggerFactory.getLogger(VaadinConnectController.class);
     }
@@ -72,8 +96,10 @@ class ExplicitNullableTypeCheckerHelper {
         if (visitedBeans == null) {
             visitedBeans = new HashMap<>();
         }
-        visitedBeans.putIfAbsent(type, new HashSet<>());
-        visitedBeans.get(type).add(value);
+        visitedBeans
+                .computeIfAbsent(type,
+                        key -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                .add(value);
     }
 
     /**
@@ -182,18 +208,21 @@ class ExplicitNullableTypeCheckerHelper {
     }
 
     private String checkBeanFields(Object value, Type expectedType) {
-        if (hasVisited(value, expectedType)) {
+        BeanProperties beanProperties = BEAN_PROPERTIES
+                .get((Class<?>) expectedType);
+        if (beanProperties.error != null) {
+            getLogger().error(
+                    "Cannot check for null property values in Java Bean",
+                    beanProperties.error);
+            return beanProperties.error.toString();
+        }
+        if (beanProperties.properties.isEmpty()
+                || hasVisited(value, expectedType)) {
             return null;
         }
         markAsVisited(value, expectedType);
-        Class<?> clazz = (Class<?>) expectedType;
         try {
-            for (PropertyDescriptor propertyDescriptor : Introspector
-                    .getBeanInfo(clazz).getPropertyDescriptors()) {
-                if (!isPropertySubjectForChecking(propertyDescriptor)) {
-                    continue;
-                }
-
+            for (PropertyDescriptor propertyDescriptor : beanProperties.properties) {
                 Method readMethod = propertyDescriptor.getReadMethod();
                 Type propertyType = readMethod.getGenericReturnType();
                 Object propertyValue = readMethod.invoke(value);
@@ -207,8 +236,7 @@ class ExplicitNullableTypeCheckerHelper {
                             propertyDescriptor.getName(), error);
                 }
             }
-        } catch (IntrospectionException | InvocationTargetException
-                | IllegalAccessException e) {
+        } catch (InvocationTargetException | IllegalAccessException e) {
             getLogger().error(
                     "Cannot check for null property values in Java Bean", e);
             return e.toString();
@@ -217,7 +245,24 @@ class ExplicitNullableTypeCheckerHelper {
         return null;
     }
 
-    private boolean isPropertySubjectForChecking(
+    private static BeanProperties findBeanProperties(Class<?> type) {
+        try {
+            // primitive properties can not be null and have nothing to check
+            // inside, a bean having only those is skipped entirely
+            List<PropertyDescriptor> properties = Stream
+                    .of(Introspector.getBeanInfo(type)
+                            .getPropertyDescriptors())
+                    .filter(ExplicitNullableTypeCheckerHelper::isPropertySubjectForChecking)
+                    .filter(property -> !property.getPropertyType()
+                            .isPrimitive())
+                    .collect(Collectors.toList());
+            return new BeanProperties(properties, null);
+        } catch (IntrospectionException e) {
+            return new BeanProperties(Collections.emptyList(), e);
+        }
+    }
+
+    private static boolean isPropertySubjectForChecking(
             PropertyDescriptor propertyDescriptor) {
         try {
             String name = propertyDescriptor.getName();
@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.server.connect;
 
+import javax.annotation.PreDestroy;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletRegistration;
 import javax.servlet.http.HttpServletRequest;
@@ -23,13 +24,22 @@ import javax.validation.Validation;
 import javax.validation.Validator;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -37,14 +47,34 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.BaseStream;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.googlecode.gentyref.GenericTypeReflector;
 
@@ -56,6 +86,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -65,6 +96,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.server.VaadinService;
@@ -107,6 +141,38 @@ public class VaadinConnectController {
     public static final String VAADIN_ENDPOINT_MAPPER_BEAN_QUALIFIER =
             "vaadinEndpointMapper";
 
+    /**
+     * The media type of the streamed responses, each line of the response
+     * contains one JSON value.
+     *
+     * @see #serveEndpointStream(String, String, ObjectNode, HttpServletRequest)
+     */
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    /**
+     * The property which enables invoking the calls of a batch request in
+     * parallel, {@code false} by default.
+     *
+     * @see #serveBatch(ArrayNode, HttpServletRequest)
+     */
+    public static final String BATCH_PARALLEL_PROPERTY = "vaadin.endpoint.batch-parallel";
+
+    /**
+     * The property which sets the maximum number of calls in a batch request,
+     * {@value #DEFAULT_BATCH_MAX_SIZE} by default. Larger batches are rejected
+     * with a {@code 400} response.
+     *
+     * @see #serveBatch(ArrayNode, HttpServletRequest)
+     */
+    public static final String BATCH_MAX_SIZE_PROPERTY = "vaadin.endpoint.batch-max-size";
+
+    /**
+     * The default maximum number of calls in a batch request.
+     *
+     * @see #BATCH_MAX_SIZE_PROPERTY
+     */
+    public static final int DEFAULT_BATCH_MAX_SIZE = 50;
+
     final Map<String, VaadinEndpointData> vaadinEndpoints = new HashMap<>();
 
     private final ObjectMapper vaadinEndpointMapper;
@@ -114,6 +180,10 @@ public class VaadinConnectController {
     private final Validator validator = Validation
             .buildDefaultValidatorFactory().getValidator();
     private final ExplicitNullableTypeChecker explicitNullableTypeChecker;
+    private final ExecutorService batchExecutor;
+    private final int batchThreads = Runtime.getRuntime()
+            .availableProcessors();
+    private final int batchMaxSize;
 
     /**
      * A constructor used to initialize the controller.
@@ -152,6 +222,14 @@ public class VaadinConnectController {
                 : createVaadinConnectObjectMapper(context);
         this.accessChecker = accessChecker;
         this.explicitNullableTypeChecker = explicitNullableTypeChecker;
+        Environment environment = context.getEnvironment();
+        this.batchExecutor = environment != null && environment
+                .getProperty(BATCH_PARALLEL_PROPERTY, Boolean.class, false)
+                        ? createBatchExecutor(batchThreads)
+                        : null;
+        this.batchMaxSize = environment == null ? DEFAULT_BATCH_MAX_SIZE
+                : environment.getProperty(BATCH_MAX_SIZE_PROPERTY,
+                        Integer.class, DEFAULT_BATCH_MAX_SIZE);
 
         context.getBeansWithAnnotation(Endpoint.class).forEach(
                 (name, endpointBean) -> validateEndpointBean(endpointNameChecker,
@@ -161,6 +239,8 @@ public class VaadinConnectController {
         DeploymentConfiguration cfg = createDeploymentConfiguration(servletContext);
         if (cfg != null) {
             accessChecker.enableCsrf(cfg.isXsrfProtectionEnabled());
+            explicitNullableTypeChecker
+                    .setProductionMode(cfg.isProductionMode());
         }
     }
 
@@ -176,6 +256,31 @@ public class VaadinConnectController {
         return objectMapper;
       }
 
+    private static ExecutorService createBatchExecutor(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "vaadin-endpoint-batch-"
+                                    + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Stops the threads used for invoking the calls of batch requests in
+     * parallel.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (batchExecutor != null) {
+            batchExecutor.shutdown();
+        }
+    }
+
     private DeploymentConfiguration createDeploymentConfiguration(
             ServletContext ctx) {
         if (ctx.getServletRegistrations().isEmpty()) {
@@ -234,6 +339,12 @@ public class VaadinConnectController {
      * <p>
      * If an issue occurs during the request processing, an error response is
      * returned instead of the serialized Java method return value.
+     * <p>
+     * If the Java method returns a {@link CompletionStage}, the response is
+     * sent once the stage is complete. In case the stage is not complete when
+     * the method returns, the request is processed asynchronously so that the
+     * request thread is released in the meantime, and {@code null} is returned
+     * by this method.
      *
      * @param endpointName
      *            the name of an endpoint to address the calls to, not case
@@ -245,7 +356,8 @@ public class VaadinConnectController {
      *            called has parameters
      * @param request
      *            the current request which triggers the endpoint call
-     * @return execution result as a JSON string or an error message string
+     * @return execution result as a JSON string or an error message string,
+     *         or {@code null} if the request is processed asynchronously
      */
     @PostMapping(path = "/{endpoint}/{method}", produces =
             MediaType.APPLICATION_JSON_UTF8_VALUE)
@@ -257,11 +369,377 @@ public class VaadinConnectController {
         getLogger().debug("Endpoint: {}, method: {}, request body: {}",
                 endpointName, methodName, body);
 
+        return respond(serveEndpointResponse(endpointName, methodName, body,
+                request), request);
+    }
+
+    private CompletableFuture<ResponseEntity<String>> serveEndpointResponse(
+            String endpointName, String methodName, ObjectNode body,
+            HttpServletRequest request) {
+        CompletableFuture<ResponseEntity<Object>> response;
+        try {
+            response = invokeEndpoint(endpointName, methodName, body, request);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.completedFuture(
+                    createSerializationErrorResponse(endpointName, methodName,
+                            e));
+        }
+        return response.handle((result, error) -> {
+            Throwable cause = unwrapCompletionError(error);
+            try {
+                if (cause instanceof JsonProcessingException) {
+                    throw (JsonProcessingException) cause;
+                } else if (cause != null) {
+                    throw new CompletionException(cause);
+                } else if (result.getStatusCode() != HttpStatus.OK) {
+                    return ResponseEntity.status(result.getStatusCode())
+                            .body((String) result.getBody());
+                }
+                return ResponseEntity.ok(vaadinEndpointMapper
+                        .writeValueAsString(result.getBody()));
+            } catch (JsonProcessingException e) {
+                return createSerializationErrorResponse(endpointName,
+                        methodName, e);
+            }
+        });
+    }
+
+    /**
+     * Returns the response if it is complete already. Otherwise, the response
+     * is handed over to Spring MVC to be sent once it is complete, so that the
+     * request thread is released in the meantime, and {@code null} is
+     * returned.
+     */
+    private ResponseEntity<String> respond(
+            CompletableFuture<ResponseEntity<String>> response,
+            HttpServletRequest request) {
+        if (response.isDone()) {
+            try {
+                return response.join();
+            } catch (CompletionException e) {
+                throw propagate(e.getCause());
+            }
+        }
+
+        DeferredResult<ResponseEntity<String>> deferredResult = new DeferredResult<>();
+        try {
+            WebAsyncUtils.getAsyncManager(request)
+                    .startDeferredResultProcessing(deferredResult);
+        } catch (Exception e) {
+            throw new IllegalStateException(
+                    "Failed to start the asynchronous processing of the request",
+                    e);
+        }
+        response.whenComplete((result, error) -> {
+            if (error == null) {
+                deferredResult.setResult(result);
+            } else {
+                deferredResult.setErrorResult(unwrapCompletionError(error));
+            }
+        });
+        return null;
+    }
+
+    private static Throwable unwrapCompletionError(Throwable error) {
+        if ((error instanceof CompletionException
+                || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    private static RuntimeException propagate(Throwable error) {
+        if (error instanceof Error) {
+            throw (Error) error;
+        } else if (error instanceof RuntimeException) {
+            return (RuntimeException) error;
+        }
+        return new IllegalStateException(error);
+    }
+
+    /**
+     * Captures and processes the Vaadin Connect requests whose response is
+     * streamed as newline delimited JSON.
+     * <p>
+     * The endpoint method is invoked the same way as in
+     * {@link #serveEndpoint(String, String, ObjectNode, HttpServletRequest)}.
+     * If the method returns a {@link Stream}, an {@link Iterable}, an
+     * {@link Iterator} or an array, each item is serialized into a line of its
+     * own while the response is written, so the whole result is never held in
+     * memory as a single string. Any other value is written as a single line.
+     * Errors which occur before the response is written are returned as a
+     * regular JSON error object. If the method returns a
+     * {@link CompletionStage}, the request thread waits for the stage to
+     * complete before the response is written.
+     * <p>
+     * The items are consumed after the endpoint method has returned, in a
+     * thread of the asynchronous request processing of Spring. The Vaadin
+     * current instances, the request attributes, the Spring Security context
+     * and the context class loader of the request thread are available while
+     * the items are produced, but a transaction of the endpoint method has
+     * ended already. A lazily populated result must therefore not depend on
+     * such a transaction, e.g. a stream should open the resources it needs
+     * itself and release them in a {@link Stream#onClose(Runnable)} handler,
+     * which is run once the response is written.
+     *
+     * @param endpointName
+     *            the name of an endpoint to address the calls to, not case
+     *            sensitive
+     * @param methodName
+     *            the method name to execute on an endpoint, not case sensitive
+     * @param body
+     *            optional request body, that should be specified if the method
+     *            called has parameters
+     * @param request
+     *            the current request which triggers the endpoint call
+     * @return the streamed execution result or an error message string
+     */
+    @PostMapping(path = "/{endpoint}/{method}/stream", produces = {
+            NDJSON_MEDIA_TYPE, MediaType.APPLICATION_JSON_UTF8_VALUE })
+    public ResponseEntity<StreamingResponseBody> serveEndpointStream(
+            @PathVariable("endpoint") String endpointName,
+            @PathVariable("method") String methodName,
+            @RequestBody(required = false) ObjectNode body,
+            HttpServletRequest request) {
+        getLogger().debug("Streamed endpoint: {}, method: {}, request body: {}",
+                endpointName, methodName, body);
+
+        ResponseEntity<String> errorResponse;
+        try {
+            ResponseEntity<Object> response = getCompleted(invokeEndpoint(
+                    endpointName, methodName, body, request));
+            if (response.getStatusCode() == HttpStatus.OK) {
+                Object returnValue = response.getBody();
+                EndpointCallContext context = EndpointCallContext
+                        .capture(request);
+                return ResponseEntity.ok()
+                        .contentType(MediaType.valueOf(NDJSON_MEDIA_TYPE))
+                        .body(output -> context.run(() -> {
+                            writeJsonLines(endpointName, methodName,
+                                    returnValue, output);
+                            return null;
+                        }));
+            }
+            errorResponse = ResponseEntity.status(response.getStatusCode())
+                    .body((String) response.getBody());
+        } catch (JsonProcessingException e) {
+            errorResponse = createSerializationErrorResponse(endpointName,
+                    methodName, e);
+        }
+        String errorBody = errorResponse.getBody();
+        StreamingResponseBody errorStream = errorBody == null ? null
+                : output -> output
+                        .write(errorBody.getBytes(StandardCharsets.UTF_8));
+        return ResponseEntity.status(errorResponse.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .body(errorStream);
+    }
+
+    /**
+     * Captures and processes the batched Vaadin Connect requests.
+     * <p>
+     * The request body is a JSON array of calls, each of them is an object
+     * with the {@code endpoint} name, the {@code method} name and the optional
+     * {@code params} object. Every call is handled the same way as in
+     * {@link #serveEndpoint(String, String, ObjectNode, HttpServletRequest)},
+     * including the access check, so one failing call does not affect the
+     * others. The response is a JSON array with an object per call, in the
+     * same order, containing the {@code status} code and the {@code body} of
+     * the corresponding single call response.
+     * <p>
+     * The number of calls is limited by the {@value #BATCH_MAX_SIZE_PROPERTY}
+     * property, larger batches are rejected with a {@code 400} response.
+     * <p>
+     * The calls are invoked one after another unless the
+     * {@value #BATCH_PARALLEL_PROPERTY} property is set to {@code true}. In
+     * that case the request thread takes the calls of the batch one at a time
+     * together with at most as many threads of the controller as there are
+     * processors, so the calls of a batch never wait behind the calls of other
+     * batches for a thread to become available. The Vaadin current instances, the request attributes, the Spring Security
+     * context and the context class loader of the request thread are available
+     * to the endpoint methods, but a transaction of the request thread is
+     * not.
+     * <p>
+     * The response is sent once all the calls are complete, the request thread
+     * is released meanwhile if some of the endpoint methods return a
+     * {@link CompletionStage} which is not complete yet.
+     *
+     * @param calls
+     *            the calls to invoke
+     * @param request
+     *            the current request which triggers the endpoint calls
+     * @return the results of the calls as a JSON string or an error message
+     *         string, or {@code null} if the request is processed
+     *         asynchronously
+     */
+    @PostMapping(path = "/batch", produces =
+            MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<String> serveBatch(
+            @RequestBody(required = false) ArrayNode calls,
+            HttpServletRequest request) {
+        getLogger().debug("Batch request body: {}", calls);
+
+        try {
+            if (calls == null) {
+                return ResponseEntity.badRequest().body(
+                        createResponseErrorObject("Batch request has no calls"));
+            }
+            if (calls.size() > batchMaxSize) {
+                return ResponseEntity.badRequest()
+                        .body(createResponseErrorObject(String.format(
+                                "Batch request has %d calls, the maximum is %d",
+                                calls.size(), batchMaxSize)));
+            }
+            for (JsonNode call : calls) {
+                if (!call.path("endpoint").isTextual()
+                        || !call.path("method").isTextual()
+                        || !(call.path("params").isMissingNode()
+                                || call.path("params").isNull()
+                                || call.path("params").isObject())) {
+                    return ResponseEntity.badRequest()
+                            .body(createResponseErrorObject(String.format(
+                                    "Invalid batch call '%s', expected an object "
+                                            + "with 'endpoint', 'method' and "
+                                            + "optional 'params' properties",
+                                    call)));
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                    "Unexpected: Failed to write the batch error response", e);
+        }
+
+        List<CompletableFuture<ResponseEntity<String>>> responses;
+        if (batchExecutor != null && calls.size() > 1) {
+            responses = serveBatchInParallel(calls, request);
+        } else {
+            responses = new ArrayList<>();
+            calls.forEach(call -> responses.add(serveBatchCall(call, request)));
+        }
+        return respond(CompletableFuture
+                .allOf(responses.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> createBatchResponse(responses.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList()))),
+                request);
+    }
+
+    /**
+     * Invokes the calls of the batch in the request thread and in threads of
+     * the controller, which take the next call of this batch until all of them
+     * are taken. The request thread waits for the methods to return, like when
+     * invoking them one after another, and is only released for the stages
+     * returned by the methods.
+     */
+    private List<CompletableFuture<ResponseEntity<String>>> serveBatchInParallel(
+            ArrayNode calls, HttpServletRequest request) {
+        int size = calls.size();
+        AtomicReferenceArray<CompletableFuture<ResponseEntity<String>>> responses = new AtomicReferenceArray<>(
+                size);
+        AtomicInteger nextCall = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch remainingCalls = new CountDownLatch(size);
+        Runnable invokeCalls = () -> {
+            for (int i = nextCall.getAndIncrement(); i < size; i = nextCall
+                    .getAndIncrement()) {
+                try {
+                    responses.set(i, serveBatchCall(calls.get(i), request));
+                } catch (Throwable e) { // NOSONAR
+                    failure.compareAndSet(null, e);
+                } finally {
+                    remainingCalls.countDown();
+                }
+            }
+        };
+
+        EndpointCallContext context = EndpointCallContext.capture(request);
+        try {
+            for (int i = Math.min(size - 1, batchThreads); i > 0; i--) {
+                batchExecutor.execute(() -> context.run(() -> {
+                    invokeCalls.run();
+                    return null;
+                }));
+            }
+        } catch (RejectedExecutionException e) {
+            getLogger().debug(
+                    "The batch executor is shut down, the remaining calls "
+                            + "are invoked in the request thread",
+                    e);
+        }
+        invokeCalls.run();
+
+        try {
+            // the threads which have taken a call may still be invoking it
+            remainingCalls.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while waiting for the batch calls", e);
+        }
+        if (failure.get() != null) {
+            throw propagate(failure.get());
+        }
+        List<CompletableFuture<ResponseEntity<String>>> result = new ArrayList<>(
+                size);
+        for (int i = 0; i < size; i++) {
+            result.add(responses.get(i));
+        }
+        return result;
+    }
+
+    private ResponseEntity<String> createBatchResponse(
+            List<ResponseEntity<String>> responses) {
+        try {
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator generator = vaadinEndpointMapper.getFactory()
+                    .createGenerator(writer)) {
+                generator.writeStartArray();
+                for (ResponseEntity<String> response : responses) {
+                    generator.writeStartObject();
+                    generator.writeNumberField("status",
+                            response.getStatusCodeValue());
+                    generator.writeFieldName("body");
+                    if (response.getBody() == null) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeRawValue(response.getBody());
+                    }
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+            return ResponseEntity.ok(writer.toString());
+        } catch (IOException e) {
+            throw new IllegalStateException(
+                    "Unexpected: Failed to write the batch response", e);
+        }
+    }
+
+    private CompletableFuture<ResponseEntity<String>> serveBatchCall(
+            JsonNode call, HttpServletRequest request) {
+        JsonNode params = call.get("params");
+        return serveEndpointResponse(call.get("endpoint").asText(),
+                call.get("method").asText(),
+                params instanceof ObjectNode ? (ObjectNode) params : null,
+                request);
+    }
+
+    /**
+     * Finds and invokes the endpoint method. The body of a successful response
+     * is the value returned by the method, the body of any other response is
+     * the serialized error. The response is completed once the stage returned
+     * by an asynchronous method completes, other responses are completed
+     * already.
+     */
+    private CompletableFuture<ResponseEntity<Object>> invokeEndpoint(
+            String endpointName, String methodName, ObjectNode body,
+            HttpServletRequest request) throws JsonProcessingException {
         VaadinEndpointData vaadinEndpointData = vaadinEndpoints
                 .get(endpointName.toLowerCase(Locale.ENGLISH));
         if (vaadinEndpointData == null) {
             getLogger().debug("Endpoint '{}' not found", endpointName);
-            return ResponseEntity.notFound().build();
+            return completed(ResponseEntity.notFound().build());
         }
 
         Method methodToInvoke = vaadinEndpointData
@@ -269,72 +747,127 @@ public class VaadinConnectController {
         if (methodToInvoke == null) {
             getLogger().debug("Method '{}' not found in endpoint '{}'",
                     methodName, endpointName);
-            return ResponseEntity.notFound().build();
+            return completed(ResponseEntity.notFound().build());
         }
 
-        try {
+        // Put a VaadinRequest in the instances object so as the request is
+        // available in the end-point method
+        VaadinServletService service = (VaadinServletService)VaadinService.getCurrent();
+        if (service != null) {
+            service.setCurrentInstances(new VaadinServletRequest(request, service), null);
+        }
+
+        return invokeVaadinEndpointMethod(endpointName, methodName,
+                methodToInvoke, body, vaadinEndpointData, request);
+    }
 
-            // Put a VaadinRequest in the instances object so as the request is
-            // available in the end-point method
-            VaadinServletService service = (VaadinServletService)VaadinService.getCurrent();
-            if (service != null) {
-                service.setCurrentInstances(new VaadinServletRequest(request, service), null);
+    private static <T> T getCompleted(CompletableFuture<T> future)
+            throws JsonProcessingException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof JsonProcessingException) {
+                throw (JsonProcessingException) e.getCause();
             }
+            throw propagate(e.getCause());
+        }
+    }
 
-            return invokeVaadinEndpointMethod(endpointName, methodName,
-                    methodToInvoke, body, vaadinEndpointData, request);
-        } catch (JsonProcessingException e) {
-            String errorMessage = String.format(
-                    "Failed to serialize endpoint '%s' method '%s' response. "
-                            + "Double check method's return type or specify a custom mapper bean with qualifier '%s'",
-                    endpointName, methodName,
-                    VAADIN_ENDPOINT_MAPPER_BEAN_QUALIFIER);
-            getLogger().error(errorMessage, e);
-            try {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(createResponseErrorObject(errorMessage));
-            } catch (JsonProcessingException unexpected) {
-                throw new IllegalStateException(String.format(
-                        "Unexpected: Failed to serialize a plain Java string '%s' into a JSON. "
-                                + "Double check the provided mapper's configuration.",
-                        errorMessage), unexpected);
+    private ResponseEntity<String> createSerializationErrorResponse(
+            String endpointName, String methodName,
+            JsonProcessingException exception) {
+        String errorMessage = String.format(
+                "Failed to serialize endpoint '%s' method '%s' response. "
+                        + "Double check method's return type or specify a custom mapper bean with qualifier '%s'",
+                endpointName, methodName,
+                VAADIN_ENDPOINT_MAPPER_BEAN_QUALIFIER);
+        getLogger().error(errorMessage, exception);
+        try {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createResponseErrorObject(errorMessage));
+        } catch (JsonProcessingException unexpected) {
+            throw new IllegalStateException(String.format(
+                    "Unexpected: Failed to serialize a plain Java string '%s' into a JSON. "
+                            + "Double check the provided mapper's configuration.",
+                    errorMessage), unexpected);
+        }
+    }
+
+    private void writeJsonLines(String endpointName, String methodName,
+            Object returnValue, OutputStream output) throws IOException {
+        // a line break inside an item would split it into several lines
+        ObjectWriter writer = vaadinEndpointMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT);
+        try {
+            Iterator<?> items = getItems(returnValue);
+            while (items.hasNext()) {
+                // only one item is held in memory at a time, the servlet
+                // container buffers and flushes the output
+                output.write(writer.writeValueAsBytes(items.next()));
+                output.write('\n');
+            }
+        } catch (IOException | RuntimeException e) {
+            // the status has been sent already, the client notices the
+            // truncated response
+            getLogger().error(
+                    "Endpoint '{}' method '{}' failed while streaming the response",
+                    endpointName, methodName, e);
+            throw e;
+        } finally {
+            if (returnValue instanceof BaseStream) {
+                ((BaseStream<?, ?>) returnValue).close();
             }
         }
     }
 
-    private ResponseEntity<String> invokeVaadinEndpointMethod(String endpointName,
-            String methodName, Method methodToInvoke, ObjectNode body,
-            VaadinEndpointData vaadinEndpointData, HttpServletRequest request)
-            throws JsonProcessingException {
+    private static Iterator<?> getItems(Object returnValue) {
+        if (returnValue instanceof Stream) {
+            return ((Stream<?>) returnValue).iterator();
+        } else if (returnValue instanceof Iterable) {
+            return ((Iterable<?>) returnValue).iterator();
+        } else if (returnValue instanceof Iterator) {
+            return (Iterator<?>) returnValue;
+        } else if (returnValue instanceof Object[]) {
+            return Arrays.asList((Object[]) returnValue).iterator();
+        }
+        return Collections.singletonList(returnValue).iterator();
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> invokeVaadinEndpointMethod(
+            String endpointName, String methodName, Method methodToInvoke,
+            ObjectNode body, VaadinEndpointData vaadinEndpointData,
+            HttpServletRequest request) throws JsonProcessingException {
         String checkError = accessChecker.check(methodToInvoke, request);
         if (checkError != null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+            return completed(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(createResponseErrorObject(String.format(
                             "Endpoint '%s' method '%s' request cannot be accessed, reason: '%s'",
-                            endpointName, methodName, checkError)));
+                            endpointName, methodName, checkError))));
         }
 
         Map<String, JsonNode> requestParameters = getRequestParameters(body);
-        Type[] javaParameters = getJavaParameters(methodToInvoke, ClassUtils.getUserClass(vaadinEndpointData.vaadinEndpointObject));
+        EndpointMethodInvoker invoker = vaadinEndpointData
+                .getInvoker(methodToInvoke);
+        Type[] javaParameters = invoker.getParameterTypes();
         if (javaParameters.length != requestParameters.size()) {
-            return ResponseEntity.badRequest()
+            return completed(ResponseEntity.badRequest()
                     .body(createResponseErrorObject(String.format(
                             "Incorrect number of parameters for endpoint '%s' method '%s', "
                                     + "expected: %s, got: %s",
                             endpointName, methodName, javaParameters.length,
-                            requestParameters.size())));
+                            requestParameters.size()))));
         }
 
         Object[] vaadinEndpointParameters;
         try {
             vaadinEndpointParameters = getVaadinEndpointParameters(
-                    requestParameters, javaParameters, methodName, endpointName);
+                    requestParameters, invoker, methodName, endpointName);
         } catch (EndpointValidationException e) {
             getLogger().debug(
                     "Endpoint '{}' method '{}' received invalid response",
                     endpointName, methodName, e);
-            return ResponseEntity.badRequest().body(vaadinEndpointMapper
-                    .writeValueAsString(e.getSerializationData()));
+            return completed(ResponseEntity.badRequest().body(vaadinEndpointMapper
+                    .writeValueAsString(e.getSerializationData())));
         }
 
         Set<ConstraintViolation<Object>> methodParameterConstraintViolations = validator
@@ -342,19 +875,19 @@ public class VaadinConnectController {
                 .validateParameters(vaadinEndpointData.getEndpointObject(),
                         methodToInvoke, vaadinEndpointParameters);
         if (!methodParameterConstraintViolations.isEmpty()) {
-            return ResponseEntity.badRequest().body(vaadinEndpointMapper
+            return completed(ResponseEntity.badRequest().body(vaadinEndpointMapper
                     .writeValueAsString(new EndpointValidationException(
                             String.format(
                                     "Validation error in endpoint '%s' method '%s'",
                                     endpointName, methodName),
                             createMethodValidationErrors(
                                     methodParameterConstraintViolations))
-                                            .getSerializationData()));
+                                            .getSerializationData())));
         }
 
         Object returnValue;
         try {
-            returnValue = methodToInvoke.invoke(
+            returnValue = invoker.invoke(
                     vaadinEndpointData.getEndpointObject(),
                     vaadinEndpointParameters);
         } catch (IllegalArgumentException e) {
@@ -364,19 +897,50 @@ public class VaadinConnectController {
                     endpointName, methodName,
                     listMethodParameterTypes(javaParameters));
             getLogger().debug(errorMessage, e);
-            return ResponseEntity.badRequest()
-                    .body(createResponseErrorObject(errorMessage));
+            return completed(ResponseEntity.badRequest()
+                    .body(createResponseErrorObject(errorMessage)));
         } catch (IllegalAccessException e) {
             String errorMessage = String.format(
                     "Endpoint '%s' method '%s' access failure", endpointName,
                     methodName);
             getLogger().error(errorMessage, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createResponseErrorObject(errorMessage));
+            return completed(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createResponseErrorObject(errorMessage)));
         } catch (InvocationTargetException e) {
-            return handleMethodExecutionError(endpointName, methodName, e);
+            return completed(
+                    handleMethodExecutionError(endpointName, methodName, e));
+        }
+
+        if (returnValue instanceof CompletionStage) {
+            // the response is created once the stage completes, the request
+            // thread is not waiting for it
+            return ((CompletionStage<?>) returnValue).handle((value, error) -> {
+                try {
+                    if (error != null) {
+                        return handleMethodExecutionError(endpointName,
+                                methodName, new InvocationTargetException(
+                                        unwrapCompletionError(error)));
+                    }
+                    return createReturnValueResponse(endpointName, methodName,
+                            methodToInvoke, vaadinEndpointData, value);
+                } catch (JsonProcessingException e) {
+                    throw new CompletionException(e);
+                }
+            }).toCompletableFuture();
         }
+        return completed(createReturnValueResponse(endpointName, methodName,
+                methodToInvoke, vaadinEndpointData, returnValue));
+    }
 
+    private static CompletableFuture<ResponseEntity<Object>> completed(
+            ResponseEntity<Object> response) {
+        return CompletableFuture.completedFuture(response);
+    }
+
+    private ResponseEntity<Object> createReturnValueResponse(
+            String endpointName, String methodName, Method methodToInvoke,
+            VaadinEndpointData vaadinEndpointData, Object returnValue)
+            throws JsonProcessingException {
         String implicitNullError = this.explicitNullableTypeChecker
                 .checkValueForAnnotatedElement(returnValue, methodToInvoke);
         if (implicitNullError != null) {
@@ -400,15 +964,10 @@ public class VaadinConnectController {
                     "Endpoint '{}' method '{}' had returned a value that has validation errors: '{}', this might cause bugs on the client side. Fix the method implementation.",
                     endpointName, methodName, returnValueConstraintViolations);
         }
-        return ResponseEntity
-                .ok(vaadinEndpointMapper.writeValueAsString(returnValue));
+        return ResponseEntity.ok(returnValue);
     }
 
-    private Type[] getJavaParameters(Method methodToInvoke, Type classType) {
-        return Stream.of(GenericTypeReflector.getExactParameterTypes(methodToInvoke, classType)).toArray(Type[]::new);
-    }
-
-    private ResponseEntity<String> handleMethodExecutionError(
+    private ResponseEntity<Object> handleMethodExecutionError(
             String endpointName, String methodName, InvocationTargetException e)
             throws JsonProcessingException {
         if (EndpointException.class
@@ -442,8 +1001,10 @@ public class VaadinConnectController {
     }
 
     private Object[] getVaadinEndpointParameters(
-            Map<String, JsonNode> requestParameters, Type[] javaParameters,
-            String methodName, String endpointName) {
+            Map<String, JsonNode> requestParameters,
+            EndpointMethodInvoker invoker, String methodName,
+            String endpointName) {
+        Type[] javaParameters = invoker.getParameterTypes();
         Object[] endpointParameters = new Object[javaParameters.length];
         String[] parameterNames = new String[requestParameters.size()];
         requestParameters.keySet().toArray(parameterNames);
@@ -453,9 +1014,8 @@ public class VaadinConnectController {
         for (int i = 0; i < javaParameters.length; i++) {
             Type expectedType = javaParameters[i];
             try {
-                Object parameter = vaadinEndpointMapper
-                        .readerFor(vaadinEndpointMapper.getTypeFactory()
-                                .constructType(expectedType))
+                Object parameter = invoker
+                        .getReader(i, vaadinEndpointMapper)
                         .readValue(requestParameters.get(parameterNames[i]));
 
                 endpointParameters[i] = parameter;
@@ -545,6 +1105,7 @@ public class VaadinConnectController {
 
     static class VaadinEndpointData {
         final Map<String, Method> methods = new HashMap<>();
+        private final Map<Method, EndpointMethodInvoker> invokers = new ConcurrentHashMap<>();
         private final Object vaadinEndpointObject;
 
         private VaadinEndpointData(Object vaadinEndpointObject,
@@ -556,6 +1117,13 @@ public class VaadinConnectController {
                     .forEach(method -> methods.put(
                             method.getName().toLowerCase(Locale.ENGLISH),
                             method));
+            methods.values().forEach(this::getInvoker);
+        }
+
+        private EndpointMethodInvoker getInvoker(Method method) {
+            return invokers.computeIfAbsent(method,
+                    key -> new EndpointMethodInvoker(key,
+                            ClassUtils.getUserClass(vaadinEndpointObject)));
         }
 
         private Optional<Method> getMethod(String methodName) {
@@ -566,4 +1134,88 @@ public class VaadinConnectController {
             return vaadinEndpointObject;
         }
     }
+
+    /**
+     * Invokes an endpoint method through a method handle which is created
+     * once, together with the exact parameter types. The readers for the
+     * parameters are created on first use.
+     */
+    static class EndpointMethodInvoker {
+        private static final MethodType INVOKER_TYPE = MethodType
+                .methodType(Object.class, Object.class, Object[].class);
+
+        private final Method method;
+        private final Type[] parameterTypes;
+        private final Class<?>[] argumentTypes;
+        private final MethodHandle handle;
+        private final ObjectReader[] readers;
+
+        private EndpointMethodInvoker(Method method, Class<?> endpointType) {
+            this.method = method;
+            parameterTypes = GenericTypeReflector
+                    .getExactParameterTypes(method, endpointType);
+            argumentTypes = method.getParameterTypes();
+            readers = new ObjectReader[parameterTypes.length];
+            handle = createHandle(method);
+        }
+
+        private static MethodHandle createHandle(Method method) {
+            try {
+                // the lookup has the same access as the reflective call
+                MethodHandle handle = MethodHandles.lookup().unreflect(method)
+                        .asFixedArity();
+                if (Modifier.isStatic(method.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle, 0,
+                            Object.class);
+                }
+                return handle
+                        .asSpreader(Object[].class,
+                                method.getParameterCount())
+                        .asType(INVOKER_TYPE);
+            } catch (IllegalAccessException e) {
+                // invoking reflectively reports the failure on each call
+                getLogger().debug("Unable to create a method handle for {}",
+                        method, e);
+                return null;
+            }
+        }
+
+        private Type[] getParameterTypes() {
+            return parameterTypes;
+        }
+
+        private ObjectReader getReader(int index, ObjectMapper mapper) {
+            // a reader is immutable, so a racing creation is harmless
+            ObjectReader reader = readers[index];
+            if (reader == null) {
+                reader = mapper.readerFor(mapper.getTypeFactory()
+                        .constructType(parameterTypes[index]));
+                readers[index] = reader;
+            }
+            return reader;
+        }
+
+        private Object invoke(Object endpoint, Object[] arguments)
+                throws IllegalAccessException, InvocationTargetException {
+            if (handle == null) {
+                return method.invoke(endpoint, arguments);
+            }
+            // same contract as Method.invoke: argument mismatches are
+            // reported separately from the failures of the method itself
+            for (int i = 0; i < arguments.length; i++) {
+                Class<?> type = argumentTypes[i];
+                if (arguments[i] == null ? type.isPrimitive()
+                        : !ClassUtils.resolvePrimitiveIfNecessary(type)
+                                .isInstance(arguments[i])) {
+                    throw new IllegalArgumentException(
+                            "argument type mismatch");
+                }
+            }
+            try {
+                return (Object) handle.invokeExact(endpoint, arguments);
+            } catch (Throwable e) { // NOSONAR
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
 }
@@ -132,6 +132,7 @@ public class VaadinConnectControllerConfiguration {
      */
     @Bean
     public ExplicitNullableTypeChecker typeChecker() {
-        return new ExplicitNullableTypeChecker();
+        return new ExplicitNullableTypeChecker(
+                vaadinEndpointProperties.getNullableCheckSampleRate());
     }
 }
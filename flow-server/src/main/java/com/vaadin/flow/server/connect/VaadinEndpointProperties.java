@@ -29,6 +29,9 @@ public class VaadinEndpointProperties {
     @Value("${vaadin.endpoint.prefix:/connect}")
     private String vaadinEndpointPrefix;
 
+    @Value("${vaadin.endpoint.nullable-check-sample-rate:1}")
+    private double nullableCheckSampleRate;
+
     /**
      * Customize the prefix for all Vaadin Connect endpoints. See default value
      * in the {@link VaadinEndpointProperties#vaadinEndpointPrefix} field
@@ -40,4 +43,16 @@ public class VaadinEndpointProperties {
         return vaadinEndpointPrefix;
     }
 
+    /**
+     * Customize the share of endpoint calls in production mode whose return
+     * values are checked for implicit {@code null} values, between {@code 0}
+     * (never) and {@code 1} (always, the default). All the calls are checked
+     * in development mode.
+     *
+     * @return the share of the checked endpoint calls in production mode
+     */
+    public double getNullableCheckSampleRate() {
+        return nullableCheckSampleRate;
+    }
+
 }
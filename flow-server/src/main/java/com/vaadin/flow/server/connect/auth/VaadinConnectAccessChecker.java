@@ -24,6 +24,8 @@ import javax.servlet.http.HttpSession;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,6 +77,9 @@ public class VaadinConnectAccessChecker {
 
     private boolean xsrfProtectionEnabled = true;
 
+    // the annotations of a method do not change, only the request does
+    private final Map<Method, AnnotatedElement> securityTargets = new ConcurrentHashMap<>();
+
     /**
      * Check that the endpoint is accessible for the current user.
      *
@@ -109,8 +114,9 @@ public class VaadinConnectAccessChecker {
                     "The method '%s' is not public hence cannot have a security target",
                     method));
         }
-        return hasSecurityAnnotation(method) ? method
-                : method.getDeclaringClass();
+        return securityTargets.computeIfAbsent(method,
+                key -> hasSecurityAnnotation(key) ? key
+                        : key.getDeclaringClass());
     }
 
     private String verifyAnonymousUser(Method method,
@@ -19,7 +19,14 @@ import javax.annotation.Nullable;
 import javax.annotation.security.DenyAll;
 import javax.annotation.security.PermitAll;
 import javax.annotation.security.RolesAllowed;
+import javax.lang.model.SourceVersion;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -34,9 +41,11 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseResult;
 import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.ast.CompilationUnit;
@@ -63,8 +72,6 @@ import com.github.javaparser.symbolsolver.resolution.typesolvers.ClassLoaderType
 import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
 import com.github.javaparser.utils.Pair;
-import com.github.javaparser.utils.SourceRoot;
-import com.github.javaparser.utils.SourceRoot.Callback;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
@@ -212,13 +219,15 @@ public class OpenApiObjectGenerator {
         schemaResolver = new SchemaResolver();
         ParserConfiguration parserConfiguration = createParserConfiguration();
 
-        javaSourcePaths.stream()
-                .map(path -> new SourceRoot(path, parserConfiguration))
-                .forEach(soureRoot -> parseSourceRoot(soureRoot, this::findEndpointExposed));
-
-        javaSourcePaths.stream()
-                .map(path -> new SourceRoot(path, parserConfiguration))
-                .forEach(soureRoot -> parseSourceRoot(soureRoot, this::process));
+        // every source file is parsed once, the endpoint exposed classes must
+        // be known before the endpoints are processed
+        List<ParseResult<CompilationUnit>> parseResults = javaSourcePaths
+                .stream()
+                .flatMap(path -> parseSourceRoot(path, parserConfiguration)
+                        .stream())
+                .collect(Collectors.toList());
+        parseResults.forEach(this::findEndpointExposed);
+        parseResults.forEach(this::process);
 
         for (Map.Entry<String, ResolvedReferenceType> entry : usedTypes
                 .entrySet()) {
@@ -247,9 +256,14 @@ public class OpenApiObjectGenerator {
                 .setSymbolResolver(new JavaSymbolSolver(combinedTypeSolver));
     }
 
-    private void parseSourceRoot(SourceRoot sourceRoot, Callback callback) {
+    private List<ParseResult<CompilationUnit>> parseSourceRoot(
+            Path sourceRoot, ParserConfiguration parserConfiguration) {
         try {
-            sourceRoot.parse("", callback);
+            // parsing is independent for each file while the processing of
+            // the results is not, so only the former runs in parallel
+            return findJavaFiles(sourceRoot).parallelStream()
+                    .map(file -> parseFile(file, parserConfiguration))
+                    .collect(Collectors.toList());
         } catch (Exception e) {
             throw new IllegalStateException(String.format(
                     "Can't parse the java files in the source root '%s'",
@@ -257,6 +271,46 @@ public class OpenApiObjectGenerator {
         }
     }
 
+    private static List<Path> findJavaFiles(Path sourceRoot)
+            throws IOException {
+        List<Path> files = new ArrayList<>();
+        Files.walkFileTree(sourceRoot, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir,
+                    BasicFileAttributes attrs) throws IOException {
+                if (!sourceRoot.equals(dir) && (Files.isHidden(dir)
+                        || !SourceVersion.isIdentifier(
+                                dir.getFileName().toString()))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file,
+                    BasicFileAttributes attrs) {
+                if (file.getFileName().toString().endsWith(".java")) {
+                    files.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        // keeps the generated output independent of the file system order
+        Collections.sort(files);
+        return files;
+    }
+
+    private static ParseResult<CompilationUnit> parseFile(Path file,
+            ParserConfiguration parserConfiguration) {
+        try {
+            // JavaParser instances are not thread safe, the configuration is
+            // only read
+            return new JavaParser(parserConfiguration).parse(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private void addTagsInformation() {
         for (Map.Entry<ClassOrInterfaceDeclaration, String> endpointJavadoc : endpointsJavadoc
                 .entrySet()) {
@@ -300,9 +354,7 @@ public class OpenApiObjectGenerator {
         return openAPI;
     }
 
-    @SuppressWarnings("squid:S1172")
-    private SourceRoot.Callback.Result process(Path localPath,
-            Path absolutePath, ParseResult<CompilationUnit> result) {
+    private void process(ParseResult<CompilationUnit> result) {
         result.ifSuccessful(compilationUnit -> compilationUnit.getPrimaryType()
                 .filter(BodyDeclaration::isClassOrInterfaceDeclaration)
                 .map(BodyDeclaration::asClassOrInterfaceDeclaration)
@@ -315,12 +367,9 @@ public class OpenApiObjectGenerator {
                         classOrInterfaceDeclaration, compilationUnit)));
         pathItems.forEach((pathName, pathItem) -> openApiModel.getPaths()
                 .addPathItem(pathName, pathItem));
-        return SourceRoot.Callback.Result.DONT_SAVE;
     }
 
-    @SuppressWarnings("squid:S1172")
-    private SourceRoot.Callback.Result findEndpointExposed(Path localPath,
-            Path absolutePath, ParseResult<CompilationUnit> result) {
+    private void findEndpointExposed(ParseResult<CompilationUnit> result) {
         result.ifSuccessful(compilationUnit -> compilationUnit.getPrimaryType()
                 .filter(BodyDeclaration::isClassOrInterfaceDeclaration)
                 .map(BodyDeclaration::asClassOrInterfaceDeclaration)
@@ -329,7 +378,6 @@ public class OpenApiObjectGenerator {
                 .map(delcaration -> endpointExposedMap.put(
                         delcaration.resolve().getQualifiedName(),
                         delcaration)));
-        return SourceRoot.Callback.Result.DONT_SAVE;
     }
 
     private Collection<TypeDeclaration<?>> appendNestedClasses(
@@ -626,7 +674,8 @@ public class OpenApiObjectGenerator {
                 }
             }
         });
-        if (!methodDeclaration.getType().isVoidType()) {
+        if (!methodDeclaration.getType().isVoidType()
+                && !isVoidResultType(methodDeclaration)) {
             MediaType mediaItem = createReturnMediaType(methodDeclaration,
                     resolvedTypeParametersMap);
             successfulContent.addMediaType("application/json", mediaItem);
@@ -638,8 +687,8 @@ public class OpenApiObjectGenerator {
     private MediaType createReturnMediaType(MethodDeclaration methodDeclaration,
             ResolvedTypeParametersMap resolvedTypeParametersMap) {
         MediaType mediaItem = new MediaType();
-        ResolvedType resolvedType = resolvedTypeParametersMap
-                .replaceAll(methodDeclaration.resolve().getReturnType());
+        ResolvedType resolvedType = getResultType(resolvedTypeParametersMap
+                .replaceAll(methodDeclaration.resolve().getReturnType()));
         Schema schema = parseResolvedTypeToSchema(resolvedType);
         schema.setDescription("");
         if (methodDeclaration.isAnnotationPresent(Nullable.class)) {
@@ -650,6 +699,32 @@ public class OpenApiObjectGenerator {
         return mediaItem;
     }
 
+    private boolean isVoidResultType(MethodDeclaration methodDeclaration) {
+        ResolvedType resultType = getResultType(
+                methodDeclaration.resolve().getReturnType());
+        return resultType.isReferenceType() && Void.class.getName()
+                .equals(resultType.asReferenceType().getQualifiedName());
+    }
+
+    /**
+     * Gets the type of the value sent to the client, which is the type of the
+     * result for the asynchronous methods returning a {@link CompletionStage}.
+     */
+    private ResolvedType getResultType(ResolvedType returnType) {
+        if (!returnType.isReferenceType()) {
+            return returnType;
+        }
+        ResolvedReferenceType referenceType = returnType.asReferenceType();
+        return Stream
+                .concat(Stream.of(referenceType),
+                        referenceType.getAllAncestors().stream())
+                .filter(type -> CompletionStage.class.getName()
+                        .equals(type.getQualifiedName()))
+                .findFirst().map(ResolvedReferenceType::typeParametersValues)
+                .map(values -> values.isEmpty() ? returnType : values.get(0))
+                .orElse(returnType);
+    }
+
     private RequestBody createRequestBody(MethodDeclaration methodDeclaration,
             ResolvedTypeParametersMap resolvedTypeParametersMap) {
         Map<String, String> paramsDescription = new HashMap<>();
@@ -16,6 +16,7 @@
 
 package com.vaadin.flow.server.connect.generator;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -80,9 +81,19 @@ public class OpenApiSpecGenerator {
         OpenAPI openAPI = generator.generateOpenApi();
         try {
             if (openAPI.getPaths().size() > 0) {
+                String spec = Json.pretty(openAPI);
+                File file = specOutputFile.toFile();
+                // an untouched file lets the following tasks and the webpack
+                // watcher skip their work
+                if (file.exists() && spec.equals(FileUtils
+                        .readFileToString(file, StandardCharsets.UTF_8))) {
+                    log.debug("OpenAPI spec {} is up to date",
+                            specOutputFile);
+                    return;
+                }
                 log.info("writing file {}", specOutputFile);
-                FileUtils.writeStringToFile(specOutputFile.toFile(),
-                        Json.pretty(openAPI), StandardCharsets.UTF_8);
+                FileUtils.writeStringToFile(file, spec,
+                        StandardCharsets.UTF_8);
             } else {
                 log.info("There are no connect endpoints to generate.");
                 FileUtils.deleteQuietly(specOutputFile.toFile());
@@ -17,6 +17,7 @@ package com.vaadin.flow.server.connect.generator;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -114,10 +115,17 @@ public class VaadinConnectTsGenerator extends AbstractTypeScriptClientCodegen {
         @Override
         public File writeToFile(String filename, String contents)
                 throws IOException {
-            if (filename.endsWith(TS)) {
-                return super.writeToFile(filename, contents);
+            if (!filename.endsWith(TS)) {
+                return null;
             }
-            return null;
+            File file = new File(filename);
+            // unchanged files are not rewritten so that webpack does not
+            // rebuild the bundle for them
+            if (file.exists() && contents.equals(
+                    FileUtils.readFileToString(file, StandardCharsets.UTF_8))) {
+                return file;
+            }
+            return super.writeToFile(filename, contents);
         }
     }
 
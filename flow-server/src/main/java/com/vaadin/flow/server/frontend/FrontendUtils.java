@@ -29,6 +29,7 @@ import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -213,6 +214,22 @@ public class FrontendUtils {
      */
     public static final String FALLBACK_IMPORTS_NAME = "generated-flow-imports-fallback.js";
 
+    /**
+     * Prefix of the files that contain the imports used by a single route
+     * target only. These files are dynamically imported by the
+     * {@link FrontendUtils#IMPORTS_NAME} file and are always generated in the
+     * {@link FrontendUtils#DEFAULT_GENERATED_DIR} folder.
+     */
+    public static final String ROUTE_IMPORTS_PREFIX = "generated-flow-imports-route-";
+
+    /**
+     * Name of the file where the byte code scanner caches the classes
+     * referenced by each scanned class, so that unchanged classes are not
+     * parsed again on the next build. It is always generated in the
+     * {@link FrontendUtils#DEFAULT_GENERATED_DIR} folder.
+     */
+    public static final String SCAN_CACHE_NAME = "flow-scan-cache.json";
+
     /**
      * A parameter for overriding the
      * {@link FrontendUtils#DEFAULT_GENERATED_DIR} folder.
@@ -254,6 +271,11 @@ public class FrontendUtils {
      */
     public static final String FALLBACK = "fallback";
 
+    /**
+     * A key in a Json object for the route chunks.
+     */
+    public static final String ROUTES = "routes";
+
     /**
      * The entry-point key used for the exported bundle.
      */
@@ -810,6 +832,35 @@ public class FrontendUtils {
         return new FallbackChunk(fallbackModles, fallbackCss);
     }
 
+    /**
+     * Read route chunks data from a json object.
+     *
+     * @param object
+     *            json object to read route chunks data
+     * @return the route chunks data, or {@code null} if there are no route
+     *         chunks
+     */
+    public static RouteChunks readRouteChunks(JsonObject object) {
+        if (!object.hasKey(CHUNKS)) {
+            return null;
+        }
+        JsonObject obj = object.getObject(CHUNKS);
+        if (!obj.hasKey(ROUTES)) {
+            return null;
+        }
+        obj = obj.getObject(ROUTES);
+        Map<String, List<String>> chunks = new HashMap<>();
+        for (String route : obj.keys()) {
+            List<String> routeModules = new ArrayList<>();
+            JsonArray modules = obj.getObject(route).getArray(JS_MODULES);
+            for (int i = 0; i < modules.length(); i++) {
+                routeModules.add(modules.getString(i));
+            }
+            chunks.put(route, routeModules);
+        }
+        return new RouteChunks(chunks);
+    }
+
     private static CssImportData createCssData(JsonObject object) {
         String value = null;
         String id = null;
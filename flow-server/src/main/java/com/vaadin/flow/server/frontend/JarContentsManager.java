@@ -20,9 +20,12 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.stream.Collectors;
@@ -276,6 +279,94 @@ public class JarContentsManager {
         }
     }
 
+    /**
+     * Finds the files matching the inclusion filters in a directory of the jar
+     * file.
+     *
+     * @param jar
+     *            jar file to look for files in, not {@code null}
+     * @param jarDirectory
+     *            a path relative to jar root, can be {@code null}, which is
+     *            treated as a root of the jar
+     * @param wildcardPathInclusions
+     *            wildcard inclusions that are used to check each path against
+     * @return the paths of the matching files relative to the jar directory
+     * @throws IllegalArgumentException
+     *             if jar file specified is not a file or does not exist
+     * @throws NullPointerException
+     *             if jar file is {@code null}
+     * @throws UncheckedIOException
+     *             if {@link IOException} occurs during jar file search
+     * @see #copySelectedFilesFromJarTrimmingBasePath(File, String, File, Set)
+     */
+    public Set<String> findIncludedFilesTrimmingBasePath(File jar,
+            String jarDirectory, String... wildcardPathInclusions) {
+        requireFileExistence(jar);
+
+        String basePath = normalizeJarBasePath(jarDirectory);
+
+        try (JarFile jarFile = new JarFile(jar, false)) {
+            return jarFile.stream().filter(file -> !file.isDirectory())
+                    .filter(file -> file.getName().toLowerCase(Locale.ENGLISH)
+                            .startsWith(basePath.toLowerCase(Locale.ENGLISH)))
+                    .filter(file -> includeFile(file, wildcardPathInclusions))
+                    .map(file -> trimBasePath(file.getName(), basePath))
+                    .collect(Collectors.toSet());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Copies the given files from a directory of the jar file to the output
+     * directory. Files which are already up to date are not rewritten.
+     *
+     * @param jar
+     *            jar file to copy files from, not {@code null}
+     * @param jarDirectoryToCopyFrom
+     *            a path relative to jar root, can be {@code null}, which is
+     *            treated as a root of the jar
+     * @param outputDirectory
+     *            the directory to copy files to, not {@code null}
+     * @param relativePaths
+     *            the paths of the files to copy, relative to the jar directory
+     * @throws IllegalArgumentException
+     *             if jar file specified is not a file or does not exist or if
+     *             output directory is not a directory or does not exist
+     * @throws NullPointerException
+     *             if jar file or output directory is {@code null}
+     * @throws UncheckedIOException
+     *             if {@link IOException} occurs during the operation
+     * @see #findIncludedFilesTrimmingBasePath(File, String, String...)
+     */
+    public void copySelectedFilesFromJarTrimmingBasePath(File jar,
+            String jarDirectoryToCopyFrom, File outputDirectory,
+            Set<String> relativePaths) {
+        requireFileExistence(jar);
+
+        if (!Objects.requireNonNull(outputDirectory).isDirectory()) {
+            throw new IllegalArgumentException(
+                    String.format("Expect '%s' to be an existing directory",
+                            outputDirectory));
+        }
+
+        String basePath = normalizeJarBasePath(jarDirectoryToCopyFrom);
+
+        try (JarFile jarFile = new JarFile(jar, false)) {
+            jarFile.stream().filter(file -> !file.isDirectory())
+                    .filter(file -> file.getName().toLowerCase(Locale.ENGLISH)
+                            .startsWith(basePath.toLowerCase(Locale.ENGLISH)))
+                    .filter(file -> relativePaths
+                            .contains(trimBasePath(file.getName(), basePath)))
+                    .forEach(jarEntry -> copyJarEntryTrimmingBasePath(jarFile,
+                            jarEntry, basePath, outputDirectory));
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format(
+                    "Failed to extract files from jarFile '%s' to directory '%s'",
+                    jar, outputDirectory), e);
+        }
+    }
+
     private String normalizeJarBasePath(String rawPath) {
         if (rawPath == null || rawPath.isEmpty()) {
             return "";
@@ -299,26 +390,25 @@ public class JarContentsManager {
 
     private void copyJarEntryTrimmingBasePath(JarFile jarFile,
             ZipEntry jarEntry, String basePath, File outputDirectory) {
-        String fullPath = jarEntry.getName();
-        String relativePath = fullPath
-                .substring(fullPath.toLowerCase(Locale.ENGLISH)
-                        .indexOf(basePath.toLowerCase(Locale.ENGLISH))
-                        + basePath.length());
+        String relativePath = trimBasePath(jarEntry.getName(), basePath);
         File target = new File(outputDirectory, relativePath);
         try {
-            if (target.exists()) {
-                File tempFile = File.createTempFile(fullPath, null);
+            if (target.exists() && isUpToDate(jarEntry, target)) {
+                return;
+            }
+            FileUtils.forceMkdirParent(target);
+            // extract to a temporary file next to the target and move it in
+            // place, so that a failed or interrupted extraction never leaves a
+            // partially written file behind
+            File tempFile = File.createTempFile("." + target.getName(), null,
+                    target.getParentFile());
+            try {
                 FileUtils.copyInputStreamToFile(
                         jarFile.getInputStream(jarEntry), tempFile);
-                if (!FileUtils.contentEquals(tempFile, target)) {
-                    FileUtils.forceDelete(target);
-                    FileUtils.moveFile(tempFile, target);
-                } else {
-                    tempFile.delete();
-                }
-            } else {
-                FileUtils.copyInputStreamToFile(
-                        jarFile.getInputStream(jarEntry), target);
+                Files.move(tempFile.toPath(), target.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tempFile.toPath());
             }
         } catch (IOException e) {
             throw new UncheckedIOException(String.format(
@@ -327,4 +417,20 @@ public class JarContentsManager {
         }
     }
 
+    private static String trimBasePath(String fullPath, String basePath) {
+        return fullPath.substring(fullPath.toLowerCase(Locale.ENGLISH)
+                .indexOf(basePath.toLowerCase(Locale.ENGLISH))
+                + basePath.length());
+    }
+
+    /**
+     * Compares the size and the CRC stored in the jar for the entry with the
+     * target file, which avoids extracting entries that have not changed.
+     */
+    private boolean isUpToDate(ZipEntry jarEntry, File target)
+            throws IOException {
+        return jarEntry.getSize() == target.length() && jarEntry.getCrc() != -1
+                && jarEntry.getCrc() == FileUtils.checksumCRC32(target);
+    }
+
 }
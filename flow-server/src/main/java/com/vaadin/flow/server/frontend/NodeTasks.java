@@ -20,9 +20,23 @@ import java.io.File;
 import java.io.Serializable;
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.server.ExecutionFailedException;
 import com.vaadin.flow.server.frontend.installer.NodeInstaller;
@@ -36,6 +50,7 @@ import static com.vaadin.flow.server.frontend.FrontendUtils.IMPORTS_NAME;
 import static com.vaadin.flow.server.frontend.FrontendUtils.NODE_MODULES;
 import static com.vaadin.flow.server.frontend.FrontendUtils.PARAM_FRONTEND_DIR;
 import static com.vaadin.flow.server.frontend.FrontendUtils.PARAM_GENERATED_DIR;
+import static com.vaadin.flow.server.frontend.FrontendUtils.SCAN_CACHE_NAME;
 
 /**
  * An executor that it's run when the servlet context is initialised in dev-mode
@@ -80,6 +95,8 @@ public class NodeTasks implements FallibleCommand {
 
         private boolean useByteCodeScanner = false;
 
+        private boolean useRouteChunks = false;
+
         private JsonObject tokenFileData;
 
         private File tokenFile;
@@ -96,6 +113,8 @@ public class NodeTasks implements FallibleCommand {
 
         private boolean requireHomeNodeExec;
 
+        private File packageCacheFolder;
+
         /**
          * Directory for for npm and folders and files.
          */
@@ -416,6 +435,22 @@ public class NodeTasks implements FallibleCommand {
             return this;
         }
 
+        /**
+         * Enables splitting the JS modules used by a single route target into
+         * separate chunks, which are loaded only when a component needing them
+         * is used. Modules shared by several end-points stay in the main
+         * bundle. Has effect only with the byte code scanner strategy.
+         *
+         * @param routeChunks
+         *            if {@code true} then route specific modules are put into
+         *            lazy loaded chunks
+         * @return the builder, for chaining
+         */
+        public Builder useRouteChunks(boolean routeChunks) {
+            this.useRouteChunks = routeChunks;
+            return this;
+        }
+
         /**
          * Fill token file data into the provided {@code object}.
          *
@@ -466,6 +501,22 @@ public class NodeTasks implements FallibleCommand {
             return this;
         }
 
+        /**
+         * Sets the folder used as the npm cache or the pnpm store when
+         * installing the frontend dependencies. Packages already in the folder
+         * are not downloaded again, so that a populated folder allows
+         * installing without network access.
+         *
+         * @param packageCacheFolder
+         *            the package cache folder, or {@code null} to use the
+         *            default cache of the tool
+         * @return the builder, for chaining
+         */
+        public Builder withPackageCacheFolder(File packageCacheFolder) {
+            this.packageCacheFolder = packageCacheFolder;
+            return this;
+        }
+
         /**
          * Sets the node.js version to be used when node.js is installed
          * automatically by Vaadin, for example <code>"v12.18.3"</code>.
@@ -495,7 +546,57 @@ public class NodeTasks implements FallibleCommand {
         }
     }
 
-    private final Collection<FallibleCommand> commands = new ArrayList<>();
+    /**
+     * Files and folders shared by the tasks. Two tasks using the same resource
+     * run in the order they were added when at least one of them writes it,
+     * tasks without such a conflict run in parallel.
+     */
+    enum Resource {
+        PACKAGE_JSON, NODE_MODULES, FLOW_RESOURCES, GENERATED, TS_CONFIG,
+        OPEN_API, CONNECT_CLIENT, WEBPACK_CONFIG
+    }
+
+    /**
+     * A task along with the resources it reads and writes.
+     */
+    static final class Step implements Serializable {
+        private final FallibleCommand command;
+        private final Set<Resource> reads = EnumSet.noneOf(Resource.class);
+        private final Set<Resource> writes = EnumSet.noneOf(Resource.class);
+
+        private Step(FallibleCommand command) {
+            this.command = command;
+        }
+
+        Step reads(Resource... resources) {
+            reads.addAll(Arrays.asList(resources));
+            return this;
+        }
+
+        Step writes(Resource... resources) {
+            writes.addAll(Arrays.asList(resources));
+            return this;
+        }
+
+        private boolean conflictsWith(Step other) {
+            return writes.stream().anyMatch(
+                    resource -> other.reads.contains(resource)
+                            || other.writes.contains(resource))
+                    || reads.stream().anyMatch(other.writes::contains);
+        }
+
+        private String getName() {
+            return command.getClass().getSimpleName();
+        }
+    }
+
+    private final List<Step> steps = new ArrayList<>();
+
+    /**
+     * Creates an instance without tasks, for testing the scheduling.
+     */
+    NodeTasks() {
+    }
 
     private NodeTasks(Builder builder) {
 
@@ -506,7 +607,10 @@ public class NodeTasks implements FallibleCommand {
         if (builder.enablePackagesUpdate || builder.enableImportsUpdate) {
             frontendDependencies = new FrontendDependenciesScanner.FrontendDependenciesScannerFactory()
                     .createScanner(!builder.useByteCodeScanner, classFinder,
-                            builder.generateEmbeddableWebComponents);
+                            builder.generateEmbeddableWebComponents,
+                            new File(builder.generatedFolder,
+                                    SCAN_CACHE_NAME),
+                            builder.useRouteChunks);
 
             if (builder.generateEmbeddableWebComponents) {
                 FrontendWebComponentGenerator generator = new FrontendWebComponentGenerator(
@@ -519,7 +623,7 @@ public class NodeTasks implements FallibleCommand {
             TaskGeneratePackageJson packageCreator = new TaskGeneratePackageJson(
                     builder.npmFolder, builder.generatedFolder,
                     builder.flowResourcesFolder);
-            commands.add(packageCreator);
+            add(packageCreator).writes(Resource.PACKAGE_JSON);
         }
 
         if (!builder.useDeprecatedV14Bootstrapping) {
@@ -537,50 +641,62 @@ public class NodeTasks implements FallibleCommand {
                     classFinder, frontendDependencies, builder.npmFolder,
                     builder.generatedFolder, builder.flowResourcesFolder,
                     builder.cleanNpmFiles, builder.enablePnpm);
-            commands.add(packageUpdater);
+            add(packageUpdater).reads(Resource.FLOW_RESOURCES)
+                    .writes(Resource.PACKAGE_JSON, Resource.NODE_MODULES);
 
             if (builder.runNpmInstall) {
-                commands.add(new TaskRunNpmInstall(
-                        classFinder, packageUpdater,
+                add(new TaskRunNpmInstall(classFinder, packageUpdater,
                         builder.enablePnpm, builder.requireHomeNodeExec,
-                        builder.nodeVersion, builder.nodeDownloadRoot));
-
-                commands.add(new TaskInstallWebpackPlugins(
-                    new File(builder.npmFolder, NODE_MODULES)));
+                        builder.nodeVersion, builder.nodeDownloadRoot,
+                        builder.packageCacheFolder))
+                                .reads(Resource.PACKAGE_JSON,
+                                        Resource.FLOW_RESOURCES)
+                                .writes(Resource.NODE_MODULES,
+                                        Resource.GENERATED);
+
+                add(new TaskInstallWebpackPlugins(
+                        new File(builder.npmFolder, NODE_MODULES)))
+                                .writes(Resource.NODE_MODULES);
             }
         }
 
         if (builder.jarFiles != null) {
-            commands.add(new TaskCopyFrontendFiles(builder.flowResourcesFolder,
-                    builder.jarFiles));
+            add(new TaskCopyFrontendFiles(builder.flowResourcesFolder,
+                    builder.jarFiles)).writes(Resource.FLOW_RESOURCES);
 
             if (builder.localResourcesFolder != null) {
-                commands.add(new TaskCopyLocalFrontendFiles(
-                        builder.flowResourcesFolder,
-                        builder.localResourcesFolder));
+                add(new TaskCopyLocalFrontendFiles(builder.flowResourcesFolder,
+                        builder.localResourcesFolder))
+                                .writes(Resource.FLOW_RESOURCES);
             }
         }
 
         if (builder.webpackTemplate != null
                 && !builder.webpackTemplate.isEmpty()) {
-            commands.add(new TaskUpdateWebpack(builder.frontendDirectory,
+            add(new TaskUpdateWebpack(builder.frontendDirectory,
                     builder.npmFolder, builder.webpackOutputDirectory,
                     builder.webpackTemplate, builder.webpackGeneratedTemplate,
                     new File(builder.generatedFolder, IMPORTS_NAME),
                     builder.useDeprecatedV14Bootstrapping,
-                    builder.flowResourcesFolder));
+                    builder.flowResourcesFolder))
+                            .writes(Resource.WEBPACK_CONFIG);
         }
 
         if (builder.enableImportsUpdate) {
-            commands.add(
-                    new TaskUpdateImports(classFinder, frontendDependencies,
-                            finder -> getFallbackScanner(builder, finder),
-                            builder.npmFolder, builder.generatedFolder,
-                            builder.frontendDirectory, builder.tokenFile,
-                            builder.tokenFileData, builder.enablePnpm));
-
-            commands.add(new TaskUpdateThemeImport(builder.npmFolder,
-                frontendDependencies.getThemeDefinition()));
+            add(new TaskUpdateImports(classFinder, frontendDependencies,
+                    finder -> getFallbackScanner(builder, finder),
+                    builder.npmFolder, builder.generatedFolder,
+                    builder.frontendDirectory, builder.tokenFile,
+                    builder.tokenFileData, builder.enablePnpm))
+                            .reads(Resource.NODE_MODULES,
+                                    Resource.FLOW_RESOURCES,
+                                    Resource.CONNECT_CLIENT)
+                            .writes(Resource.GENERATED);
+
+            add(new TaskUpdateThemeImport(builder.npmFolder,
+                    frontendDependencies.getThemeDefinition()))
+                            .writes(Resource.NODE_MODULES,
+                                    Resource.FLOW_RESOURCES);
         }
     }
 
@@ -589,20 +705,20 @@ public class NodeTasks implements FallibleCommand {
                 FrontendUtils.TARGET);
         TaskGenerateIndexHtml taskGenerateIndexHtml = new TaskGenerateIndexHtml(
                 builder.frontendDirectory, outputDirectory);
-        commands.add(taskGenerateIndexHtml);
+        add(taskGenerateIndexHtml);
         TaskGenerateIndexTs taskGenerateIndexTs = new TaskGenerateIndexTs(
                 builder.frontendDirectory,
                 new File(builder.generatedFolder, IMPORTS_NAME),
                 outputDirectory);
-        commands.add(taskGenerateIndexTs);
+        add(taskGenerateIndexTs);
 
         TaskGenerateTsConfig taskGenerateTsConfig = new TaskGenerateTsConfig(
                 builder.npmFolder);
-        commands.add(taskGenerateTsConfig);
+        add(taskGenerateTsConfig).writes(Resource.TS_CONFIG);
 
         TaskGenerateTsDefinitions taskGenerateTsDefinitions = new TaskGenerateTsDefinitions(
                 builder.npmFolder);
-        commands.add(taskGenerateTsDefinitions);
+        add(taskGenerateTsDefinitions).reads(Resource.TS_CONFIG);
     }
 
     private void addConnectServicesTasks(Builder builder) {
@@ -611,7 +727,7 @@ public class NodeTasks implements FallibleCommand {
                 builder.connectJavaSourceFolder,
                 builder.classFinder.getClassLoader(),
                 builder.connectGeneratedOpenApiFile);
-        commands.add(taskGenerateOpenApi);
+        add(taskGenerateOpenApi).writes(Resource.OPEN_API);
 
         if (builder.connectClientTsApiFolder != null) {
             TaskGenerateConnect taskGenerateConnectTs = new TaskGenerateConnect(
@@ -619,7 +735,8 @@ public class NodeTasks implements FallibleCommand {
                     builder.connectGeneratedOpenApiFile,
                     builder.connectClientTsApiFolder,
                     builder.frontendDirectory);
-            commands.add(taskGenerateConnectTs);
+            add(taskGenerateConnectTs).reads(Resource.OPEN_API)
+                    .writes(Resource.CONNECT_CLIENT);
         }
     }
 
@@ -634,11 +751,127 @@ public class NodeTasks implements FallibleCommand {
         }
     }
 
+    Step add(FallibleCommand command) {
+        Step step = new Step(command);
+        steps.add(step);
+        return step;
+    }
+
+    /**
+     * Runs the tasks, in parallel when they do not use the same resources.
+     * Each task starts as soon as all the tasks added before it and using a
+     * resource it uses have completed.
+     * <p>
+     * Once a task has failed, the tasks which have not started yet are not
+     * run, like when running the tasks one after another. The tasks already
+     * running are completed before the failure is reported.
+     *
+     * @throws ExecutionFailedException
+     *             the exception of the first failed task, in the order the
+     *             tasks were added
+     */
     @Override
     public void execute() throws ExecutionFailedException {
-        for (FallibleCommand command : commands) {
-            command.execute();
+        if (steps.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Map<Step, Long> durations = new ConcurrentHashMap<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        ForkJoinPool pool = createPool();
+        try {
+            for (int i = 0; i < steps.size(); i++) {
+                Step step = steps.get(i);
+                CompletableFuture<?>[] dependencies = IntStream.range(0, i)
+                        .filter(j -> steps.get(j).conflictsWith(step))
+                        .mapToObj(futures::get)
+                        .toArray(CompletableFuture[]::new);
+                futures.add(CompletableFuture.allOf(dependencies)
+                        .thenRunAsync(() -> run(step, durations, failed),
+                                pool));
+            }
+            for (CompletableFuture<Void> future : futures) {
+                try {
+                    future.join();
+                } catch (CompletionException exception) {
+                    // wait for the tasks which are still running before
+                    // reporting the failure
+                    CompletableFuture.allOf(
+                            futures.toArray(new CompletableFuture[0]))
+                            .exceptionally(throwable -> null).join();
+                    throw unwrap(exception);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        if (getLogger().isInfoEnabled()) {
+            getLogger().info("Frontend tasks took {} ms: {}",
+                    (System.nanoTime() - start) / 1_000_000,
+                    steps.stream().filter(durations::containsKey)
+                            .map(step -> step.getName() + " "
+                                    + durations.get(step) + " ms")
+                            .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private static void run(Step step, Map<Step, Long> durations,
+            AtomicBoolean failed) {
+        if (failed.get()) {
+            return;
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            step.command.execute();
+            success = true;
+        } catch (ExecutionFailedException exception) {
+            throw new CompletionException(exception);
+        } finally {
+            if (!success) {
+                failed.set(true);
+            }
+            durations.put(step, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static ExecutionFailedException unwrap(
+            CompletionException exception) {
+        Throwable cause = exception.getCause();
+        if (cause instanceof ExecutionFailedException) {
+            return (ExecutionFailedException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
         }
+        return new ExecutionFailedException(cause);
+    }
+
+    private static ForkJoinPool createPool() {
+        // tasks may rely on the context class loader of the caller, e.g. the
+        // class realm of the maven plugin
+        ClassLoader classLoader = Thread.currentThread()
+                .getContextClassLoader();
+        // tasks mostly wait for files and external processes, so they are
+        // run in parallel even on a single processor
+        return new ForkJoinPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory
+                            .newThread(pool);
+                    thread.setName("frontend-tasks-" + thread.getPoolIndex());
+                    thread.setContextClassLoader(classLoader);
+                    return thread;
+                }, null, false);
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(NodeTasks.class);
     }
 
 }
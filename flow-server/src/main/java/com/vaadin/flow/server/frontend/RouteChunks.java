@@ -0,0 +1,71 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Info about the chunks containing the JS modules used by a single route
+ * target only. Such a chunk is loaded when a component using one of its
+ * modules is attached for the first time.
+ *
+ * @author Vaadin Ltd
+ *
+ */
+public class RouteChunks implements Serializable {
+
+    private final Map<String, String> moduleChunks = new HashMap<>();
+
+    /**
+     * Creates a new instance using the modules of each chunk.
+     *
+     * @param chunks
+     *            the modules of each chunk, keyed by the chunk id, not
+     *            {@code null}
+     */
+    public RouteChunks(Map<String, ? extends Collection<String>> chunks) {
+        Objects.requireNonNull(chunks).forEach((chunk, modules) -> modules
+                .forEach(module -> moduleChunks.put(module, chunk)));
+    }
+
+    /**
+     * Gets the id of the chunk containing the given module.
+     *
+     * @param module
+     *            the module, as given in the annotation value
+     * @return the id of the chunk containing the module, or an empty optional
+     *         if the module is part of the main bundle
+     */
+    public Optional<String> getChunk(String module) {
+        return Optional.ofNullable(moduleChunks.get(module));
+    }
+
+    /**
+     * Gets the set of all the modules which are part of a route chunk.
+     *
+     * @return a set of route chunk modules
+     */
+    public Set<String> getModules() {
+        return Collections.unmodifiableSet(moduleChunks.keySet());
+    }
+}
@@ -16,13 +16,27 @@
 package com.vaadin.flow.server.frontend;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonException;
+import elemental.json.impl.JsonUtil;
+
 import static com.vaadin.flow.server.Constants.COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT;
 import static com.vaadin.flow.server.Constants.RESOURCES_FRONTEND_DEFAULT;
 
@@ -35,6 +49,7 @@ import static com.vaadin.flow.server.Constants.RESOURCES_FRONTEND_DEFAULT;
 public class TaskCopyFrontendFiles implements FallibleCommand {
     private static final String[] WILDCARD_INCLUSIONS = new String[] {
             "**/*.js", "**/*.css", "**/*.ts" };
+    private static final String MANIFEST_SUFFIX = "-files.json";
 
     private File targetDirectory;
     private Set<File> resourceLocations = null;
@@ -63,29 +78,138 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
         log().info("Copying frontend resources from jar files ...");
         TaskCopyLocalFrontendFiles.createTargetFolder(targetDirectory);
         JarContentsManager jarContentsManager = new JarContentsManager();
-        for (File location : resourceLocations) {
-            if (location.isDirectory()) {
-                TaskCopyLocalFrontendFiles.copyLocalResources(
-                        new File(location, RESOURCES_FRONTEND_DEFAULT),
-                        targetDirectory);
-                TaskCopyLocalFrontendFiles.copyLocalResources(
-                        new File(location,
-                                COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT),
-                        targetDirectory);
-            } else {
-                jarContentsManager.copyIncludedFilesFromJarTrimmingBasePath(
-                        location, RESOURCES_FRONTEND_DEFAULT, targetDirectory,
-                        WILDCARD_INCLUSIONS);
-                jarContentsManager.copyIncludedFilesFromJarTrimmingBasePath(
-                        location, COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT,
-                        targetDirectory, WILDCARD_INCLUSIONS);
+        List<Source> sources = resourceLocations.stream().sorted()
+                .flatMap(location -> Stream.of(RESOURCES_FRONTEND_DEFAULT,
+                        COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT)
+                        .map(path -> new Source(location, path)))
+                .collect(Collectors.toList());
+        // listing the files is independent for each source, so it is done in
+        // parallel, the order of the result is still the order of the sources
+        List<Set<String>> providedFiles = sources.parallelStream()
+                .map(source -> source.findFiles(jarContentsManager))
+                .collect(Collectors.toList());
+        // when several sources provide the same file, the last source in
+        // the order wins, so that the result does not depend on timing and
+        // each target file is written only once
+        Map<String, Integer> owners = new HashMap<>();
+        for (int i = 0; i < sources.size(); i++) {
+            for (String path : providedFiles.get(i)) {
+                Integer previous = owners.put(path, i);
+                if (previous != null) {
+                    log().debug("{} from {} overrides the one from {}", path,
+                            sources.get(i), sources.get(previous));
+                }
             }
         }
+        Map<Integer, Set<String>> filesBySource = owners.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey,
+                                Collectors.toSet())));
+        filesBySource.entrySet().parallelStream()
+                .forEach(entry -> sources.get(entry.getKey()).copyFiles(
+                        jarContentsManager, targetDirectory,
+                        entry.getValue()));
+        removeStaleFiles(owners.keySet());
         long ms = (System.nanoTime() - start) / 1000000;
         log().info("Visited {} resources. Took {} ms.",
                 resourceLocations.size(), ms);
     }
 
+    private static Set<String> listRelativePaths(File directory) {
+        if (!directory.isDirectory()) {
+            return Collections.emptySet();
+        }
+        return FileUtils.listFiles(directory, null, true).stream()
+                .map(file -> directory.toPath().relativize(file.toPath())
+                        .toString().replace(File.separatorChar, '/'))
+                .collect(Collectors.toSet());
+    }
+
+    private static void copyFileIfChanged(File source, File target) {
+        try {
+            if (target.isFile() && source.length() == target.length()
+                    && FileUtils.contentEquals(source, target)) {
+                return;
+            }
+            FileUtils.copyFile(source, target);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format(
+                    "Failed to copy '%s' to '%s'", source, target), e);
+        }
+    }
+
+    /**
+     * A frontend resources folder inside a jar file or a resource folder.
+     */
+    private static class Source {
+        private final File location;
+        private final String path;
+
+        private Source(File location, String path) {
+            this.location = location;
+            this.path = path;
+        }
+
+        private Set<String> findFiles(JarContentsManager jarContentsManager) {
+            if (location.isDirectory()) {
+                return listRelativePaths(new File(location, path));
+            }
+            return jarContentsManager.findIncludedFilesTrimmingBasePath(
+                    location, path, WILDCARD_INCLUSIONS);
+        }
+
+        private void copyFiles(JarContentsManager jarContentsManager,
+                File targetDirectory, Set<String> files) {
+            if (location.isDirectory()) {
+                File directory = new File(location, path);
+                files.forEach(file -> copyFileIfChanged(
+                        new File(directory, file),
+                        new File(targetDirectory, file)));
+            } else {
+                jarContentsManager.copySelectedFilesFromJarTrimmingBasePath(
+                        location, path, targetDirectory, files);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return location + "!/" + path;
+        }
+    }
+
+    /**
+     * Removes the files copied by the previous execution which are no longer
+     * provided by any jar file or folder, and stores the list of the files
+     * copied now for the next execution.
+     */
+    private void removeStaleFiles(Set<String> copiedFiles) {
+        File manifest = new File(targetDirectory.getParentFile(),
+                "." + targetDirectory.getName() + MANIFEST_SUFFIX);
+        try {
+            if (manifest.isFile()) {
+                JsonArray previous = Json.instance().parse(FileUtils
+                        .readFileToString(manifest, StandardCharsets.UTF_8));
+                for (int i = 0; i < previous.length(); i++) {
+                    String path = previous.getString(i);
+                    if (!copiedFiles.contains(path)) {
+                        log().debug("Removing stale frontend resource {}",
+                                path);
+                        FileUtils.deleteQuietly(
+                                new File(targetDirectory, path));
+                    }
+                }
+            }
+            JsonArray current = Json.createArray();
+            copiedFiles.stream().sorted()
+                    .forEach(path -> current.set(current.length(), path));
+            FileUtils.write(manifest, JsonUtil.stringify(current),
+                    StandardCharsets.UTF_8);
+        } catch (IOException | JsonException | ClassCastException e) {
+            log().warn("Unable to update the list of copied frontend files {}",
+                    manifest, e);
+        }
+    }
+
     private Logger log() {
         return LoggerFactory.getLogger(this.getClass());
     }
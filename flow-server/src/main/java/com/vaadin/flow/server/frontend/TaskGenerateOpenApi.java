@@ -16,18 +16,36 @@
 package com.vaadin.flow.server.frontend;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
 
+import org.apache.commons.io.FileUtils;
+
+import com.vaadin.flow.internal.MessageDigestUtil;
 import com.vaadin.flow.server.ExecutionFailedException;
 import com.vaadin.flow.server.connect.Endpoint;
 import com.vaadin.flow.server.connect.generator.OpenApiSpecGenerator;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * Generate OpenAPI json file for Connect Endpoints.
  */
 public class TaskGenerateOpenApi extends AbstractTaskConnectGenerator {
 
+    static final String HASH_EXTENSION = ".hash";
+
     private final File javaSourceFolder;
     private final transient ClassLoader classLoader;
     private final File output;
@@ -59,10 +77,123 @@ public class TaskGenerateOpenApi extends AbstractTaskConnectGenerator {
 
     @Override
     public void execute() throws ExecutionFailedException {
+        Properties properties = readApplicationProperties();
+        String hash = getInputHash(properties);
+        File hashFile = new File(output.getParentFile(),
+                output.getName() + HASH_EXTENSION);
+        if (hash != null && output.exists() && hashFile.exists()
+                && hash.equals(readHash(hashFile))) {
+            log().debug("Endpoint sources are unchanged, skipping the "
+                    + "OpenAPI spec generation");
+            return;
+        }
         OpenApiSpecGenerator openApiSpecGenerator = new OpenApiSpecGenerator(
-                readApplicationProperties());
+                properties);
         openApiSpecGenerator.generateOpenApiSpec(
                 Collections.singletonList(javaSourceFolder.toPath()),
                 classLoader, output.toPath());
+        try {
+            if (hash != null && output.exists()) {
+                FileUtils.writeStringToFile(hashFile, hash, UTF_8);
+            } else {
+                FileUtils.deleteQuietly(hashFile);
+            }
+        } catch (IOException e) {
+            log().debug("Unable to store the endpoint sources hash", e);
+        }
+    }
+
+    /**
+     * Computes a hash over everything the OpenAPI spec is generated from: the
+     * application properties, the java sources and the class path entries of
+     * the class loader.
+     *
+     * @param properties
+     *            the application properties
+     * @return the hash, or {@code null} if the class path can not be
+     *         determined and the spec has to be generated every time
+     */
+    String getInputHash(Properties properties) {
+        List<URL> classPath = getClassPath();
+        if (classPath == null) {
+            return null;
+        }
+        MessageDigest digest = MessageDigestUtil.getSha256();
+        try {
+            digest.update(new TreeMap<>(properties).toString().getBytes(UTF_8));
+            updateDigest(digest, javaSourceFolder);
+            for (URL url : classPath) {
+                digest.update(url.toString().getBytes(UTF_8));
+                File entry = FileUtils.toFile(url);
+                if (entry == null || entry.isDirectory()) {
+                    // recompiled classes get a new time stamp even when
+                    // nothing changed, so the contents are compared
+                    updateDigest(digest, entry);
+                } else {
+                    // jars are identified by their time stamp and size
+                    digest.update(String.format("%d:%d", entry.lastModified(),
+                            entry.length()).getBytes(UTF_8));
+                }
+            }
+        } catch (IOException e) {
+            log().debug("Unable to compute the endpoint sources hash", e);
+            return null;
+        }
+        StringBuilder hash = new StringBuilder();
+        for (byte bit : digest.digest()) {
+            hash.append(String.format("%02x", bit));
+        }
+        return hash.toString();
+    }
+
+    private List<URL> getClassPath() {
+        List<URL> urls = new ArrayList<>();
+        ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+        for (ClassLoader loader = classLoader; loader != null; loader = loader
+                .getParent()) {
+            if (loader instanceof URLClassLoader) {
+                urls.addAll(
+                        Arrays.asList(((URLClassLoader) loader).getURLs()));
+            } else if (loader == systemClassLoader) {
+                // the system class loader is not an URLClassLoader since
+                // Java 9, its entries are the ones of the class path property
+                for (String entry : System.getProperty("java.class.path")
+                        .split(File.pathSeparator)) {
+                    try {
+                        urls.add(new File(entry).toURI().toURL());
+                    } catch (MalformedURLException e) {
+                        return null;
+                    }
+                }
+                // the parents only contain JDK classes
+                break;
+            } else if (loader != systemClassLoader.getParent()) {
+                return null;
+            }
+        }
+        return urls;
+    }
+
+    private static void updateDigest(MessageDigest digest, File directory)
+            throws IOException {
+        if (directory == null || !directory.isDirectory()) {
+            return;
+        }
+        List<File> files = new ArrayList<>(
+                FileUtils.listFiles(directory, null, true));
+        Collections.sort(files);
+        for (File file : files) {
+            digest.update(file.getPath().getBytes(UTF_8));
+            digest.update(Files.readAllBytes(file.toPath()));
+        }
+    }
+
+    private String readHash(File hashFile) {
+        try {
+            return FileUtils.readFileToString(hashFile, UTF_8);
+        } catch (IOException e) {
+            log().debug("Unable to read the endpoint sources hash", e);
+            return null;
+        }
     }
 }
@@ -23,7 +23,9 @@ import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -34,6 +36,7 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 
 import com.vaadin.flow.internal.BuildUtil;
+import com.vaadin.flow.internal.MessageDigestUtil;
 import com.vaadin.flow.server.Constants;
 import com.vaadin.flow.server.ExecutionFailedException;
 import com.vaadin.flow.server.frontend.installer.NodeInstaller;
@@ -65,6 +68,16 @@ public class TaskRunNpmInstall implements FallibleCommand {
     // a new hash to the code repository.
     private static final String INSTALL_HASH = ".vaadin/vaadin.json";
 
+    // Key in the INSTALL_HASH file for the hash of the files which define the
+    // installed dependency graph
+    static final String GRAPH_HASH_KEY = "graphHash";
+
+    private static final String PACKAGE_LOCK_JSON = "package-lock.json";
+
+    private static final String PNPM_LOCK_YAML = "pnpm-lock.yaml";
+
+    private static final String VERSIONS_JSON = "versions.json";
+
     private final NodeUpdater packageUpdater;
 
     private final List<String> ignoredNodeFolders = Arrays.asList(".bin",
@@ -76,6 +89,7 @@ public class TaskRunNpmInstall implements FallibleCommand {
 
     private final String nodeVersion;
     private final URI nodeDownloadRoot;
+    private final File packageCacheFolder;
 
     /**
      * Create an instance of the command.
@@ -102,22 +116,72 @@ public class TaskRunNpmInstall implements FallibleCommand {
     TaskRunNpmInstall(ClassFinder classFinder, NodeUpdater packageUpdater,
             boolean enablePnpm, boolean requireHomeNodeExec, String nodeVersion,
             URI nodeDownloadRoot) {
+        this(classFinder, packageUpdater, enablePnpm, requireHomeNodeExec,
+                nodeVersion, nodeDownloadRoot, null);
+    }
+
+    /**
+     * Create an instance of the command which installs the packages through
+     * the given local package cache.
+     *
+     * @param classFinder
+     *            a reusable class finder
+     * @param packageUpdater
+     *            package-updater instance used for checking if previous
+     *            execution modified the package.json file
+     * @param enablePnpm
+     *            whether PNPM should be used instead of NPM
+     * @param requireHomeNodeExec
+     *            whether vaadin home node executable has to be used
+     * @param nodeVersion
+     *            The node.js version to be used when node.js is installed
+     *            automatically by Vaadin, for example <code>"v12.18.3"</code>.
+     *            Use {@value FrontendTools#DEFAULT_NODE_VERSION} by default.
+     * @param nodeDownloadRoot
+     *            Download node.js from this URL. Handy in heavily firewalled
+     *            corporate environments where the node.js download can be
+     *            provided from an intranet mirror. Use
+     *            {@link NodeInstaller#DEFAULT_NODEJS_DOWNLOAD_ROOT} by default.
+     * @param packageCacheFolder
+     *            the folder used as npm cache or pnpm store, packages found
+     *            there are not downloaded again, may be {@code null} to use
+     *            the default cache of the tool
+     */
+    TaskRunNpmInstall(ClassFinder classFinder, NodeUpdater packageUpdater,
+            boolean enablePnpm, boolean requireHomeNodeExec, String nodeVersion,
+            URI nodeDownloadRoot, File packageCacheFolder) {
         this.classFinder = classFinder;
         this.packageUpdater = packageUpdater;
         this.enablePnpm = enablePnpm;
         this.requireHomeNodeExec = requireHomeNodeExec;
         this.nodeVersion = Objects.requireNonNull(nodeVersion);
         this.nodeDownloadRoot = Objects.requireNonNull(nodeDownloadRoot);
+        this.packageCacheFolder = packageCacheFolder;
     }
 
     @Override
     public void execute() throws ExecutionFailedException {
         String toolName = enablePnpm ? "pnpm" : "npm";
+        String versionsPath = null;
+        if (enablePnpm) {
+            // pinned versions depend on the platform version in the class
+            // path, so they are refreshed before comparing the hashes
+            try {
+                versionsPath = generateVersionsJson();
+            } catch (IOException exception) {
+                throw new ExecutionFailedException(
+                        "Failed to read frontend version data from vaadin-core "
+                                + "and make it available to pnpm for locking transitive dependencies.\n"
+                                + "Please report an issue, as a workaround try running project "
+                                + "with npm by setting system variable -Dvaadin.pnpm.enable=false",
+                        exception);
+            }
+        }
         if (packageUpdater.modified || shouldRunNpmInstall()) {
             packageUpdater.log().info("Running `" + toolName + " install` to "
                     + "resolve and optionally download frontend dependencies. "
                     + "This may take a moment, please stand by...");
-            runNpmInstall();
+            runNpmInstall(versionsPath);
 
             updateLocalHash();
         } else {
@@ -151,6 +215,9 @@ public class TaskRunNpmInstall implements FallibleCommand {
 
             final JsonObject localHash = Json.createObject();
             localHash.put(HASH_KEY, hash);
+            // computed after the install, so that the lock file written by
+            // the install is taken into account
+            localHash.put(GRAPH_HASH_KEY, getDependencyGraphHash());
 
             final File localHashFile = getLocalHashFile();
             FileUtils.forceMkdirParent(localHashFile);
@@ -166,6 +233,45 @@ public class TaskRunNpmInstall implements FallibleCommand {
         return new File(packageUpdater.nodeModulesFolder, INSTALL_HASH);
     }
 
+    /**
+     * Computes a hash of the files which define the installed dependency
+     * graph: <code>package.json</code>, the lock file of the tool in use and,
+     * for pnpm, the <code>versions.json</code> file pinning the transitive
+     * dependencies.
+     *
+     * @return the dependency graph hash
+     * @throws IOException
+     *             if a file cannot be read
+     */
+    String getDependencyGraphHash() throws IOException {
+        MessageDigest digest = MessageDigestUtil.getSha256();
+        updateDigest(digest,
+                new File(packageUpdater.npmFolder, Constants.PACKAGE_JSON));
+        updateDigest(digest, new File(packageUpdater.npmFolder,
+                enablePnpm ? PNPM_LOCK_YAML : PACKAGE_LOCK_JSON));
+        if (enablePnpm) {
+            updateDigest(digest,
+                    new File(packageUpdater.generatedFolder, VERSIONS_JSON));
+        }
+        StringBuilder hash = new StringBuilder();
+        for (byte bit : digest.digest()) {
+            hash.append(String.format("%02x", bit));
+        }
+        return hash.toString();
+    }
+
+    private static void updateDigest(MessageDigest digest, File file)
+            throws IOException {
+        // the file name separates the contents, a missing file is hashed
+        // differently than an empty one
+        digest.update(file.getName().getBytes(UTF_8));
+        if (file.isFile()) {
+            digest.update(Files.readAllBytes(file.toPath()));
+        } else {
+            digest.update((byte) 0);
+        }
+    }
+
     /**
      * Generate versions json file.
      *
@@ -184,7 +290,7 @@ public class TaskRunNpmInstall implements FallibleCommand {
                 : resource.openStream()) {
 
             File versions = new File(packageUpdater.generatedFolder,
-                    "versions.json");
+                    VERSIONS_JSON);
 
             JsonObject versionsJson = getVersions(content);
             if (versionsJson == null) {
@@ -287,6 +393,10 @@ public class TaskRunNpmInstall implements FallibleCommand {
                 String fileContent = FileUtils.readFileToString(localHashFile,
                         UTF_8.name());
                 JsonObject content = Json.parse(fileContent);
+                if (content.hasKey(GRAPH_HASH_KEY)) {
+                    return isDependencyGraphUpdated(
+                            content.getString(GRAPH_HASH_KEY));
+                }
                 if (content.hasKey(HASH_KEY)) {
                     final JsonObject packageJson = packageUpdater
                             .getPackageJson();
@@ -301,11 +411,21 @@ public class TaskRunNpmInstall implements FallibleCommand {
         return true;
     }
 
+    private boolean isDependencyGraphUpdated(String installedHash)
+            throws IOException {
+        return !installedHash.equals(getDependencyGraphHash());
+    }
+
     /**
      * Installs frontend resources (using either pnpm or npm) after
      * `package.json` has been updated.
+     *
+     * @param versionsPath
+     *            the path of the generated <code>versions.json</code> file to
+     *            use with pnpm, may be {@code null}
      */
-    private void runNpmInstall() throws ExecutionFailedException {
+    private void runNpmInstall(String versionsPath)
+            throws ExecutionFailedException {
         // Do possible cleaning before generating any new files.
         try {
             cleanUp();
@@ -317,13 +437,10 @@ public class TaskRunNpmInstall implements FallibleCommand {
 
         if (enablePnpm) {
             try {
-                createPnpmFile(generateVersionsJson());
+                createPnpmFile(versionsPath);
             } catch (IOException exception) {
                 throw new ExecutionFailedException(
-                        "Failed to read frontend version data from vaadin-core "
-                                + "and make it available to pnpm for locking transitive dependencies.\n"
-                                + "Please report an issue, as a workaround try running project "
-                                + "with npm by setting system variable -Dvaadin.pnpm.enable=false",
+                        "Failed to create the pnpmfile.js hook for locking transitive dependencies",
                         exception);
             }
         }
@@ -346,6 +463,13 @@ public class TaskRunNpmInstall implements FallibleCommand {
         }
         List<String> command = new ArrayList<>(executable);
         command.add("install");
+        if (packageCacheFolder != null) {
+            // both the npm cache and the pnpm store are content addressed,
+            // packages already there are installed without network access
+            command.add(enablePnpm ? "--store" : "--cache");
+            command.add(packageCacheFolder.getAbsolutePath());
+            command.add("--prefer-offline");
+        }
 
         if (packageUpdater.log().isDebugEnabled()) {
             packageUpdater.log().debug(commandToString(
@@ -25,10 +25,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
@@ -72,17 +75,21 @@ public class TaskUpdateImports extends NodeUpdater {
 
     private final boolean disablePnpm;
 
+    private Map<String, Set<String>> routeModules = Collections.emptyMap();
+
     private class UpdateMainImportsFile extends AbstractUpdateImports {
         private static final String EXPORT_MODULES_DEF = "export declare const addCssBlock: (block: string, before?: boolean) => void;";
 
         private final File generatedFlowImports;
         private final File generatedFlowDefinitions;
         private final File fallBackImports;
+        private final Map<String, File> routeImports;
         private final ClassFinder finder;
 
         UpdateMainImportsFile(ClassFinder classFinder, File frontendDirectory,
                 File npmDirectory, File generatedDirectory,
-                File fallBackImports, File tokenFile) {
+                File fallBackImports, Map<String, File> routeImports,
+                File tokenFile) {
             super(frontendDirectory, npmDirectory, generatedDirectory,
                     tokenFile);
             generatedFlowImports = new File(generatedDirectory, IMPORTS_NAME);
@@ -90,11 +97,12 @@ public class TaskUpdateImports extends NodeUpdater {
                     IMPORTS_D_TS_NAME);
             finder = classFinder;
             this.fallBackImports = fallBackImports;
+            this.routeImports = routeImports;
         }
 
         @Override
         protected void writeImportLines(List<String> lines) {
-            if (fallBackImports != null) { // @formatter:off
+            if (fallBackImports != null || !routeImports.isEmpty()) { // @formatter:off
                 lines.add("let thisScript;");
                 lines.add("const elements = document.getElementsByTagName('script');");
                 lines.add("for (let i = 0; i < elements.length; i++) {");
@@ -111,9 +119,20 @@ public class TaskUpdateImports extends NodeUpdater {
                 lines.add("if (!window.Vaadin.Flow.fallbacks) { window.Vaadin.Flow.fallbacks={}; }");
                 lines.add("const fallbacks = window.Vaadin.Flow.fallbacks;");
                 lines.add("fallbacks[thisScript.getAttribute('data-app-id')] = {}");
+            }
+            if (fallBackImports != null) {
                 lines.add("fallbacks[thisScript.getAttribute('data-app-id')].loadFallback = function loadFallback() {");
                 lines.add(" return import('./" + fallBackImports.getName() + "');");
                 lines.add("}");
+            }
+            if (!routeImports.isEmpty()) {
+                lines.add("const routeChunks = {};");
+                routeImports.forEach((route, file) -> lines.add("routeChunks['"
+                        + route + "'] = function() { return import('./"
+                        + file.getName() + "'); };"));
+                lines.add("fallbacks[thisScript.getAttribute('data-app-id')].loadOnDemand = function loadOnDemand(chunk) {");
+                lines.add(" return routeChunks[chunk] ? routeChunks[chunk]() : Promise.resolve(0);");
+                lines.add("}");
             } // @formatter:on
             try {
                 updateImportsFile(generatedFlowImports, lines);
@@ -158,12 +177,16 @@ public class TaskUpdateImports extends NodeUpdater {
 
         @Override
         protected List<String> getModules() {
-            return frontDeps.getModules();
+            return frontDeps.getModules().stream()
+                    .filter(module -> !isRouteModule(module))
+                    .collect(Collectors.toList());
         }
 
         @Override
         protected Set<String> getScripts() {
-            return frontDeps.getScripts();
+            return frontDeps.getScripts().stream()
+                    .filter(script -> !isRouteModule(script))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
         }
 
         @Override
@@ -176,9 +199,15 @@ public class TaskUpdateImports extends NodeUpdater {
             final Set<String> exclude = new HashSet<>(
                     Arrays.asList(generatedFlowImports.getName(),
                             FrontendUtils.FALLBACK_IMPORTS_NAME));
+            routeImports.values().forEach(file -> exclude.add(file.getName()));
             return NodeUpdater.getGeneratedModules(generatedFolder, exclude);
         }
 
+        private boolean isRouteModule(String module) {
+            return routeModules.values().stream()
+                    .anyMatch(modules -> modules.contains(module));
+        }
+
         @Override
         protected ThemeDefinition getThemeDefinition() {
             return TaskUpdateImports.this.getThemeDefinition();
@@ -300,6 +329,95 @@ public class TaskUpdateImports extends NodeUpdater {
         }
     }
 
+    private class UpdateRouteImportsFile extends AbstractUpdateImports {
+        private final File generatedRouteImports;
+        private final List<String> modules;
+        private final ClassFinder finder;
+
+        UpdateRouteImportsFile(ClassFinder classFinder, String route,
+                Collection<String> modules, File frontendDirectory,
+                File npmDirectory, File generatedDirectory, File tokenFile) {
+            super(frontendDirectory, npmDirectory, generatedDirectory,
+                    tokenFile);
+            generatedRouteImports = new File(generatedDirectory,
+                    FrontendUtils.ROUTE_IMPORTS_PREFIX + route + ".js");
+            this.modules = new ArrayList<>(modules);
+            finder = classFinder;
+        }
+
+        @Override
+        protected void writeImportLines(List<String> lines) {
+            try {
+                updateImportsFile(generatedRouteImports, lines);
+            } catch (IOException e) {
+                throw new IllegalStateException(String.format(
+                        "Failed to update the Flow route imports file '%s'",
+                        generatedRouteImports), e);
+            }
+        }
+
+        @Override
+        protected Collection<String> getExportLines() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected Collection<String> getThemeLines() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected List<String> getModules() {
+            return modules;
+        }
+
+        @Override
+        protected Set<String> getScripts() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        protected URL getResource(String name) {
+            return finder.getResource(name);
+        }
+
+        @Override
+        protected Collection<String> getGeneratedModules() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected ThemeDefinition getThemeDefinition() {
+            return TaskUpdateImports.this.getThemeDefinition();
+        }
+
+        @Override
+        protected AbstractTheme getTheme() {
+            return TaskUpdateImports.this.getTheme();
+        }
+
+        @Override
+        protected Set<CssData> getCss() {
+            // styles stay in the main bundle: a style module targeting an
+            // element has to be registered before the element is defined
+            return Collections.emptySet();
+        }
+
+        @Override
+        protected Logger getLogger() {
+            return log();
+        }
+
+        @Override
+        protected String getImportsNotFoundMessage() {
+            return getAbsentPackagesMessage();
+        }
+
+        File getGeneratedRouteFile() {
+            return generatedRouteImports;
+        }
+    }
+
     /**
      * Create an instance of the updater given all configurable parameters.
      *
@@ -368,6 +486,7 @@ public class TaskUpdateImports extends NodeUpdater {
 
     @Override
     public void execute() {
+        JsonObject chunks = Json.createObject();
         File fallBack = null;
         if (fallbackScanner != null) {
             UpdateFallBackImportsFile fallBackUpdate = new UpdateFallBackImportsFile(
@@ -375,15 +494,49 @@ public class TaskUpdateImports extends NodeUpdater {
                     tokenFile);
             fallBackUpdate.run();
             fallBack = fallBackUpdate.getGeneratedFallbackFile();
-            updateBuildFile(fallBackUpdate);
+            chunks.put(FrontendUtils.FALLBACK,
+                    makeFallbackData(fallBackUpdate));
+        }
+
+        routeModules = frontDeps.getRouteModules();
+        Map<String, File> routeImports = new LinkedHashMap<>();
+        JsonObject routes = Json.createObject();
+        routeModules.forEach((route, modules) -> {
+            UpdateRouteImportsFile routeUpdate = new UpdateRouteImportsFile(
+                    finder, route, modules, frontendDirectory, npmFolder,
+                    generatedFolder, tokenFile);
+            routeUpdate.run();
+            routeImports.put(route, routeUpdate.getGeneratedRouteFile());
+            routes.put(route, makeRouteData(modules));
+        });
+        removeStaleRouteImports(routeImports.values());
+        if (!routeImports.isEmpty()) {
+            chunks.put(FrontendUtils.ROUTES, routes);
+        }
+
+        if (fallbackScanner != null || !routeImports.isEmpty()) {
+            updateBuildFile(chunks);
         }
 
         UpdateMainImportsFile mainUpdate = new UpdateMainImportsFile(finder,
                 frontendDirectory, npmFolder, generatedFolder, fallBack,
-                tokenFile);
+                routeImports, tokenFile);
         mainUpdate.run();
     }
 
+    private void removeStaleRouteImports(Collection<File> routeImports) {
+        File[] files = generatedFolder.listFiles((dir, name) -> name
+                .startsWith(FrontendUtils.ROUTE_IMPORTS_PREFIX));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!routeImports.contains(file)) {
+                FileUtils.deleteQuietly(file);
+            }
+        }
+    }
+
     private ThemeDefinition getThemeDefinition() {
         ThemeDefinition def = frontDeps.getThemeDefinition();
         if (def != null) {
@@ -412,11 +565,11 @@ public class TaskUpdateImports extends NodeUpdater {
         return fallbackScanner.getTheme();
     }
 
-    private void updateBuildFile(AbstractUpdateImports updater) {
+    private void updateBuildFile(JsonObject chunks) {
         boolean tokenFileExists = tokenFile != null && tokenFile.exists();
         if (!tokenFileExists) {
             log().warn(
-                    "Token file is not available. Fallback chunk data won't be written.");
+                    "Token file is not available. Chunk data won't be written.");
         }
         try {
             if (tokenFileExists) {
@@ -424,7 +577,7 @@ public class TaskUpdateImports extends NodeUpdater {
                         StandardCharsets.UTF_8);
                 JsonObject buildInfo = json.isEmpty() ? Json.createObject()
                         : JsonUtil.parse(json);
-                populateFallbackData(buildInfo, updater);
+                buildInfo.put(FrontendUtils.CHUNKS, chunks);
                 FileUtils.write(tokenFile, JsonUtil.stringify(buildInfo, 2),
                         StandardCharsets.UTF_8);
             }
@@ -433,21 +586,24 @@ public class TaskUpdateImports extends NodeUpdater {
             log().warn("Unable to read token file", e);
         }
         if (tokenFileData != null) {
-            populateFallbackData(tokenFileData, updater);
+            tokenFileData.put(FrontendUtils.CHUNKS, chunks);
         }
     }
 
-    private void populateFallbackData(JsonObject object,
-            AbstractUpdateImports updater) {
+    private JsonObject makeFallbackData(AbstractUpdateImports updater) {
         JsonObject fallback = Json.createObject();
         fallback.put(FrontendUtils.JS_MODULES, makeFallbackModules(updater));
         fallback.put(FrontendUtils.CSS_IMPORTS,
                 makeFallbackCssImports(updater));
+        return fallback;
+    }
 
-        JsonObject chunks = Json.createObject();
-        chunks.put(FrontendUtils.FALLBACK, fallback);
-
-        object.put(FrontendUtils.CHUNKS, chunks);
+    private JsonObject makeRouteData(Collection<String> modules) {
+        JsonArray array = Json.createArray();
+        modules.forEach(module -> array.set(array.length(), module));
+        JsonObject route = Json.createObject();
+        route.put(FrontendUtils.JS_MODULES, array);
+        return route;
     }
 
     private JsonArray makeFallbackModules(AbstractUpdateImports updater) {
@@ -18,10 +18,10 @@ package com.vaadin.flow.server.frontend.scanner;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.net.URL;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.googlecode.gentyref.GenericTypeReflector;
@@ -116,7 +116,7 @@ public interface ClassFinder extends Serializable {
 
         private ClassFinder classFinder;
 
-        private Map<Class<? extends Annotation>, Set<Class<?>>> annotatedClassesMapCache = new HashMap<>();
+        private Map<Class<? extends Annotation>, Set<Class<?>>> annotatedClassesMapCache = new ConcurrentHashMap<>();
 
         /**
          * It uses specified classFinder and caches scanned annotation.
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import net.bytebuddy.jar.asm.AnnotationVisitor;
+import net.bytebuddy.jar.asm.ClassReader;
+import net.bytebuddy.jar.asm.ClassVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.impl.JsonUtil;
+
+/**
+ * An index of the runtime visible class level annotations and the direct
+ * super types of a set of classes.
+ * <p>
+ * The index is built by reading the class files with ASM, so none of the
+ * indexed classes is loaded. It can be stored as a resource at
+ * {@link #RESOURCE} and read back by {@link IndexedClassFinder}, which then
+ * answers annotation and sub type lookups by loading only the matching
+ * classes.
+ * <p>
+ * A stored index also records the CRC-32 checksum of every indexed class file.
+ * An index found in a jar file is only used if the checksums match the class
+ * entries of the jar, so an index left behind by an earlier build is ignored.
+ *
+ * @since
+ */
+public class ClassIndex implements Serializable {
+
+    /**
+     * Location of the class index resource inside a jar file or a class
+     * folder.
+     */
+    public static final String RESOURCE = "META-INF/VAADIN/flow-class-index.json";
+
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String ANNOTATIONS = "annotations";
+    private static final String TYPES = "types";
+    private static final String CHECKSUMS = "checksums";
+
+    // annotation name -> names of the classes annotated with it
+    private final Map<String, Set<String>> annotatedClasses = new HashMap<>();
+    // class name -> super class name followed by the interface names
+    private final Map<String, List<String>> superTypes = new HashMap<>();
+    // class file path -> CRC-32 checksum of the class file
+    private final Map<String, Long> checksums = new HashMap<>();
+    // super type name -> names of the direct sub types, built on demand
+    private transient Map<String, Set<String>> subTypes;
+
+    private final class IndexClassVisitor extends ClassVisitor {
+        private String className;
+
+        private IndexClassVisitor() {
+            super(Opcodes.ASM7);
+        }
+
+        @Override
+        public void visit(int version, int access, String name,
+                String signature, String superName, String[] interfaces) {
+            className = Type.getObjectType(name).getClassName();
+            List<String> types = new ArrayList<>(
+                    1 + (interfaces == null ? 0 : interfaces.length));
+            types.add(superName == null ? null
+                    : Type.getObjectType(superName).getClassName());
+            if (interfaces != null) {
+                for (String implemented : interfaces) {
+                    types.add(Type.getObjectType(implemented).getClassName());
+                }
+            }
+            superTypes.put(className, types);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor,
+                boolean visible) {
+            if (visible) {
+                annotatedClasses
+                        .computeIfAbsent(
+                                Type.getType(descriptor).getClassName(),
+                                key -> new HashSet<>())
+                        .add(className);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Adds the class from the given class file content to the index.
+     *
+     * @param classFile
+     *            the class file content, not {@code null}
+     * @throws IOException
+     *             if the class file cannot be read
+     */
+    public void addClassFile(InputStream classFile) throws IOException {
+        new ClassReader(classFile).accept(new IndexClassVisitor(),
+                ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG
+                        | ClassReader.SKIP_FRAMES);
+        subTypes = null;
+    }
+
+    /**
+     * Adds the classes of a class path element to the index. If a jar file
+     * contains a class index resource, its content is used instead of reading
+     * the class files. Class folders are always read, since their content may
+     * have changed after an index was written to them.
+     *
+     * @param classPathElement
+     *            a jar file or a class folder, not {@code null}
+     * @throws IOException
+     *             if the element cannot be read
+     */
+    public void addClassPathElement(File classPathElement) throws IOException {
+        if (classPathElement.isDirectory()) {
+            addDirectory(classPathElement);
+        } else if (classPathElement.isFile()) {
+            addJar(classPathElement);
+        }
+    }
+
+    private void addDirectory(File directory) throws IOException {
+        Path root = directory.toPath();
+        try (Stream<Path> paths = Files.walk(root)) {
+            List<Path> classFiles = paths
+                    .filter(path -> isClassFile(path.toString()))
+                    .collect(Collectors.toList());
+            for (Path path : classFiles) {
+                String name = root.relativize(path).toString()
+                        .replace(File.separatorChar, '/');
+                if (name.startsWith("META-INF/")) {
+                    continue;
+                }
+                byte[] content = Files.readAllBytes(path);
+                addClassFile(new ByteArrayInputStream(content));
+                CRC32 crc = new CRC32();
+                crc.update(content);
+                checksums.put(name, crc.getValue());
+            }
+        }
+    }
+
+    private void addJar(File file) throws IOException {
+        try (JarFile jar = new JarFile(file, false)) {
+            List<JarEntry> classEntries = jar.stream()
+                    .filter(entry -> !entry.isDirectory()
+                            && isClassFile(entry.getName())
+                            && !entry.getName().startsWith("META-INF/"))
+                    .collect(Collectors.toList());
+            JarEntry resource = jar.getJarEntry(RESOURCE);
+            if (resource != null) {
+                ClassIndex index;
+                try (InputStream stream = jar.getInputStream(resource)) {
+                    index = read(stream);
+                }
+                if (index.matches(classEntries)) {
+                    merge(index);
+                    return;
+                }
+            }
+            for (JarEntry entry : classEntries) {
+                try (InputStream stream = jar.getInputStream(entry)) {
+                    addClassFile(stream);
+                }
+                checksums.put(entry.getName(), entry.getCrc());
+            }
+        }
+    }
+
+    /**
+     * Checks whether this index has been built from exactly the given class
+     * entries. The checksums of the entries are stored in the central
+     * directory of the jar, so no class file needs to be read.
+     */
+    private boolean matches(List<JarEntry> classEntries) {
+        if (classEntries.size() != checksums.size()) {
+            return false;
+        }
+        return classEntries.stream().allMatch(entry -> Long
+                .valueOf(entry.getCrc()).equals(checksums.get(entry.getName())));
+    }
+
+    private static boolean isClassFile(String name) {
+        return name.endsWith(CLASS_SUFFIX)
+                && !name.endsWith("module-info" + CLASS_SUFFIX)
+                && !name.endsWith("package-info" + CLASS_SUFFIX);
+    }
+
+    /**
+     * Adds the content of another index to this index.
+     *
+     * @param other
+     *            the index to add, not {@code null}
+     */
+    public void merge(ClassIndex other) {
+        other.annotatedClasses.forEach((annotation,
+                classes) -> annotatedClasses
+                        .computeIfAbsent(annotation, key -> new HashSet<>())
+                        .addAll(classes));
+        superTypes.putAll(other.superTypes);
+        checksums.putAll(other.checksums);
+        subTypes = null;
+    }
+
+    /**
+     * Gets the names of the classes annotated directly with the given
+     * annotation.
+     *
+     * @param annotation
+     *            the annotation class name
+     * @return the names of the annotated classes, not {@code null}
+     */
+    public Set<String> getAnnotatedClassNames(String annotation) {
+        return Collections.unmodifiableSet(annotatedClasses
+                .getOrDefault(annotation, Collections.emptySet()));
+    }
+
+    /**
+     * Gets the names of all the indexed sub types of the given type, at any
+     * depth in the type hierarchy.
+     *
+     * @param type
+     *            the type name
+     * @return the names of the sub types, not {@code null}
+     */
+    public Set<String> getSubTypeNames(String type) {
+        return collectSubTypes(type, false);
+    }
+
+    /**
+     * Gets the names of all the indexed sub classes of the given class,
+     * following only the super class relation and not implemented
+     * interfaces.
+     *
+     * @param type
+     *            the class name
+     * @return the names of the sub classes, not {@code null}
+     */
+    public Set<String> getSubClassNames(String type) {
+        return collectSubTypes(type, true);
+    }
+
+    private Set<String> collectSubTypes(String type, boolean classesOnly) {
+        Map<String, Set<String>> index = getSubTypeIndex();
+        Set<String> result = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(type);
+        while (!queue.isEmpty()) {
+            String current = queue.poll();
+            for (String subType : index.getOrDefault(current,
+                    Collections.emptySet())) {
+                if ((!classesOnly
+                        || current.equals(superTypes.get(subType).get(0)))
+                        && result.add(subType)) {
+                    queue.add(subType);
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Set<String>> getSubTypeIndex() {
+        if (subTypes == null) {
+            Map<String, Set<String>> index = new HashMap<>();
+            superTypes.forEach((className, types) -> types.stream()
+                    .filter(type -> type != null)
+                    .forEach(type -> index
+                            .computeIfAbsent(type, key -> new HashSet<>())
+                            .add(className)));
+            subTypes = index;
+        }
+        return subTypes;
+    }
+
+    /**
+     * Writes the index to the given file.
+     *
+     * @param file
+     *            the target file, not {@code null}
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void write(File file) throws IOException {
+        JsonObject annotations = Json.createObject();
+        annotatedClasses.forEach((annotation, classes) -> annotations
+                .put(annotation, toJson(classes)));
+        JsonObject types = Json.createObject();
+        superTypes.forEach((className, supers) -> types.put(className,
+                toJson(supers.stream().map(type -> type == null ? "" : type)
+                        .collect(Collectors.toList()))));
+        JsonObject json = Json.createObject();
+        json.put(ANNOTATIONS, annotations);
+        json.put(TYPES, types);
+        JsonObject checksumsJson = Json.createObject();
+        checksums.forEach(
+                (path, checksum) -> checksumsJson.put(path, checksum));
+        json.put(CHECKSUMS, checksumsJson);
+        FileUtils.forceMkdirParent(file);
+        FileUtils.write(file, JsonUtil.stringify(json), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads an index from the given file.
+     *
+     * @param file
+     *            the index file, not {@code null}
+     * @return the index
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public static ClassIndex read(File file) throws IOException {
+        try (InputStream stream = Files.newInputStream(file.toPath())) {
+            return read(stream);
+        }
+    }
+
+    /**
+     * Reads an index from the given stream.
+     *
+     * @param stream
+     *            the index content, not {@code null}
+     * @return the index
+     * @throws IOException
+     *             if the stream cannot be read
+     */
+    public static ClassIndex read(InputStream stream) throws IOException {
+        JsonObject json = Json
+                .parse(IOUtils.toString(stream, StandardCharsets.UTF_8));
+        ClassIndex index = new ClassIndex();
+        JsonObject annotations = json.getObject(ANNOTATIONS);
+        for (String annotation : annotations.keys()) {
+            index.annotatedClasses.put(annotation,
+                    new HashSet<>(fromJson(annotations.getArray(annotation))));
+        }
+        JsonObject types = json.getObject(TYPES);
+        for (String className : types.keys()) {
+            List<String> supers = fromJson(types.getArray(className));
+            if (!supers.isEmpty() && supers.get(0).isEmpty()) {
+                supers.set(0, null);
+            }
+            index.superTypes.put(className, supers);
+        }
+        if (json.hasKey(CHECKSUMS)) {
+            JsonObject checksums = json.getObject(CHECKSUMS);
+            for (String path : checksums.keys()) {
+                index.checksums.put(path,
+                        (long) checksums.getNumber(path));
+            }
+        }
+        return index;
+    }
+
+    private static JsonArray toJson(Iterable<String> values) {
+        JsonArray array = Json.createArray();
+        values.forEach(value -> array.set(array.length(), value));
+        return array;
+    }
+
+    private static List<String> fromJson(JsonArray array) {
+        List<String> values = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            values.add(array.getString(i));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonException;
+import elemental.json.JsonObject;
+import elemental.json.impl.JsonUtil;
+
+/**
+ * Persistent cache of the classes referenced by each visited class, keyed by
+ * a checksum of the class file.
+ * <p>
+ * Only classes without frontend related annotations are cached: all the
+ * information the scanner gets from them is the list of referenced classes,
+ * so the byte code of an unchanged class does not need to be parsed again.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @since
+ */
+final class ClassScanCache {
+
+    private static final String VERSION = "version";
+    private static final String CLASSES = "classes";
+    private static final String HASH = "hash";
+    private static final String CHILDREN = "children";
+    private static final int CURRENT_VERSION = 1;
+
+    private static final class Entry {
+        private final long hash;
+        private final List<String> children;
+
+        private Entry(long hash, List<String> children) {
+            this.hash = hash;
+            this.children = children;
+        }
+    }
+
+    private final File file;
+    private final Map<String, Entry> previous = new HashMap<>();
+    private final Map<String, Entry> current = new HashMap<>();
+    private boolean modified;
+
+    /**
+     * Creates a cache stored in the given file, reading the content of the
+     * file if it exists.
+     *
+     * @param file
+     *            the file where the cache is stored, not {@code null}
+     */
+    ClassScanCache(File file) {
+        this.file = file;
+        if (file.isFile()) {
+            try {
+                read(Json.parse(FileUtils.readFileToString(file,
+                        StandardCharsets.UTF_8)));
+            } catch (IOException | JsonException | ClassCastException e) {
+                getLogger().debug("Ignoring unreadable scan cache file {}",
+                        file, e);
+                previous.clear();
+            }
+        }
+    }
+
+    /**
+     * Computes the checksum used to detect changes in a class file.
+     *
+     * @param classFile
+     *            the class file content
+     * @return the checksum of the class file
+     */
+    static long hash(byte[] classFile) {
+        CRC32 crc = new CRC32();
+        crc.update(classFile, 0, classFile.length);
+        return crc.getValue();
+    }
+
+    /**
+     * Gets the cached classes referenced by the given class, in the order they
+     * were discovered by the class visitor.
+     *
+     * @param className
+     *            the class name
+     * @param hash
+     *            the checksum of the current class file
+     * @return the referenced classes, or {@code null} if there is no entry for
+     *         the class or the class file has changed
+     */
+    List<String> getChildren(String className, long hash) {
+        Entry entry = current.get(className);
+        if (entry == null) {
+            entry = previous.get(className);
+        }
+        if (entry == null || entry.hash != hash) {
+            return null;
+        }
+        current.put(className, entry);
+        return entry.children;
+    }
+
+    /**
+     * Stores the classes referenced by the given class.
+     *
+     * @param className
+     *            the class name
+     * @param hash
+     *            the checksum of the class file
+     * @param children
+     *            the referenced classes in the order they were discovered
+     */
+    void put(String className, long hash, Collection<String> children) {
+        current.put(className, new Entry(hash, new ArrayList<>(children)));
+        modified = true;
+    }
+
+    /**
+     * Writes the entries used or added since the cache was created to the
+     * cache file. Entries of classes which were not visited are dropped.
+     *
+     * @throws IOException
+     *             if the cache file cannot be written
+     */
+    void write() throws IOException {
+        if (!modified && current.keySet().equals(previous.keySet())) {
+            // nothing has changed
+            return;
+        }
+        JsonObject classes = Json.createObject();
+        current.forEach((className, entry) -> {
+            JsonObject json = Json.createObject();
+            json.put(HASH, Long.toString(entry.hash));
+            JsonArray children = Json.createArray();
+            entry.children.forEach(
+                    child -> children.set(children.length(), child));
+            json.put(CHILDREN, children);
+            classes.put(className, json);
+        });
+        JsonObject json = Json.createObject();
+        json.put(VERSION, CURRENT_VERSION);
+        json.put(CLASSES, classes);
+        FileUtils.forceMkdirParent(file);
+        FileUtils.write(file, JsonUtil.stringify(json), StandardCharsets.UTF_8);
+    }
+
+    private void read(JsonObject json) {
+        if (!json.hasKey(VERSION)
+                || (int) json.getNumber(VERSION) != CURRENT_VERSION
+                || !json.hasKey(CLASSES)) {
+            return;
+        }
+        JsonObject classes = json.getObject(CLASSES);
+        for (String className : classes.keys()) {
+            JsonObject entry = classes.getObject(className);
+            JsonArray array = entry.getArray(CHILDREN);
+            List<String> children = new ArrayList<>(array.length());
+            for (int i = 0; i < array.length(); i++) {
+                children.add(array.getString(i));
+            }
+            previous.put(className, new Entry(
+                    Long.parseLong(entry.getString(HASH)), children));
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(ClassScanCache.class);
+    }
+}
@@ -60,6 +60,7 @@ final class FrontendClassVisitor extends ClassVisitor {
     private final AnnotationVisitor jsModuleVisitor;
     private final AnnotationVisitor jScriptVisitor;
     private final Set<String> children = new HashSet<>();
+    private boolean frontendAnnotated;
 
     private final class FrontendMethodVisitor extends MethodVisitor {
         public FrontendMethodVisitor() {
@@ -243,6 +244,14 @@ final class FrontendClassVisitor extends ClassVisitor {
         // We return different visitor implementations depending on the
         // annotation
         String cname = descriptor.replace("/", ".");
+        if (cname.contains(Route.class.getName())
+                || cname.contains(JsModule.class.getName())
+                || cname.contains(JavaScript.class.getName())
+                || cname.contains(NoTheme.class.getName())
+                || cname.contains(Theme.class.getName())
+                || cname.contains(CssImport.class.getName())) {
+            frontendAnnotated = true;
+        }
         if (className.equals(endPoint.name)
                 && cname.contains(Route.class.getName())) {
             return routeVisitor;
@@ -291,6 +300,17 @@ final class FrontendClassVisitor extends ClassVisitor {
         return children;
     }
 
+    /**
+     * Tells whether the visited class has annotations contributing to the end
+     * point data, in which case the class always needs to be visited and not
+     * just the discovered classes reused.
+     *
+     * @return {@code true} if the class has frontend related annotations
+     */
+    boolean isFrontendAnnotated() {
+        return frontendAnnotated;
+    }
+
     /**
      * Inspects the type description of a java field or a method type visited by
      * the class visitor. It extracts all class names referenced in the
@@ -15,13 +15,16 @@
  */
 package com.vaadin.flow.server.frontend.scanner;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -29,9 +32,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import net.bytebuddy.jar.asm.ClassReader;
+import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,11 +69,33 @@ import static com.vaadin.flow.server.frontend.scanner.FrontendClassVisitor.VERSI
  */
 public class FrontendDependencies extends AbstractDependenciesScanner {
 
+    // We should visit only those classes that might have NpmPackage,
+    // JsImport, JavaScript and HtmlImport annotations, basically
+    // HasElement, and AbstractTheme classes, but that prevents the usage of
+    // factories. This is the reason of having just a blacklist of some
+    // common name-spaces that would not have components.
+    private static final Pattern NOT_VISITABLE_CLASS_PATTERN = Pattern.compile( // @formatter:off
+            "(^$|"
+            + ".*(slf4j).*|"
+            // #5803
+            + "^(java|sun|elemental|javax|org.(apache|atmosphere|jsoup|jboss|w3c|spring|joda|hibernate|glassfish|hsqldb)|com.(helger|spring|gwt|lowagie|fasterxml)|net.(sf|bytebuddy)).*|"
+            + ".*(Exception)$"
+            + ")"); // @formatter:on
+
     private final HashMap<String, EndPointData> endPoints = new HashMap<>();
     private ThemeDefinition themeDefinition;
     private AbstractTheme themeInstance;
     private final HashMap<String, String> packages = new HashMap<>();
     private final Set<String> visited = new HashSet<>();
+    private final Set<String> routeEndPoints = new HashSet<>();
+    private final boolean collectRouteModules;
+
+    // Class files of the classes which are about to be visited are read in
+    // parallel ahead of time, while the visiting itself stays sequential so
+    // that the order of the collected modules does not change.
+    private final transient Map<String, CompletableFuture<byte[]>> prefetched = new HashMap<>();
+    private transient ExecutorService prefetchExecutor;
+    private transient ClassScanCache scanCache;
 
     /**
      * Default Constructor.
@@ -89,10 +121,65 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
      */
     public FrontendDependencies(ClassFinder finder,
             boolean generateEmbeddableWebComponents) {
+        this(finder, generateEmbeddableWebComponents, null);
+    }
+
+    /**
+     * Creates a scanner which reuses the results of a previous scan stored in
+     * the given file for the classes which have not changed since then.
+     *
+     * @param finder
+     *            the class finder
+     * @param generateEmbeddableWebComponents
+     *            {@code true} checks the
+     *            {@link com.vaadin.flow.component.WebComponentExporter} classes
+     *            for dependencies
+     * @param scanCacheFile
+     *            the file where the scan results are cached, or {@code null}
+     *            to always scan all the classes
+     */
+    public FrontendDependencies(ClassFinder finder,
+            boolean generateEmbeddableWebComponents, File scanCacheFile) {
+        this(finder, generateEmbeddableWebComponents, scanCacheFile, false);
+    }
+
+    /**
+     * Creates a scanner which optionally keeps track of the modules used by
+     * each route target, see {@link #getRouteModules()}.
+     * <p>
+     * Collecting the route modules requires visiting the classes shared by
+     * several end-points once per end-point, which makes the scan slower.
+     *
+     * @param finder
+     *            the class finder
+     * @param generateEmbeddableWebComponents
+     *            {@code true} checks the
+     *            {@link com.vaadin.flow.component.WebComponentExporter} classes
+     *            for dependencies
+     * @param scanCacheFile
+     *            the file where the scan results are cached, or {@code null}
+     *            to always scan all the classes
+     * @param collectRouteModules
+     *            {@code true} to collect the modules used by each route target
+     */
+    public FrontendDependencies(ClassFinder finder,
+            boolean generateEmbeddableWebComponents, File scanCacheFile,
+            boolean collectRouteModules) {
         super(finder);
+        this.collectRouteModules = collectRouteModules;
+        if (scanCacheFile != null) {
+            scanCache = new ClassScanCache(scanCacheFile);
+        }
         log().info(
                 "Scanning classes to find frontend configurations and dependencies...");
         long start = System.nanoTime();
+        prefetchExecutor = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(), runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "frontend-dependencies-scanner");
+                    thread.setDaemon(true);
+                    return thread;
+                });
         try {
             computeEndpoints();
             if (generateEmbeddableWebComponents) {
@@ -101,12 +188,18 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
             }
             computeApplicationTheme();
             computePackages();
+            writeScanCache();
             long ms = (System.nanoTime() - start) / 1000000;
             log().info("Visited {} classes. Took {} ms.", visited.size(), ms);
         } catch (ClassNotFoundException | InstantiationException
                 | IllegalAccessException | IOException e) {
             throw new IllegalStateException(
                     "Unable to compute frontend dependencies", e);
+        } finally {
+            prefetched.clear();
+            prefetchExecutor.shutdownNow();
+            prefetchExecutor = null;
+            scanCache = null;
         }
     }
 
@@ -187,6 +280,49 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         return endPoints.values();
     }
 
+    /**
+     * Get the JS modules and scripts which are used by a single route target
+     * only, grouped by the name of the route target class.
+     * <p>
+     * Modules used by several end-points or needed by the theme are not
+     * included, they have to be part of the main bundle. The result is always
+     * empty unless the scanner has been created to collect route modules.
+     *
+     * @return the modules of each route target, sorted by class name
+     */
+    @Override
+    public Map<String, Set<String>> getRouteModules() {
+        if (!collectRouteModules) {
+            return Collections.emptyMap();
+        }
+        Set<String> eager = new HashSet<>();
+        Map<String, Integer> usages = new HashMap<>();
+        for (EndPointData data : endPoints.values()) {
+            eager.addAll(data.getThemeModules());
+            getEndPointModules(data).forEach(
+                    module -> usages.merge(module, 1, Integer::sum));
+        }
+
+        Map<String, Set<String>> result = new TreeMap<>();
+        for (String route : routeEndPoints) {
+            Set<String> modules = getEndPointModules(endPoints.get(route))
+                    .stream()
+                    .filter(module -> usages.get(module) == 1
+                            && !eager.contains(module))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (!modules.isEmpty()) {
+                result.put(route, modules);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> getEndPointModules(EndPointData data) {
+        Set<String> modules = new LinkedHashSet<>(data.getModules());
+        modules.addAll(data.getScripts());
+        return modules;
+    }
+
     /**
      * Get the {@link ThemeDefinition} of the application.
      *
@@ -225,6 +361,7 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
                 .loadClass(Route.class.getName());
         for (Class<?> route : getFinder().getAnnotatedClasses(routeClass)) {
             collectEndpoints(route);
+            routeEndPoints.add(route.getName());
         }
 
         for (Class<?> initListener : getFinder().getSubTypesOf(
@@ -480,27 +617,45 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         }
         endPoint.getClasses().add(className);
 
-        URL url = getUrl(className);
-        if (url == null) {
+        byte[] classFile = readClassFile(className);
+        if (classFile == null) {
             return endPoint;
         }
 
-        FrontendClassVisitor visitor = new FrontendClassVisitor(className,
-                endPoint, themeScope);
-        try (InputStream is = url.openStream()) {
-            ClassReader cr = new ClassReader(is);
-            cr.accept(visitor, ClassReader.EXPAND_FRAMES);
+        long hash = scanCache == null ? 0 : ClassScanCache.hash(classFile);
+        Collection<String> classChildren = scanCache == null ? null
+                : scanCache.getChildren(className, hash);
+        if (classChildren == null) {
+            FrontendClassVisitor visitor = new FrontendClassVisitor(className,
+                    endPoint, themeScope);
+            // stack map frames and debug info are not needed to find the
+            // dependencies, skipping them makes parsing considerably faster
+            ClassReader cr = new ClassReader(classFile);
+            cr.accept(visitor,
+                    ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+            classChildren = visitor.getChildren();
+            // classes with frontend annotations contribute to the end point
+            // data and must be parsed on every scan
+            if (scanCache != null && !visitor.isFrontendAnnotated()) {
+                scanCache.put(className, hash, classChildren);
+            }
         }
 
         // all classes visited by the scanner, used for performance (#5933)
         visited.add(className);
 
-        for (String clazz : visitor.getChildren()) {
-            // Since we only have an entry point for the app, it is all right to
-            // skip the visit to the the same class in other end-points, because
-            // we output all dependencies at once. When we implement
-            // chunks, this will need to be considered.
-            if (!visited.contains(clazz)) {
+        List<String> children = classChildren.stream()
+                .filter(clazz -> !isVisited(clazz, themeScope))
+                .collect(Collectors.toList());
+        children.stream().filter(this::isVisitable)
+                .forEach(this::prefetchClassFile);
+
+        for (String clazz : children) {
+            // When all the dependencies are output at once, it is all right to
+            // skip the visit to the same class in other end-points. Modules
+            // of the route targets need to know all the end-points using them
+            // though, so that the shared ones are kept in the main bundle.
+            if (!isVisited(clazz, themeScope)) {
                 visitClass(clazz, endPoint, themeScope);
             }
         }
@@ -508,20 +663,64 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         return endPoint;
     }
 
+    private boolean isVisited(String className, boolean themeScope) {
+        // classes are visited only once per end-point out of the theme scope,
+        // see visitClass
+        return (themeScope || !collectRouteModules)
+                && visited.contains(className);
+    }
+
+    private void writeScanCache() {
+        if (scanCache == null) {
+            return;
+        }
+        try {
+            scanCache.write();
+        } catch (IOException e) {
+            log().warn("Unable to write the frontend scan cache", e);
+        }
+    }
+
     private boolean isVisitable(String className) {
-        // We should visit only those classes that might have NpmPackage,
-        // JsImport, JavaScript and HtmlImport annotations, basically
-        // HasElement, and AbstractTheme classes, but that prevents the usage of
-        // factories. This is the reason of having just a blacklist of some
-        // common name-spaces that would not have components.
-        return className != null && // @formatter:off
-                !className.matches(
-                    "(^$|"
-                    + ".*(slf4j).*|"
-                    // #5803
-                    + "^(java|sun|elemental|javax|org.(apache|atmosphere|jsoup|jboss|w3c|spring|joda|hibernate|glassfish|hsqldb)|com.(helger|spring|gwt|lowagie|fasterxml)|net.(sf|bytebuddy)).*|"
-                    + ".*(Exception)$"
-                    + ")"); // @formatter:on
+        return className != null
+                && !NOT_VISITABLE_CLASS_PATTERN.matcher(className).matches();
+    }
+
+    private void prefetchClassFile(String className) {
+        if (prefetchExecutor != null && !prefetched.containsKey(className)) {
+            prefetched.put(className, CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loadClassFile(className);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, prefetchExecutor));
+        }
+    }
+
+    private byte[] readClassFile(String className) throws IOException {
+        CompletableFuture<byte[]> future = prefetched.remove(className);
+        if (future == null) {
+            return loadClassFile(className);
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    private byte[] loadClassFile(String className) throws IOException {
+        URL url = getUrl(className);
+        if (url == null) {
+            return null;
+        }
+        try (InputStream is = url.openStream()) {
+            return IOUtils.toByteArray(is);
+        }
     }
 
     private URL getUrl(String className) {
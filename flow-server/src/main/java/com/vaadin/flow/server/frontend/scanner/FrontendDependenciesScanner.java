@@ -15,7 +15,9 @@
  */
 package com.vaadin.flow.server.frontend.scanner;
 
+import java.io.File;
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,13 +59,69 @@ public interface FrontendDependenciesScanner extends Serializable {
         public FrontendDependenciesScanner createScanner(
                 boolean allDependenciesScan, ClassFinder finder,
                 boolean generateEmbeddableWebComponents) {
+            return createScanner(allDependenciesScan, finder,
+                    generateEmbeddableWebComponents, null);
+        }
+
+        /**
+         * Produces scanner implementation based on {@code allDependenciesScan}
+         * value, with the byte code scanner reusing the results of the
+         * previous scan stored in {@code scanCacheFile}.
+         *
+         * @param allDependenciesScan
+         *            if {@code true} then full classpath scanning strategy is
+         *            used, otherwise byte scanning strategy is produced
+         * @param finder
+         *            a class finder
+         * @param generateEmbeddableWebComponents
+         *            checks {@code WebComponentExporter} classes for
+         *            dependencies if {@code true}, doesn't check otherwise
+         * @param scanCacheFile
+         *            the file where the byte code scanner caches its results,
+         *            or {@code null} to not use a cache
+         * @return a scanner implementation strategy
+         */
+        public FrontendDependenciesScanner createScanner(
+                boolean allDependenciesScan, ClassFinder finder,
+                boolean generateEmbeddableWebComponents, File scanCacheFile) {
+            return createScanner(allDependenciesScan, finder,
+                    generateEmbeddableWebComponents, scanCacheFile, false);
+        }
+
+        /**
+         * Produces scanner implementation based on {@code allDependenciesScan}
+         * value, with the byte code scanner optionally collecting the modules
+         * used by each route target.
+         *
+         * @param allDependenciesScan
+         *            if {@code true} then full classpath scanning strategy is
+         *            used, otherwise byte scanning strategy is produced
+         * @param finder
+         *            a class finder
+         * @param generateEmbeddableWebComponents
+         *            checks {@code WebComponentExporter} classes for
+         *            dependencies if {@code true}, doesn't check otherwise
+         * @param scanCacheFile
+         *            the file where the byte code scanner caches its results,
+         *            or {@code null} to not use a cache
+         * @param collectRouteModules
+         *            if {@code true} then the byte code scanner collects the
+         *            modules used by each route target, see
+         *            {@link FrontendDependenciesScanner#getRouteModules()}
+         * @return a scanner implementation strategy
+         */
+        public FrontendDependenciesScanner createScanner(
+                boolean allDependenciesScan, ClassFinder finder,
+                boolean generateEmbeddableWebComponents, File scanCacheFile,
+                boolean collectRouteModules) {
             if (allDependenciesScan) {
                 // this dep scanner can't distinguish embeddable web component
                 // frontend related annotations
                 return new FullDependenciesScanner(finder);
             } else {
                 return new FrontendDependencies(finder,
-                        generateEmbeddableWebComponents);
+                        generateEmbeddableWebComponents, scanCacheFile,
+                        collectRouteModules);
             }
         }
     }
@@ -97,6 +155,19 @@ public interface FrontendDependenciesScanner extends Serializable {
      */
     Set<CssData> getCss();
 
+    /**
+     * Get the JS modules and scripts which are used by a single route target
+     * only, grouped by the name of the route target class.
+     * <p>
+     * The default implementation returns an empty map, meaning that every
+     * module is part of the main bundle.
+     *
+     * @return the modules of each route target
+     */
+    default Map<String, Set<String>> getRouteModules() {
+        return Collections.emptyMap();
+    }
+
     /**
      * Get the {@link ThemeDefinition} of the application.
      *
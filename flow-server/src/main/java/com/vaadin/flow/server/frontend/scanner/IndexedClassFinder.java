@@ -0,0 +1,114 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Repeatable;
+import java.net.URL;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class finder which answers annotation and sub type lookups using a
+ * {@link ClassIndex} instead of inspecting loaded classes, so only the classes
+ * matching a lookup are loaded.
+ *
+ * @since
+ */
+public class IndexedClassFinder implements ClassFinder {
+
+    private final transient ClassLoader classLoader;
+
+    private final ClassIndex index;
+
+    /**
+     * Creates a class finder using the given index for lookups and the given
+     * class loader for loading classes and resources.
+     *
+     * @param classLoader
+     *            classloader for getting resources or loading classes
+     * @param index
+     *            the index of the classes to search from
+     */
+    public IndexedClassFinder(ClassLoader classLoader, ClassIndex index) {
+        this.classLoader = classLoader;
+        this.index = index;
+    }
+
+    @Override
+    public Set<Class<?>> getAnnotatedClasses(
+            Class<? extends Annotation> annotation) {
+        Set<String> names = new HashSet<>(
+                index.getAnnotatedClassNames(annotation.getName()));
+        Repeatable repeatable = annotation.getAnnotation(Repeatable.class);
+        if (repeatable != null) {
+            names.addAll(index
+                    .getAnnotatedClassNames(repeatable.value().getName()));
+        }
+        if (annotation.isAnnotationPresent(Inherited.class)) {
+            for (String name : new HashSet<>(names)) {
+                names.addAll(index.getSubClassNames(name));
+            }
+        }
+        return loadClasses(names);
+    }
+
+    @Override
+    public URL getResource(String name) {
+        return classLoader.getResource(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Class<T> loadClass(String name) throws ClassNotFoundException {
+        return (Class<T>) classLoader.loadClass(name);
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public <T> Set<Class<? extends T>> getSubTypesOf(Class<T> type) {
+        return (Set) loadClasses(index.getSubTypeNames(type.getName()));
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    private Set<Class<?>> loadClasses(Collection<String> names) {
+        Set<Class<?>> classes = new HashSet<>();
+        for (String name : names) {
+            try {
+                classes.add(loadClass(name));
+            } catch (ClassNotFoundException | LinkageError e) {
+                // the same as for a class path scan: classes which cannot be
+                // loaded, e.g. due to missing optional dependencies, are
+                // skipped
+                getLogger().debug("Unable to load indexed class {}", name, e);
+            }
+        }
+        return classes;
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(IndexedClassFinder.class);
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metrics registry which aggregates the measurements and exposes them as
+ * platform MBeans, one {@link MetricMXBean} per measurement. The MBeans are
+ * named <code>com.vaadin.flow:type=Metrics,context=&lt;context
+ * path&gt;,service=&lt;service name&gt;,name=&lt;measurement name&gt;</code>.
+ * If another registry has already registered an MBean with the same name, the
+ * measurement is not exposed by this registry.
+ * <p>
+ * Only the count, total, minimum, maximum and mean of each measurement are
+ * kept. Use a custom {@link MetricsRegistry} for percentiles or histograms.
+ *
+ * @since
+ */
+public class JmxMetricsRegistry implements MetricsRegistry {
+
+    private static final String DOMAIN = "com.vaadin.flow";
+
+    private final String context;
+
+    private final String serviceName;
+
+    private final transient Map<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new registry for the service with the given name deployed in
+     * the given context.
+     *
+     * @param context
+     *            the context path of the service used in the names of the
+     *            MBeans, not <code>null</code>
+     * @param serviceName
+     *            the name of the service used in the names of the MBeans, not
+     *            <code>null</code>
+     */
+    public JmxMetricsRegistry(String context, String serviceName) {
+        assert context != null;
+        assert serviceName != null;
+        this.context = context;
+        this.serviceName = serviceName;
+    }
+
+    @Override
+    public void recordTime(String name, long nanos) {
+        getMetric(name, true).record(nanos);
+    }
+
+    @Override
+    public void recordValue(String name, long value) {
+        getMetric(name, false).record(value);
+    }
+
+    /**
+     * Gets the aggregated measurements with the given name.
+     *
+     * @param name
+     *            the name of the measurement
+     * @return the aggregated measurements, or <code>null</code> if nothing has
+     *         been recorded with the name
+     */
+    public MetricMXBean getMetric(String name) {
+        return metrics.get(name);
+    }
+
+    /**
+     * Unregisters all MBeans of this registry from the platform MBean server.
+     */
+    public void unregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (Metric metric : metrics.values()) {
+            if (metric.objectName == null) {
+                continue;
+            }
+            try {
+                server.unregisterMBean(metric.objectName);
+            } catch (InstanceNotFoundException e) {
+                // Already unregistered
+            } catch (JMException e) {
+                getLogger().debug("Could not unregister MBean {}",
+                        metric.objectName, e);
+            }
+        }
+        metrics.clear();
+    }
+
+    private Metric getMetric(String name, boolean time) {
+        Metric metric = metrics.get(name);
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(name,
+                    key -> register(new Metric(time), key));
+        }
+        return metric;
+    }
+
+    private Metric register(Metric metric, String name) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=Metrics,"
+                    + "context=" + ObjectName.quote(context) + ",service="
+                    + ObjectName.quote(serviceName) + ",name="
+                    + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metric,
+                    objectName);
+            metric.objectName = objectName;
+        } catch (InstanceAlreadyExistsException e) {
+            getLogger().error(
+                    "Metric {} of the service {} in the context '{}' is not "
+                            + "exposed through JMX, the MBean is already "
+                            + "registered by another registry",
+                    name, serviceName, context);
+        } catch (JMException | SecurityException e) {
+            getLogger().debug("Could not register MBean for metric {}", name,
+                    e);
+        }
+        return metric;
+    }
+
+    private Object readResolve() {
+        // The aggregated measurements are not serialized
+        return new JmxMetricsRegistry(context, serviceName);
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(JmxMetricsRegistry.class.getName());
+    }
+
+    private static class Metric implements MetricMXBean {
+
+        private final boolean time;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator min = new LongAccumulator(Math::min,
+                Long.MAX_VALUE);
+        private final LongAccumulator max = new LongAccumulator(Math::max,
+                Long.MIN_VALUE);
+
+        private ObjectName objectName;
+
+        private Metric(boolean time) {
+            this.time = time;
+        }
+
+        private void record(long value) {
+            count.increment();
+            total.add(value);
+            min.accumulate(value);
+            max.accumulate(value);
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+
+        @Override
+        public double getTotal() {
+            return convert(total.sum());
+        }
+
+        @Override
+        public double getMin() {
+            return getCount() == 0 ? 0 : convert(min.get());
+        }
+
+        @Override
+        public double getMax() {
+            return getCount() == 0 ? 0 : convert(max.get());
+        }
+
+        @Override
+        public double getMean() {
+            long samples = getCount();
+            return samples == 0 ? 0 : convert(total.sum()) / samples;
+        }
+
+        @Override
+        public String getUnit() {
+            return time ? "ms" : "";
+        }
+
+        @Override
+        public void reset() {
+            count.reset();
+            total.reset();
+            min.reset();
+            max.reset();
+        }
+
+        private double convert(long value) {
+            if (time) {
+                return (double) value / TimeUnit.MILLISECONDS.toNanos(1);
+            }
+            return value;
+        }
+    }
+}
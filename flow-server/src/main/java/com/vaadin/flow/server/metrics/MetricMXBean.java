@@ -0,0 +1,72 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.metrics;
+
+/**
+ * Management interface of a measurement aggregated by
+ * {@link JmxMetricsRegistry}. Durations are reported in milliseconds.
+ *
+ * @since
+ */
+public interface MetricMXBean {
+
+    /**
+     * Gets the number of recorded measurements.
+     *
+     * @return the number of measurements
+     */
+    long getCount();
+
+    /**
+     * Gets the sum of the recorded measurements.
+     *
+     * @return the sum of the measurements
+     */
+    double getTotal();
+
+    /**
+     * Gets the smallest recorded measurement.
+     *
+     * @return the smallest measurement, or 0 if nothing has been recorded
+     */
+    double getMin();
+
+    /**
+     * Gets the largest recorded measurement.
+     *
+     * @return the largest measurement, or 0 if nothing has been recorded
+     */
+    double getMax();
+
+    /**
+     * Gets the mean of the recorded measurements.
+     *
+     * @return the mean of the measurements, or 0 if nothing has been recorded
+     */
+    double getMean();
+
+    /**
+     * Gets the unit of the measurements.
+     *
+     * @return the unit, e.g. <code>ms</code> for durations
+     */
+    String getUnit();
+
+    /**
+     * Resets the aggregated measurements.
+     */
+    void reset();
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.metrics;
+
+import java.io.Serializable;
+
+import com.vaadin.flow.server.VaadinService;
+
+/**
+ * Receives the measurements of the request handling phases of a
+ * {@link VaadinService}, e.g. to forward them to a monitoring system.
+ * <p>
+ * The measurements are either durations, recorded through
+ * {@link #recordTime(String, long)}, or other values such as sizes and counts,
+ * recorded through {@link #recordValue(String, long)}. The names of the built
+ * in measurements are defined as constants in this interface.
+ * <p>
+ * A custom registry can be provided through {@link java.util.ServiceLoader} or
+ * by overriding {@link VaadinService#createMetricsRegistry()}. Otherwise, a
+ * {@link JmxMetricsRegistry} is used if metrics have been enabled with the
+ * {@code metricsEnabled} configuration parameter.
+ * <p>
+ * The methods are called from the request handling threads and should return
+ * quickly.
+ *
+ * @since
+ */
+public interface MetricsRegistry extends Serializable {
+
+    /**
+     * Time to handle a UIDL request, excluding the time to acquire the session
+     * lock.
+     */
+    String UIDL_REQUEST_TIME = "vaadin.uidl.request.time";
+
+    /**
+     * Time to handle the RPC invocations of a UIDL request.
+     */
+    String RPC_HANDLING_TIME = "vaadin.rpc.handling.time";
+
+    /**
+     * Time to create the UIDL response for a UI, including the time to run the
+     * before client response callbacks and to collect the changes.
+     */
+    String UIDL_CREATION_TIME = "vaadin.uidl.creation.time";
+
+    /**
+     * Time to run the before client response callbacks of a UI.
+     */
+    String BEFORE_CLIENT_RESPONSE_TIME = "vaadin.uidl.before-client-response.time";
+
+    /**
+     * Time to collect the changes of the state tree of a UI.
+     */
+    String COLLECT_CHANGES_TIME = "vaadin.uidl.collect-changes.time";
+
+    /**
+     * Size of a UIDL response in characters.
+     */
+    String UIDL_SIZE = "vaadin.uidl.size";
+
+    /**
+     * Number of state tree changes in a UIDL response.
+     */
+    String UIDL_CHANGES = "vaadin.uidl.changes";
+
+    /**
+     * Time to wait for the lock of a session.
+     */
+    String SESSION_LOCK_WAIT_TIME = "vaadin.session.lock-wait.time";
+
+    /**
+     * Time the lock of a session is held.
+     */
+    String SESSION_LOCK_HOLD_TIME = "vaadin.session.lock-hold.time";
+
+    /**
+     * Number of pending access tasks run when the lock of a session is
+     * released.
+     */
+    String SESSION_PENDING_ACCESS_TASKS = "vaadin.session.pending-access.tasks";
+
+    /**
+     * A registry which ignores all measurements.
+     */
+    MetricsRegistry NO_OP = new MetricsRegistry() {
+        @Override
+        public void recordTime(String name, long nanos) {
+            // NOOP
+        }
+
+        @Override
+        public void recordValue(String name, long value) {
+            // NOOP
+        }
+    };
+
+    /**
+     * Records a duration.
+     *
+     * @param name
+     *            the name of the measurement, not <code>null</code>
+     * @param nanos
+     *            the duration in nanoseconds
+     */
+    void recordTime(String name, long nanos);
+
+    /**
+     * Records a value such as a size or a count.
+     *
+     * @param name
+     *            the name of the measurement, not <code>null</code>
+     * @param value
+     *            the value
+     */
+    void recordValue(String name, long value);
+
+    /**
+     * Gets the metrics registry of the given service.
+     *
+     * @param service
+     *            the service, or <code>null</code>
+     * @return the metrics registry of the service, or {@link #NO_OP} if there
+     *         is no service or it has no registry
+     */
+    static MetricsRegistry get(VaadinService service) {
+        MetricsRegistry registry = service == null ? null
+                : service.getMetricsRegistry();
+        return registry == null ? NO_OP : registry;
+    }
+}
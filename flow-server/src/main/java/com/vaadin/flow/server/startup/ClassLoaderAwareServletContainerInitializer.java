@@ -50,6 +50,10 @@ public interface ClassLoaderAwareServletContainerInitializer
             throws ServletException {
         // see DeferredServletContextIntializers
         DeferredServletContextInitializers.Initializer deferredInitializer = ctx -> {
+            // the container may have been configured to not scan the classes,
+            // use the snapshot created at build time in that case
+            Set<Class<?>> classes = set != null ? set
+                    : StartupSnapshot.getClasses(ctx, getClass().getName());
             ClassLoader webClassLoader = ctx.getClassLoader();
             ClassLoader classLoader = getClass().getClassLoader();
 
@@ -78,7 +82,7 @@ public interface ClassLoaderAwareServletContainerInitializer
             }
 
             if (noHack) {
-                process(set, ctx);
+                process(classes, ctx);
                 return;
             }
 
@@ -97,7 +101,7 @@ public interface ClassLoaderAwareServletContainerInitializer
                                 .equals(processMethodName))
                         .findFirst().get();
                 operation.invoke(initializer.newInstance(),
-                        new Object[] { set, ctx });
+                        new Object[] { classes, ctx });
             } catch (ClassNotFoundException | IllegalAccessException
                     | IllegalArgumentException | InvocationTargetException
                     | InstantiationException e) {
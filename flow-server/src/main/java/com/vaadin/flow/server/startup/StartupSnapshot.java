@@ -0,0 +1,264 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.startup;
+
+import javax.servlet.ServletContext;
+import javax.servlet.annotation.HandlesTypes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.InitParameters;
+import com.vaadin.flow.server.frontend.FrontendUtils;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonException;
+import elemental.json.JsonObject;
+import elemental.json.impl.JsonUtil;
+
+/**
+ * Build time snapshot of the classes the servlet container hands over to each
+ * {@link ClassLoaderAwareServletContainerInitializer} on startup.
+ * <p>
+ * In production mode, when the container passes no classes to an initializer,
+ * e.g. because class path scanning has been disabled for the web application
+ * to speed up the startup, the classes are taken from the snapshot instead.
+ * Without a snapshot the initializers work as before. Production mode is taken
+ * from the servlet context, the system property or the token file written by
+ * the build, in this order.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @since
+ */
+public final class StartupSnapshot {
+
+    /**
+     * Path of the snapshot file, relative to the {@code META-INF/VAADIN}
+     * folder.
+     */
+    public static final String SNAPSHOT_FILE = Constants.VAADIN_CONFIGURATION
+            + "startup-snapshot.json";
+
+    static final String RESOURCE = Constants.VAADIN_SERVLET_RESOURCES
+            + SNAPSHOT_FILE;
+
+    private static final String NO_SNAPSHOT = "";
+
+    private StartupSnapshot() {
+        // Static utility class
+    }
+
+    /**
+     * Finds the classes handled by each
+     * {@link ClassLoaderAwareServletContainerInitializer} available in the
+     * given class finder and writes them to the given file.
+     *
+     * @param finder
+     *            the class finder of the application
+     * @param file
+     *            the snapshot file to write
+     * @throws ReflectiveOperationException
+     *             if the initializers cannot be inspected
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public static void write(ClassFinder finder, File file)
+            throws ReflectiveOperationException, IOException {
+        FileUtils.forceMkdirParent(file);
+        FileUtils.write(file, JsonUtil.stringify(create(finder), 2),
+                StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    static JsonObject create(ClassFinder finder)
+            throws ReflectiveOperationException {
+        // the classes come from the class loader of the finder, so the
+        // annotation is looked up through the same class loader
+        Class<? extends Annotation> handlesTypes = finder
+                .loadClass(HandlesTypes.class.getName());
+        Method value = handlesTypes.getMethod("value");
+
+        JsonObject snapshot = Json.createObject();
+        for (Class<?> initializer : finder.getSubTypesOf(
+                ClassLoaderAwareServletContainerInitializer.class.getName())) {
+            Annotation annotation = initializer.getAnnotation(handlesTypes);
+            // the dev mode initializer does nothing in production mode
+            if (annotation == null
+                    || Modifier.isAbstract(initializer.getModifiers())
+                    || initializer.getName()
+                            .equals(DevModeInitializer.class.getName())) {
+                continue;
+            }
+            Set<String> classes = new TreeSet<>();
+            for (Class<?> type : (Class<?>[]) value.invoke(annotation)) {
+                Collection<? extends Class<?>> found = type.isAnnotation()
+                        ? finder.getAnnotatedClasses(
+                                (Class<? extends Annotation>) type)
+                        : finder.getSubTypesOf(type);
+                found.forEach(clazz -> classes.add(clazz.getName()));
+            }
+            JsonArray array = Json.createArray();
+            classes.forEach(name -> array.set(array.length(), name));
+            snapshot.put(initializer.getName(), array);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets the classes handled by the given initializer from the snapshot.
+     *
+     * @param context
+     *            the servlet context
+     * @param initializer
+     *            the initializer class name
+     * @return the classes to pass to the initializer, or {@code null} if the
+     *         application is not in production mode, there is no snapshot or
+     *         no classes were found for the initializer at build time
+     */
+    static Set<Class<?>> getClasses(ServletContext context,
+            String initializer) {
+        JsonObject snapshot = getSnapshot(context);
+        if (snapshot == null || !snapshot.hasKey(initializer)
+                || !isProductionMode(context)) {
+            return null;
+        }
+        JsonArray names = snapshot.getArray(initializer);
+        Set<Class<?>> classes = new HashSet<>();
+        for (int i = 0; i < names.length(); i++) {
+            String name = names.getString(i);
+            try {
+                classes.add(context.getClassLoader().loadClass(name));
+            } catch (ClassNotFoundException | LinkageError e) {
+                getLogger().warn(
+                        "Unable to load class '{}' listed in the startup snapshot",
+                        name, e);
+            }
+        }
+        return classes.isEmpty() ? null : classes;
+    }
+
+    private static boolean isProductionMode(ServletContext context) {
+        String productionMode = context.getInitParameter(
+                InitParameters.SERVLET_PARAMETER_PRODUCTION_MODE);
+        if (productionMode == null) {
+            productionMode = System.getProperty(Constants.VAADIN_PREFIX
+                    + InitParameters.SERVLET_PARAMETER_PRODUCTION_MODE);
+        }
+        if (productionMode != null) {
+            return Boolean.parseBoolean(productionMode);
+        }
+        // production builds usually set the mode only in the token file
+        JsonObject buildInfo = readBuildInfo(context);
+        return buildInfo != null
+                && buildInfo.hasKey(
+                        InitParameters.SERVLET_PARAMETER_PRODUCTION_MODE)
+                && buildInfo.getBoolean(
+                        InitParameters.SERVLET_PARAMETER_PRODUCTION_MODE);
+    }
+
+    /**
+     * Reads the token file the same way as
+     * {@link com.vaadin.flow.server.DeploymentConfigurationFactory}: the file
+     * given with {@link FrontendUtils#PARAM_TOKEN_FILE} is used if readable,
+     * otherwise the token file of the application is preferred over token
+     * files packaged in jar files.
+     */
+    private static JsonObject readBuildInfo(ServletContext context) {
+        String tokenLocation = context
+                .getInitParameter(FrontendUtils.PARAM_TOKEN_FILE);
+        String tokenResource = Constants.VAADIN_SERVLET_RESOURCES
+                + FrontendUtils.TOKEN_FILE;
+        try {
+            String json = null;
+            if (tokenLocation != null && new File(tokenLocation).canRead()) {
+                json = FileUtils.readFileToString(new File(tokenLocation),
+                        StandardCharsets.UTF_8);
+            } else if (context.getClassLoader() != null) {
+                List<URL> resources = Collections.list(
+                        context.getClassLoader().getResources(tokenResource));
+                URL resource = resources.stream()
+                        .filter(url -> !url.getPath()
+                                .endsWith("jar!/" + tokenResource))
+                        .findFirst().orElse(resources.isEmpty() ? null
+                                : resources.get(0));
+                if (resource != null) {
+                    try (InputStream stream = resource.openStream()) {
+                        json = IOUtils.toString(stream,
+                                StandardCharsets.UTF_8);
+                    }
+                }
+            }
+            return json == null ? null : Json.parse(json);
+        } catch (IOException | JsonException e) {
+            getLogger().warn("Unable to read the token file", e);
+            return null;
+        }
+    }
+
+    private static JsonObject getSnapshot(ServletContext context) {
+        // all the initializers of the context share the parsed snapshot
+        String attribute = StartupSnapshot.class.getName();
+        synchronized (context) {
+            Object snapshot = context.getAttribute(attribute);
+            if (snapshot == null) {
+                snapshot = readSnapshot(context.getClassLoader());
+                context.setAttribute(attribute, snapshot);
+            }
+            return snapshot instanceof JsonObject ? (JsonObject) snapshot
+                    : null;
+        }
+    }
+
+    private static Object readSnapshot(ClassLoader classLoader) {
+        URL resource = classLoader == null ? null
+                : classLoader.getResource(RESOURCE);
+        if (resource == null) {
+            return NO_SNAPSHOT;
+        }
+        try (InputStream stream = resource.openStream()) {
+            return Json.parse(IOUtils.toString(stream, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            getLogger().warn("Unable to read the startup snapshot {}",
+                    resource, e);
+            return NO_SNAPSHOT;
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(StartupSnapshot.class);
+    }
+}
@@ -128,6 +128,36 @@ public class ApplicationConstants implements Serializable {
      */
     public static final String RESYNCHRONIZE_ID = "resynchronize";
 
+    /**
+     * The name of the parameter used to transmit the performance measurements
+     * sampled by the client.
+     */
+    public static final String CLIENT_PERFORMANCE = "perf";
+
+    /**
+     * Client performance measurement of the time it takes to parse a message
+     * from the server.
+     */
+    public static final String CLIENT_PERFORMANCE_PARSE = "parse";
+
+    /**
+     * Client performance measurement of the time it takes to apply the state
+     * tree changes of a message from the server.
+     */
+    public static final String CLIENT_PERFORMANCE_CHANGES = "changes";
+
+    /**
+     * Client performance measurement of the time it takes to update the
+     * bindings and the DOM after a message from the server.
+     */
+    public static final String CLIENT_PERFORMANCE_RENDER = "render";
+
+    /**
+     * Client performance measurement of the time from sending a request to
+     * the server until receiving the response.
+     */
+    public static final String CLIENT_PERFORMANCE_ROUND_TRIP = "roundTrip";
+
     /**
      * Content type to use for text/html responses (should always be UTF-8).
      */
@@ -204,4 +234,10 @@ public class ApplicationConstants implements Serializable {
      */
     public static final String DEVMODE_GIZMO_ENABLED = "devmodeGizmoEnabled";
 
+    /**
+     * Attribute name for marking the container of the server-side pre-rendered
+     * initial view, which is removed once the initial UIDL has been handled.
+     */
+    public static final String PRERENDERED_ATTRIBUTE = "vaadin-prerendered";
+
 }
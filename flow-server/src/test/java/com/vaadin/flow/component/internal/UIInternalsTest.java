@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -168,6 +169,47 @@ public class UIInternalsTest {
         Mockito.verify(pushConfig, Mockito.never()).setPushMode(Mockito.any());
     }
 
+    @Test
+    public void awaitPrecedingClientToServerMessages_processedByOtherThread_returnsTrue()
+            throws InterruptedException {
+        internals.setLastProcessedClientToServerId(0, null);
+        Lock lock = internals.getSession().getLockInstance();
+
+        Thread thread = new Thread(() -> {
+            lock.lock();
+            try {
+                internals.setLastProcessedClientToServerId(1, null);
+            } finally {
+                lock.unlock();
+            }
+        });
+        thread.start();
+
+        Assert.assertTrue(
+                internals.awaitPrecedingClientToServerMessages(2, 10000));
+        Assert.assertEquals(1, internals.getLastProcessedClientToServerId());
+        thread.join();
+    }
+
+    @Test
+    public void awaitPrecedingClientToServerMessages_alreadyProcessed_returnsTrue()
+            throws InterruptedException {
+        internals.setLastProcessedClientToServerId(1, null);
+
+        Assert.assertTrue(
+                internals.awaitPrecedingClientToServerMessages(2, 0));
+    }
+
+    @Test
+    public void awaitPrecedingClientToServerMessages_notProcessed_returnsFalse()
+            throws InterruptedException {
+        internals.setLastProcessedClientToServerId(0, null);
+
+        Assert.assertFalse(
+                internals.awaitPrecedingClientToServerMessages(2, 10));
+        Assert.assertEquals(0, internals.getLastProcessedClientToServerId());
+    }
+
     private PushConfiguration setUpInitialPush() {
         DeploymentConfiguration config = Mockito
                 .mock(DeploymentConfiguration.class);
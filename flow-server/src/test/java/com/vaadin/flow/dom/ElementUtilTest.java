@@ -123,4 +123,29 @@ public class ElementUtilTest {
                 EXPECTED_TEXT_2,
                 recreatedElement.getChild(0).getChild(1).getText());
     }
+
+    @Test
+    public void toJsoup_filters_rejectedElementsAndAttributesLeftOut() {
+        Element root = ElementFactory.createDiv().setAttribute("id", "root")
+                .setAttribute("title", "Root");
+        Element hidden = ElementFactory.createSpan("Hidden");
+        hidden.setVisible(false);
+        Element html = ElementFactory.createDiv().setProperty("innerHTML",
+                "<b id='bold' class='b'>Bold</b>");
+        root.appendChild(ElementFactory.createParagraph("Text"), hidden, html);
+
+        Document jDocument = Document.createShell("http://example.com");
+        jDocument.outputSettings().prettyPrint(false);
+        Optional<Node> jNode = ElementUtil.toJsoup(jDocument, root,
+                Element::isVisible, name -> !"id".equals(name));
+
+        jDocument.body().appendChild(jNode.get());
+        Assert.assertEquals(
+                "<div title=\"Root\"><p>Text</p>"
+                        + "<div><b class=\"b\">Bold</b></div></div>",
+                jDocument.body().html());
+
+        Assert.assertFalse(ElementUtil.toJsoup(jDocument, hidden,
+                Element::isVisible, name -> true).isPresent());
+    }
 }
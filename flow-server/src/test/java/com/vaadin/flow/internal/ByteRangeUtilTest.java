@@ -0,0 +1,89 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ByteRangeUtilTest {
+
+    @Test
+    public void parseByteRanges_severalRanges_allParsedInOrder() {
+        List<Pair<Long, Long>> ranges = ByteRangeUtil
+                .parseByteRanges("bytes=10-12, 1-4,5-");
+
+        Assert.assertEquals(3, ranges.size());
+        assertRange(10L, 12L, ranges.get(0));
+        assertRange(1L, 4L, ranges.get(1));
+        assertRange(5L, null, ranges.get(2));
+    }
+
+    @Test
+    public void parseByteRanges_suffixRange_startOmitted() {
+        List<Pair<Long, Long>> ranges = ByteRangeUtil
+                .parseByteRanges("bytes=-10");
+
+        Assert.assertEquals(1, ranges.size());
+        assertRange(null, 10L, ranges.get(0));
+    }
+
+    @Test
+    public void parseByteRanges_invalidRanges_null() {
+        Assert.assertNull(ByteRangeUtil.parseByteRanges("items=0-1"));
+        Assert.assertNull(ByteRangeUtil.parseByteRanges("bytes=-"));
+        Assert.assertNull(ByteRangeUtil.parseByteRanges("bytes=10-9"));
+        Assert.assertNull(ByteRangeUtil.parseByteRanges("bytes=0-1,a-b"));
+        Assert.assertNull(ByteRangeUtil.parseByteRanges("bytes="));
+        Assert.assertNull(ByteRangeUtil
+                .parseByteRanges("bytes=0-1111111111111111111111111"));
+    }
+
+    @Test
+    public void createContentRangeHeader_unknownLength_asterisk() {
+        Assert.assertEquals("bytes 1-4/16",
+                ByteRangeUtil.createContentRangeHeader(1, 4, 16));
+        Assert.assertEquals("bytes 1-4/*",
+                ByteRangeUtil.createContentRangeHeader(1, 4, -1));
+    }
+
+    @Test
+    public void writePartHeaderAndClosingBoundary() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ByteRangeUtil.writePartHeader(out, "abc", "text/plain",
+                "bytes 1-4/16");
+        ByteRangeUtil.writePartHeader(out, "abc", null, "bytes 5-6/16");
+        ByteRangeUtil.writeClosingBoundary(out, "abc");
+
+        Assert.assertEquals(
+                "\r\n--abc\r\nContent-Type: text/plain\r\n"
+                        + "Content-Range: bytes 1-4/16\r\n\r\n"
+                        + "\r\n--abc\r\nContent-Range: bytes 5-6/16\r\n\r\n"
+                        + "\r\n--abc--\r\n",
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static void assertRange(Long start, Long end,
+            Pair<Long, Long> range) {
+        Assert.assertEquals(start, range.getFirst());
+        Assert.assertEquals(end, range.getSecond());
+    }
+}
@@ -42,6 +42,7 @@ import com.vaadin.flow.component.page.TargetElement;
 import com.vaadin.flow.component.page.Viewport;
 import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.di.ResourceProvider;
+import com.vaadin.flow.dom.ElementFactory;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.ParentLayout;
 import com.vaadin.flow.router.Route;
@@ -52,6 +53,7 @@ import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.router.TestRouteRegistry;
 import com.vaadin.flow.server.BootstrapHandler.BootstrapContext;
 import com.vaadin.flow.server.MockServletServiceSessionSetup.TestVaadinServletService;
+import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.Registration;
 import com.vaadin.flow.shared.VaadinUriResolver;
 import com.vaadin.flow.shared.communication.PushMode;
@@ -448,6 +450,68 @@ public class BootstrapHandlerTest {
         assertEquals("noscript", body.child(0).tagName());
     }
 
+    @Test
+    public void prerenderInitialView_visibleUIChildrenRenderedToBody()
+            throws Exception {
+        deploymentConfiguration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_PRERENDER_INITIAL_VIEW,
+                "true");
+        initUI(testUI, createVaadinRequest());
+        testUI.getElement().appendChild(ElementFactory.createSpan("visible"));
+        testUI.getElement().appendChild(
+                ElementFactory.createSpan("hidden").setVisible(false));
+
+        Document page = pageBuilder.getBootstrapPage(new BootstrapContext(
+                request, null, session, testUI, this::contextRootRelativePath));
+
+        Element prerendered = page.body().child(0);
+        assertEquals("div", prerendered.tagName());
+        assertTrue(prerendered
+                .hasAttr(ApplicationConstants.PRERENDERED_ATTRIBUTE));
+        assertEquals("<span>visible</span>", prerendered.html());
+    }
+
+    @Test
+    public void prerenderInitialView_hiddenDescendantsAndIdsNotRendered()
+            throws Exception {
+        deploymentConfiguration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_PRERENDER_INITIAL_VIEW,
+                "true");
+        initUI(testUI, createVaadinRequest());
+        com.vaadin.flow.dom.Element panel = ElementFactory.createDiv();
+        panel.setAttribute("id", "panel");
+        panel.appendChild(ElementFactory.createSpan("public"));
+        com.vaadin.flow.dom.Element restricted = ElementFactory.createDiv();
+        restricted.appendChild(ElementFactory.createSpan("secret"));
+        restricted.setVisible(false);
+        com.vaadin.flow.dom.Element wrapper = ElementFactory.createDiv();
+        wrapper.appendChild(restricted);
+        panel.appendChild(wrapper);
+        testUI.getElement().appendChild(panel);
+
+        Document page = pageBuilder.getBootstrapPage(new BootstrapContext(
+                request, null, session, testUI, this::contextRootRelativePath));
+
+        Element prerendered = page.body().child(0);
+        assertEquals("<div><span>public</span><div></div></div>",
+                prerendered.html().replaceAll("\\s", ""));
+        assertFalse(page.html().contains("secret"));
+        assertTrue(prerendered.getElementsByAttribute("id").isEmpty());
+    }
+
+    @Test
+    public void prerenderInitialViewNotEnabled_noPrerenderedContent()
+            throws Exception {
+        initUI(testUI, createVaadinRequest());
+        testUI.getElement().appendChild(ElementFactory.createSpan("visible"));
+
+        Document page = pageBuilder.getBootstrapPage(new BootstrapContext(
+                request, null, session, testUI, this::contextRootRelativePath));
+
+        assertTrue(page.body().getElementsByAttribute(
+                ApplicationConstants.PRERENDERED_ATTRIBUTE).isEmpty());
+    }
+
     @Test // #1134
     public void testBody() throws Exception {
         initUI(testUI, createVaadinRequest());
@@ -1420,6 +1484,44 @@ public class BootstrapHandlerTest {
         Assert.assertFalse(bundle.hasAttr("defer"));
     }
 
+    @Test
+    public void getBootstrapPage_productionMode_templateReusedForSameRoute()
+            throws InvalidRouteConfigurationException {
+        mocks.setProductionMode(true);
+        initUI(testUI, createVaadinRequest(),
+                Collections.singleton(MetaAnnotations.class));
+        ResourceProvider provider = service.getContext()
+                .getAttribute(Lookup.class).lookup(ResourceProvider.class);
+
+        Document first = pageBuilder.getBootstrapPage(new BootstrapContext(
+                request, null, session, testUI, this::contextRootRelativePath));
+        // Changes to a page must not leak into the pages of other requests
+        first.head().getElementsByAttributeValue("name",
+                BootstrapHandler.VIEWPORT).remove();
+        // The stats and the client engine are not read again
+        Mockito.when(provider.getApplicationResource(
+                Mockito.any(VaadinService.class), Mockito.anyString()))
+                .thenReturn(null);
+        Mockito.when(provider.getClientResourceAsStream(Mockito.anyString()))
+                .thenReturn(null);
+
+        TestUI anotherUI = new TestUI();
+        anotherUI.getInternals().setSession(session);
+        initUI(anotherUI, createVaadinRequest(),
+                Collections.singleton(MetaAnnotations.class));
+        Document second = pageBuilder.getBootstrapPage(
+                new BootstrapContext(request, null, session, anotherUI,
+                        this::contextRootRelativePath));
+
+        Assert.assertEquals(5, second.head().getElementsByTag("meta").size());
+        Assert.assertEquals(1, second.head().getElementsByAttributeValue(
+                "name", BootstrapHandler.VIEWPORT).size());
+        Assert.assertEquals(first.head().select("script[data-app-id]").size(),
+                second.head().select("script[data-app-id]").size());
+        Assert.assertEquals(1,
+                second.head().select("script[src$='/foo']").size());
+    }
+
     private void assertStringEquals(String message, String expected,
             String actual) {
         Assert.assertThat(message,
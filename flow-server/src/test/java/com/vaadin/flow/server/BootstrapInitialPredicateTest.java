@@ -0,0 +1,80 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.router.Router;
+import com.vaadin.flow.router.internal.NavigationRouteTarget;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+public class BootstrapInitialPredicateTest {
+
+    private MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+    private RouteRegistry registry = Mockito.mock(RouteRegistry.class);
+    private VaadinRequest request = Mockito.mock(VaadinRequest.class);
+
+    @Before
+    public void setUp() {
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Router router = Mockito.mock(Router.class);
+        Mockito.when(request.getService()).thenReturn(service);
+        Mockito.when(service.getDeploymentConfiguration())
+                .thenReturn(configuration);
+        Mockito.when(service.getRouter()).thenReturn(router);
+        Mockito.when(router.getRegistry()).thenReturn(registry);
+
+        NavigationRouteTarget serverRoute = Mockito
+                .mock(NavigationRouteTarget.class);
+        Mockito.when(serverRoute.hasTarget()).thenReturn(true);
+        NavigationRouteTarget noRoute = Mockito
+                .mock(NavigationRouteTarget.class);
+        Mockito.when(registry.getNavigationRouteTarget(Mockito.anyString()))
+                .thenReturn(noRoute);
+        Mockito.when(registry.getNavigationRouteTarget("server/view"))
+                .thenReturn(serverRoute);
+    }
+
+    @Test
+    public void serverRoutesOnly_eagerServerLoadDisabled_notIncluded() {
+        Mockito.when(request.getPathInfo()).thenReturn("/server/view");
+
+        Assert.assertFalse(BootstrapInitialPredicate.serverRoutesOnly()
+                .includeInitialUidl(request));
+        Mockito.verifyZeroInteractions(registry);
+    }
+
+    @Test
+    public void serverRoutesOnly_serverRoute_included() {
+        configuration.setEagerServerLoad(true);
+        Mockito.when(request.getPathInfo()).thenReturn("/server/view");
+
+        Assert.assertTrue(BootstrapInitialPredicate.serverRoutesOnly()
+                .includeInitialUidl(request));
+    }
+
+    @Test
+    public void serverRoutesOnly_clientRoute_notIncluded() {
+        configuration.setEagerServerLoad(true);
+        Mockito.when(request.getPathInfo()).thenReturn("/client/view");
+
+        Assert.assertFalse(BootstrapInitialPredicate.serverRoutesOnly()
+                .includeInitialUidl(request));
+    }
+}
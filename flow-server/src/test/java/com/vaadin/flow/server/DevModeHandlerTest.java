@@ -26,6 +26,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.net.ConnectException;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
@@ -370,6 +371,85 @@ public class DevModeHandlerTest {
         devModeHandler.serveDevModeRequest(request, null);
     }
 
+    @Test
+    public void serveDevModeRequest_hopByHopHeadersAreNotProxied()
+            throws Exception {
+        HttpServletRequest request = prepareRequest("/VAADIN/foo.js");
+        Mockito.doAnswer(invocation -> Collections
+                .enumeration(Arrays.asList("foo", "Connection")))
+                .when(request).getHeaderNames();
+        Mockito.doAnswer(invocation -> "close").when(request)
+                .getHeader("Connection");
+        HttpServletResponse response = prepareResponse();
+
+        int port = DevModeHandler.getFreePort();
+        AtomicReference<String> forwardedFoo = new AtomicReference<>();
+        AtomicReference<String> forwardedConnection = new AtomicReference<>();
+        httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+        httpServer.createContext("/", exchange -> {
+            forwardedFoo.set(exchange.getRequestHeaders().getFirst("foo"));
+            forwardedConnection.set(
+                    exchange.getRequestHeaders().getFirst("Connection"));
+            exchange.getResponseHeaders().add("X-Multi", "a");
+            exchange.getResponseHeaders().add("X-Multi", "b");
+            exchange.sendResponseHeaders(HTTP_OK, 0);
+            exchange.getResponseBody().write("bar".getBytes());
+            exchange.close();
+        });
+        httpServer.start();
+
+        DevModeHandler devModeHandler = DevModeHandler.start(port,
+                configuration, npmFolder,
+                CompletableFuture.completedFuture(null));
+        devModeHandler.join();
+        assertTrue(devModeHandler.serveDevModeRequest(request, response));
+
+        assertEquals("bar", forwardedFoo.get());
+        Assert.assertNotEquals("close", forwardedConnection.get());
+        Mockito.verify(response).addHeader("X-Multi", "a");
+        Mockito.verify(response).addHeader("X-Multi", "b");
+        Mockito.verify(response, Mockito.never()).addHeader(
+                Mockito.eq("Transfer-encoding"), Mockito.anyString());
+    }
+
+    @Test
+    public void start_devServerDaemon_daemonOfPreviousJvmIsReused()
+            throws Exception {
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_DEVMODE_DEV_SERVER_DAEMON,
+                Boolean.TRUE.toString());
+        int port = prepareHttpServer(0, HTTP_OK, "foo");
+
+        Method getDaemonPortFile = DevModeHandler.class
+                .getDeclaredMethod("getDaemonPortFile", File.class);
+        getDaemonPortFile.setAccessible(true);
+        File portFile = (File) getDaemonPortFile.invoke(null, npmFolder);
+        FileUtils.write(portFile, String.valueOf(port),
+                StandardCharsets.UTF_8);
+
+        // the port file of a daemon does not depend on the JVM
+        String uuidProperty = "vaadin.frontend.webpack.portfile.uuid";
+        String jvmUuid = System.getProperty(uuidProperty);
+        System.setProperty(uuidProperty, UUID.randomUUID().toString());
+        try {
+            DevModeHandler handler = DevModeHandler.start(configuration,
+                    npmFolder, CompletableFuture.completedFuture(null));
+            handler.join();
+
+            assertEquals(port, handler.getPort());
+            assertFalse("No webpack process should be started",
+                    new File(baseDir, FrontendUtils.DEFAULT_NODE_DIR
+                            + WEBPACK_TEST_OUT_FILE).exists());
+        } finally {
+            if (jvmUuid == null) {
+                System.clearProperty(uuidProperty);
+            } else {
+                System.setProperty(uuidProperty, jvmUuid);
+            }
+            FileUtils.deleteQuietly(portFile);
+        }
+    }
+
     @Test
     public void vaadinServlet_forDifferentRequests_shouldHaveCorrectResponse()
             throws Exception {
@@ -38,6 +38,7 @@ import com.vaadin.flow.router.TestRouteRegistry;
 import com.vaadin.flow.server.AppShellRegistry.AppShellRegistryWrapper;
 import com.vaadin.flow.server.communication.IndexHtmlRequestListener;
 import com.vaadin.flow.server.communication.IndexHtmlResponse;
+import com.vaadin.flow.server.metrics.MetricsRegistry;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.tests.util.MockDeploymentConfiguration;
 
@@ -51,6 +52,7 @@ public class MockServletServiceSessionSetup {
         private List<BootstrapListener> bootstrapListeners = new ArrayList<>();
         private List<IndexHtmlRequestListener> indexHtmlRequestListeners = new ArrayList<>();
         private VaadinContext context;
+        private MetricsRegistry metricsRegistry;
 
         public TestVaadinServletService(TestVaadinServlet testVaadinServlet,
                 DeploymentConfiguration deploymentConfiguration) {
@@ -131,6 +133,18 @@ public class MockServletServiceSessionSetup {
             this.context = context;
         }
 
+        @Override
+        public MetricsRegistry getMetricsRegistry() {
+            if (metricsRegistry != null) {
+                return metricsRegistry;
+            }
+            return super.getMetricsRegistry();
+        }
+
+        public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+            this.metricsRegistry = metricsRegistry;
+        }
+
     }
 
     public class TestVaadinServlet extends VaadinServlet {
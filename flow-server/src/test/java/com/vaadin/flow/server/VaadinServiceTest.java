@@ -35,6 +35,7 @@ import org.mockito.Mockito;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.di.Instantiator;
 import com.vaadin.flow.di.InstantiatorFactory;
 import com.vaadin.flow.di.Lookup;
@@ -45,8 +46,13 @@ import com.vaadin.flow.router.RouteConfiguration;
 import com.vaadin.flow.router.RouteData;
 import com.vaadin.flow.router.Router;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
+import com.vaadin.flow.server.metrics.JmxMetricsRegistry;
+import com.vaadin.flow.server.metrics.MetricsRegistry;
 import com.vaadin.tests.util.MockDeploymentConfiguration;
 
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
@@ -388,6 +394,140 @@ public class VaadinServiceTest {
         return factory;
     }
 
+    @Test
+    public void fireClientPerformanceListeners_eventPerLocation() {
+        VaadinService service = createClientPerformanceService("0.5");
+        UI ui = new UI();
+        List<ClientPerformanceEvent> events = new ArrayList<>();
+        service.addClientPerformanceListener(events::add);
+
+        JsonObject report = Json.parse("{\"/foo\": {\"parse\": [2, 10, 7]},"
+                + "\"/bar\": {\"render\": [1, 3, 3],"
+                + "\"roundTrip\": [4, 100, 40]}}");
+        service.fireClientPerformanceListeners(ui, report);
+
+        Assert.assertEquals(2, events.size());
+        ClientPerformanceEvent foo = events.get(0);
+        Assert.assertSame(ui, foo.getUI());
+        Assert.assertSame(service, foo.getSource());
+        Assert.assertEquals("/foo", foo.getLocation());
+        Assert.assertEquals(1, foo.getMeasurements().size());
+        ClientPerformanceEvent.Measurement parse = foo.getMeasurements()
+                .get("parse");
+        Assert.assertEquals(2, parse.getCount());
+        Assert.assertEquals(10, parse.getTotal(), 0);
+        Assert.assertEquals(7, parse.getMax(), 0);
+        Assert.assertEquals(5, parse.getAverage(), 0);
+
+        ClientPerformanceEvent bar = events.get(1);
+        Assert.assertEquals("/bar", bar.getLocation());
+        Assert.assertEquals(2, bar.getMeasurements().size());
+        Assert.assertEquals(25, bar.getMeasurements().get("roundTrip")
+                .getAverage(), 0);
+    }
+
+    @Test
+    public void fireClientPerformanceListeners_samplingNotEnabled_reportIgnored() {
+        VaadinService service = createClientPerformanceService("0");
+        List<ClientPerformanceEvent> events = new ArrayList<>();
+        service.addClientPerformanceListener(events::add);
+
+        service.fireClientPerformanceListeners(new UI(),
+                Json.parse("{\"/foo\": {\"parse\": [2, 10, 7]}}"));
+
+        Assert.assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void fireClientPerformanceListeners_invalidMeasurements_measurementsIgnored() {
+        VaadinService service = createClientPerformanceService("1");
+        List<ClientPerformanceEvent> events = new ArrayList<>();
+        service.addClientPerformanceListener(events::add);
+
+        JsonObject report = Json.parse("{\"/foo\": {\"parse\": [2, 10, 7],"
+                + "\"negative\": [1, -3, 3], \"short\": [1, 3],"
+                + "\"text\": [1, \"3\", 3], \"object\": {}},"
+                + "\"/bar\": {\"render\": [-1, 3, 3]}, \"/baz\": 5}");
+        report.getObject("/foo").put("infinite", Json.parse("[1, 3, 3]"));
+        report.getObject("/foo").getArray("infinite").set(2,
+                Double.POSITIVE_INFINITY);
+        report.getObject("/foo").put("nan", Json.parse("[1, 3, 3]"));
+        report.getObject("/foo").getArray("nan").set(1, Double.NaN);
+        service.fireClientPerformanceListeners(new UI(), report);
+
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals("/foo", events.get(0).getLocation());
+        Assert.assertEquals(Collections.singleton("parse"),
+                events.get(0).getMeasurements().keySet());
+    }
+
+    @Test
+    public void fireClientPerformanceListeners_tooManyOrLongKeys_excessIgnored() {
+        VaadinService service = createClientPerformanceService("1");
+        List<ClientPerformanceEvent> events = new ArrayList<>();
+        service.addClientPerformanceListener(events::add);
+
+        String longKey = String.join("", Collections.nCopies(1000, "x"));
+        JsonObject report = Json.createObject();
+        JsonObject longLocationReport = Json.createObject();
+        longLocationReport.put("parse", Json.parse("[1, 3, 3]"));
+        report.put(longKey, longLocationReport);
+        for (int i = 0; i < 100; i++) {
+            JsonObject locationReport = Json.createObject();
+            locationReport.put(longKey, Json.parse("[1, 3, 3]"));
+            for (int j = 0; j < 100; j++) {
+                locationReport.put("m" + j, Json.parse("[1, 3, 3]"));
+            }
+            report.put("/" + i, locationReport);
+        }
+        service.fireClientPerformanceListeners(new UI(), report);
+
+        // The long keys count towards the limits but are ignored
+        Assert.assertEquals(19, events.size());
+        Assert.assertEquals("/0", events.get(0).getLocation());
+        events.forEach(event -> {
+            Assert.assertEquals(19, event.getMeasurements().size());
+            Assert.assertFalse(event.getMeasurements().containsKey(longKey));
+        });
+    }
+
+    @Test
+    public void createMetricsRegistry_metricsNotEnabled_noOpRegistry() {
+        VaadinService service = new MockVaadinServletService();
+
+        Assert.assertSame(MetricsRegistry.NO_OP,
+                service.getMetricsRegistry());
+    }
+
+    @Test
+    public void createMetricsRegistry_metricsEnabled_jmxRegistryUnregisteredOnDestroy() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_METRICS_ENABLED, "true");
+        VaadinService service = new MockVaadinServletService(configuration);
+
+        Assert.assertTrue(service
+                .getMetricsRegistry() instanceof JmxMetricsRegistry);
+        JmxMetricsRegistry registry = (JmxMetricsRegistry) service
+                .getMetricsRegistry();
+        registry.recordValue(MetricsRegistry.UIDL_SIZE, 10);
+        Assert.assertEquals(1,
+                registry.getMetric(MetricsRegistry.UIDL_SIZE).getCount());
+
+        service.destroy();
+
+        Assert.assertNull(registry.getMetric(MetricsRegistry.UIDL_SIZE));
+    }
+
+    private static VaadinService createClientPerformanceService(
+            String sampleRate) {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_CLIENT_PERFORMANCE_SAMPLE_RATE,
+                sampleRate);
+        return new MockVaadinServletService(configuration);
+    }
+
     private static VaadinService createService() throws ServiceException {
         VaadinService service = new MockVaadinServletService();
         return service;
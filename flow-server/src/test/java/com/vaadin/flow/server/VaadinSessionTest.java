@@ -24,13 +24,16 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.Collections;
 import java.util.EventObject;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
@@ -48,9 +51,11 @@ import org.mockito.Mockito;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
+import com.vaadin.flow.server.metrics.MetricsRegistry;
 import com.vaadin.flow.shared.communication.PushMode;
 import com.vaadin.flow.testcategory.SlowTests;
 import com.vaadin.tests.util.MockDeploymentConfiguration;
+import com.vaadin.tests.util.RecordingMetricsRegistry;
 
 public class VaadinSessionTest {
 
@@ -376,4 +381,50 @@ public class VaadinSessionTest {
                 "getCsrfToken() should always return the same value for the same session",
                 token1, token2);
     }
+
+    @Test
+    public void lockAndUnlock_metricsRegistry_lockWaitAndHoldTimeRecordedOnce()
+            throws InterruptedException {
+        RecordingMetricsRegistry metrics = new RecordingMetricsRegistry();
+        VaadinServletService service = new MockVaadinServletService() {
+            @Override
+            public MetricsRegistry getMetricsRegistry() {
+                return metrics;
+            }
+        };
+        MockVaadinSession vaadinSession = new MockVaadinSession(service);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        Thread otherThread = new Thread(() -> {
+            vaadinSession.getLockInstance().lock();
+            try {
+                locked.countDown();
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                vaadinSession.getLockInstance().unlock();
+            }
+        });
+        otherThread.start();
+        locked.await();
+
+        vaadinSession.lock();
+        vaadinSession.lock();
+        vaadinSession.unlock();
+        Assert.assertTrue(metrics
+                .getTimes(MetricsRegistry.SESSION_LOCK_HOLD_TIME).isEmpty());
+        vaadinSession.unlock();
+        otherThread.join();
+
+        List<Long> waitTimes = metrics
+                .getTimes(MetricsRegistry.SESSION_LOCK_WAIT_TIME);
+        Assert.assertEquals(1, waitTimes.size());
+        Assert.assertTrue(
+                waitTimes.get(0) >= TimeUnit.MILLISECONDS.toNanos(50));
+        Assert.assertEquals(1, metrics
+                .getTimes(MetricsRegistry.SESSION_LOCK_HOLD_TIME).size());
+        Assert.assertEquals(Collections.singletonList(0L), metrics
+                .getValues(MetricsRegistry.SESSION_PENDING_ACCESS_TASKS));
+    }
 }
@@ -435,10 +435,7 @@ public class IndexHtmlRequestHandlerTest {
         join.setAccessible(true);
         join.invoke(handler);
         // Ask to the DevModeHandler for the computed random port
-        Method runningPort = DevModeHandler.class
-                .getDeclaredMethod("getRunningDevServerPort", File.class);
-        runningPort.setAccessible(true);
-        int port = (Integer) runningPort.invoke(handler, npmFolder);
+        int port = handler.getPort();
 
         // Configure webpack-dev-server tcp listener to return the `index.html`
         // content
@@ -607,6 +604,34 @@ public class IndexHtmlRequestHandlerTest {
         assertEquals(1, bodyInlineElements.size());
     }
 
+    @Test
+    public void productionMode_cachedDocument_requestIndependentPartsAddedOnce()
+            throws IOException {
+        deploymentConfiguration.setProductionMode(true);
+        AppShellRegistry registry = new AppShellRegistry();
+        registry.setShell(AppShellWithPWA.class);
+        mocks.setAppShellRegistry(registry);
+
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/"), response);
+        responseOutput.reset();
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/foo/bar"), response);
+
+        String indexHtml = responseOutput
+                .toString(StandardCharsets.UTF_8.name());
+        Document document = Jsoup.parse(indexHtml);
+
+        assertEquals(1,
+                document.head().select("meta[name=theme-color]").size());
+        assertEquals(1, document.head().select("link[rel=manifest]").size());
+        assertEquals(1, document.head().getElementsByTag("style").stream()
+                .filter(style -> style.data().contains(".v-system-error"))
+                .count());
+        assertEquals("./..",
+                document.head().getElementsByTag("base").attr("href"));
+    }
+
     @Test
     public void should_store_IndexHtmltitleToUI_When_LoadingServerEagerly() 
             throws IOException {
@@ -3,12 +3,14 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.component.UI;
@@ -23,6 +25,8 @@ import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
 import com.vaadin.flow.shared.ApplicationConstants;
 
+import elemental.json.JsonObject;
+
 public class ServerRpcHandlerTest {
     private VaadinRequest request;
     private VaadinService service;
@@ -31,6 +35,8 @@ public class ServerRpcHandlerTest {
     private UIInternals uiInternals;
     private DependencyList dependencyList;
 
+    private DeploymentConfiguration deploymentConfiguration;
+
     private StateTree uiTree;
     final private String csrfToken = "";
 
@@ -55,8 +61,7 @@ public class ServerRpcHandlerTest {
         Mockito.when(ui.getSession()).thenReturn(session);
         Mockito.when(ui.getCsrfToken()).thenReturn(csrfToken);
 
-        DeploymentConfiguration deploymentConfiguration = Mockito
-                .mock(DeploymentConfiguration.class);
+        deploymentConfiguration = Mockito.mock(DeploymentConfiguration.class);
         Mockito.when(service.getDeploymentConfiguration())
                 .thenReturn(deploymentConfiguration);
 
@@ -126,4 +131,113 @@ public class ServerRpcHandlerTest {
 
         handler.handleRpc(ui, Mockito.mock(Reader.class), request);
     }
+
+    @Test
+    public void handleRpc_clientPerformanceReport_reportedToService()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        ServerRpcHandler handler = new ServerRpcHandler() {
+            @Override
+            protected String getMessage(Reader reader) throws IOException {
+                return "{\"" + ApplicationConstants.CLIENT_TO_SERVER_ID
+                        + "\":0, \"" + ApplicationConstants.RPC_INVOCATIONS
+                        + "\":[], \"" + ApplicationConstants.CLIENT_PERFORMANCE
+                        + "\":{\"/foo\":{\"parse\":[1,2,2]}}}";
+            };
+        };
+
+        ui = new UI();
+        ui.getInternals().setSession(session);
+
+        handler.handleRpc(ui, Mockito.mock(Reader.class), request);
+
+        ArgumentCaptor<JsonObject> report = ArgumentCaptor
+                .forClass(JsonObject.class);
+        Mockito.verify(service).fireClientPerformanceListeners(
+                Mockito.same(ui), report.capture());
+        Assert.assertTrue(report.getValue().hasKey("/foo"));
+    }
+
+    @Test
+    public void handleRpc_pipelinedMessageBeforePrecedingOne_waitsForPrecedingMessage()
+            throws InvalidUIDLSecurityKeyException, IOException,
+            InterruptedException {
+        ReentrantLock lock = enablePipelining(2, 10000);
+        UI pipelinedUi = ui;
+
+        Thread precedingRequest = new Thread(() -> {
+            lock.lock();
+            try {
+                pipelinedUi.getInternals().setLastProcessedClientToServerId(0,
+                        new byte[0]);
+            } finally {
+                lock.unlock();
+            }
+        });
+
+        lock.lock();
+        try {
+            precedingRequest.start();
+            createHandler(1).handleRpc(ui, Mockito.mock(Reader.class),
+                    request);
+        } finally {
+            lock.unlock();
+        }
+        precedingRequest.join();
+
+        Assert.assertEquals(1,
+                ui.getInternals().getLastProcessedClientToServerId());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void handleRpc_pipelinedMessageWithoutPrecedingOne_throwsAfterTimeout()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        ReentrantLock lock = enablePipelining(2, 50);
+
+        lock.lock();
+        try {
+            createHandler(1).handleRpc(ui, Mockito.mock(Reader.class),
+                    request);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Test(timeout = 5000, expected = UnsupportedOperationException.class)
+    public void handleRpc_messageBeyondPipeliningLimit_throwsWithoutWaiting()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        ReentrantLock lock = enablePipelining(2, 60000);
+
+        lock.lock();
+        try {
+            createHandler(2).handleRpc(ui, Mockito.mock(Reader.class),
+                    request);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock enablePipelining(int maxPipelinedRequests,
+            int maxMessageSuspendTimeout) {
+        Mockito.when(deploymentConfiguration.getMaxPipelinedRequests())
+                .thenReturn(maxPipelinedRequests);
+        Mockito.when(deploymentConfiguration.getMaxMessageSuspendTimeout())
+                .thenReturn(maxMessageSuspendTimeout);
+        ReentrantLock lock = new ReentrantLock();
+        Mockito.when(session.getLockInstance()).thenReturn(lock);
+
+        ui = new UI();
+        ui.getInternals().setSession(session);
+        return lock;
+    }
+
+    private static ServerRpcHandler createHandler(int clientToServerId) {
+        return new ServerRpcHandler() {
+            @Override
+            protected String getMessage(Reader reader) throws IOException {
+                return "{\"" + ApplicationConstants.CLIENT_TO_SERVER_ID
+                        + "\":" + clientToServerId + ", \""
+                        + ApplicationConstants.RPC_INVOCATIONS + "\":[]}";
+            };
+        };
+    }
 }
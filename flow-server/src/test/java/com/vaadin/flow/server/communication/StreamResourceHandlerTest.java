@@ -15,27 +15,37 @@
  */
 package com.vaadin.flow.server.communication;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletResponse;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import com.vaadin.flow.server.InitParameters;
 import com.vaadin.flow.server.InputStreamFactory;
 import com.vaadin.flow.server.MockVaadinServletService;
 import com.vaadin.flow.server.MockVaadinSession;
 import com.vaadin.flow.server.ServiceException;
 import com.vaadin.flow.server.StreamResource;
+import com.vaadin.flow.server.StreamResourceRangeWriter;
 import com.vaadin.flow.server.StreamResourceWriter;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinServletResponse;
 import com.vaadin.tests.util.AlwaysLockedVaadinSession;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
 
 public class StreamResourceHandlerTest {
 
@@ -44,6 +54,29 @@ public class StreamResourceHandlerTest {
     private VaadinServletRequest request;
     private VaadinServletResponse response;
 
+    private static class CapturingOutputStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            data.write(b);
+        }
+
+        private String getData() {
+            return new String(data.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
     @Before
     public void setUp() throws ServletException, ServiceException {
         VaadinService service = new MockVaadinServletService();
@@ -106,4 +139,189 @@ public class StreamResourceHandlerTest {
         Mockito.verify(response)
                 .setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
     }
+
+    @Test
+    public void asyncStreamResourcesEnabled_inputStreamFactory_writtenByWriteListener()
+            throws IOException, ServiceException {
+        AsyncContext asyncContext = setUpAsyncRequest();
+        ServletOutputStream outputStream = Mockito
+                .mock(ServletOutputStream.class);
+        HttpServletResponse httpResponse = Mockito
+                .mock(HttpServletResponse.class);
+        Mockito.when(asyncContext.getResponse()).thenReturn(httpResponse);
+        Mockito.when(httpResponse.getOutputStream()).thenReturn(outputStream);
+        Mockito.when(outputStream.isReady()).thenReturn(true);
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        Mockito.doAnswer(invocation -> {
+            Object[] args = invocation.getArguments();
+            written.write((byte[]) args[0], (int) args[1], (int) args[2]);
+            return null;
+        }).when(outputStream).write(Mockito.any(byte[].class),
+                Mockito.anyInt(), Mockito.anyInt());
+
+        StreamResource res = new StreamResource("readme.md",
+                () -> new ByteArrayInputStream(
+                        "foo".getBytes(StandardCharsets.UTF_8)));
+        handler.handleRequest(session, request, response, res);
+
+        ArgumentCaptor<WriteListener> listener = ArgumentCaptor
+                .forClass(WriteListener.class);
+        Mockito.verify(outputStream).setWriteListener(listener.capture());
+        Mockito.verify(response, Mockito.never()).getOutputStream();
+        Mockito.verify(asyncContext, Mockito.never()).complete();
+
+        listener.getValue().onWritePossible();
+
+        Assert.assertEquals("foo",
+                new String(written.toByteArray(), StandardCharsets.UTF_8));
+        Mockito.verify(asyncContext).complete();
+    }
+
+    @Test
+    public void asyncStreamResourcesEnabled_resourceWriter_writtenSynchronously()
+            throws IOException, ServiceException {
+        AsyncContext asyncContext = setUpAsyncRequest();
+        ServletOutputStream outputStream = Mockito
+                .mock(ServletOutputStream.class);
+        Mockito.when(response.getOutputStream()).thenReturn(outputStream);
+
+        StreamResource res = new StreamResource("readme.md",
+                (StreamResourceWriter) (stream, session) -> stream.write(1));
+        handler.handleRequest(session, request, response, res);
+
+        Mockito.verify(request, Mockito.never()).startAsync();
+        Mockito.verify(outputStream).write(1);
+        Mockito.verifyZeroInteractions(asyncContext);
+    }
+
+    private AsyncContext setUpAsyncRequest() throws ServiceException {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ASYNC_STREAM_RESOURCES,
+                "true");
+        session = new AlwaysLockedVaadinSession(
+                new MockVaadinServletService(configuration));
+        AsyncContext asyncContext = Mockito.mock(AsyncContext.class);
+        Mockito.when(request.isAsyncSupported()).thenReturn(true);
+        Mockito.when(request.startAsync()).thenReturn(asyncContext);
+        return asyncContext;
+    }
+
+    @Test
+    public void seekableResource_singleRange_partialContentWritten()
+            throws IOException {
+        CapturingOutputStream outputStream = new CapturingOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(outputStream);
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=2-4");
+
+        handler.handleRequest(session, request, response,
+                createSeekableResource("0123456789"));
+
+        Assert.assertEquals("234", outputStream.getData());
+        Mockito.verify(response)
+                .setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        Mockito.verify(response).setHeader("Content-Range", "bytes 2-4/10");
+        Mockito.verify(response).setHeader("Content-Length", "3");
+        Mockito.verify(response).setHeader("Accept-Ranges", "bytes");
+    }
+
+    @Test
+    public void seekableResource_suffixRange_lastBytesWritten()
+            throws IOException {
+        CapturingOutputStream outputStream = new CapturingOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(outputStream);
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=-3");
+
+        handler.handleRequest(session, request, response,
+                createSeekableResource("0123456789"));
+
+        Assert.assertEquals("789", outputStream.getData());
+        Mockito.verify(response).setHeader("Content-Range", "bytes 7-9/10");
+    }
+
+    @Test
+    public void seekableResource_multipleRanges_multipartContentWritten()
+            throws IOException {
+        CapturingOutputStream outputStream = new CapturingOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(outputStream);
+        Mockito.when(request.getHeader("Range"))
+                .thenReturn("bytes=0-1, 8-");
+
+        handler.handleRequest(session, request, response,
+                createSeekableResource("0123456789"));
+
+        ArgumentCaptor<String> contentType = ArgumentCaptor
+                .forClass(String.class);
+        Mockito.verify(response, Mockito.times(2))
+                .setContentType(contentType.capture());
+        String boundary = contentType.getValue().substring(
+                "multipart/byteranges; boundary=".length());
+        Assert.assertEquals("\r\n--" + boundary + "\r\n"
+                + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 0-1/10\r\n\r\n01" + "\r\n--"
+                + boundary + "\r\n" + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 8-9/10\r\n\r\n89" + "\r\n--"
+                + boundary + "--\r\n", outputStream.getData());
+    }
+
+    @Test
+    public void seekableResource_unsatisfiableRange_responseStatusIs416()
+            throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=10-");
+
+        handler.handleRequest(session, request, response,
+                createSeekableResource("0123456789"));
+
+        Mockito.verify(response).setStatus(
+                HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        Mockito.verify(response).setHeader("Content-Range", "bytes */10");
+        Mockito.verify(response, Mockito.never()).getOutputStream();
+    }
+
+    @Test
+    public void seekableResource_ifRangeDoesNotMatch_wholeContentWritten()
+            throws IOException {
+        CapturingOutputStream outputStream = new CapturingOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(outputStream);
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=2-4");
+        Mockito.when(request.getHeader("If-Range")).thenReturn("\"old\"");
+
+        StreamResource resource = createSeekableResource("0123456789");
+        resource.setETag("\"new\"");
+        handler.handleRequest(session, request, response, resource);
+
+        Assert.assertEquals("0123456789", outputStream.getData());
+        Mockito.verify(response, Mockito.never())
+                .setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        Mockito.verify(response).setHeader("ETag", "\"new\"");
+        Mockito.verify(response).setHeader("Content-Length", "10");
+    }
+
+    @Test
+    public void seekableResource_ifRangeMatches_partialContentWritten()
+            throws IOException {
+        CapturingOutputStream outputStream = new CapturingOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(outputStream);
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=2-4");
+        Mockito.when(request.getHeader("If-Range")).thenReturn("\"v1\"");
+
+        StreamResource resource = createSeekableResource("0123456789");
+        resource.setETag("\"v1\"");
+        handler.handleRequest(session, request, response, resource);
+
+        Assert.assertEquals("234", outputStream.getData());
+    }
+
+    private StreamResource createSeekableResource(String content) {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        StreamResource resource = new StreamResource("data.txt",
+                (StreamResourceWriter) (stream, session) -> stream
+                        .write(data));
+        resource.setContentType("text/plain");
+        StreamResourceRangeWriter rangeWriter = (stream, session, start,
+                end) -> stream.write(data, (int) start,
+                        (int) (end - start + 1));
+        resource.setRangeWriter(data.length, rangeWriter);
+        return resource;
+    }
 }
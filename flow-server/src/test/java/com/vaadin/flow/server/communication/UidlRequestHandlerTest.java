@@ -20,6 +20,7 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.StringWriter;
+import java.util.Collections;
 import java.util.Properties;
 
 import org.junit.Assert;
@@ -27,6 +28,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.JavaScriptBootstrapUI;
 import com.vaadin.flow.server.DefaultDeploymentConfiguration;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
@@ -35,7 +37,9 @@ import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServletService;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.metrics.MetricsRegistry;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.tests.util.RecordingMetricsRegistry;
 
 import elemental.json.JsonObject;
 import elemental.json.impl.JsonUtil;
@@ -112,6 +116,36 @@ public class UidlRequestHandlerTest {
                 responseContent);
     }
 
+    @Test
+    public void synchronizedHandleRequest_metricsRegistry_responseSizeAndTimeRecorded()
+            throws IOException {
+        VaadinService service = mock(VaadinService.class);
+        VaadinSession session = mock(VaadinSession.class);
+        RecordingMetricsRegistry metrics = new RecordingMetricsRegistry();
+        UI ui = mock(UI.class);
+        when(session.getService()).thenReturn(service);
+        when(service.getMetricsRegistry()).thenReturn(metrics);
+        when(service.findUI(request)).thenReturn(ui);
+
+        UidlRequestHandler handler = spy(new UidlRequestHandler());
+        doReturn(mock(ServerRpcHandler.class)).when(handler)
+                .createRpcHandler();
+        doReturn(generateUidl(true, true)).when(handler).createUidl(ui,
+                false);
+
+        boolean result = handler.synchronizedHandleRequest(session, request,
+                response);
+        Assert.assertTrue("Result should be true", result);
+
+        String responseContent = CommunicationUtil
+                .getStringWhenWriteString(outputStream);
+        assertEquals(
+                Collections.singletonList((long) responseContent.length()),
+                metrics.getValues(MetricsRegistry.UIDL_SIZE));
+        assertEquals(1,
+                metrics.getTimes(MetricsRegistry.UIDL_REQUEST_TIME).size());
+    }
+
     @Test
     public void should_not_modifyUidl_when_MPR_nonJavaScriptBootstrapUI() throws Exception {
         JavaScriptBootstrapUI ui = null;
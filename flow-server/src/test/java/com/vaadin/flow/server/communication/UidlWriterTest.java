@@ -46,9 +46,11 @@ import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.server.MockServletServiceSessionSetup;
 import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.metrics.MetricsRegistry;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.ui.Dependency;
 import com.vaadin.flow.shared.ui.LoadMode;
+import com.vaadin.tests.util.RecordingMetricsRegistry;
 
 import elemental.json.Json;
 import elemental.json.JsonArray;
@@ -193,6 +195,35 @@ public class UidlWriterTest {
         assertFalse(response.hasKey(LoadMode.LAZY.name()));
     }
 
+    @Test
+    public void createUidl_metricsRegistry_phaseTimesAndChangeCountRecorded()
+            throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        RecordingMetricsRegistry metrics = new RecordingMetricsRegistry();
+        mocks.getService().setMetricsRegistry(metrics);
+        ui.add(new ActualComponent());
+
+        JsonObject response = new UidlWriter().createUidl(ui, false);
+
+        JsonArray changes = response.getArray("changes");
+        assertTrue(changes.length() > 0);
+        assertEquals(Collections.singletonList((long) changes.length()),
+                metrics.getValues(MetricsRegistry.UIDL_CHANGES));
+
+        List<Long> creationTimes = metrics
+                .getTimes(MetricsRegistry.UIDL_CREATION_TIME);
+        List<Long> beforeClientResponseTimes = metrics
+                .getTimes(MetricsRegistry.BEFORE_CLIENT_RESPONSE_TIME);
+        List<Long> collectChangesTimes = metrics
+                .getTimes(MetricsRegistry.COLLECT_CHANGES_TIME);
+        assertThat(creationTimes, hasSize(1));
+        assertThat(beforeClientResponseTimes, hasSize(1));
+        assertThat(collectChangesTimes, hasSize(1));
+        // The phases are part of the UIDL creation
+        assertTrue(creationTimes.get(0) >= beforeClientResponseTimes.get(0)
+                + collectChangesTimes.get(0));
+    }
+
     @Test
     public void testComponentInterfaceDependencies_npmMode() throws Exception {
         UI ui = initializeUIForDependenciesTest(new TestUI());
@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.junit.Assert;
@@ -395,6 +396,72 @@ public class ExplicitNullableTypeCheckerTest {
         Assert.assertNull(explicitNullableTypeChecker.checkValueForType(company, Company.class));
     }
 
+    @Test
+    public void should_CheckResultType_When_MethodReturnsCompletionStage()
+            throws NoSuchMethodException {
+        explicitNullableTypeChecker = spy(explicitNullableTypeChecker);
+        String error = explicitNullableTypeChecker
+                .checkValueForAnnotatedElement("someValue",
+                        getClass().getMethod("futureNotNullable"));
+
+        Assert.assertNull("Should allow not null result", error);
+        verify(explicitNullableTypeChecker).checkValueForType("someValue",
+                String.class);
+
+        Assert.assertNotNull("Should not allow null result",
+                explicitNullableTypeChecker.checkValueForAnnotatedElement(null,
+                        getClass().getMethod("futureNotNullable")));
+    }
+
+    @Test
+    public void should_CheckAllValues_When_NotInProductionMode()
+            throws NoSuchMethodException {
+        explicitNullableTypeChecker = new ExplicitNullableTypeChecker(0);
+
+        Assert.assertNotNull(explicitNullableTypeChecker
+                .checkValueForAnnotatedElement(null,
+                        getClass().getMethod("stringNotNullable")));
+    }
+
+    @Test
+    public void should_SkipCheck_When_ProductionModeAndZeroSampleRate()
+            throws NoSuchMethodException {
+        explicitNullableTypeChecker = new ExplicitNullableTypeChecker(0);
+        explicitNullableTypeChecker.setProductionMode(true);
+
+        Assert.assertNull(explicitNullableTypeChecker
+                .checkValueForAnnotatedElement(null,
+                        getClass().getMethod("stringNotNullable")));
+    }
+
+    @Test
+    public void should_CheckAllValues_When_ProductionModeAndDefaultSampleRate()
+            throws NoSuchMethodException {
+        explicitNullableTypeChecker.setProductionMode(true);
+
+        Assert.assertNotNull(explicitNullableTypeChecker
+                .checkValueForAnnotatedElement(null,
+                        getClass().getMethod("stringNotNullable")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_Throw_When_SampleRateIsOutOfRange() {
+        new ExplicitNullableTypeChecker(1.5);
+    }
+
+    @Test
+    public void should_ReturnError_When_GivenNull_BeanPropertyOfSameTypeAgain() {
+        Bean bean = new Bean();
+        bean.setTitle("foo");
+        Assert.assertNull(explicitNullableTypeChecker.checkValueForType(bean,
+                Bean.class));
+
+        String error = explicitNullableTypeChecker
+                .checkValueForType(new Bean(), Bean.class);
+        Assert.assertNotNull(error);
+        Assert.assertTrue(error.contains("title"));
+    }
+
     public List<String> parametrizedListMethod(String... args) {
         final List<String> list = new ArrayList<String>();
         for (String arg : args) {
@@ -430,6 +497,13 @@ public class ExplicitNullableTypeCheckerTest {
         return "";
     }
 
+    /**
+     * Method for testing
+     */
+    public CompletableFuture<String> futureNotNullable() {
+        return CompletableFuture.completedFuture("");
+    }
+
     static private class Bean {
         static String staticProperty;
         @JsonIgnore
@@ -9,13 +9,19 @@ import javax.servlet.http.HttpSession;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Stream;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
@@ -24,6 +30,8 @@ import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.type.SimpleType;
 import com.fasterxml.jackson.databind.type.TypeFactory;
@@ -36,9 +44,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.vaadin.flow.server.MockVaadinServletService;
 import com.vaadin.flow.server.VaadinService;
@@ -152,6 +163,67 @@ public class VaadinConnectControllerTest {
         }
     }
 
+    @Endpoint
+    public static class TestClassWithStaticMethod {
+        public static String testStaticMethod(int parameter) {
+            return parameter + "-static";
+        }
+    }
+
+    @Endpoint
+    public static class TestClassWithStream {
+        public Stream<String> testStream(int count) {
+            return Stream.iterate(0, i -> i + 1).limit(count)
+                    .map(i -> "item" + i);
+        }
+
+        public String testSingleValue() {
+            return "single";
+        }
+
+        public Stream<Map<String, Integer>> testObjects(int count) {
+            return Stream.iterate(0, i -> i + 1).limit(count)
+                    .map(i -> Collections.singletonMap("value", i));
+        }
+
+        public String testThreadName() {
+            return Thread.currentThread().getName();
+        }
+
+        public String testSlowCallContext() throws InterruptedException {
+            // gives the other threads time to take the remaining calls
+            Thread.sleep(50);
+            return Thread.currentThread().getName() + ":"
+                    + (RequestContextHolder.getRequestAttributes() != null);
+        }
+
+        public Stream<Boolean> testRequestAttributes() {
+            // evaluated only when the response is written
+            return Stream.of(Boolean.TRUE).map(
+                    ignore -> RequestContextHolder.getRequestAttributes() != null);
+        }
+    }
+
+    @Endpoint
+    public static class TestClassWithFuture {
+        public CompletableFuture<String> testCompleted() {
+            return CompletableFuture.completedFuture("completed");
+        }
+
+        public CompletableFuture<String> testEndpointException() {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            future.completeExceptionally(new EndpointException("aborted"));
+            return future;
+        }
+
+        public CompletionStage<String> testFailure() {
+            return CompletableFuture.completedFuture("value")
+                    .<String> thenApply(value -> {
+                        throw new IllegalStateException("failed");
+                    });
+        }
+    }
+
     @Endpoint("my endpoint")
     public static class TestClassWithIllegalEndpointName {
         public String testMethod(int parameter) {
@@ -769,6 +841,293 @@ public class VaadinConnectControllerTest {
                 response.getBody());
     }
 
+    @Test
+    public void should_InvokeStaticMethod_When_EndpointDeclaresIt() {
+        ApplicationContext contextMock = mock(ApplicationContext.class);
+        when(contextMock.getBeansWithAnnotation(Endpoint.class))
+                .thenReturn(Collections.singletonMap(
+                        TestClassWithStaticMethod.class.getSimpleName(),
+                        new TestClassWithStaticMethod()));
+
+        VaadinConnectController vaadinConnectController = new VaadinConnectController(
+                new ObjectMapper(), mock(VaadinConnectAccessChecker.class),
+                mock(EndpointNameChecker.class),
+                mock(ExplicitNullableTypeChecker.class),
+                contextMock,
+                mock(ServletContext.class));
+        ResponseEntity<String> response = vaadinConnectController
+                .serveEndpoint(TestClassWithStaticMethod.class.getSimpleName(),
+                        "testStaticMethod",
+                        createRequestParameters("{\"value\": 111}"),
+                        requestMock);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"111-static\"", response.getBody());
+    }
+
+    @Test
+    public void should_WriteJsonLines_When_EndpointReturnsStream()
+            throws IOException {
+        ResponseEntity<StreamingResponseBody> response = createVaadinController(
+                new TestClassWithStream()).serveEndpointStream(
+                        TestClassWithStream.class.getSimpleName(),
+                        "testStream",
+                        createRequestParameters("{\"count\": 3}"),
+                        requestMock);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(VaadinConnectController.NDJSON_MEDIA_TYPE,
+                response.getHeaders().getContentType().toString());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+        assertEquals("\"item0\"\n\"item1\"\n\"item2\"\n",
+                output.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    public void should_WriteSingleJsonLine_When_EndpointReturnsValue()
+            throws IOException {
+        ResponseEntity<StreamingResponseBody> response = createVaadinController(
+                new TestClassWithStream()).serveEndpointStream(
+                        TestClassWithStream.class.getSimpleName(),
+                        "testSingleValue", createRequestParameters("{}"),
+                        requestMock);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+        assertEquals("\"single\"\n",
+                output.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    public void should_WriteEachItemOnOneLine_When_MapperIndentsOutput()
+            throws IOException {
+        ObjectMapper mapper = new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        ResponseEntity<StreamingResponseBody> response = createVaadinController(
+                new TestClassWithStream(), mapper).serveEndpointStream(
+                        TestClassWithStream.class.getSimpleName(),
+                        "testObjects",
+                        createRequestParameters("{\"count\": 2}"),
+                        requestMock);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+        assertEquals("{\"value\":0}\n{\"value\":1}\n",
+                output.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    public void should_ConsumeStreamWithRequestContext_When_WrittenInAnotherThread()
+            throws Exception {
+        ResponseEntity<StreamingResponseBody> response = createVaadinController(
+                new TestClassWithStream()).serveEndpointStream(
+                        TestClassWithStream.class.getSimpleName(),
+                        "testRequestAttributes", createRequestParameters("{}"),
+                        requestMock);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CompletableFuture.runAsync(() -> {
+            try {
+                response.getBody().writeTo(output);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).get();
+        assertEquals("true\n", output.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    public void should_ReturnJsonError_When_StreamedEndpointGetsIllegalParameters()
+            throws IOException {
+        ResponseEntity<StreamingResponseBody> response = createVaadinController(
+                new TestClassWithStream()).serveEndpointStream(
+                        TestClassWithStream.class.getSimpleName(),
+                        "testStream", createRequestParameters("{}"),
+                        requestMock);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+        assertTrue(output.toString(StandardCharsets.UTF_8.name())
+                .contains("Incorrect number of parameters"));
+    }
+
+    @Test
+    public void should_ReturnAllResults_When_BatchIsServed()
+            throws IOException {
+        ArrayNode calls = (ArrayNode) new ObjectMapper().readTree("["
+                + "{\"endpoint\": \"TestClassWithStream\", \"method\": \"testSingleValue\"},"
+                + "{\"endpoint\": \"TestClassWithStream\", \"method\": \"testStream\", \"params\": {}},"
+                + "{\"endpoint\": \"TestClassWithStream\", \"method\": \"missing\", \"params\": null}"
+                + "]");
+
+        ResponseEntity<String> response = createVaadinController(
+                new TestClassWithStream()).serveBatch(calls, requestMock);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode results = new ObjectMapper().readTree(response.getBody());
+        assertEquals(3, results.size());
+        assertEquals(200, results.get(0).get("status").asInt());
+        assertEquals("single", results.get(0).get("body").asText());
+        assertEquals(400, results.get(1).get("status").asInt());
+        assertTrue(results.get(1).get("body").get("message").asText()
+                .contains("Incorrect number of parameters"));
+        assertEquals(404, results.get(2).get("status").asInt());
+        assertTrue(results.get(2).get("body").isNull());
+    }
+
+    @Test
+    public void should_ReturnResultsInOrder_When_BatchIsServedInParallel()
+            throws IOException {
+        VaadinConnectController vaadinConnectController = createParallelBatchController(
+                new TestClassWithStream());
+
+        ArrayNode calls = new ObjectMapper().createArrayNode();
+        for (int i = 0; i < 10; i++) {
+            calls.addObject().put("endpoint", "TestClassWithStream")
+                    .put("method", "testStream").putObject("params")
+                    .put("count", i);
+        }
+        ResponseEntity<String> response = vaadinConnectController
+                .serveBatch(calls, requestMock);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode results = new ObjectMapper().readTree(response.getBody());
+        assertEquals(10, results.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, results.get(i).get("status").asInt());
+            assertEquals(i, results.get(i).get("body").size());
+        }
+    }
+
+    @Test
+    public void should_InvokeCallsWithRequestContext_When_BatchIsServedInParallel()
+            throws IOException {
+        VaadinConnectController vaadinConnectController = createParallelBatchController(
+                new TestClassWithStream());
+        ArrayNode calls = new ObjectMapper().createArrayNode();
+        for (int i = 0; i < 4; i++) {
+            calls.addObject().put("endpoint", "TestClassWithStream")
+                    .put("method", "testSlowCallContext");
+        }
+        calls.addObject().put("endpoint", "TestClassWithStream").put("method",
+                "testRequestAttributes");
+
+        ResponseEntity<String> response = vaadinConnectController
+                .serveBatch(calls, requestMock);
+        vaadinConnectController.shutdown();
+
+        JsonNode results = new ObjectMapper().readTree(response.getBody());
+        String requestThread = Thread.currentThread().getName();
+        boolean invokedInBatchThread = false;
+        for (int i = 0; i < 4; i++) {
+            String callContext = results.get(i).get("body").asText();
+            invokedInBatchThread |= callContext
+                    .startsWith("vaadin-endpoint-batch-");
+            assertTrue(callContext,
+                    callContext.startsWith("vaadin-endpoint-batch-")
+                            || callContext.startsWith(requestThread + ":"));
+            assertTrue(callContext, callContext.endsWith(":true"));
+        }
+        assertTrue(invokedInBatchThread);
+        assertTrue(results.get(4).get("body").get(0).asBoolean());
+    }
+
+    @Test
+    public void should_Return400_When_BatchHasTooManyCalls()
+            throws IOException {
+        ArrayNode calls = new ObjectMapper().createArrayNode();
+        for (int i = 0; i <= VaadinConnectController.DEFAULT_BATCH_MAX_SIZE; i++) {
+            calls.addObject().put("endpoint", "TestClassWithStream")
+                    .put("method", "testSingleValue");
+        }
+
+        ResponseEntity<String> response = createVaadinController(
+                new TestClassWithStream()).serveBatch(calls, requestMock);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains(String.format(
+                "Batch request has %d calls, the maximum is %d",
+                VaadinConnectController.DEFAULT_BATCH_MAX_SIZE + 1,
+                VaadinConnectController.DEFAULT_BATCH_MAX_SIZE)));
+    }
+
+    @Test
+    public void should_UseConfiguredMaximum_When_BatchMaxSizeIsSet()
+            throws IOException {
+        VaadinConnectController vaadinConnectController = createParallelBatchController(
+                new TestClassWithStream(), 2);
+        ArrayNode calls = new ObjectMapper().createArrayNode();
+        for (int i = 0; i < 2; i++) {
+            calls.addObject().put("endpoint", "TestClassWithStream")
+                    .put("method", "testSingleValue");
+        }
+
+        assertEquals(HttpStatus.OK, vaadinConnectController
+                .serveBatch(calls, requestMock).getStatusCode());
+
+        calls.addObject().put("endpoint", "TestClassWithStream").put("method",
+                "testSingleValue");
+        ResponseEntity<String> response = vaadinConnectController
+                .serveBatch(calls, requestMock);
+        vaadinConnectController.shutdown();
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody()
+                .contains("Batch request has 3 calls, the maximum is 2"));
+    }
+
+    @Test
+    public void should_Return400_When_BatchCallIsMalformed()
+            throws IOException {
+        ArrayNode calls = (ArrayNode) new ObjectMapper()
+                .readTree("[{\"endpoint\": \"TestClassWithStream\"}]");
+
+        ResponseEntity<String> response = createVaadinController(
+                new TestClassWithStream()).serveBatch(calls, requestMock);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains("Invalid batch call"));
+    }
+
+    @Test
+    public void should_ReturnResult_When_EndpointReturnsCompletedFuture() {
+        ResponseEntity<String> response = createVaadinController(
+                new TestClassWithFuture()).serveEndpoint(
+                        TestClassWithFuture.class.getSimpleName(),
+                        "testCompleted", createRequestParameters("{}"),
+                        requestMock);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"completed\"", response.getBody());
+    }
+
+    @Test
+    public void should_Return400_When_EndpointFutureFailsWithEndpointException() {
+        ResponseEntity<String> response = createVaadinController(
+                new TestClassWithFuture()).serveEndpoint(
+                        TestClassWithFuture.class.getSimpleName(),
+                        "testEndpointException", createRequestParameters("{}"),
+                        requestMock);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains("aborted"));
+    }
+
+    @Test
+    public void should_Return500_When_EndpointFutureFails() {
+        ResponseEntity<String> response = createVaadinController(
+                new TestClassWithFuture()).serveEndpoint(
+                        TestClassWithFuture.class.getSimpleName(),
+                        "testFailure", createRequestParameters("{}"),
+                        requestMock);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR,
+                response.getStatusCode());
+        assertTrue(response.getBody().contains("execution failure"));
+    }
+
     @Test
     public void should_UseCustomEndpointName_When_EndpointClassIsProxied() {
 
@@ -1149,6 +1508,35 @@ public class VaadinConnectControllerTest {
                 mock(ServletContext.class));
     }
 
+    private VaadinConnectController createParallelBatchController(
+            Object endpoint) {
+        return createParallelBatchController(endpoint,
+                VaadinConnectController.DEFAULT_BATCH_MAX_SIZE);
+    }
+
+    private VaadinConnectController createParallelBatchController(
+            Object endpoint, int batchMaxSize) {
+        ApplicationContext contextMock = mock(ApplicationContext.class);
+        when(contextMock.getBeansWithAnnotation(Endpoint.class))
+                .thenReturn(Collections.singletonMap(
+                        endpoint.getClass().getName(), endpoint));
+        Environment environmentMock = mock(Environment.class);
+        when(environmentMock.getProperty(
+                VaadinConnectController.BATCH_PARALLEL_PROPERTY, Boolean.class,
+                false)).thenReturn(true);
+        when(environmentMock.getProperty(
+                VaadinConnectController.BATCH_MAX_SIZE_PROPERTY, Integer.class,
+                VaadinConnectController.DEFAULT_BATCH_MAX_SIZE))
+                        .thenReturn(batchMaxSize);
+        when(contextMock.getEnvironment()).thenReturn(environmentMock);
+
+        return new VaadinConnectController(new ObjectMapper(),
+                mock(VaadinConnectAccessChecker.class),
+                mock(EndpointNameChecker.class),
+                mock(ExplicitNullableTypeChecker.class), contextMock,
+                mock(ServletContext.class));
+    }
+
     private VaadinConnectController createVaadinControllerWithoutPrincipal() {
         when(requestMock.getUserPrincipal()).thenReturn(null);
         return createVaadinController(TEST_ENDPOINT, new VaadinConnectAccessChecker());
@@ -29,6 +29,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -43,7 +44,9 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
@@ -125,6 +128,24 @@ public class EndpointWithRestControllerTest {
         assertEquals("\"08:00:00\"", result);
     }
 
+    @Test
+    public void should_CompleteResponseAsynchronously_when_EndpointReturnsCompletionStage()
+            throws Exception {
+        String endpointName = VaadinConnectEndpoints.class.getSimpleName();
+        MvcResult asyncResult = mockMvcForEndpoint
+                .perform(MockMvcRequestBuilders
+                        .post(String.format("/%s/getLocalTimeAsync",
+                                endpointName))
+                        .accept(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        String result = mockMvcForEndpoint.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsString();
+        assertEquals("\"08:00:00\"", result);
+    }
+
     private String callEndpointMethod(String methodName) throws Exception {
         String endpointName = VaadinConnectEndpoints.class.getSimpleName();
         String requestUrl = String.format("/%s/%s", endpointName, methodName);
@@ -17,6 +17,7 @@ package com.vaadin.flow.server.connect.rest;
 
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
+import java.util.concurrent.CompletableFuture;
 
 import com.vaadin.flow.server.connect.Endpoint;
 
@@ -39,6 +40,17 @@ public class VaadinConnectEndpoints {
         return LocalTime.of(8, 0, 0);
     }
 
+    public CompletableFuture<LocalTime> getLocalTimeAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return LocalTime.of(8, 0, 0);
+        });
+    }
+
     public static class BeanWithZonedDateTimeField {
         private ZonedDateTime zonedDateTime = ZonedDateTime.now();
 
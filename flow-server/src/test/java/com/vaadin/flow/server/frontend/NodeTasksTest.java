@@ -6,6 +6,11 @@ import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.junit.Assert;
@@ -17,6 +22,7 @@ import org.junit.rules.TemporaryFolder;
 import com.vaadin.flow.server.ExecutionFailedException;
 import com.vaadin.flow.server.connect.Endpoint;
 import com.vaadin.flow.server.frontend.NodeTasks.Builder;
+import com.vaadin.flow.server.frontend.NodeTasks.Resource;
 import com.vaadin.flow.server.frontend.scanner.ClassFinder.DefaultClassFinder;
 
 import static com.vaadin.flow.server.frontend.FrontendUtils.DEFAULT_FRONTEND_DIR;
@@ -142,6 +148,86 @@ public class NodeTasksTest {
                 .forEach(name -> assertTrue(name + " not created.", new File(dir, name).exists()));
     }
 
+    @Test
+    public void execute_conflictingTasks_runInOrderOfAddition()
+            throws ExecutionFailedException {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        NodeTasks tasks = new NodeTasks();
+        tasks.add(() -> {
+            sleep(100);
+            executed.add("writer");
+        }).writes(Resource.GENERATED);
+        tasks.add(() -> executed.add("reader")).reads(Resource.GENERATED);
+
+        tasks.execute();
+
+        Assert.assertEquals(Arrays.asList("writer", "reader"), executed);
+    }
+
+    @Test
+    public void execute_independentTasks_runInParallel()
+            throws ExecutionFailedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        FallibleCommand task = () -> {
+            latch.countDown();
+            try {
+                // only returns in time if the other task runs at the same time
+                if (!latch.await(5, TimeUnit.SECONDS)) {
+                    throw new ExecutionFailedException(
+                            "Tasks were not run in parallel");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExecutionFailedException(e);
+            }
+        };
+        NodeTasks tasks = new NodeTasks();
+        tasks.add(task).writes(Resource.GENERATED);
+        tasks.add(task).writes(Resource.TS_CONFIG);
+
+        tasks.execute();
+    }
+
+    @Test
+    public void execute_tasksFail_firstFailureRethrownAndDependentTaskSkipped() {
+        AtomicBoolean dependentExecuted = new AtomicBoolean();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        NodeTasks tasks = new NodeTasks();
+        tasks.add(() -> {
+            firstStarted.countDown();
+            sleep(100);
+            throw new ExecutionFailedException("first");
+        }).writes(Resource.GENERATED);
+        tasks.add(() -> {
+            // fails first, but after the first task has started
+            try {
+                firstStarted.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new ExecutionFailedException("second");
+        }).writes(Resource.TS_CONFIG);
+        tasks.add(() -> dependentExecuted.set(true))
+                .reads(Resource.GENERATED);
+
+        try {
+            tasks.execute();
+            Assert.fail("The failure should be rethrown");
+        } catch (ExecutionFailedException exception) {
+            Assert.assertEquals("first", exception.getMessage());
+        }
+        Assert.assertFalse(dependentExecuted.get());
+    }
+
+    private static void sleep(long millis) throws ExecutionFailedException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionFailedException(e);
+        }
+    }
+
     private Object getFieldValue(Object obj, String name) throws Exception {
         Field field = obj.getClass().getDeclaredField(name);
         field.setAccessible(true);
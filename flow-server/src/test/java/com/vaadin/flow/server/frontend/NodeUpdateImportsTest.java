@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.net.URLClassLoader;
 import java.nio.charset.Charset;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -381,6 +382,62 @@ public class NodeUpdateImportsTest extends NodeUpdateTestUtil {
                 .containsString(FrontendUtils.FALLBACK_IMPORTS_NAME)));
     }
 
+    @Test
+    public void routeChunks_routeModulesAreImportedLazily() throws IOException {
+        ClassFinder classFinder = new DefaultClassFinder(
+                new URLClassLoader(getClassPath()),
+                NodeTestComponents.class.getDeclaredClasses());
+
+        File staleRouteImports = new File(generatedPath,
+                FrontendUtils.ROUTE_IMPORTS_PREFIX + "RemovedView.js");
+        FileUtils.forceMkdirParent(staleRouteImports);
+        staleRouteImports.createNewFile();
+
+        JsonObject tokenData = Json.createObject();
+        updater = new TaskUpdateImports(classFinder,
+                new FrontendDependenciesScannerFactory().createScanner(false,
+                        classFinder, true, null, true),
+                finder -> null, tmpRoot, generatedPath, frontendDirectory,
+                tokenFile, tokenData, false) {
+            @Override
+            Logger log() {
+                return logger;
+            }
+        };
+
+        updater.execute();
+
+        String route = NodeTestComponents.MainView.class.getName();
+        File routeImports = new File(generatedPath,
+                FrontendUtils.ROUTE_IMPORTS_PREFIX + route + ".js");
+        assertTrue(routeImports.exists());
+        Assert.assertFalse(staleRouteImports.exists());
+
+        String routeContent = FileUtils.readFileToString(routeImports,
+                Charset.defaultCharset());
+        Assert.assertThat(routeContent, CoreMatchers
+                .containsString("import '@polymer/iron-icon/iron-icon.js';"));
+
+        String mainContent = FileUtils.readFileToString(importsFile,
+                Charset.defaultCharset());
+        // modules shared with the layout route stay in the main bundle
+        Assert.assertThat(mainContent, CoreMatchers
+                .containsString("import 'Frontend/common-js-file.js';"));
+        Assert.assertThat(mainContent, CoreMatchers.not(CoreMatchers
+                .containsString("import '@polymer/iron-icon/iron-icon.js';")));
+        Assert.assertThat(mainContent,
+                CoreMatchers.containsString("return import('./"
+                        + routeImports.getName() + "');"));
+        Assert.assertThat(mainContent, CoreMatchers.containsString(
+                "fallbacks[thisScript.getAttribute('data-app-id')].loadOnDemand = function loadOnDemand(chunk) {"));
+
+        RouteChunks chunks = FrontendUtils.readRouteChunks(tokenData);
+        Assert.assertEquals(Optional.of(route),
+                chunks.getChunk("@polymer/iron-icon/iron-icon.js"));
+        Assert.assertFalse(
+                chunks.getChunk("./common-js-file.js").isPresent());
+    }
+
     private void assertTokenFileWithFallBack(JsonObject object)
             throws IOException {
         JsonObject fallback = object.getObject("chunks").getObject("fallback");
@@ -19,11 +19,13 @@ package com.vaadin.flow.server.frontend;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -34,6 +36,7 @@ import elemental.json.JsonObject;
 import elemental.json.impl.JsonUtil;
 
 import static com.vaadin.flow.server.Constants.PACKAGE_JSON;
+import static com.vaadin.flow.server.Constants.RESOURCES_FRONTEND_DEFAULT;
 
 public class TaskCopyFrontendFilesTest extends NodeUpdateTestUtil {
     @Rule
@@ -66,6 +69,67 @@ public class TaskCopyFrontendFilesTest extends NodeUpdateTestUtil {
                 "dir-with-modern-frontend");
     }
 
+    @Test
+    public void should_removeFilesNoLongerProvided_when_jarIsRemoved()
+            throws IOException {
+        File jar = TestUtils.getTestJar("jar-with-modern-frontend.jar");
+        File dir = TestUtils.getTestFolder("dir-with-modern-frontend");
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar, dir))
+                .execute();
+
+        File ownFile = new File(frontendDepsFolder, "own-file.js");
+        Assert.assertTrue(ownFile.createNewFile());
+
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(dir)).execute();
+
+        List<String> files = TestUtils.listFilesRecursively(frontendDepsFolder);
+        Assert.assertEquals(2, files.size());
+        Assert.assertTrue(
+                "Js resource should be kept as it is still in the folder",
+                files.contains("resourceInFolder.js"));
+        Assert.assertTrue("Files not copied by the task should be kept",
+                files.contains("own-file.js"));
+    }
+
+    @Test
+    public void should_notRewriteUnchangedFiles() throws IOException {
+        File jar = TestUtils.getTestJar("jar-with-modern-frontend.jar");
+        File dir = TestUtils.getTestFolder("dir-with-modern-frontend");
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar, dir))
+                .execute();
+
+        File fromJar = new File(frontendDepsFolder, "ExampleConnector.js");
+        File fromFolder = new File(frontendDepsFolder, "resourceInFolder.js");
+        long timestamp = 1000000000000L;
+        Assert.assertTrue(fromJar.setLastModified(timestamp));
+        Assert.assertTrue(fromFolder.setLastModified(timestamp));
+
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar, dir))
+                .execute();
+
+        Assert.assertEquals("Unchanged file from jar should not be rewritten",
+                timestamp, fromJar.lastModified());
+        Assert.assertEquals(
+                "Unchanged file from folder should not be rewritten",
+                timestamp, fromFolder.lastModified());
+    }
+
+    @Test
+    public void should_useLastLocation_when_severalLocationsProvideSameFile()
+            throws IOException {
+        File root = temporaryFolder.newFolder();
+        File first = createResourceFolder(root, "a", "first");
+        File second = createResourceFolder(root, "b", "second");
+
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(second, first))
+                .execute();
+
+        Assert.assertEquals("second",
+                FileUtils.readFileToString(
+                        new File(frontendDepsFolder, "same.js"),
+                        StandardCharsets.UTF_8));
+    }
+
     @Test
     public void should_createPackageJson() throws IOException {
         TaskGeneratePackageJson task = new TaskGeneratePackageJson(npmFolder, generatedFolder, frontendDepsFolder);
@@ -108,6 +172,15 @@ public class TaskCopyFrontendFilesTest extends NodeUpdateTestUtil {
                 files.contains("resourceInFolder.js"));
     }
 
+    private static File createResourceFolder(File root, String name,
+            String content) throws IOException {
+        File location = new File(root, name);
+        FileUtils.write(
+                new File(location, RESOURCES_FRONTEND_DEFAULT + "/same.js"),
+                content, StandardCharsets.UTF_8);
+        return location;
+    }
+
     private static Set<File> jars(File... files) {
         return Stream.of(files).collect(Collectors.toSet());
     }
@@ -179,6 +179,30 @@ public class TaskGenerateOpenApiTest {
         Assert.assertFalse(generatedOpenAPI.getPaths().containsKey("/EndpointNoValue/foo"));
     }
 
+    @Test
+    public void should_NotRegenerate_when_InputsAreUnchanged()
+            throws Exception {
+        taskGenerateOpenApi = new TaskGenerateOpenApi(applicationPropertiesFile,
+                javaSource,
+                this.getClass().getClassLoader(),
+                generatedOpenAPI);
+        taskGenerateOpenApi.execute();
+
+        FileUtils.writeStringToFile(generatedOpenAPI, "{}",
+                StandardCharsets.UTF_8);
+        taskGenerateOpenApi.execute();
+        Assert.assertEquals("OpenAPI spec should not be regenerated", "{}",
+                FileUtils.readFileToString(generatedOpenAPI,
+                        StandardCharsets.UTF_8));
+
+        FileUtils.writeStringToFile(applicationPropertiesFile,
+                OpenApiSpecGenerator.APPLICATION_TITLE + "=My title",
+                StandardCharsets.UTF_8);
+        taskGenerateOpenApi.execute();
+        Assert.assertEquals("OpenAPI spec should be regenerated", "My title",
+                getGeneratedOpenAPI().getInfo().getTitle());
+    }
+
     private OpenAPI getGeneratedOpenAPI() throws IOException {
         OpenAPIV3Parser parser = new OpenAPIV3Parser();
         return parser.read(generatedOpenAPI.getAbsolutePath());
@@ -205,6 +205,51 @@ public class TaskRunNpmInstallTest {
         Mockito.verify(logger).info(getRunningMsg());
     }
 
+    @Test
+    public void runNpmInstall_matchingDependencyGraphHash_npmInstallIsNotExecuted()
+            throws IOException, ExecutionFailedException {
+        File nodeModules = getNodeUpdater().nodeModulesFolder;
+        nodeModules.mkdir();
+        new File(nodeModules, "foo").createNewFile();
+
+        task.generateVersionsJson();
+        writeLocalGraphHash(task.getDependencyGraphHash());
+        nodeUpdater.modified = false;
+        task.execute();
+
+        Mockito.verify(logger, Mockito.never()).info(getRunningMsg());
+    }
+
+    @Test
+    public void runNpmInstall_lockFileChanged_npmInstallIsExecuted()
+            throws IOException, ExecutionFailedException {
+        File nodeModules = getNodeUpdater().nodeModulesFolder;
+        nodeModules.mkdir();
+        new File(nodeModules, "foo").createNewFile();
+
+        task.generateVersionsJson();
+        writeLocalGraphHash(task.getDependencyGraphHash());
+        String lockFile = "npm".equals(getToolName()) ? "package-lock.json"
+                : "pnpm-lock.yaml";
+        FileUtils.writeStringToFile(new File(npmFolder, lockFile), "{}",
+                UTF_8);
+        nodeUpdater.modified = false;
+        task.execute();
+
+        Mockito.verify(logger).info(getRunningMsg());
+    }
+
+    private void writeLocalGraphHash(String graphHash) throws IOException {
+        final JsonObject localHash = Json.createObject();
+        localHash.put(HASH_KEY, "");
+        localHash.put(TaskRunNpmInstall.GRAPH_HASH_KEY, graphHash);
+
+        final File localHashFile = new File(getNodeUpdater().nodeModulesFolder,
+                ".vaadin/vaadin.json");
+        FileUtils.forceMkdirParent(localHashFile);
+        getNodeUpdater().writePackageFile(localHash, localHashFile);
+    }
+
     public void writeLocalHash(String hash) throws IOException {
         final JsonObject localHash = Json.createObject();
         localHash.put(HASH_KEY, hash);
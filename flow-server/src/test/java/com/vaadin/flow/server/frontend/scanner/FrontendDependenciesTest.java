@@ -15,18 +15,26 @@
  */
 package com.vaadin.flow.server.frontend.scanner;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.component.Component;
@@ -52,6 +60,9 @@ import static org.hamcrest.CoreMatchers.is;
 
 public class FrontendDependenciesTest {
 
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
     private ClassFinder classFinder = Mockito.mock(ClassFinder.class);
 
     @Before
@@ -86,6 +97,42 @@ public class FrontendDependenciesTest {
         ).when(classFinder).getResource(Mockito.anyString());
     }
 
+    @Test
+    public void scanCache_secondScanReusesCache_sameDependencies()
+            throws IOException {
+        Mockito.when(classFinder.getAnnotatedClasses(Route.class))
+                .thenReturn(Collections.singleton(RouteComponent.class));
+        File cacheFile = new File(tmpDir.getRoot(), "scan-cache.json");
+
+        FrontendDependencies first = new FrontendDependencies(classFinder,
+                false, cacheFile);
+        Assert.assertTrue(cacheFile.exists());
+        long modified = cacheFile.lastModified();
+
+        FrontendDependencies second = new FrontendDependencies(classFinder,
+                false, cacheFile);
+        Assert.assertEquals(first.getModules(), second.getModules());
+        Assert.assertEquals(first.getScripts(), second.getScripts());
+        Assert.assertEquals(first.getClasses(), second.getClasses());
+        Assert.assertEquals(Collections.singletonList("foo.js"),
+                second.getModules());
+        Assert.assertEquals(modified, cacheFile.lastModified());
+    }
+
+    @Test
+    public void scanCache_invalidCacheFile_isIgnored() throws IOException {
+        Mockito.when(classFinder.getAnnotatedClasses(Route.class))
+                .thenReturn(Collections.singleton(RouteComponent.class));
+        File cacheFile = tmpDir.newFile("scan-cache.json");
+        FileUtils.write(cacheFile, "{ not json",
+                StandardCharsets.UTF_8);
+
+        FrontendDependencies dependencies = new FrontendDependencies(
+                classFinder, false, cacheFile);
+        Assert.assertEquals(Collections.singletonList("foo.js"),
+                dependencies.getModules());
+    }
+
     @Test
     public void routedComponent_endpointsAreCollected() {
         Mockito.when(classFinder.getAnnotatedClasses(Route.class))
@@ -230,6 +277,38 @@ public class FrontendDependenciesTest {
                 Arrays.asList("a.js", "b.js", "c.js"));
     }
 
+    @Test
+    public void routeModules_sharedAndThemeModulesAreNotIncluded() {
+        Mockito.when(classFinder.getAnnotatedClasses(Route.class))
+                .thenReturn(new HashSet<>(Arrays.asList(RouteComponent.class,
+                        RouteComponentWithLayout.class,
+                        JsOrderComponent.class)));
+        FrontendDependencies dependencies = new FrontendDependencies(
+                classFinder, false, null, true);
+
+        Map<String, Set<String>> routeModules = dependencies
+                .getRouteModules();
+        Assert.assertEquals(2, routeModules.size());
+        Assert.assertEquals(Collections.singleton("bar.js"),
+                routeModules.get(RouteComponent.class.getName()));
+        Assert.assertEquals(Arrays.asList("a.js", "b.js", "c.js"),
+                new ArrayList<>(routeModules
+                        .get(JsOrderComponent.class.getName())));
+
+        Assert.assertTrue(dependencies.getModules().contains("foo.js"));
+        Assert.assertTrue(dependencies.getModules().contains("theme-foo.js"));
+    }
+
+    @Test
+    public void routeModules_notCollected_empty() {
+        Mockito.when(classFinder.getAnnotatedClasses(Route.class))
+                .thenReturn(Collections.singleton(JsOrderComponent.class));
+        FrontendDependencies dependencies = new FrontendDependencies(
+                classFinder, false);
+
+        Assert.assertTrue(dependencies.getRouteModules().isEmpty());
+    }
+
     // flow #6408
     @Test
     public void annotationsInRouterLayoutWontBeFlaggedAsBelongingToTheme() {
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.vaadin.flow.component.dependency.JsModule;
+import com.vaadin.flow.component.dependency.NpmPackage;
+import com.vaadin.flow.server.frontend.scanner.ScannerTestComponents.Component0;
+import com.vaadin.flow.server.frontend.scanner.ScannerTestComponents.Theme0;
+import com.vaadin.flow.server.frontend.scanner.ScannerTestComponents.Theme1;
+import com.vaadin.flow.server.frontend.scanner.ScannerTestComponents.Theme2;
+import com.vaadin.flow.server.frontend.scanner.ScannerTestComponents.Theme4;
+import com.vaadin.flow.server.frontend.scanner.ScannerTestComponents.ThemeDefault;
+import com.vaadin.flow.theme.AbstractTheme;
+
+public class IndexedClassFinderTest {
+
+    @Rule
+    public TemporaryFolder tmpDir = new TemporaryFolder();
+
+    private ClassIndex index;
+
+    @Before
+    public void setup() throws IOException {
+        index = new ClassIndex();
+        for (Class<?> clazz : Arrays.asList(Theme0.class, Theme1.class,
+                Theme2.class, Theme4.class, ThemeDefault.class,
+                Component0.class)) {
+            try (InputStream stream = clazz.getClassLoader().getResourceAsStream(
+                    clazz.getName().replace('.', '/') + ".class")) {
+                index.addClassFile(stream);
+            }
+        }
+    }
+
+    @Test
+    public void getSubTypesOf_returnsIndexedSubTypes() {
+        IndexedClassFinder finder = new IndexedClassFinder(
+                getClass().getClassLoader(), index);
+
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(Theme0.class, Theme1.class,
+                        Theme2.class, Theme4.class, ThemeDefault.class)),
+                finder.getSubTypesOf(AbstractTheme.class));
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(Theme1.class, Theme2.class,
+                        Theme4.class, ThemeDefault.class)),
+                finder.getSubTypesOf(Theme0.class));
+    }
+
+    @Test
+    public void getAnnotatedClasses_returnsDirectlyAnnotatedClasses() {
+        IndexedClassFinder finder = new IndexedClassFinder(
+                getClass().getClassLoader(), index);
+
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(Theme4.class, ThemeDefault.class,
+                        Component0.class)),
+                finder.getAnnotatedClasses(JsModule.class));
+    }
+
+    @Test
+    public void getAnnotatedClasses_repeatedAnnotation_containerIsIncluded() {
+        IndexedClassFinder finder = new IndexedClassFinder(
+                getClass().getClassLoader(), index);
+
+        Set<Class<?>> classes = finder.getAnnotatedClasses(NpmPackage.class);
+        Assert.assertTrue(classes.contains(Theme0.class));
+        Assert.assertTrue(classes.contains(Component0.class));
+    }
+
+    @Test
+    public void writeAndRead_lookupsAreTheSame() throws IOException {
+        File file = new File(tmpDir.getRoot(), ClassIndex.RESOURCE);
+        index.write(file);
+
+        IndexedClassFinder finder = new IndexedClassFinder(
+                getClass().getClassLoader(), ClassIndex.read(file));
+        IndexedClassFinder original = new IndexedClassFinder(
+                getClass().getClassLoader(), index);
+
+        Assert.assertEquals(original.getSubTypesOf(AbstractTheme.class),
+                finder.getSubTypesOf(AbstractTheme.class));
+        Assert.assertEquals(original.getAnnotatedClasses(NpmPackage.class),
+                finder.getAnnotatedClasses(NpmPackage.class));
+    }
+
+    @Test
+    public void classPathFolder_classesAreIndexed() throws IOException {
+        File folder = tmpDir.newFolder("classes");
+        File classFile = new File(folder,
+                Theme4.class.getName().replace('.', '/') + ".class");
+        try (InputStream stream = Theme4.class.getClassLoader()
+                .getResourceAsStream(
+                        Theme4.class.getName().replace('.', '/') + ".class")) {
+            FileUtils.copyInputStreamToFile(stream,
+                    classFile);
+        }
+
+        ClassIndex folderIndex = new ClassIndex();
+        folderIndex.addClassPathElement(folder);
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(Theme4.class.getName())),
+                folderIndex.getAnnotatedClassNames(JsModule.class.getName()));
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(Theme4.class.getName())),
+                folderIndex.getSubTypeNames(Theme0.class.getName()));
+    }
+
+    @Test
+    public void jarWithMatchingIndex_indexUsed() throws IOException {
+        File jar = createJarWithIndex(Theme4.class);
+
+        ClassIndex jarIndex = new ClassIndex();
+        jarIndex.addClassPathElement(jar);
+
+        // Theme1 is only known from the index stored in the jar
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(Theme1.class.getName(),
+                        Theme2.class.getName(), Theme4.class.getName(),
+                        ThemeDefault.class.getName())),
+                jarIndex.getSubTypeNames(Theme0.class.getName()));
+    }
+
+    @Test
+    public void jarWithStaleIndex_classesAreIndexed() throws IOException {
+        File jar = createJarWithIndex(Theme4.class, Component0.class);
+
+        ClassIndex jarIndex = new ClassIndex();
+        jarIndex.addClassPathElement(jar);
+
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(Theme4.class.getName())),
+                jarIndex.getSubTypeNames(Theme0.class.getName()));
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(Component0.class.getName())),
+                jarIndex.getAnnotatedClassNames(JsModule.class.getName()));
+    }
+
+    /**
+     * Creates a jar containing the class files of the given classes and an
+     * index built from the first class only, merged with the index of the
+     * test.
+     */
+    private File createJarWithIndex(Class<?>... classes) throws IOException {
+        File folder = tmpDir.newFolder();
+        String firstName = getClassFileName(classes[0]);
+        FileUtils.writeByteArrayToFile(new File(folder, firstName),
+                getClassFile(classes[0]));
+        ClassIndex jarIndex = new ClassIndex();
+        jarIndex.addClassPathElement(folder);
+        jarIndex.merge(index);
+        File indexFile = new File(folder, ClassIndex.RESOURCE);
+        jarIndex.write(indexFile);
+
+        File jar = tmpDir.newFile("classes.jar");
+        try (JarOutputStream out = new JarOutputStream(
+                new FileOutputStream(jar))) {
+            out.putNextEntry(new JarEntry(ClassIndex.RESOURCE));
+            out.write(FileUtils.readFileToByteArray(indexFile));
+            for (Class<?> clazz : classes) {
+                out.putNextEntry(new JarEntry(getClassFileName(clazz)));
+                out.write(getClassFile(clazz));
+            }
+        }
+        return jar;
+    }
+
+    private static String getClassFileName(Class<?> clazz) {
+        return clazz.getName().replace('.', '/') + ".class";
+    }
+
+    private static byte[] getClassFile(Class<?> clazz) throws IOException {
+        try (InputStream stream = clazz.getClassLoader()
+                .getResourceAsStream(getClassFileName(clazz))) {
+            return IOUtils.toByteArray(stream);
+        }
+    }
+}
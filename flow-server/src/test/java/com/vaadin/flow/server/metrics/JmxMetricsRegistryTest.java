@@ -0,0 +1,146 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.metrics;
+
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JmxMetricsRegistryTest {
+
+    private JmxMetricsRegistry registry = new JmxMetricsRegistry("/app",
+            "test");
+
+    private MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    @After
+    public void tearDown() {
+        registry.unregister();
+    }
+
+    @Test
+    public void recordTime_aggregatedInMilliseconds() {
+        registry.recordTime(MetricsRegistry.UIDL_REQUEST_TIME,
+                TimeUnit.MILLISECONDS.toNanos(2));
+        registry.recordTime(MetricsRegistry.UIDL_REQUEST_TIME,
+                TimeUnit.MILLISECONDS.toNanos(6));
+
+        MetricMXBean metric = registry
+                .getMetric(MetricsRegistry.UIDL_REQUEST_TIME);
+        Assert.assertEquals(2, metric.getCount());
+        Assert.assertEquals(8, metric.getTotal(), 0);
+        Assert.assertEquals(2, metric.getMin(), 0);
+        Assert.assertEquals(6, metric.getMax(), 0);
+        Assert.assertEquals(4, metric.getMean(), 0);
+        Assert.assertEquals("ms", metric.getUnit());
+    }
+
+    @Test
+    public void recordValue_aggregatedAsIs() {
+        registry.recordValue(MetricsRegistry.UIDL_SIZE, 100);
+        registry.recordValue(MetricsRegistry.UIDL_SIZE, 300);
+
+        MetricMXBean metric = registry.getMetric(MetricsRegistry.UIDL_SIZE);
+        Assert.assertEquals(2, metric.getCount());
+        Assert.assertEquals(400, metric.getTotal(), 0);
+        Assert.assertEquals(100, metric.getMin(), 0);
+        Assert.assertEquals(300, metric.getMax(), 0);
+        Assert.assertEquals(200, metric.getMean(), 0);
+        Assert.assertEquals("", metric.getUnit());
+    }
+
+    @Test
+    public void reset_noMeasurements() {
+        registry.recordValue(MetricsRegistry.UIDL_SIZE, 100);
+
+        MetricMXBean metric = registry.getMetric(MetricsRegistry.UIDL_SIZE);
+        metric.reset();
+
+        Assert.assertEquals(0, metric.getCount());
+        Assert.assertEquals(0, metric.getMin(), 0);
+        Assert.assertEquals(0, metric.getMax(), 0);
+        Assert.assertEquals(0, metric.getMean(), 0);
+    }
+
+    @Test
+    public void recordValue_registeredAsMBean_unregistered() throws Exception {
+        registry.recordValue(MetricsRegistry.UIDL_CHANGES, 5);
+
+        ObjectName name = createObjectName("/app",
+                MetricsRegistry.UIDL_CHANGES);
+        Assert.assertTrue(server.isRegistered(name));
+        Assert.assertEquals(5L, server.getAttribute(name, "Count"));
+        Assert.assertEquals(5.0, server.getAttribute(name, "Max"));
+
+        registry.unregister();
+
+        Assert.assertFalse(server.isRegistered(name));
+        Assert.assertNull(registry.getMetric(MetricsRegistry.UIDL_CHANGES));
+    }
+
+    @Test
+    public void sameContextAndServiceName_existingMBeanKept()
+            throws Exception {
+        registry.recordValue(MetricsRegistry.UIDL_CHANGES, 5);
+
+        JmxMetricsRegistry other = new JmxMetricsRegistry("/app", "test");
+        other.recordValue(MetricsRegistry.UIDL_CHANGES, 7);
+
+        ObjectName name = createObjectName("/app",
+                MetricsRegistry.UIDL_CHANGES);
+        Assert.assertEquals(5.0, server.getAttribute(name, "Max"));
+        Assert.assertEquals(1,
+                other.getMetric(MetricsRegistry.UIDL_CHANGES).getCount());
+
+        other.unregister();
+
+        Assert.assertTrue(server.isRegistered(name));
+        Assert.assertEquals(5.0, server.getAttribute(name, "Max"));
+    }
+
+    @Test
+    public void sameServiceNameInOtherContext_bothRegistered()
+            throws Exception {
+        registry.recordValue(MetricsRegistry.UIDL_CHANGES, 5);
+
+        JmxMetricsRegistry other = new JmxMetricsRegistry("/other", "test");
+        try {
+            other.recordValue(MetricsRegistry.UIDL_CHANGES, 7);
+
+            Assert.assertEquals(5.0, server.getAttribute(
+                    createObjectName("/app", MetricsRegistry.UIDL_CHANGES),
+                    "Max"));
+            Assert.assertEquals(7.0, server.getAttribute(
+                    createObjectName("/other", MetricsRegistry.UIDL_CHANGES),
+                    "Max"));
+        } finally {
+            other.unregister();
+        }
+    }
+
+    private static ObjectName createObjectName(String context, String name)
+            throws MalformedObjectNameException {
+        return new ObjectName("com.vaadin.flow:type=Metrics,context=\""
+                + context + "\",service=\"test\",name=\"" + name + "\"");
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.startup;
+
+import javax.servlet.ServletContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.InitParameters;
+import com.vaadin.flow.server.frontend.FrontendUtils;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder.DefaultClassFinder;
+
+import elemental.json.JsonObject;
+
+public class StartupSnapshotTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ClassFinder finder;
+
+    private ServletContext context;
+
+    private File classes;
+
+    @Tag("div")
+    @Route("snapshot")
+    public static class SnapshotRoute extends Component {
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        finder = new DefaultClassFinder(
+                new HashSet<>(Arrays.asList(RouteRegistryInitializer.class,
+                        DevModeInitializer.class, SnapshotRoute.class)));
+
+        classes = temporaryFolder.newFolder();
+        // resources only come from the folder, so that the token file of the
+        // test class path is not found
+        ClassLoader classLoader = new URLClassLoader(
+                new URL[] { classes.toURI().toURL() },
+                getClass().getClassLoader()) {
+            @Override
+            public Enumeration<URL> getResources(String name)
+                    throws IOException {
+                return findResources(name);
+            }
+        };
+        context = Mockito.mock(ServletContext.class);
+        Mockito.when(context.getClassLoader()).thenReturn(classLoader);
+        Mockito.when(context.getInitParameter(
+                InitParameters.SERVLET_PARAMETER_PRODUCTION_MODE))
+                .thenReturn(Boolean.TRUE.toString());
+
+        try {
+            StartupSnapshot.write(finder,
+                    new File(classes, StartupSnapshot.RESOURCE));
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    public void create_handledClassesStoredPerInitializer()
+            throws ReflectiveOperationException {
+        JsonObject snapshot = StartupSnapshot.create(finder);
+
+        Assert.assertArrayEquals(
+                new String[] { RouteRegistryInitializer.class.getName() },
+                snapshot.keys());
+        Assert.assertEquals(1, snapshot
+                .getArray(RouteRegistryInitializer.class.getName()).length());
+        Assert.assertEquals(SnapshotRoute.class.getName(),
+                snapshot.getArray(RouteRegistryInitializer.class.getName())
+                        .getString(0));
+    }
+
+    @Test
+    public void getClasses_productionMode_classesLoadedFromSnapshot() {
+        Assert.assertEquals(Collections.singleton(SnapshotRoute.class),
+                StartupSnapshot.getClasses(context,
+                        RouteRegistryInitializer.class.getName()));
+    }
+
+    @Test
+    public void getClasses_unknownInitializer_noClasses() {
+        Assert.assertNull(StartupSnapshot.getClasses(context,
+                AnnotationValidator.class.getName()));
+    }
+
+    @Test
+    public void getClasses_developmentMode_snapshotNotUsed() {
+        Mockito.when(context.getInitParameter(
+                InitParameters.SERVLET_PARAMETER_PRODUCTION_MODE))
+                .thenReturn(Boolean.FALSE.toString());
+
+        Assert.assertNull(StartupSnapshot.getClasses(context,
+                RouteRegistryInitializer.class.getName()));
+    }
+
+    @Test
+    public void getClasses_productionModeInBuildInfo_classesLoadedFromSnapshot()
+            throws IOException {
+        Mockito.when(context.getInitParameter(
+                InitParameters.SERVLET_PARAMETER_PRODUCTION_MODE))
+                .thenReturn(null);
+        writeBuildInfo("{\"productionMode\": true}");
+
+        Assert.assertEquals(Collections.singleton(SnapshotRoute.class),
+                StartupSnapshot.getClasses(context,
+                        RouteRegistryInitializer.class.getName()));
+    }
+
+    @Test
+    public void getClasses_developmentModeInBuildInfo_snapshotNotUsed()
+            throws IOException {
+        Mockito.when(context.getInitParameter(
+                InitParameters.SERVLET_PARAMETER_PRODUCTION_MODE))
+                .thenReturn(null);
+        writeBuildInfo("{\"productionMode\": false}");
+
+        Assert.assertNull(StartupSnapshot.getClasses(context,
+                RouteRegistryInitializer.class.getName()));
+    }
+
+    private void writeBuildInfo(String json) throws IOException {
+        FileUtils.write(
+                new File(classes, Constants.VAADIN_SERVLET_RESOURCES
+                        + FrontendUtils.TOKEN_FILE),
+                json, StandardCharsets.UTF_8);
+    }
+}
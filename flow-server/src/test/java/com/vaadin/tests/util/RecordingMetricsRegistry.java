@@ -0,0 +1,50 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.tests.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.vaadin.flow.server.metrics.MetricsRegistry;
+
+public class RecordingMetricsRegistry implements MetricsRegistry {
+
+    private final Map<String, List<Long>> times = new ConcurrentHashMap<>();
+    private final Map<String, List<Long>> values = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordTime(String name, long nanos) {
+        times.computeIfAbsent(name, key -> new CopyOnWriteArrayList<>())
+                .add(nanos);
+    }
+
+    @Override
+    public void recordValue(String name, long value) {
+        values.computeIfAbsent(name, key -> new CopyOnWriteArrayList<>())
+                .add(value);
+    }
+
+    public List<Long> getTimes(String name) {
+        return times.getOrDefault(name, Collections.emptyList());
+    }
+
+    public List<Long> getValues(String name) {
+        return values.getOrDefault(name, Collections.emptyList());
+    }
+}